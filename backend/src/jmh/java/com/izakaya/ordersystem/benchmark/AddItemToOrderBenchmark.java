@@ -0,0 +1,87 @@
+package com.izakaya.ordersystem.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.izakaya.ordersystem.IzakayaOrderSystemApplication;
+import com.izakaya.ordersystem.model.Order;
+import com.izakaya.ordersystem.service.OrderService;
+
+/**
+ * 注文アイテム追加（組み込みH2）のベンチマーク
+ * 1注文あたり itemsPerOrder 件まで追加したら新しい注文に切り替え、注文の肥大化による劣化を避ける
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AddItemToOrderBenchmark {
+
+    @Param({ "20" })
+    private int itemsPerOrder;
+
+    private ConfigurableApplicationContext context;
+
+    private OrderService orderService;
+
+    private Long orderId;
+
+    private int addedItems;
+
+    private long menuItemId;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        // application.properties より優先させるためコマンドライン引数として渡す
+        context = new SpringApplicationBuilder(IzakayaOrderSystemApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.format_sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.izakaya.ordersystem=WARN",
+                        "--logging.level.org.springframework.web=WARN",
+                        "--order.wal.enabled=false");
+        orderService = context.getBean(OrderService.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void rotateOrder() {
+        if (orderId == null || addedItems >= itemsPerOrder) {
+            Order order = orderService.createOrder(1L, null);
+            orderId = order.getId();
+            addedItems = 0;
+        }
+        // 初期データのメニュー（1〜30）を順番に使用
+        menuItemId = 1 + (menuItemId % 30);
+    }
+
+    @Benchmark
+    public Order addItemToOrder() {
+        addedItems++;
+        return orderService.addItemToOrder(orderId, menuItemId, 1, null);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+}
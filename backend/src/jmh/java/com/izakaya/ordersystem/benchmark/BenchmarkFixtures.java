@@ -0,0 +1,56 @@
+package com.izakaya.ordersystem.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.izakaya.ordersystem.model.MenuItem;
+import com.izakaya.ordersystem.model.Order;
+import com.izakaya.ordersystem.model.OrderItem;
+import com.izakaya.ordersystem.model.RestaurantTable;
+
+/**
+ * ベンチマーク用のテストデータ生成（DB非依存）
+ */
+final class BenchmarkFixtures {
+
+    private static final String[] MENU_NAMES = {
+            "枝豆", "焼き鳥盛り合わせ", "唐揚げ", "生ビール（中ジョッキ）", "お造り盛り合わせ",
+            "天ぷら盛り合わせ", "芋焼酎", "冷奴", "海鮮丼", "わらび餅"
+    };
+
+    private static final MenuItem.MenuCategory[] MENU_CATEGORIES = {
+            MenuItem.MenuCategory.APPETIZER, MenuItem.MenuCategory.GRILLED, MenuItem.MenuCategory.FRIED,
+            MenuItem.MenuCategory.BEER, MenuItem.MenuCategory.SASHIMI, MenuItem.MenuCategory.FRIED,
+            MenuItem.MenuCategory.SHOCHU, MenuItem.MenuCategory.APPETIZER, MenuItem.MenuCategory.RICE,
+            MenuItem.MenuCategory.DESSERT
+    };
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * 指定アイテム数の注文生成
+     */
+    static Order order(int itemCount) {
+        RestaurantTable table = new RestaurantTable("5", 6);
+        table.setId(5L);
+
+        Order order = new Order(table);
+        order.setId(123L);
+        order.setOrderTime(LocalDateTime.of(2024, 12, 24, 19, 30));
+        order.setCustomerNotes("乾杯用のグラスを6つお願いします");
+
+        for (int i = 0; i < itemCount; i++) {
+            int index = i % MENU_NAMES.length;
+            MenuItem menuItem = new MenuItem(MENU_NAMES[index], "ベンチマーク用メニュー",
+                    BigDecimal.valueOf(380 + index * 110L), MENU_CATEGORIES[index]);
+            menuItem.setId((long) index + 1);
+
+            OrderItem orderItem = new OrderItem(order, menuItem, 1 + i % 3,
+                    i % 4 == 0 ? "わさび抜き" : null);
+            orderItem.setId((long) i + 1);
+            order.addOrderItem(orderItem);
+        }
+        return order;
+    }
+}
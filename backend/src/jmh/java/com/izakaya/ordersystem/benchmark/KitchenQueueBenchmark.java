@@ -0,0 +1,98 @@
+package com.izakaya.ordersystem.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.izakaya.ordersystem.kitchen.KitchenQueue;
+import com.izakaya.ordersystem.kitchen.KitchenStation;
+import com.izakaya.ordersystem.kitchen.KitchenTask;
+import com.izakaya.ordersystem.model.MenuItem;
+import com.izakaya.ordersystem.model.Order;
+import com.izakaya.ordersystem.model.OrderItem;
+
+/**
+ * 厨房キューのベンチマーク（調理待ちアイテム数千件の状態での更新・取得）
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KitchenQueueBenchmark {
+
+    // 1注文あたりのアイテム（焼き物・揚げ物・前菜・ドリンク）
+    private static final MenuItem.MenuCategory[] CATEGORIES = {
+            MenuItem.MenuCategory.GRILLED, MenuItem.MenuCategory.FRIED,
+            MenuItem.MenuCategory.APPETIZER, MenuItem.MenuCategory.BEER };
+
+    private static final int[] PREPARATION_MINUTES = { 15, 12, 5, 3 };
+
+    @Param({ "1000", "5000" })
+    private int itemCount;
+
+    private KitchenQueue queue;
+
+    private LocalDateTime baseTime;
+
+    private long nextOrderId;
+
+    @Setup
+    public void setUp() {
+        queue = new KitchenQueue();
+        baseTime = LocalDateTime.of(2024, 1, 1, 18, 0);
+        nextOrderId = 1;
+        while (queue.size() < itemCount) {
+            addOrder(nextOrderId++);
+        }
+    }
+
+    /**
+     * 注文（4アイテム）の追加から提供可能までの一巡
+     */
+    @Benchmark
+    public int addAndCompleteOrder() {
+        long orderId = nextOrderId++;
+        int changed = addOrder(orderId);
+        long firstItemId = orderId * CATEGORIES.length;
+        changed += queue.updateItemStatus(firstItemId, OrderItem.ItemStatus.IN_PREPARATION).size();
+        changed += queue.updateItemStatus(firstItemId, OrderItem.ItemStatus.READY).size();
+        changed += queue.updateOrderStatus(orderId, Order.OrderStatus.READY).size();
+        return changed;
+    }
+
+    /**
+     * 持ち場のキュー取得（配信・画面表示用のコピー）
+     */
+    @Benchmark
+    public List<KitchenTask> stationQueue() {
+        return queue.getQueue(KitchenStation.GRILL);
+    }
+
+    private int addOrder(long orderId) {
+        LocalDateTime orderedAt = baseTime.plusSeconds(orderId * 7);
+        int changed = 0;
+        for (int i = 0; i < CATEGORIES.length; i++) {
+            KitchenTask task = new KitchenTask(orderId * CATEGORIES.length + i, orderId, orderId % 20 + 1,
+                    Long.toString(orderId % 20 + 1), Order.OrderStatus.CONFIRMED, "item" + i, CATEGORIES[i],
+                    PREPARATION_MINUTES[i], 1, null, OrderItem.ItemStatus.ORDERED, orderedAt);
+            Set<KitchenStation> stations = queue.put(task);
+            changed += stations.size();
+        }
+        return changed;
+    }
+}
@@ -0,0 +1,97 @@
+package com.izakaya.ordersystem.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.izakaya.ordersystem.dto.PriceBand;
+import com.izakaya.ordersystem.model.MenuItem;
+import com.izakaya.ordersystem.search.MenuPriceIndex;
+
+/**
+ * メニューの価格索引のベンチマーク
+ * linearScan は従来の BETWEEN ＋ ORDER BY price 相当（全件の BigDecimal 比較と並べ替え）の参考値。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MenuPriceIndexBenchmark {
+
+    // 予算（円）の範囲：大人数のコースの1品あたりの予算を想定
+    private static final BigDecimal MIN_PRICE = new BigDecimal("400");
+
+    private static final BigDecimal MAX_PRICE = new BigDecimal("600");
+
+    @Param({ "30", "1000", "10000" })
+    private int catalogSize;
+
+    private List<MenuItem> items;
+
+    private MenuPriceIndex index;
+
+    @Setup
+    public void setUp() {
+        items = new ArrayList<>(catalogSize);
+        MenuItem.MenuCategory[] categories = MenuItem.MenuCategory.values();
+        for (int i = 0; i < catalogSize; i++) {
+            // 280〜1,480円を10円刻みで循環させる
+            MenuItem item = new MenuItem("メニュー" + i, null, BigDecimal.valueOf(280 + (i * 37L % 121) * 10),
+                    categories[i % categories.length]);
+            item.setId((long) i + 1);
+            items.add(item);
+        }
+        index = MenuPriceIndex.build(items);
+    }
+
+    @Benchmark
+    public List<MenuItem> range() {
+        return index.range(MIN_PRICE.longValue(), MAX_PRICE.longValue());
+    }
+
+    @Benchmark
+    public List<MenuItem> cheapest() {
+        return index.cheapest(10);
+    }
+
+    @Benchmark
+    public List<PriceBand> bands() {
+        return index.bands(500);
+    }
+
+    @Benchmark
+    public List<MenuItem> linearScan() {
+        List<MenuItem> results = new ArrayList<>();
+        for (MenuItem item : items) {
+            if (item.getPrice().compareTo(MIN_PRICE) >= 0 && item.getPrice().compareTo(MAX_PRICE) <= 0) {
+                results.add(item);
+            }
+        }
+        results.sort(Comparator.comparing(MenuItem::getPrice));
+        return results;
+    }
+
+    /**
+     * 可用性の切り替え後の索引の作り直し（カタログのスナップショット差し替えごとに発生）
+     */
+    @Benchmark
+    public MenuPriceIndex rebuild() {
+        return MenuPriceIndex.build(items);
+    }
+}
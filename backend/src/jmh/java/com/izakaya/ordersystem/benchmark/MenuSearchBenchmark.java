@@ -0,0 +1,101 @@
+package com.izakaya.ordersystem.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.izakaya.ordersystem.model.MenuItem;
+import com.izakaya.ordersystem.search.MenuSearchIndex;
+
+/**
+ * メニュー検索の索引のベンチマーク
+ * 初期データ相当のメニューに無関係なメニューを足して件数を増やし、一致件数が同じ検索の処理時間を比べる。
+ * linearScan は従来の LIKE '%name%' 相当（全件の部分一致）の参考値。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MenuSearchBenchmark {
+
+    private static final String[][] SEED_MENU = {
+            { "枝豆", "えだまめ" }, { "冷奴", "ひややっこ" }, { "唐揚げ", "からあげ" }, { "アジフライ", null },
+            { "焼き鳥盛り合わせ", "やきとりもりあわせ" }, { "親子丼", "おやこどん" }, { "ラーメン", null },
+            { "生ビール（中ジョッキ）", "なまびーるちゅうじょっき" }, { "芋焼酎", "いもじょうちゅう" }, { "わらび餅", "わらびもち" }
+    };
+
+    // かな・カタカナ半角・ローマ字・漢字の検索語
+    private static final String[] QUERIES = { "からあげ", "ﾗｰﾒﾝ", "karaage", "ramen", "焼き鳥", "ビール" };
+
+    @Param({ "30", "1000", "10000" })
+    private int catalogSize;
+
+    private List<MenuItem> items;
+
+    private MenuSearchIndex index;
+
+    private int queryIndex;
+
+    @Setup
+    public void setUp() {
+        items = new ArrayList<>(catalogSize);
+        for (int i = 0; i < catalogSize; i++) {
+            MenuItem item;
+            if (i < SEED_MENU.length) {
+                item = new MenuItem(SEED_MENU[i][0], "定番メニュー", new BigDecimal("500"), MenuItem.MenuCategory.APPETIZER);
+                item.setNameKana(SEED_MENU[i][1]);
+            } else {
+                item = new MenuItem("季節の一品" + i, "旬の食材を使った日替わり" + i, new BigDecimal("600"),
+                        MenuItem.MenuCategory.HOT_POT);
+            }
+            item.setId((long) i + 1);
+            items.add(item);
+        }
+        index = MenuSearchIndex.build(items, null);
+    }
+
+    @Benchmark
+    public List<MenuItem> search() {
+        queryIndex = (queryIndex + 1) % QUERIES.length;
+        return index.search(QUERIES[queryIndex]);
+    }
+
+    @Benchmark
+    public List<MenuItem> linearScan() {
+        queryIndex = (queryIndex + 1) % QUERIES.length;
+        String query = QUERIES[queryIndex];
+        List<MenuItem> results = new ArrayList<>();
+        for (MenuItem item : items) {
+            if (item.getName().contains(query)) {
+                results.add(item);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * メニュー1件の更新後の索引の作り直し（他のアイテムの正規化結果は再利用）
+     */
+    @Benchmark
+    public MenuSearchIndex rebuildAfterUpdate() {
+        MenuItem item = items.get(0);
+        item.setDescription(item.getDescription().equals("定番メニュー") ? "定番の一品" : "定番メニュー");
+        index = MenuSearchIndex.build(items, index);
+        return index;
+    }
+}
@@ -0,0 +1,182 @@
+package com.izakaya.ordersystem.benchmark;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.izakaya.ordersystem.IzakayaOrderSystemApplication;
+import com.izakaya.ordersystem.cache.MenuCatalog;
+import com.izakaya.ordersystem.dto.AdminOrderRow;
+import com.izakaya.ordersystem.model.MenuItem;
+import com.izakaya.ordersystem.model.Order;
+import com.izakaya.ordersystem.model.RestaurantTable;
+import com.izakaya.ordersystem.service.MenuService;
+import com.izakaya.ordersystem.service.OrderService;
+import com.izakaya.ordersystem.service.StoreService;
+import com.izakaya.ordersystem.service.TableService;
+
+/**
+ * 店舗数を増やしたときの店舗単位の処理（組み込みH2）のベンチマーク
+ * 各店舗にテーブル・メニュー・未完了の注文を同じ量だけ登録し、最後に作成した店舗で計測する。
+ * 店舗ごとに索引・キャッシュ・キューを分けているため、店舗数によらず処理時間はほぼ一定になる想定。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MultiStoreBenchmark {
+
+    private static final int TABLES_PER_STORE = 20;
+
+    private static final int MENU_ITEMS_PER_STORE = 30;
+
+    private static final int ACTIVE_ORDERS_PER_STORE = 10;
+
+    private static final int ITEMS_PER_ORDER = 20;
+
+    @Param({ "1", "8", "32" })
+    private int storeCount;
+
+    private ConfigurableApplicationContext context;
+
+    private OrderService orderService;
+
+    private TableService tableService;
+
+    private MenuService menuService;
+
+    private Long storeId;
+
+    private Long tableId;
+
+    private List<MenuItem> menuItems;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        // application.properties より優先させるためコマンドライン引数として渡す
+        context = new SpringApplicationBuilder(IzakayaOrderSystemApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:multi-store;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.format_sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.izakaya.ordersystem=WARN",
+                        "--logging.level.org.springframework.web=WARN",
+                        "--order.wal.enabled=false");
+        orderService = context.getBean(OrderService.class);
+        tableService = context.getBean(TableService.class);
+        menuService = context.getBean(MenuService.class);
+        StoreService storeService = context.getBean(StoreService.class);
+
+        // 既定の店舗（初期データ）とは別に、同じ規模の店舗を storeCount 店舗作成する
+        for (int i = 1; i <= storeCount; i++) {
+            storeId = storeService.createStore("store-" + i, "店舗" + i).getId();
+            seedStore(storeId);
+        }
+
+        menuItems = menuService.getAvailableMenuItems(storeId);
+        tableId = tableService.getAllTables(storeId).get(0).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    /**
+     * 注文アイテム追加側の状態（ITEMS_PER_ORDER 件ごとに新しい注文に切り替える）
+     */
+    @State(Scope.Thread)
+    public static class OrderState {
+
+        private Long orderId;
+
+        private int addedItems;
+
+        private int menuIndex;
+
+        @Setup(Level.Invocation)
+        public void rotateOrder(MultiStoreBenchmark benchmark) {
+            if (orderId == null || addedItems >= ITEMS_PER_ORDER) {
+                orderId = benchmark.orderService.createOrder(benchmark.tableId, null).getId();
+                addedItems = 0;
+            }
+            menuIndex = (menuIndex + 1) % benchmark.menuItems.size();
+        }
+    }
+
+    /**
+     * 注文アイテム追加（店舗のメニューカタログ・厨房キュー・利用状況の索引まで反映）
+     */
+    @Benchmark
+    public Order addItemToOrder(OrderState state) {
+        state.addedItems++;
+        return orderService.addItemToOrder(state.orderId, menuItems.get(state.menuIndex).getId(), 1, null);
+    }
+
+    /**
+     * 案内する席の候補（店舗の利用状況の索引）
+     */
+    @Benchmark
+    public List<RestaurantTable> suggestTables() {
+        return tableService.suggestTables(storeId, 4, 3);
+    }
+
+    /**
+     * メニューカタログ取得（店舗のキャッシュ）
+     */
+    @Benchmark
+    public MenuCatalog menuCatalog() {
+        return menuService.getMenuCatalog(storeId);
+    }
+
+    /**
+     * アクティブな注文一覧（店舗IDで絞り込むクエリ）
+     */
+    @Benchmark
+    public List<AdminOrderRow> activeOrderRows() {
+        return orderService.getActiveOrderRows(storeId);
+    }
+
+    private void seedStore(Long seedStoreId) {
+        for (int t = 1; t <= TABLES_PER_STORE; t++) {
+            tableService.createTable(seedStoreId, String.valueOf(t), t % 2 == 0 ? 6 : 4);
+        }
+        MenuItem.MenuCategory[] categories = MenuItem.MenuCategory.values();
+        for (int m = 1; m <= MENU_ITEMS_PER_STORE; m++) {
+            MenuItem menuItem = new MenuItem("メニュー" + m, null, BigDecimal.valueOf(300 + m * 10L),
+                    categories[m % categories.length]);
+            menuItem.setStoreId(seedStoreId);
+            menuItem.setPreparationTimeMinutes(5);
+            menuService.createMenuItem(menuItem);
+        }
+
+        List<RestaurantTable> tables = tableService.getAllTables(seedStoreId);
+        List<MenuItem> storeMenu = menuService.getAvailableMenuItems(seedStoreId);
+        for (int o = 0; o < ACTIVE_ORDERS_PER_STORE; o++) {
+            Long seedOrderId = orderService.createOrder(tables.get(o).getId(), null).getId();
+            for (int i = 0; i < 5; i++) {
+                orderService.addItemToOrder(seedOrderId, storeMenu.get((o + i) % storeMenu.size()).getId(), 1, null);
+            }
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.izakaya.ordersystem.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.izakaya.ordersystem.IzakayaOrderSystemApplication;
+
+/**
+ * 開店直後の負荷（描画リクエストが集中する中での注文登録）の負荷テスト
+ * 組み込みTomcatにHTTPでリクエストし、プラットフォームスレッドと仮想スレッドの実行モードを比較する。
+ * 描画（領収書PDF）を RenderExecutor のスレッド数で制限した設定（溢れた分は 503 で即時に返る）と、制限しない設定も比較する。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class OpeningRushBenchmark {
+
+    private static final Pattern ID_PATTERN = Pattern.compile("^\\{\"id\":(\\d+)");
+
+    private static final Pattern REQUEST_ID_PATTERN = Pattern.compile("\"requestId\":\"([^\"]+)\"");
+
+    private static final Pattern ORDER_ID_PATTERN = Pattern.compile("\"orderId\":(\\d+)");
+
+    @Param({ "false", "true" })
+    private boolean virtualThreads;
+
+    // プラットフォームスレッドのモードでスレッド不足が起きるよう小さめにする
+    @Param({ "8" })
+    private int tomcatThreads;
+
+    // 0はCPUコア数（既定）、2は描画スレッド数で制限、-1は制限なし
+    @Param({ "0", "2", "-1" })
+    private int renderThreads;
+
+    private ConfigurableApplicationContext context;
+
+    private HttpClient httpClient;
+
+    private String baseUrl;
+
+    private long receiptOrderId;
+
+    @Setup(Level.Trial)
+    public void startApplication() throws Exception {
+        // application.properties より優先させるためコマンドライン引数として渡す
+        context = new SpringApplicationBuilder(IzakayaOrderSystemApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:opening-rush;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.format_sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.izakaya.ordersystem=WARN",
+                        "--logging.level.org.springframework.web=WARN",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--server.tomcat.threads.max=" + tomcatThreads,
+                        "--render.executor.threads=" + renderThreads,
+                        "--order.wal.dir=" + Files.createTempDirectory("opening-rush-wal"),
+                        "--qrcode.cache-dir=" + Files.createTempDirectory("opening-rush-qr"));
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api";
+        httpClient = HttpClient.newHttpClient();
+
+        receiptOrderId = createOrder();
+        for (int i = 1; i <= 10; i++) {
+            post("/orders/" + receiptOrderId + "/items", "{\"menuItemId\":" + i + ",\"quantity\":1}");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    /**
+     * 注文登録側（スレッドごとに注文を持ち、20件ごとに新しい注文に切り替える）
+     */
+    @State(Scope.Thread)
+    public static class OrderState {
+
+        private long orderId;
+
+        private int addedItems = Integer.MAX_VALUE;
+
+        private long menuItemId;
+    }
+
+    /**
+     * 領収書PDF（毎回描画される）
+     */
+    @Benchmark
+    @Group("openingRush")
+    @GroupThreads(6)
+    public int renderReceipt() throws Exception {
+        return get("/receipts/" + receiptOrderId + "/pdf");
+    }
+
+    /**
+     * 注文アイテム追加
+     */
+    @Benchmark
+    @Group("openingRush")
+    @GroupThreads(2)
+    public int submitOrderItem(OrderState state) throws Exception {
+        if (state.addedItems >= 20) {
+            state.orderId = createOrder();
+            state.addedItems = 0;
+        }
+        state.addedItems++;
+        state.menuItemId = 1 + (state.menuItemId % 30);
+        return post("/orders/" + state.orderId + "/items",
+                "{\"menuItemId\":" + state.menuItemId + ",\"quantity\":1}").statusCode();
+    }
+
+    private long createOrder() throws IOException, InterruptedException {
+        HttpResponse<String> response = post("/orders", "{\"tableId\":1}");
+        Matcher matcher = ID_PATTERN.matcher(response.body());
+        if (matcher.find()) {
+            return Long.parseLong(matcher.group(1));
+        }
+
+        // 受付のみ（202）の場合は反映されるまで待つ
+        Matcher requestId = REQUEST_ID_PATTERN.matcher(response.body());
+        if (!requestId.find()) {
+            throw new IllegalStateException("Unexpected response: " + response.body());
+        }
+        while (true) {
+            HttpRequest request = HttpRequest.newBuilder(
+                    URI.create(baseUrl + "/orders/requests/" + requestId.group(1))).GET().build();
+            Matcher orderId = ORDER_ID_PATTERN.matcher(
+                    httpClient.send(request, HttpResponse.BodyHandlers.ofString()).body());
+            if (orderId.find()) {
+                return Long.parseLong(orderId.group(1));
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    private int get(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private HttpResponse<String> post(String path, String json) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
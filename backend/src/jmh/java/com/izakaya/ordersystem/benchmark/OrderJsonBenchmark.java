@@ -0,0 +1,60 @@
+package com.izakaya.ordersystem.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.izakaya.ordersystem.model.Order;
+
+/**
+ * 注文グラフのJSONシリアライズのベンチマーク
+ * アクティブ注文一覧（/api/orders/active）相当のレスポンスを想定
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderJsonBenchmark {
+
+    @Param({ "1", "20" })
+    private int orderCount;
+
+    @Param({ "10" })
+    private int itemsPerOrder;
+
+    private ObjectMapper objectMapper;
+
+    private List<Order> orders;
+
+    @Setup
+    public void setUp() {
+        // Spring MVC と同じ設定のObjectMapperを使用
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        orders = new ArrayList<>();
+        for (int i = 0; i < orderCount; i++) {
+            orders.add(BenchmarkFixtures.order(itemsPerOrder));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeOrders() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(orders);
+    }
+}
@@ -0,0 +1,149 @@
+package com.izakaya.ordersystem.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * 営業中の負荷（メニュー・テーブル参照と注文登録）での開発設定と productionプロファイルの比較
+ * 開発設定は SQLのエコーとDEBUGログを出力したまま計測する。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class ProfileLoadBenchmark {
+
+    private static final Pattern ID_PATTERN = Pattern.compile("^\\{\"id\":(\\d+)");
+
+    private static final Pattern REQUEST_ID_PATTERN = Pattern.compile("\"requestId\":\"([^\"]+)\"");
+
+    private static final Pattern ORDER_ID_PATTERN = Pattern.compile("\"orderId\":(\\d+)");
+
+    @Param({ "default", "production" })
+    private String profile;
+
+    private ConfigurableApplicationContext context;
+
+    private HttpClient httpClient;
+
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void startApplication() throws Exception {
+        context = ProfileStartupBenchmark.start(profile, "profile-load-" + profile);
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api";
+        httpClient = HttpClient.newHttpClient();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    /**
+     * 注文登録側（スレッドごとに注文を持ち、20件ごとに新しい注文に切り替える）
+     */
+    @State(Scope.Thread)
+    public static class OrderState {
+
+        private long orderId;
+
+        private int addedItems = Integer.MAX_VALUE;
+
+        private long menuItemId;
+
+        private long tableId;
+    }
+
+    /**
+     * メニュー・テーブルの参照（2次キャッシュの対象）
+     */
+    @Benchmark
+    @Group("service")
+    @GroupThreads(2)
+    public int browse(OrderState state) throws Exception {
+        state.menuItemId = 1 + (state.menuItemId % 30);
+        state.tableId = 1 + (state.tableId % 8);
+        return get("/menu/" + state.menuItemId) + get("/tables/" + state.tableId);
+    }
+
+    /**
+     * 注文アイテム追加
+     */
+    @Benchmark
+    @Group("service")
+    @GroupThreads(2)
+    public int submitOrderItem(OrderState state) throws Exception {
+        if (state.addedItems >= 20) {
+            state.tableId = 1 + (state.tableId % 8);
+            state.orderId = createOrder(state.tableId);
+            state.addedItems = 0;
+        }
+        state.addedItems++;
+        state.menuItemId = 1 + (state.menuItemId % 30);
+        return post("/orders/" + state.orderId + "/items",
+                "{\"menuItemId\":" + state.menuItemId + ",\"quantity\":1}").statusCode();
+    }
+
+    private long createOrder(long tableId) throws IOException, InterruptedException {
+        HttpResponse<String> response = post("/orders", "{\"tableId\":" + tableId + "}");
+        Matcher matcher = ID_PATTERN.matcher(response.body());
+        if (matcher.find()) {
+            return Long.parseLong(matcher.group(1));
+        }
+
+        // 受付のみ（202）の場合は反映されるまで待つ
+        Matcher requestId = REQUEST_ID_PATTERN.matcher(response.body());
+        if (!requestId.find()) {
+            throw new IllegalStateException("Unexpected response: " + response.body());
+        }
+        while (true) {
+            HttpRequest request = HttpRequest.newBuilder(
+                    URI.create(baseUrl + "/orders/requests/" + requestId.group(1))).GET().build();
+            Matcher orderId = ORDER_ID_PATTERN.matcher(
+                    httpClient.send(request, HttpResponse.BodyHandlers.ofString()).body());
+            if (orderId.find()) {
+                return Long.parseLong(orderId.group(1));
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    private int get(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private HttpResponse<String> post(String path, String json) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,61 @@
+package com.izakaya.ordersystem.benchmark;
+
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.izakaya.ordersystem.IzakayaOrderSystemApplication;
+
+/**
+ * 起動時間のベンチマーク（開発設定と productionプロファイルの比較）
+ * productionプロファイルは Flyway のマイグレーションとスキーマ検証、2次キャッシュの初期化を含む。
+ * DBはPostgreSQL互換モードのH2（起動ごとに新しいDB）。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class ProfileStartupBenchmark {
+
+    @Param({ "default", "production" })
+    private String profile;
+
+    private int run;
+
+    @Benchmark
+    public void startAndStop() throws Exception {
+        run++;
+        start(profile, "profile-startup-" + profile + "-" + run).close();
+    }
+
+    /**
+     * プロファイルを指定して起動（ログ・SQL出力の設定はプロファイルのまま）
+     */
+    static ConfigurableApplicationContext start(String profile, String database) throws Exception {
+        return new SpringApplicationBuilder(IzakayaOrderSystemApplication.class).run(
+                "--server.port=0",
+                "--spring.profiles.active=" + profile,
+                // PostgreSQL向けの接続プロパティ（reWriteBatchedInserts）はH2では無視させる
+                "--spring.datasource.url=jdbc:h2:mem:" + database
+                        + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH"
+                        + ";IGNORE_UNKNOWN_SETTINGS=TRUE",
+                "--spring.datasource.driverClassName=org.h2.Driver",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--order.wal.dir=" + Files.createTempDirectory("profile-wal"),
+                "--qrcode.cache-dir=" + Files.createTempDirectory("profile-qr"));
+    }
+}
@@ -0,0 +1,66 @@
+package com.izakaya.ordersystem.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.izakaya.ordersystem.model.Order;
+import com.izakaya.ordersystem.service.ReceiptService;
+
+/**
+ * 領収書生成（テキスト・HTML）のベンチマーク
+ * write* は文字列を経由せずに出力ストリームへ書き出す経路（エンドポイントと同じ）
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReceiptRenderingBenchmark {
+
+    @Param({ "5", "30" })
+    private int itemCount;
+
+    private ReceiptService receiptService;
+
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        receiptService = new ReceiptService();
+        order = BenchmarkFixtures.order(itemCount);
+    }
+
+    @Benchmark
+    public String generateReceiptText() {
+        return receiptService.generateReceiptText(order);
+    }
+
+    @Benchmark
+    public String generateReceiptHtml() {
+        return receiptService.generateReceiptHtml(order);
+    }
+
+    @Benchmark
+    public void writeReceiptText() throws IOException {
+        receiptService.writeReceiptText(order, OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public void writeReceiptHtml() throws IOException {
+        receiptService.writeReceiptHtml(order, OutputStream.nullOutputStream());
+    }
+}
@@ -0,0 +1,82 @@
+package com.izakaya.ordersystem.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.izakaya.ordersystem.model.RestaurantTable;
+import com.izakaya.ordersystem.seating.TableOccupancyIndex;
+
+/**
+ * テーブル利用状況の索引のベンチマーク（半分が利用中の状態での席探し・着席から会計までの更新）
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TableOccupancyIndexBenchmark {
+
+    private static final int[] CAPACITIES = { 2, 4, 4, 6, 8 };
+
+    @Param({ "50", "500" })
+    private int tableCount;
+
+    private TableOccupancyIndex index;
+
+    private LocalDateTime now;
+
+    private long nextOrderId;
+
+    private int partySize;
+
+    @Setup
+    public void setUp() {
+        index = new TableOccupancyIndex();
+        now = LocalDateTime.of(2024, 1, 1, 18, 0);
+        for (long id = 1; id <= tableCount; id++) {
+            RestaurantTable table = new RestaurantTable(String.valueOf(id), CAPACITIES[(int) (id % CAPACITIES.length)]);
+            table.setId(id);
+            table.setStatus(id % 2 == 0 ? RestaurantTable.TableStatus.OCCUPIED : RestaurantTable.TableStatus.AVAILABLE);
+            index.put(table, now);
+        }
+        nextOrderId = 1;
+    }
+
+    /**
+     * 人数に最も合う空席の候補3件
+     */
+    @Benchmark
+    public List<RestaurantTable> suggestTables() {
+        partySize = partySize % 6 + 1;
+        return index.findAvailable(partySize, 3);
+    }
+
+    /**
+     * 着席・注文・会計の一巡（空席のテーブルを1件使う）
+     */
+    @Benchmark
+    public int seatOrderAndPay() {
+        long orderId = nextOrderId++;
+        long tableId = (orderId % (tableCount / 2)) * 2 + 1;
+        index.updateStatus(tableId, RestaurantTable.TableStatus.OCCUPIED, now);
+        index.orderCreated(tableId, orderId, now);
+        index.itemOrdered(tableId, orderId, now);
+        index.itemOrdered(tableId, orderId, now);
+        index.paid(tableId, orderId, now);
+        return index.size();
+    }
+}
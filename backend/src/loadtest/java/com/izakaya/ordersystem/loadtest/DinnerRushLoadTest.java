@@ -0,0 +1,190 @@
+package com.izakaya.ordersystem.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.izakaya.ordersystem.IzakayaOrderSystemApplication;
+
+/**
+ * ディナーラッシュの負荷試験
+ * テーブル数ごとのシナリオ（既定は 8, 32, 128, 500 卓）を順に実行し、エンドポイント別の
+ * スループット・p50 / p99 / p999 応答時間・エラー率を表示して target/loadtest-result.json に書き出す。
+ * --base-url を省略するとシナリオごとにアプリ（組み込みH2）を同じJVMで起動し直す。
+ * ベースラインより応答時間が劣化した（--gate-tables のシナリオのみ）、またはエラー率が上限を超えた場合は
+ * 終了コード 1 で終わる。
+ *
+ * 実行例: mvn -Ploadtest compile exec:exec -Dloadtest.args="--tables=8,32 --duration=20"
+ * ベースライン更新: -Dloadtest.args="--update-baseline"
+ */
+public class DinnerRushLoadTest {
+
+    private static final Path RESULT_FILE = Paths.get("target", "loadtest-result.json");
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        List<Integer> tableCounts = parseTableCounts(options.getOrDefault("tables", "8,32,128,500"));
+        // 応答時間の劣化を判定するシナリオ（飽和するテーブル数は実行ごとの揺れが大きいため記録のみ、空なら判定しない）
+        Set<Integer> gatedTableCounts = new HashSet<>(parseTableCounts(options.getOrDefault("gate-tables", "8,32")));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30")));
+        long thinkMillis = Long.parseLong(options.getOrDefault("think-ms", "300"));
+        String baseUrl = options.get("base-url");
+        Path baselineFile = Paths.get(options.getOrDefault("baseline", "src/loadtest/baseline.json"));
+        boolean updateBaseline = options.containsKey("update-baseline");
+        double tolerance = Double.parseDouble(options.getOrDefault("tolerance", "0.5"));
+        double slackMs = Double.parseDouble(options.getOrDefault("slack-ms", "5"));
+        double maxErrorRate = Double.parseDouble(options.getOrDefault("max-error-rate", "0.01"));
+
+        LatencyBaseline baseline = LatencyBaseline.read(baselineFile);
+        LatencyBaseline current = new LatencyBaseline();
+        List<String> failures = new ArrayList<>();
+
+        for (int tableCount : tableCounts) {
+            ConfigurableApplicationContext context = baseUrl == null ? startApplication(tableCount) : null;
+            try {
+                String url = baseUrl != null ? baseUrl
+                        : "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+                LatencyStats stats = new LatencyStats();
+                DinnerRushScenario scenario = new DinnerRushScenario(new LoadTestClient(url, stats), tableCount,
+                        thinkMillis);
+                scenario.prepare();
+                scenario.run(stats, warmup, duration);
+
+                Map<String, LatencyStats.EndpointResult> results = stats.results();
+                current.putScenario(tableCount, results);
+                printReport(tableCount, stats.getElapsedSeconds(), results);
+                if (scenario.getUnexpectedErrors() > 0) {
+                    failures.add(String.format("%d tables: %d visits aborted by unexpected responses",
+                            tableCount, scenario.getUnexpectedErrors()));
+                }
+
+                // エラー率はシナリオ全体で判定する（エンドポイント別はレポートで確認）
+                long requests = 0;
+                long errors = 0;
+                for (LatencyStats.EndpointResult result : results.values()) {
+                    requests += result.getRequests();
+                    errors += result.getErrors();
+                }
+                double errorRate = requests > 0 ? (double) errors / requests : 0;
+                if (errorRate > maxErrorRate) {
+                    failures.add(String.format("%d tables: error rate %.2f%% > %.2f%%",
+                            tableCount, errorRate * 100, maxErrorRate * 100));
+                }
+                if (!updateBaseline && gatedTableCounts.contains(tableCount)) {
+                    if (!baseline.hasScenario(tableCount)) {
+                        System.out.printf("(no baseline for %d tables in %s)%n", tableCount, baselineFile);
+                    }
+                    failures.addAll(baseline.findRegressions(tableCount, results, tolerance, slackMs));
+                }
+            } finally {
+                if (context != null) {
+                    context.close();
+                }
+            }
+        }
+
+        current.write(RESULT_FILE);
+        if (updateBaseline) {
+            current.getScenarios().forEach((tableCount, results) ->
+                    baseline.putScenario(Integer.parseInt(tableCount), results));
+            baseline.write(baselineFile);
+            System.out.println("Baseline updated: " + baselineFile);
+        }
+
+        if (!failures.isEmpty()) {
+            System.out.println();
+            System.out.println("FAILED:");
+            failures.forEach(failure -> System.out.println("  " + failure));
+            System.exit(1);
+        }
+        System.out.println();
+        System.out.println("PASSED");
+        System.exit(0);
+    }
+
+    /**
+     * アプリ起動（シナリオごとに別のインメモリDB・WALディレクトリ、ログは警告以上のみ）
+     */
+    private static ConfigurableApplicationContext startApplication(int tableCount) throws IOException {
+        Path walDir = Files.createTempDirectory("izakaya-loadtest-wal");
+        // main スレッドから起動すると devtools が main を再実行するため無効にする（システムプロパティでのみ指定可）
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        // application.properties より優先させるためコマンドライン引数として渡す
+        return new SpringApplicationBuilder(IzakayaOrderSystemApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:loadtest-" + tableCount,
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.format_sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.izakaya.ordersystem=WARN",
+                        "--logging.level.org.springframework.web=WARN",
+                        // アプリのログはレポートに混ぜずファイルに出す
+                        "--logging.threshold.console=OFF",
+                        "--logging.file.name=target/loadtest-app.log",
+                        "--order.wal.dir=" + walDir);
+    }
+
+    private static void printReport(int tableCount, double seconds, Map<String, LatencyStats.EndpointResult> results) {
+        System.out.println();
+        System.out.printf("=== %d tables (%.0fs) ===%n", tableCount, seconds);
+        System.out.printf("%-48s %8s %8s %7s %5s %8s %8s %8s %8s%n",
+                "endpoint", "requests", "req/s", "err%", "409", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        long totalRequests = 0;
+        long totalErrors = 0;
+        long totalConflicts = 0;
+        for (Map.Entry<String, LatencyStats.EndpointResult> entry : results.entrySet()) {
+            LatencyStats.EndpointResult result = entry.getValue();
+            System.out.printf("%-48s %8d %8.1f %7.2f %5d %8.2f %8.2f %8.2f %8.2f%n",
+                    entry.getKey(), result.getRequests(), result.getThroughput(), result.errorRate() * 100,
+                    result.getConflicts(), result.getP50Ms(), result.getP99Ms(), result.getP999Ms(),
+                    result.getMaxMs());
+            totalRequests += result.getRequests();
+            totalErrors += result.getErrors();
+            totalConflicts += result.getConflicts();
+        }
+        System.out.printf("%-48s %8d %8.1f %7.2f %5d%n", "total", totalRequests,
+                seconds > 0 ? totalRequests / seconds : 0,
+                totalRequests > 0 ? totalErrors * 100.0 / totalRequests : 0, totalConflicts);
+    }
+
+    // カンマ区切りのテーブル数（空の要素は無視）
+    private static List<Integer> parseTableCounts(String value) {
+        List<Integer> tableCounts = new ArrayList<>();
+        for (String tableCount : value.split(",")) {
+            if (!tableCount.isBlank()) {
+                tableCounts.add(Integer.parseInt(tableCount.trim()));
+            }
+        }
+        return tableCounts;
+    }
+
+    // --name=value 形式（値のない --name は "true"）
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unknown argument: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                options.put(arg.substring(2), "true");
+            } else {
+                options.put(arg.substring(2, separator), arg.substring(separator + 1));
+            }
+        }
+        return options;
+    }
+}
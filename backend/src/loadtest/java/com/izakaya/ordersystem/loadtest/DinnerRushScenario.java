@@ -0,0 +1,342 @@
+package com.izakaya.ordersystem.loadtest;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * ディナーラッシュのシナリオ（テーブル数を指定）
+ * テーブルごとに1つの仮想スレッドが来店客として、QRスキャン → メニュー閲覧 → 注文作成 →
+ * 数回に分けたカート送信 → 会計 → 領収書の表示・再表示を繰り返す。
+ * 厨房スタッフ（テーブル TABLES_PER_COOK 卓につき1人）は送信されたアイテムのステータスを
+ * 調理中 → 配膳準備完了 → 提供済み の順に進め、手が空いたら持ち場のキューを表示し直す。
+ */
+public class DinnerRushScenario {
+
+    // 厨房スタッフ1人あたりのテーブル数
+    private static final int TABLES_PER_COOK = 4;
+
+    // 1回の来店での注文回数・1回のカートのアイテム数（上限を含む）
+    private static final int MIN_ROUNDS = 2;
+    private static final int MAX_ROUNDS = 4;
+    private static final int MAX_CART_ITEMS = 4;
+
+    private static final String[] SEARCH_QUERIES = { "からあげ", "ビール", "ramen", "えだまめ", "焼き鳥" };
+
+    private static final int STATUS_CHANGE_ATTEMPTS = 3;
+
+    private static final String[] ITEM_STATUS_STEPS = { "IN_PREPARATION", "READY", "SERVED" };
+
+    private final LoadTestClient client;
+
+    private final int tableCount;
+
+    private final long thinkMillis;
+
+    private final List<Table> tables = new ArrayList<>();
+
+    private final List<Long> menuItemIds = new ArrayList<>();
+
+    private final List<String> categories = new ArrayList<>();
+
+    private final BlockingQueue<Ticket> kitchenQueue = new LinkedBlockingQueue<>();
+
+    private final AtomicInteger unexpectedErrors = new AtomicInteger();
+
+    private volatile boolean running;
+
+    public DinnerRushScenario(LoadTestClient client, int tableCount, long thinkMillis) {
+        this.client = client;
+        this.tableCount = tableCount;
+        this.thinkMillis = thinkMillis;
+    }
+
+    private static final class Table {
+
+        private final long id;
+
+        private final String tableNumber;
+
+        private Table(long id, String tableNumber) {
+            this.id = id;
+            this.tableNumber = tableNumber;
+        }
+    }
+
+    /**
+     * 厨房に渡すアイテム1件（pending は来店客の未提供アイテム数）
+     */
+    private static final class Ticket {
+
+        private final long orderId;
+
+        private final long itemId;
+
+        private final AtomicInteger pending;
+
+        private Ticket(long orderId, long itemId, AtomicInteger pending) {
+            this.orderId = orderId;
+            this.itemId = itemId;
+            this.pending = pending;
+        }
+    }
+
+    /**
+     * 準備（不足しているテーブルの作成、メニューの読み込み）
+     */
+    public void prepare() throws InterruptedException {
+        JsonNode existing = require(client.get("setup", "/api/tables"), "table list").json();
+        Set<String> tableNumbers = new HashSet<>();
+        for (JsonNode table : existing) {
+            tableNumbers.add(table.get("tableNumber").asText());
+            if (tables.size() < tableCount) {
+                tables.add(new Table(table.get("id").asLong(), table.get("tableNumber").asText()));
+            }
+        }
+        for (int i = 1; tables.size() < tableCount; i++) {
+            String tableNumber = String.format("LT%03d", i);
+            if (tableNumbers.contains(tableNumber)) {
+                continue;
+            }
+            JsonNode created = require(client.post("setup", "/api/tables",
+                    Map.of("tableNumber", tableNumber, "capacity", 4)), "table creation").json();
+            tables.add(new Table(created.get("id").asLong(), tableNumber));
+        }
+
+        Set<String> categorySet = new LinkedHashSet<>();
+        for (JsonNode menuItem : require(client.get("setup", "/api/menu/available"), "menu").json()) {
+            menuItemIds.add(menuItem.get("id").asLong());
+            categorySet.add(menuItem.get("category").asText());
+        }
+        categories.addAll(categorySet);
+        if (menuItemIds.isEmpty()) {
+            throw new IllegalStateException("No available menu items to order");
+        }
+    }
+
+    /**
+     * ウォームアップの後、計測期間だけ stats に記録する
+     */
+    public void run(LatencyStats stats, Duration warmup, Duration measurement) throws InterruptedException {
+        int cookCount = Math.max(1, (tableCount + TABLES_PER_COOK - 1) / TABLES_PER_COOK);
+        running = true;
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            for (Table table : tables) {
+                executor.execute(() -> runUntilStopped(() -> visit(table)));
+            }
+            for (int i = 0; i < cookCount; i++) {
+                executor.execute(() -> runUntilStopped(this::cook));
+            }
+
+            Thread.sleep(warmup.toMillis());
+            stats.start();
+            Thread.sleep(measurement.toMillis());
+            stats.stop();
+        } finally {
+            running = false;
+            executor.shutdownNow();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+
+    public int getTableCount() {
+        return tableCount;
+    }
+
+    /**
+     * 想定外の応答で打ち切った回数（HTTPのエラーとは別に数える）
+     */
+    public int getUnexpectedErrors() {
+        return unexpectedErrors.get();
+    }
+
+    @FunctionalInterface
+    private interface Step {
+        void run() throws InterruptedException;
+    }
+
+    private void runUntilStopped(Step step) {
+        try {
+            while (running) {
+                try {
+                    step.run();
+                } catch (RuntimeException e) {
+                    // 想定外の応答（JSONの欠落など）はその回だけ打ち切り、最初の1件だけ表示する
+                    if (unexpectedErrors.getAndIncrement() == 0) {
+                        e.printStackTrace();
+                    }
+                    think(1);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 来店客1組分（途中で失敗したらその来店は打ち切る）
+     */
+    private void visit(Table table) throws InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        think(1);
+
+        // QRコードのURLからテーブル番号を読み取り、番号でテーブルを取得する（顧客向け画面と同じ流れ）
+        if (!client.get("GET /api/tables/number/{tableNumber}", "/api/tables/number/" + table.tableNumber)
+                .isSuccess()) {
+            return;
+        }
+        String menuETag = client.get("GET /api/menu/available", "/api/menu/available").getETag();
+        think(1);
+        client.get("GET /api/menu/category/{category}",
+                "/api/menu/category/" + categories.get(random.nextInt(categories.size())));
+        if (random.nextBoolean()) {
+            client.get("GET /api/menu/search", "/api/menu/search?name=" + URLEncoder.encode(
+                    SEARCH_QUERIES[random.nextInt(SEARCH_QUERIES.length)], StandardCharsets.UTF_8));
+        }
+
+        LoadTestClient.Response created = client.post("POST /api/orders", "/api/orders",
+                Map.of("tableId", table.id));
+        Long orderId = created.getStatus() == 202 ? awaitQueuedOrder(created.json().path("requestId").asText())
+                : (created.isSuccess() ? Long.valueOf(created.json().path("id").asLong()) : null);
+        if (orderId == null) {
+            return;
+        }
+        String orderPath = "/api/orders/" + orderId;
+
+        AtomicInteger pending = new AtomicInteger();
+        Set<Long> knownItemIds = new HashSet<>();
+        int rounds = random.nextInt(MIN_ROUNDS, MAX_ROUNDS + 1);
+        for (int round = 1; round <= rounds && running; round++) {
+            think(3);
+            // 追加注文の前にメニューを見直す（変わっていなければ304）
+            menuETag = client.get("GET /api/menu/available", "/api/menu/available", menuETag).getETag();
+
+            int cartItems = random.nextInt(1, MAX_CART_ITEMS + 1);
+            boolean queued = false;
+            for (int i = 0; i < cartItems; i++) {
+                LoadTestClient.Response added = client.post("POST /api/orders/{id}/items", orderPath + "/items",
+                        Map.of("menuItemId", menuItemIds.get(random.nextInt(menuItemIds.size())),
+                                "quantity", random.nextInt(1, 4)));
+                if (added.getStatus() == 200) {
+                    sendNewItemsToKitchen(orderId, added.json(), knownItemIds, pending);
+                } else if (added.getStatus() == 202) {
+                    queued = true;
+                }
+            }
+            if (queued) {
+                // WALに受け付けられたアイテムは反映後の注文を読み直して厨房に渡す（注文状況画面の再表示）
+                think(1);
+                LoadTestClient.Response order = client.get("GET /api/orders/{id}", orderPath);
+                if (order.getStatus() == 200) {
+                    sendNewItemsToKitchen(orderId, order.json(), knownItemIds, pending);
+                }
+            }
+            if (round == 1 && !changeOrderStatus(orderPath, "confirm")) {
+                return;
+            }
+        }
+
+        // 提供を待ってから会計（厨房が追いつかなければ待ち切らずに会計する）
+        for (int waited = 0; pending.get() > 0 && waited < 20 && running; waited++) {
+            think(1);
+        }
+        if (!changeOrderStatus(orderPath, "ready") || !changeOrderStatus(orderPath, "served")
+                || !changeOrderStatus(orderPath, "complete")) {
+            return;
+        }
+
+        // 領収書の表示・再読み込み（304）・PDF
+        String receiptPath = "/api/receipts/" + orderId;
+        String receiptETag = client.get("GET /api/receipts/{id}/html", receiptPath + "/html").getETag();
+        think(1);
+        client.get("GET /api/receipts/{id}/html", receiptPath + "/html", receiptETag);
+        client.get("GET /api/receipts/{id}/pdf", receiptPath + "/pdf");
+    }
+
+    /**
+     * 注文ステータスの変更（同時更新の409はスタッフが押し直すのと同じく数回まで再試行し、409も記録に残す）
+     */
+    private boolean changeOrderStatus(String orderPath, String action) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            LoadTestClient.Response response = client.patch("PATCH /api/orders/{id}/" + action,
+                    orderPath + "/" + action, null);
+            if (response.getStatus() != 409 || attempt >= STATUS_CHANGE_ATTEMPTS) {
+                return response.isSuccess();
+            }
+            think(1);
+        }
+    }
+
+    /**
+     * WALに受け付けられた（202）注文の反映を待つ（顧客向け画面と同じく処理状況をポーリングする）
+     */
+    private Long awaitQueuedOrder(String requestId) throws InterruptedException {
+        for (int attempt = 0; attempt < 20 && running; attempt++) {
+            think(1);
+            LoadTestClient.Response status = client.get("GET /api/orders/requests/{requestId}",
+                    "/api/orders/requests/" + requestId);
+            JsonNode orderId = status.isSuccess() ? status.json().path("orderId") : null;
+            if (orderId != null && orderId.isNumber()) {
+                return orderId.asLong();
+            }
+        }
+        return null;
+    }
+
+    private void sendNewItemsToKitchen(long orderId, JsonNode order, Set<Long> knownItemIds, AtomicInteger pending) {
+        for (JsonNode item : order.path("orderItems")) {
+            long itemId = item.path("id").asLong();
+            if (knownItemIds.add(itemId)) {
+                pending.incrementAndGet();
+                kitchenQueue.add(new Ticket(orderId, itemId, pending));
+            }
+        }
+    }
+
+    /**
+     * 厨房スタッフ1回分（アイテム1件を提供まで進める、手が空いていればキューの表示を更新）
+     */
+    private void cook() throws InterruptedException {
+        Ticket ticket = kitchenQueue.poll(Math.max(thinkMillis, 50), TimeUnit.MILLISECONDS);
+        if (ticket == null) {
+            client.get("GET /api/kitchen/stations", "/api/kitchen/stations");
+            return;
+        }
+        String itemPath = "/api/orders/" + ticket.orderId + "/items/" + ticket.itemId + "/status";
+        for (String status : ITEM_STATUS_STEPS) {
+            client.patch("PATCH /api/orders/{id}/items/{itemId}/status", itemPath, Map.of("status", status));
+        }
+        ticket.pending.decrementAndGet();
+    }
+
+    /**
+     * 操作の間隔（thinkMillis × factor の 0.5〜1.5 倍）
+     */
+    private void think(int factor) throws InterruptedException {
+        long base = thinkMillis * factor;
+        Thread.sleep(ThreadLocalRandom.current().nextLong(base / 2, base + base / 2 + 1));
+    }
+
+    private static LoadTestClient.Response require(LoadTestClient.Response response, String what) {
+        if (!response.isSuccess()) {
+            throw new IllegalStateException("Failed to load " + what + ": HTTP " + response.getStatus());
+        }
+        return response;
+    }
+}
@@ -0,0 +1,100 @@
+package com.izakaya.ordersystem.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * 負荷試験のベースライン（シナリオのテーブル数 → エンドポイント → 結果）
+ * p50・p99 が基準値の (1 + tolerance) 倍に slackMs を足した値を超えたら劣化とみなす。
+ * p999 は計測期間が短いと揺れが大きいため記録のみで判定には使わない。
+ * リクエスト数が少ないエンドポイントは分位点が最大値とほぼ同じになるため、件数が足りる分位点だけ判定する。
+ */
+public class LatencyBaseline {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .enable(SerializationFeature.INDENT_OUTPUT);
+
+    // 判定に必要なリクエスト数（今回・基準値の両方で満たすこと）
+    private static final long MIN_P50_SAMPLES = 20;
+    private static final long MIN_P99_SAMPLES = 100;
+
+    private Map<String, Map<String, LatencyStats.EndpointResult>> scenarios = new TreeMap<>();
+
+    /**
+     * ファイルから読み込み（ファイルがなければ空）
+     */
+    public static LatencyBaseline read(Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return new LatencyBaseline();
+        }
+        return OBJECT_MAPPER.readValue(file.toFile(), LatencyBaseline.class);
+    }
+
+    public void write(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        OBJECT_MAPPER.writeValue(file.toFile(), this);
+    }
+
+    public boolean hasScenario(int tableCount) {
+        return scenarios.containsKey(String.valueOf(tableCount));
+    }
+
+    public void putScenario(int tableCount, Map<String, LatencyStats.EndpointResult> results) {
+        scenarios.put(String.valueOf(tableCount), new TreeMap<>(results));
+    }
+
+    /**
+     * 基準値と比べた劣化の一覧（基準値のないエンドポイントは対象外）
+     */
+    public List<String> findRegressions(int tableCount, Map<String, LatencyStats.EndpointResult> results,
+            double tolerance, double slackMs) {
+        List<String> regressions = new ArrayList<>();
+        Map<String, LatencyStats.EndpointResult> baseline = scenarios.get(String.valueOf(tableCount));
+        if (baseline == null) {
+            return regressions;
+        }
+        results.forEach((endpoint, result) -> {
+            LatencyStats.EndpointResult expected = baseline.get(endpoint);
+            if (expected == null) {
+                return;
+            }
+            long samples = Math.min(result.getRequests(), expected.getRequests());
+            if (samples >= MIN_P50_SAMPLES) {
+                checkLatency(regressions, tableCount, endpoint, "p50", result.getP50Ms(), expected.getP50Ms(),
+                        tolerance, slackMs);
+            }
+            if (samples >= MIN_P99_SAMPLES) {
+                checkLatency(regressions, tableCount, endpoint, "p99", result.getP99Ms(), expected.getP99Ms(),
+                        tolerance, slackMs);
+            }
+        });
+        return regressions;
+    }
+
+    private static void checkLatency(List<String> regressions, int tableCount, String endpoint, String percentile,
+            double actualMs, double baselineMs, double tolerance, double slackMs) {
+        double limitMs = baselineMs * (1 + tolerance) + slackMs;
+        if (actualMs > limitMs) {
+            regressions.add(String.format("%d tables %s %s: %.2fms > %.2fms (baseline %.2fms)",
+                    tableCount, endpoint, percentile, actualMs, limitMs, baselineMs));
+        }
+    }
+
+    public Map<String, Map<String, LatencyStats.EndpointResult>> getScenarios() {
+        return scenarios;
+    }
+
+    public void setScenarios(Map<String, Map<String, LatencyStats.EndpointResult>> scenarios) {
+        this.scenarios = new TreeMap<>(scenarios);
+    }
+}
@@ -0,0 +1,195 @@
+package com.izakaya.ordersystem.loadtest;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * エンドポイント別の応答時間・エラー数の集計
+ * 計測期間（start 〜 stop）の間だけ記録し、ウォームアップ中と準備中のリクエストは含めない。
+ * 応答時間はエラーになったリクエストも含めて記録する（利用者から見た待ち時間）。
+ * 同時更新の409は再試行される想定の応答のため、エラーとは分けて数える。
+ */
+public class LatencyStats {
+
+    // 記録できる最大の応答時間（これを超えたものは上限値として記録）
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    private volatile boolean recording;
+
+    private long startedAt;
+
+    private long stoppedAt;
+
+    /**
+     * エンドポイント1件分の集計（記録中に並行して更新される）
+     */
+    private static final class Endpoint {
+
+        private final Histogram histogram = new ConcurrentHistogram(1, MAX_LATENCY_NANOS, 3);
+
+        private final LongAdder errors = new LongAdder();
+
+        private final LongAdder conflicts = new LongAdder();
+    }
+
+    public void start() {
+        endpoints.clear();
+        startedAt = System.nanoTime();
+        recording = true;
+    }
+
+    public void stop() {
+        recording = false;
+        stoppedAt = System.nanoTime();
+    }
+
+    /**
+     * 1リクエスト分の記録（status は接続できなかった場合 -1）
+     */
+    public void record(String endpoint, long latencyNanos, int status) {
+        if (!recording) {
+            return;
+        }
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, key -> new Endpoint());
+        stats.histogram.recordValue(Math.max(1, Math.min(latencyNanos, MAX_LATENCY_NANOS)));
+        if (status == 409) {
+            stats.conflicts.increment();
+        } else if (status < 200 || status >= 400) {
+            stats.errors.increment();
+        }
+    }
+
+    /**
+     * 計測期間の秒数
+     */
+    public double getElapsedSeconds() {
+        return (stoppedAt - startedAt) / 1_000_000_000.0;
+    }
+
+    /**
+     * エンドポイント別の結果（エンドポイント名の順）
+     */
+    public Map<String, EndpointResult> results() {
+        double seconds = getElapsedSeconds();
+        Map<String, EndpointResult> results = new TreeMap<>();
+        endpoints.forEach((endpoint, stats) -> {
+            Histogram histogram = stats.histogram;
+            EndpointResult result = new EndpointResult();
+            result.setRequests(histogram.getTotalCount());
+            result.setErrors(stats.errors.sum());
+            result.setConflicts(stats.conflicts.sum());
+            result.setThroughput(seconds > 0 ? histogram.getTotalCount() / seconds : 0);
+            result.setP50Ms(toMillis(histogram.getValueAtPercentile(50)));
+            result.setP99Ms(toMillis(histogram.getValueAtPercentile(99)));
+            result.setP999Ms(toMillis(histogram.getValueAtPercentile(99.9)));
+            result.setMaxMs(toMillis(histogram.getMaxValue()));
+            results.put(endpoint, result);
+        });
+        return results;
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+
+    /**
+     * エンドポイント1件分の結果（ベースラインのJSONにもそのまま書き出す）
+     */
+    public static class EndpointResult {
+
+        private long requests;
+
+        private long errors;
+
+        private long conflicts;
+
+        private double throughput;
+
+        private double p50Ms;
+
+        private double p99Ms;
+
+        private double p999Ms;
+
+        private double maxMs;
+
+        /**
+         * エラー率（0〜1）
+         */
+        public double errorRate() {
+            return requests > 0 ? (double) errors / requests : 0;
+        }
+
+        public long getRequests() {
+            return requests;
+        }
+
+        public void setRequests(long requests) {
+            this.requests = requests;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public void setErrors(long errors) {
+            this.errors = errors;
+        }
+
+        public long getConflicts() {
+            return conflicts;
+        }
+
+        public void setConflicts(long conflicts) {
+            this.conflicts = conflicts;
+        }
+
+        public double getThroughput() {
+            return throughput;
+        }
+
+        public void setThroughput(double throughput) {
+            this.throughput = throughput;
+        }
+
+        public double getP50Ms() {
+            return p50Ms;
+        }
+
+        public void setP50Ms(double p50Ms) {
+            this.p50Ms = p50Ms;
+        }
+
+        public double getP99Ms() {
+            return p99Ms;
+        }
+
+        public void setP99Ms(double p99Ms) {
+            this.p99Ms = p99Ms;
+        }
+
+        public double getP999Ms() {
+            return p999Ms;
+        }
+
+        public void setP999Ms(double p999Ms) {
+            this.p999Ms = p999Ms;
+        }
+
+        public double getMaxMs() {
+            return maxMs;
+        }
+
+        public void setMaxMs(double maxMs) {
+            this.maxMs = maxMs;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.izakaya.ordersystem.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 負荷試験用のHTTPクライアント
+ * リクエストごとの応答時間を、パスの変数部分を除いたエンドポイント名で LatencyStats に記録する。
+ * 2xx と 304 以外の応答・通信エラーはエラーとして数える。
+ */
+public class LoadTestClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final String baseUrl;
+
+    private final LatencyStats stats;
+
+    public LoadTestClient(String baseUrl, LatencyStats stats) {
+        this.baseUrl = baseUrl;
+        this.stats = stats;
+    }
+
+    /**
+     * 応答（通信エラー時は status = -1）
+     */
+    public final class Response {
+
+        private final int status;
+
+        private final byte[] body;
+
+        private final String eTag;
+
+        private Response(int status, byte[] body, String eTag) {
+            this.status = status;
+            this.body = body;
+            this.eTag = eTag;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public boolean isSuccess() {
+            return (status >= 200 && status < 300) || status == 304;
+        }
+
+        public String getETag() {
+            return eTag;
+        }
+
+        public JsonNode json() {
+            try {
+                return objectMapper.readTree(body);
+            } catch (IOException e) {
+                throw new IllegalStateException("Invalid JSON response", e);
+            }
+        }
+    }
+
+    public Response get(String endpoint, String path) throws InterruptedException {
+        return get(endpoint, path, null);
+    }
+
+    /**
+     * 条件付きGET（ifNoneMatch が null なら通常のGET）
+     */
+    public Response get(String endpoint, String path, String ifNoneMatch) throws InterruptedException {
+        HttpRequest.Builder request = newRequest(path).GET();
+        if (ifNoneMatch != null) {
+            request.header("If-None-Match", ifNoneMatch);
+        }
+        return send(endpoint, request.build());
+    }
+
+    public Response post(String endpoint, String path, Object body) throws InterruptedException {
+        return send(endpoint, newRequest(path)
+                .header("Content-Type", "application/json")
+                .POST(jsonBody(body))
+                .build());
+    }
+
+    public Response patch(String endpoint, String path, Object body) throws InterruptedException {
+        return send(endpoint, newRequest(path)
+                .header("Content-Type", "application/json")
+                .method("PATCH", body != null ? jsonBody(body) : HttpRequest.BodyPublishers.noBody())
+                .build());
+    }
+
+    private HttpRequest.Builder newRequest(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT);
+    }
+
+    private HttpRequest.BodyPublisher jsonBody(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body), StandardCharsets.UTF_8);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private Response send(String endpoint, HttpRequest request) throws InterruptedException {
+        long start = System.nanoTime();
+        Response response;
+        try {
+            HttpResponse<byte[]> httpResponse = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            response = new Response(httpResponse.statusCode(), httpResponse.body(),
+                    httpResponse.headers().firstValue("ETag").orElse(null));
+        } catch (IOException e) {
+            response = new Response(-1, new byte[0], null);
+        }
+        stats.record(endpoint, System.nanoTime() - start, response.getStatus());
+        return response;
+    }
+}
@@ -0,0 +1,114 @@
+package com.izakaya.ordersystem.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.izakaya.ordersystem.model.MenuItem;
+import com.izakaya.ordersystem.search.MenuPriceIndex;
+import com.izakaya.ordersystem.search.MenuSearchIndex;
+
+/**
+ * メニューカタログのスナップショット（不変）
+ * 店舗の全メニューアイテムをID・カテゴリ別に索引化して保持する。
+ * 提供可能なアイテムは名前・読み仮名・説明の検索索引（MenuSearchIndex）と価格索引（MenuPriceIndex）も持つ。
+ * 可用性の切り替えもスナップショットの差し替えで反映されるため、索引は常に提供可能なアイテムと一致する。
+ * 保持しているエンティティはデタッチ済みのため、更新は必ず MenuService 経由で行うこと。
+ */
+public final class MenuCatalog {
+
+    private final long version;
+
+    private final Map<Long, MenuItem> itemsById;
+
+    private final List<MenuItem> allItems;
+
+    private final List<MenuItem> availableItems;
+
+    private final Map<MenuItem.MenuCategory, List<MenuItem>> availableItemsByCategory;
+
+    private final MenuSearchIndex searchIndex;
+
+    private final MenuPriceIndex priceIndex;
+
+    public MenuCatalog(long version, List<MenuItem> menuItems) {
+        this(version, menuItems, null);
+    }
+
+    /**
+     * previous（差し替え前のスナップショット）の検索索引から、変更のないアイテムの正規化結果を引き継ぐ
+     */
+    public MenuCatalog(long version, List<MenuItem> menuItems, MenuCatalog previous) {
+        this.version = version;
+
+        Map<Long, MenuItem> byId = new LinkedHashMap<>();
+        List<MenuItem> available = new ArrayList<>();
+        Map<MenuItem.MenuCategory, List<MenuItem>> byCategory = new EnumMap<>(MenuItem.MenuCategory.class);
+
+        for (MenuItem menuItem : menuItems) {
+            byId.put(menuItem.getId(), menuItem);
+            if (Boolean.TRUE.equals(menuItem.getIsAvailable())) {
+                available.add(menuItem);
+                if (menuItem.getCategory() != null) {
+                    byCategory.computeIfAbsent(menuItem.getCategory(), category -> new ArrayList<>()).add(menuItem);
+                }
+            }
+        }
+        byCategory.replaceAll((category, items) -> Collections.unmodifiableList(items));
+
+        this.itemsById = Collections.unmodifiableMap(byId);
+        this.allItems = List.copyOf(menuItems);
+        this.availableItems = Collections.unmodifiableList(available);
+        this.availableItemsByCategory = Collections.unmodifiableMap(byCategory);
+        this.searchIndex = MenuSearchIndex.build(available, previous != null ? previous.searchIndex : null);
+        this.priceIndex = MenuPriceIndex.build(available);
+    }
+
+    /**
+     * バージョン（スナップショット差し替えごとに増加）
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * ETag値
+     */
+    public String getETag() {
+        return "\"menu-" + version + "\"";
+    }
+
+    public List<MenuItem> getAllItems() {
+        return allItems;
+    }
+
+    public List<MenuItem> getAvailableItems() {
+        return availableItems;
+    }
+
+    public List<MenuItem> getAvailableItemsByCategory(MenuItem.MenuCategory category) {
+        return availableItemsByCategory.getOrDefault(category, List.of());
+    }
+
+    /**
+     * 提供可能なアイテムの検索（名前・読み仮名・説明、一致の強い順）
+     */
+    public List<MenuItem> search(String query) {
+        return searchIndex.search(query);
+    }
+
+    /**
+     * 提供可能なアイテムの価格索引（価格範囲・安い順・価格帯別件数）
+     */
+    public MenuPriceIndex getPriceIndex() {
+        return priceIndex;
+    }
+
+    public Optional<MenuItem> findById(Long id) {
+        return Optional.ofNullable(itemsById.get(id));
+    }
+}
@@ -0,0 +1,99 @@
+package com.izakaya.ordersystem.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.izakaya.ordersystem.model.MenuItem;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * メニューカタログキャッシュ（店舗別）
+ * メニュー更新のコミット後にその店舗のメニューだけをDBから読み直し、スナップショットを丸ごと差し替える。
+ * 読み直しは店舗ごとに直列化するため、他の店舗の参照・読み直しを待たせない。
+ */
+@Component
+public class MenuCatalogCache {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // 再起動をまたいでもETagが衝突しないよう起動時刻を初期値にする（全店舗で共通の連番）
+    private final AtomicLong versionSequence = new AtomicLong(System.currentTimeMillis());
+
+    private final Map<Long, StoreCatalog> catalogs = new ConcurrentHashMap<>();
+
+    /**
+     * 店舗1件分のスナップショット（読み直しの同期単位）
+     */
+    private static final class StoreCatalog {
+
+        private volatile MenuCatalog catalog;
+    }
+
+    /**
+     * 店舗の現在のスナップショット取得（未ロードならロード）
+     */
+    public MenuCatalog get(Long storeId) {
+        StoreCatalog storeCatalog = catalogs.get(storeId);
+        MenuCatalog current = storeCatalog != null ? storeCatalog.catalog : null;
+        if (current == null) {
+            current = refresh(storeId);
+        }
+        return current;
+    }
+
+    /**
+     * 店舗のスナップショット再構築
+     * 読み込みと差し替えを店舗ごとに直列化し、古い読み込み結果で新しいスナップショットを上書きしないようにする
+     */
+    public MenuCatalog refresh(Long storeId) {
+        StoreCatalog storeCatalog = catalogs.computeIfAbsent(storeId, id -> new StoreCatalog());
+        synchronized (storeCatalog) {
+            // Open Session in View の永続化コンテキストに載らないよう専用のEntityManagerで読み込む
+            EntityManager entityManager = entityManagerFactory.createEntityManager();
+            try {
+                List<MenuItem> menuItems = entityManager
+                        .createQuery("SELECT m FROM MenuItem m WHERE m.storeId = :storeId ORDER BY m.id",
+                                MenuItem.class)
+                        .setParameter("storeId", storeId)
+                        .getResultList();
+                MenuCatalog refreshed = new MenuCatalog(versionSequence.incrementAndGet(), menuItems,
+                        storeCatalog.catalog);
+                if (menuItems.isEmpty() && storeCatalog.catalog == null) {
+                    // メニューのない（存在しない）店舗IDの問い合わせでキャッシュを増やさない
+                    catalogs.remove(storeId, storeCatalog);
+                    return refreshed;
+                }
+                storeCatalog.catalog = refreshed;
+                return refreshed;
+            } finally {
+                entityManager.close();
+            }
+        }
+    }
+
+    /**
+     * 現在のトランザクションのコミット後に店舗のスナップショットを再構築（トランザクション外なら即時）
+     */
+    public void refreshAfterCommit(Long storeId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refresh(storeId);
+                }
+            });
+        } else {
+            refresh(storeId);
+        }
+    }
+}
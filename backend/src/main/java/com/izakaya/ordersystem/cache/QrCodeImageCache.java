@@ -0,0 +1,137 @@
+package com.izakaya.ordersystem.cache;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * QRコード画像（PNG）キャッシュ
+ * 画像はQRコードの内容（URL）だけで決まるため、内容をキーにメモリとディスクの2段で保持する。
+ * メモリは件数の上限を超えたら最も古く参照されたものから破棄する。
+ */
+@Component
+public class QrCodeImageCache {
+
+    private static final Logger log = LoggerFactory.getLogger(QrCodeImageCache.class);
+
+    /**
+     * PNG生成処理
+     */
+    @FunctionalInterface
+    public interface Renderer {
+        byte[] render(String payload) throws Exception;
+    }
+
+    // QRコードの内容 → PNG（参照順、ロックはこのオブジェクト）
+    private final LinkedHashMap<String, byte[]> memoryCache;
+
+    private final Path cacheDir;
+
+    public QrCodeImageCache(
+            @Value("${qrcode.cache-dir:${java.io.tmpdir}/izakaya-qr-cache}") String cacheDir,
+            @Value("${qrcode.cache-max-entries:1024}") int maxEntries) {
+        this.cacheDir = Paths.get(cacheDir);
+        this.memoryCache = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * キャッシュから取得（メモリ → ディスク → 生成の順）
+     * 生成は描画スレッドの空きを待つことがあるため、マップのロックを持たずに行う
+     * （同時に生成された場合は先に登録された画像を使う）
+     */
+    public byte[] getOrRender(String payload, Renderer renderer) {
+        synchronized (memoryCache) {
+            byte[] cached = memoryCache.get(payload);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        byte[] png = readFromDisk(payload);
+        if (png == null) {
+            try {
+                png = renderer.render(payload);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException("Failed to render QR code: " + payload, e);
+            }
+            writeToDisk(payload, png);
+        }
+        synchronized (memoryCache) {
+            byte[] existing = memoryCache.putIfAbsent(payload, png);
+            return existing != null ? existing : png;
+        }
+    }
+
+    /**
+     * キャッシュ破棄
+     */
+    public void invalidate(String payload) {
+        synchronized (memoryCache) {
+            memoryCache.remove(payload);
+        }
+        try {
+            Files.deleteIfExists(fileFor(payload));
+        } catch (IOException e) {
+            log.warn("QRコードキャッシュの削除に失敗しました: {}", payload, e);
+        }
+    }
+
+    private byte[] readFromDisk(String payload) {
+        Path file = fileFor(payload);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            return Files.readAllBytes(file);
+        } catch (IOException e) {
+            log.warn("QRコードキャッシュの読み込みに失敗しました: {}", file, e);
+            return null;
+        }
+    }
+
+    private void writeToDisk(String payload, byte[] png) {
+        // ディスクへの書き込み失敗はメモリキャッシュだけで継続する
+        try {
+            Files.createDirectories(cacheDir);
+            Path tempFile = Files.createTempFile(cacheDir, "qr", ".tmp");
+            Files.write(tempFile, png);
+            Files.move(tempFile, fileFor(payload), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("QRコードキャッシュの書き込みに失敗しました: {}", payload, e);
+        }
+    }
+
+    private Path fileFor(String payload) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(payload.getBytes(StandardCharsets.UTF_8));
+            return cacheDir.resolve(HexFormat.of().formatHex(hash) + ".png");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
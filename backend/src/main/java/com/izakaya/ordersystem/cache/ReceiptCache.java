@@ -0,0 +1,264 @@
+package com.izakaya.ordersystem.cache;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 会計完了した注文の領収書（描画済み）キャッシュ
+ * 会計完了後の領収書は変わらないため、注文ID・形式ごとに注文のバージョンと描画結果を保持する。
+ * バージョンが変わった（訂正された）注文は古い描画結果を使わずに描画し直す。
+ * メモリは合計サイズの上限を超えたら最も古く参照されたものから破棄し、ディスク（任意）にも保存する。
+ * ETagは描画結果の SHA-256 のため、同じ内容なら再起動後も同じ値になる。
+ */
+@Component
+public class ReceiptCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ReceiptCache.class);
+
+    /**
+     * 領収書の形式
+     */
+    public enum Format {
+        TEXT("txt"),
+        HTML("html"),
+        PDF("pdf");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+    }
+
+    /**
+     * 描画処理
+     */
+    @FunctionalInterface
+    public interface Renderer {
+        byte[] render() throws IOException;
+    }
+
+    /**
+     * 描画済みの領収書（不変）
+     */
+    public static final class CachedReceipt {
+
+        private final long version;
+
+        private final byte[] content;
+
+        private final String eTag;
+
+        private CachedReceipt(long version, byte[] content) {
+            this.version = version;
+            this.content = content;
+            this.eTag = "\"" + sha256(content) + "\"";
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        /**
+         * 強いETag（描画結果の SHA-256）
+         */
+        public String getETag() {
+            return eTag;
+        }
+
+        public int size() {
+            return content.length;
+        }
+
+        public void writeTo(OutputStream outputStream) throws IOException {
+            outputStream.write(content);
+        }
+
+        /**
+         * 描画結果の文字列（テキスト・HTML形式、UTF-8）
+         */
+        public String asText() {
+            return new String(content, StandardCharsets.UTF_8);
+        }
+    }
+
+    // 注文ID:形式 → 描画済みの領収書（参照順、ロックはこのオブジェクト）
+    private final LinkedHashMap<String, CachedReceipt> memoryCache = new LinkedHashMap<>(64, 0.75f, true);
+
+    private final long maxMemoryBytes;
+
+    private final Path cacheDir;
+
+    private long memoryBytes;
+
+    public ReceiptCache(
+            @Value("${receipt.cache-max-bytes:16777216}") long maxMemoryBytes,
+            @Value("${receipt.cache-dir:}") String cacheDir) {
+        this.maxMemoryBytes = maxMemoryBytes;
+        this.cacheDir = cacheDir.isBlank() ? null : Paths.get(cacheDir);
+    }
+
+    /**
+     * キャッシュから取得（メモリ → ディスク → 描画の順）
+     * 描画はロックの外で行うため、同じ領収書の同時要求では重複して描画されることがある
+     */
+    public CachedReceipt getOrRender(Long orderId, long version, Format format, Renderer renderer) {
+        String key = key(orderId, format);
+        synchronized (memoryCache) {
+            CachedReceipt cached = memoryCache.get(key);
+            if (cached != null && cached.version == version) {
+                return cached;
+            }
+        }
+
+        CachedReceipt receipt = readFromDisk(orderId, version, format);
+        if (receipt == null) {
+            try {
+                receipt = new CachedReceipt(version, renderer.render());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            writeToDisk(orderId, format, receipt);
+        }
+
+        CachedReceipt previous = put(key, receipt);
+        if (previous != null && previous.version != version) {
+            deleteFromDisk(orderId, previous.version, format);
+        }
+        return receipt;
+    }
+
+    /**
+     * 注文の領収書を全形式破棄（会計完了後の訂正時）
+     */
+    public void invalidate(Long orderId) {
+        synchronized (memoryCache) {
+            for (Format format : Format.values()) {
+                CachedReceipt removed = memoryCache.remove(key(orderId, format));
+                if (removed != null) {
+                    memoryBytes -= removed.size();
+                }
+            }
+        }
+        if (cacheDir == null || !Files.isDirectory(cacheDir)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(cacheDir, orderId + "-*")) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            log.warn("領収書キャッシュの削除に失敗しました: orderId={}", orderId, e);
+        }
+    }
+
+    /**
+     * メモリ上の領収書の合計サイズ（バイト）
+     */
+    public long getMemoryBytes() {
+        synchronized (memoryCache) {
+            return memoryBytes;
+        }
+    }
+
+    // 新しいバージョンを古いバージョンで上書きしない。差し替えた（または破棄した）エントリを返す
+    private CachedReceipt put(String key, CachedReceipt receipt) {
+        synchronized (memoryCache) {
+            CachedReceipt current = memoryCache.get(key);
+            if (current != null && current.version > receipt.version) {
+                return null;
+            }
+            if (current != null) {
+                memoryCache.remove(key);
+                memoryBytes -= current.size();
+            }
+            if (receipt.size() <= maxMemoryBytes) {
+                memoryCache.put(key, receipt);
+                memoryBytes += receipt.size();
+            }
+            Iterator<Map.Entry<String, CachedReceipt>> eldest = memoryCache.entrySet().iterator();
+            while (memoryBytes > maxMemoryBytes && eldest.hasNext()) {
+                memoryBytes -= eldest.next().getValue().size();
+                eldest.remove();
+            }
+            return current;
+        }
+    }
+
+    private CachedReceipt readFromDisk(Long orderId, long version, Format format) {
+        if (cacheDir == null) {
+            return null;
+        }
+        Path file = fileFor(orderId, version, format);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            return new CachedReceipt(version, Files.readAllBytes(file));
+        } catch (IOException e) {
+            log.warn("領収書キャッシュの読み込みに失敗しました: {}", file, e);
+            return null;
+        }
+    }
+
+    private void writeToDisk(Long orderId, Format format, CachedReceipt receipt) {
+        if (cacheDir == null) {
+            return;
+        }
+        // ディスクへの書き込み失敗はメモリキャッシュだけで継続する
+        try {
+            Files.createDirectories(cacheDir);
+            Path tempFile = Files.createTempFile(cacheDir, "receipt", ".tmp");
+            Files.write(tempFile, receipt.content);
+            Files.move(tempFile, fileFor(orderId, receipt.version, format), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("領収書キャッシュの書き込みに失敗しました: orderId={}", orderId, e);
+        }
+    }
+
+    private void deleteFromDisk(Long orderId, long version, Format format) {
+        if (cacheDir == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(fileFor(orderId, version, format));
+        } catch (IOException e) {
+            log.warn("領収書キャッシュの削除に失敗しました: orderId={}", orderId, e);
+        }
+    }
+
+    private Path fileFor(Long orderId, long version, Format format) {
+        return cacheDir.resolve(orderId + "-" + version + "." + format.extension);
+    }
+
+    private static String key(Long orderId, Format format) {
+        return orderId + ":" + format.name();
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
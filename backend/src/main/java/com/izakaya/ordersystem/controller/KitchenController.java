@@ -0,0 +1,55 @@
+package com.izakaya.ordersystem.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.izakaya.ordersystem.dto.KitchenStationQueue;
+import com.izakaya.ordersystem.kitchen.KitchenScheduler;
+import com.izakaya.ordersystem.kitchen.KitchenStation;
+import com.izakaya.ordersystem.model.Store;
+
+@RestController
+@RequestMapping("/api/kitchen")
+@CrossOrigin(origins = { "http://localhost:3000", "http://localhost:3001" })
+public class KitchenController {
+
+    @Autowired
+    private KitchenScheduler kitchenScheduler;
+
+    /**
+     * 全持ち場のキュー取得
+     */
+    @GetMapping("/stations")
+    public ResponseEntity<List<KitchenStationQueue>> getStationQueues(
+            @RequestParam(defaultValue = Store.DEFAULT_ID_PARAM) Long storeId) {
+        return ResponseEntity.ok(kitchenScheduler.getStationQueues(storeId));
+    }
+
+    /**
+     * 持ち場のキュー取得（調理開始目安の早い順）
+     */
+    @GetMapping("/stations/{station}/tickets")
+    public ResponseEntity<KitchenStationQueue> getStationQueue(@PathVariable KitchenStation station,
+            @RequestParam(defaultValue = Store.DEFAULT_ID_PARAM) Long storeId) {
+        return ResponseEntity.ok(kitchenScheduler.getStationQueue(storeId, station));
+    }
+
+    /**
+     * 店舗のキューをDBから再構築
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<List<KitchenStationQueue>> rebuild(
+            @RequestParam(defaultValue = Store.DEFAULT_ID_PARAM) Long storeId) {
+        kitchenScheduler.rebuild(storeId);
+        return ResponseEntity.ok(kitchenScheduler.getStationQueues(storeId));
+    }
+}
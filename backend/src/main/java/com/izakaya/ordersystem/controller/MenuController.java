@@ -4,6 +4,7 @@ import java.math.BigDecimal;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -17,7 +18,10 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.izakaya.ordersystem.cache.MenuCatalog;
+import com.izakaya.ordersystem.dto.PriceBand;
 import com.izakaya.ordersystem.model.MenuItem;
+import com.izakaya.ordersystem.model.Store;
 import com.izakaya.ordersystem.service.MenuService;
 
 @RestController
@@ -32,18 +36,20 @@ public class MenuController {
      * 全メニュー取得
      */
     @GetMapping
-    public ResponseEntity<List<MenuItem>> getAllMenuItems() {
-        List<MenuItem> menuItems = menuService.getAllMenuItems();
-        return ResponseEntity.ok(menuItems);
+    public ResponseEntity<List<MenuItem>> getAllMenuItems(
+            @RequestParam(defaultValue = Store.DEFAULT_ID_PARAM) Long storeId) {
+        MenuCatalog catalog = menuService.getMenuCatalog(storeId);
+        return withCatalogETag(catalog).body(catalog.getAllItems());
     }
 
     /**
      * 利用可能なメニュー取得
      */
     @GetMapping("/available")
-    public ResponseEntity<List<MenuItem>> getAvailableMenuItems() {
-        List<MenuItem> menuItems = menuService.getAvailableMenuItems();
-        return ResponseEntity.ok(menuItems);
+    public ResponseEntity<List<MenuItem>> getAvailableMenuItems(
+            @RequestParam(defaultValue = Store.DEFAULT_ID_PARAM) Long storeId) {
+        MenuCatalog catalog = menuService.getMenuCatalog(storeId);
+        return withCatalogETag(catalog).body(catalog.getAvailableItems());
     }
 
     /**
@@ -51,17 +57,20 @@ public class MenuController {
      */
     @GetMapping("/category/{category}")
     public ResponseEntity<List<MenuItem>> getMenuItemsByCategory(
-            @PathVariable MenuItem.MenuCategory category) {
-        List<MenuItem> menuItems = menuService.getMenuItemsByCategory(category);
-        return ResponseEntity.ok(menuItems);
+            @PathVariable MenuItem.MenuCategory category,
+            @RequestParam(defaultValue = Store.DEFAULT_ID_PARAM) Long storeId) {
+        MenuCatalog catalog = menuService.getMenuCatalog(storeId);
+        return withCatalogETag(catalog).body(catalog.getAvailableItemsByCategory(category));
     }
 
     /**
      * メニューアイテム詳細取得
      */
     @GetMapping("/{id}")
-    public ResponseEntity<MenuItem> getMenuItemById(@PathVariable Long id) {
-        return menuService.getMenuItemById(id)
+    public ResponseEntity<MenuItem> getMenuItemById(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = Store.DEFAULT_ID_PARAM) Long storeId) {
+        return menuService.getMenuItemById(storeId, id)
                 .map(menuItem -> ResponseEntity.ok(menuItem))
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -70,8 +79,10 @@ public class MenuController {
      * メニュー検索
      */
     @GetMapping("/search")
-    public ResponseEntity<List<MenuItem>> searchMenuItems(@RequestParam String name) {
-        List<MenuItem> menuItems = menuService.searchMenuItemsByName(name);
+    public ResponseEntity<List<MenuItem>> searchMenuItems(
+            @RequestParam String name,
+            @RequestParam(defaultValue = Store.DEFAULT_ID_PARAM) Long storeId) {
+        List<MenuItem> menuItems = menuService.searchMenuItemsByName(storeId, name);
         return ResponseEntity.ok(menuItems);
     }
 
@@ -81,18 +92,51 @@ public class MenuController {
     @GetMapping("/price-range")
     public ResponseEntity<List<MenuItem>> getMenuItemsByPriceRange(
             @RequestParam BigDecimal minPrice,
-            @RequestParam BigDecimal maxPrice) {
-        List<MenuItem> menuItems = menuService.getMenuItemsByPriceRange(minPrice, maxPrice);
+            @RequestParam BigDecimal maxPrice,
+            @RequestParam(defaultValue = Store.DEFAULT_ID_PARAM) Long storeId) {
+        List<MenuItem> menuItems = menuService.getMenuItemsByPriceRange(storeId, minPrice, maxPrice);
         return ResponseEntity.ok(menuItems);
     }
 
     /**
-     * メニューアイテム作成（管理者用）
+     * 安い順のメニュー取得
+     */
+    @GetMapping("/cheapest")
+    public ResponseEntity<List<MenuItem>> getCheapestMenuItems(
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = Store.DEFAULT_ID_PARAM) Long storeId) {
+        List<MenuItem> menuItems = menuService.getCheapestMenuItems(storeId, limit);
+        return ResponseEntity.ok(menuItems);
+    }
+
+    /**
+     * 価格帯ごとのメニュー件数
+     */
+    @GetMapping("/price-bands")
+    public ResponseEntity<List<PriceBand>> getPriceBands(
+            @RequestParam(defaultValue = "500") long bandWidth,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(defaultValue = Store.DEFAULT_ID_PARAM) Long storeId) {
+        try {
+            List<PriceBand> priceBands = menuService.getPriceBands(storeId, bandWidth, minPrice, maxPrice);
+            return ResponseEntity.ok(priceBands);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * メニューアイテム作成（管理者用、店舗は storeId で指定）
      */
     @PostMapping
     public ResponseEntity<MenuItem> createMenuItem(@RequestBody MenuItem menuItem) {
-        MenuItem createdMenuItem = menuService.createMenuItem(menuItem);
-        return ResponseEntity.ok(createdMenuItem);
+        try {
+            MenuItem createdMenuItem = menuService.createMenuItem(menuItem);
+            return ResponseEntity.ok(createdMenuItem);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     /**
@@ -135,4 +179,13 @@ public class MenuController {
             return ResponseEntity.notFound().build();
         }
     }
+
+    /**
+     * カタログのバージョンをETagとして付与（If-None-Match一致時は304を返す）
+     */
+    private ResponseEntity.BodyBuilder withCatalogETag(MenuCatalog catalog) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(catalog.getETag());
+    }
 }
\ No newline at end of file
@@ -1,9 +1,17 @@
 package com.izakaya.ordersystem.controller;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,10 +20,23 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.izakaya.ordersystem.dto.AdminOrderRow;
+import com.izakaya.ordersystem.dto.KitchenTicketView;
+import com.izakaya.ordersystem.dto.OrderItemRequest;
+import com.izakaya.ordersystem.dto.OrderRequestResult;
+import com.izakaya.ordersystem.event.OrderEventPublisher;
+import com.izakaya.ordersystem.export.OrderExportFormat;
+import com.izakaya.ordersystem.journal.OrderState;
 import com.izakaya.ordersystem.model.Order;
 import com.izakaya.ordersystem.model.OrderItem;
+import com.izakaya.ordersystem.model.OrderJournalEntry;
+import com.izakaya.ordersystem.model.Store;
+import com.izakaya.ordersystem.service.OrderExportService;
+import com.izakaya.ordersystem.service.OrderRequestService;
 import com.izakaya.ordersystem.service.OrderService;
 
 @RestController
@@ -26,12 +47,22 @@ public class OrderController {
     @Autowired
     private OrderService orderService;
 
+    @Autowired
+    private OrderRequestService orderRequestService;
+
+    @Autowired
+    private OrderEventPublisher orderEventPublisher;
+
+    @Autowired
+    private OrderExportService orderExportService;
+
     /**
      * 全注文取得
      */
     @GetMapping
-    public ResponseEntity<List<Order>> getAllOrders() {
-        List<Order> orders = orderService.getAllOrders();
+    public ResponseEntity<List<Order>> getAllOrders(
+            @RequestParam(defaultValue = Store.DEFAULT_ID_PARAM) Long storeId) {
+        List<Order> orders = orderService.getAllOrders(storeId);
         return ResponseEntity.ok(orders);
     }
 
@@ -39,8 +70,9 @@ public class OrderController {
      * アクティブな注文取得
      */
     @GetMapping("/active")
-    public ResponseEntity<List<Order>> getActiveOrders() {
-        List<Order> orders = orderService.getActiveOrders();
+    public ResponseEntity<List<AdminOrderRow>> getActiveOrders(
+            @RequestParam(defaultValue = Store.DEFAULT_ID_PARAM) Long storeId) {
+        List<AdminOrderRow> orders = orderService.getActiveOrderRows(storeId);
         return ResponseEntity.ok(orders);
     }
 
@@ -48,9 +80,21 @@ public class OrderController {
      * 厨房向け注文取得
      */
     @GetMapping("/kitchen")
-    public ResponseEntity<List<Order>> getOrdersForKitchen() {
-        List<Order> orders = orderService.getOrdersForKitchen();
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<List<KitchenTicketView>> getOrdersForKitchen(
+            @RequestParam(defaultValue = Store.DEFAULT_ID_PARAM) Long storeId) {
+        List<KitchenTicketView> tickets = orderService.getKitchenTickets(storeId);
+        return ResponseEntity.ok(tickets);
+    }
+
+    /**
+     * 注文イベント再同期（店舗の指定連番より後の差分取得）
+     */
+    @GetMapping("/events")
+    public ResponseEntity<OrderEventPublisher.EventReplay> getOrderEvents(
+            @RequestParam(defaultValue = Store.DEFAULT_ID_PARAM) Long storeId,
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(required = false) Long tableId) {
+        return ResponseEntity.ok(orderEventPublisher.getEventsSince(storeId, since, tableId));
     }
 
     /**
@@ -80,22 +124,67 @@ public class OrderController {
      * 今日の注文取得
      */
     @GetMapping("/today")
-    public ResponseEntity<List<Order>> getTodaysOrders() {
-        List<Order> orders = orderService.getTodaysOrders();
+    public ResponseEntity<List<Order>> getTodaysOrders(
+            @RequestParam(defaultValue = Store.DEFAULT_ID_PARAM) Long storeId) {
+        List<Order> orders = orderService.getTodaysOrders(storeId);
         return ResponseEntity.ok(orders);
     }
 
     /**
-     * 新規注文作成
+     * 注文履歴のエクスポート（作成日 from〜to、CSV または列指向形式、既定で gzip 圧縮しながら送信）
      */
-    @PostMapping
-    public ResponseEntity<Order> createOrder(@RequestBody Map<String, Object> orderRequest) {
-        Long tableId = Long.valueOf(orderRequest.get("tableId").toString());
-        String customerNotes = (String) orderRequest.get("customerNotes");
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "true") boolean gzip,
+            @RequestParam(defaultValue = Store.DEFAULT_ID_PARAM) Long storeId) {
+        LocalDate lastDate = to != null ? to : from;
+        OrderExportFormat exportFormat;
+        try {
+            exportFormat = OrderExportFormat.of(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (lastDate.isBefore(from)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        String fileName = "orders_" + from + "_" + lastDate + "." + exportFormat.getExtension() + (gzip ? ".gz" : "");
+        StreamingResponseBody body = outputStream -> {
+            if (!gzip) {
+                orderExportService.export(storeId, from.atStartOfDay(), lastDate.plusDays(1).atStartOfDay(),
+                        exportFormat, outputStream);
+                return;
+            }
+            GZIPOutputStream gzipStream = new GZIPOutputStream(outputStream, 64 * 1024);
+            orderExportService.export(storeId, from.atStartOfDay(), lastDate.plusDays(1).atStartOfDay(),
+                    exportFormat, gzipStream);
+            gzipStream.finish();
+        };
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(gzip
+                ? MediaType.parseMediaType("application/gzip")
+                : MediaType.parseMediaType(exportFormat.getContentType()));
+        headers.setContentDispositionFormData("attachment", fileName);
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(body);
+    }
 
+    /**
+     * 新規注文作成（requestId を指定すると再送しても重複作成しない）
+     */
+    @PostMapping
+    public ResponseEntity<?> createOrder(@RequestBody Map<String, Object> orderRequest) {
         try {
-            Order order = orderService.createOrder(tableId, customerNotes);
-            return ResponseEntity.ok(order);
+            Long tableId = Long.valueOf(orderRequest.get("tableId").toString());
+            String customerNotes = (String) orderRequest.get("customerNotes");
+            String requestId = (String) orderRequest.get("requestId");
+
+            return toResponse(orderRequestService.createOrder(requestId, tableId, customerNotes));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
@@ -105,17 +194,95 @@ public class OrderController {
      * 注文にアイテム追加
      */
     @PostMapping("/{orderId}/items")
-    public ResponseEntity<Order> addItemToOrder(
+    public ResponseEntity<?> addItemToOrder(
             @PathVariable Long orderId,
             @RequestBody Map<String, Object> itemRequest) {
 
-        Long menuItemId = Long.valueOf(itemRequest.get("menuItemId").toString());
-        Integer quantity = Integer.valueOf(itemRequest.get("quantity").toString());
-        String specialInstructions = (String) itemRequest.get("specialInstructions");
+        try {
+            OrderItemRequest item = toItemRequest(itemRequest);
+            String requestId = (String) itemRequest.get("requestId");
+
+            return toResponse(orderRequestService.addItemToOrder(requestId, orderId, null,
+                    item.getMenuItemId(), item.getQuantity(), item.getSpecialInstructions()));
+        } catch (IllegalStateException e) {
+            // 会計済み・キャンセル済みなど、アイテムを追加できない注文
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * 注文にアイテム一括追加（カート全体）
+     */
+    @PostMapping("/{orderId}/items/batch")
+    public ResponseEntity<?> addItemsToOrder(
+            @PathVariable Long orderId,
+            @RequestBody Map<String, Object> batchRequest) {
 
         try {
-            Order order = orderService.addItemToOrder(orderId, menuItemId, quantity, specialInstructions);
-            return ResponseEntity.ok(order);
+            List<OrderItemRequest> itemRequests = toItemRequests(batchRequest);
+            String requestId = (String) batchRequest.get("requestId");
+
+            return toResponse(orderRequestService.addItemsToOrder(requestId, orderId, null, itemRequests));
+        } catch (IllegalStateException e) {
+            // 会計済み・キャンセル済みなど、アイテムを追加できない注文
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * 注文リクエストの処理状況取得
+     */
+    @GetMapping("/requests/{requestId}")
+    public ResponseEntity<OrderRequestResult> getRequestResult(@PathVariable String requestId) {
+        OrderRequestResult result = orderRequestService.getRequestResult(requestId);
+        if (result.getState() == OrderRequestResult.RequestState.UNKNOWN) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * 受付済み（未反映）の注文にアイテム追加
+     */
+    @PostMapping("/requests/{orderRequestId}/items")
+    public ResponseEntity<?> addItemToQueuedOrder(
+            @PathVariable String orderRequestId,
+            @RequestBody Map<String, Object> itemRequest) {
+
+        try {
+            OrderItemRequest item = toItemRequest(itemRequest);
+            String requestId = (String) itemRequest.get("requestId");
+
+            return toResponse(orderRequestService.addItemToOrder(requestId, null, orderRequestId,
+                    item.getMenuItemId(), item.getQuantity(), item.getSpecialInstructions()));
+        } catch (IllegalStateException e) {
+            // 会計済み・キャンセル済みなど、アイテムを追加できない注文
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * 受付済み（未反映）の注文にアイテム一括追加
+     */
+    @PostMapping("/requests/{orderRequestId}/items/batch")
+    public ResponseEntity<?> addItemsToQueuedOrder(
+            @PathVariable String orderRequestId,
+            @RequestBody Map<String, Object> batchRequest) {
+
+        try {
+            List<OrderItemRequest> itemRequests = toItemRequests(batchRequest);
+            String requestId = (String) batchRequest.get("requestId");
+
+            return toResponse(orderRequestService.addItemsToOrder(requestId, null, orderRequestId, itemRequests));
+        } catch (IllegalStateException e) {
+            // 会計済み・キャンセル済みなど、アイテムを追加できない注文
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
@@ -133,6 +300,9 @@ public class OrderController {
             Order.OrderStatus newStatus = Order.OrderStatus.valueOf(statusRequest.get("status"));
             Order order = orderService.updateOrderStatus(orderId, newStatus);
             return ResponseEntity.ok(order);
+        } catch (IllegalStateException | OptimisticLockingFailureException e) {
+            // 許可されていないステータス遷移、または他の端末との同時更新
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
@@ -146,6 +316,9 @@ public class OrderController {
         try {
             Order order = orderService.confirmOrder(orderId);
             return ResponseEntity.ok(order);
+        } catch (IllegalStateException | OptimisticLockingFailureException e) {
+            // 許可されていないステータス遷移、または他の端末との同時更新
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
@@ -159,6 +332,9 @@ public class OrderController {
         try {
             Order order = orderService.startPreparation(orderId);
             return ResponseEntity.ok(order);
+        } catch (IllegalStateException | OptimisticLockingFailureException e) {
+            // 許可されていないステータス遷移、または他の端末との同時更新
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
@@ -172,6 +348,9 @@ public class OrderController {
         try {
             Order order = orderService.markAsReady(orderId);
             return ResponseEntity.ok(order);
+        } catch (IllegalStateException | OptimisticLockingFailureException e) {
+            // 許可されていないステータス遷移、または他の端末との同時更新
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
@@ -185,6 +364,9 @@ public class OrderController {
         try {
             Order order = orderService.markAsServed(orderId);
             return ResponseEntity.ok(order);
+        } catch (IllegalStateException | OptimisticLockingFailureException e) {
+            // 許可されていないステータス遷移、または他の端末との同時更新
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
@@ -198,6 +380,9 @@ public class OrderController {
         try {
             Order order = orderService.completeOrder(orderId);
             return ResponseEntity.ok(order);
+        } catch (IllegalStateException | OptimisticLockingFailureException e) {
+            // 許可されていないステータス遷移、または他の端末との同時更新
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
@@ -211,6 +396,9 @@ public class OrderController {
         try {
             Order order = orderService.cancelOrder(orderId);
             return ResponseEntity.ok(order);
+        } catch (IllegalStateException | OptimisticLockingFailureException e) {
+            // 許可されていないステータス遷移、または他の端末との同時更新
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
@@ -229,8 +417,83 @@ public class OrderController {
             OrderItem.ItemStatus newStatus = OrderItem.ItemStatus.valueOf(statusRequest.get("status"));
             Order order = orderService.updateOrderItemStatus(orderId, itemId, newStatus);
             return ResponseEntity.ok(order);
+        } catch (IllegalStateException | OptimisticLockingFailureException e) {
+            // 許可されていないステータス遷移、または他の端末との同時更新
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 注文の変更履歴取得（注文ジャーナル）
+     */
+    @GetMapping("/{orderId}/journal")
+    public ResponseEntity<List<OrderJournalEntry>> getOrderJournal(@PathVariable Long orderId) {
+        List<OrderJournalEntry> entries = orderService.getOrderJournal(orderId);
+        return ResponseEntity.ok(entries);
+    }
+
+    /**
+     * 注文ジャーナルから復元した注文の状態取得
+     */
+    @GetMapping("/{orderId}/projection")
+    public ResponseEntity<OrderState> getOrderProjection(@PathVariable Long orderId) {
+        return orderService.projectOrder(orderId)
+                .map(state -> ResponseEntity.ok(state))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * 注文ジャーナルから注文を再構築
+     */
+    @PostMapping("/{orderId}/rebuild")
+    public ResponseEntity<OrderState> rebuildOrder(@PathVariable Long orderId) {
+        try {
+            return orderService.rebuildOrderFromJournal(orderId)
+                    .map(state -> ResponseEntity.ok(state))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalStateException e) {
+            // ジャーナルが注文作成から始まっていない（ジャーナル導入前の注文など）
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    /**
+     * 注文ジャーナルから全注文を再構築
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuildAllOrders() {
+        int rebuilt = orderService.rebuildAllOrdersFromJournal();
+        return ResponseEntity.ok(Map.of("rebuiltOrders", rebuilt));
+    }
+
+    /**
+     * 反映済みなら注文を、受付のみなら処理状況を 202 で返す
+     */
+    private ResponseEntity<?> toResponse(OrderRequestResult result) {
+        return switch (result.getState()) {
+            case APPLIED -> result.getOrder() != null
+                    ? ResponseEntity.ok(result.getOrder())
+                    : ResponseEntity.ok(result);
+            case QUEUED -> ResponseEntity.status(HttpStatus.ACCEPTED).body(result);
+            default -> ResponseEntity.badRequest().body(result);
+        };
+    }
+
+    private OrderItemRequest toItemRequest(Map<String, Object> itemRequest) {
+        Long menuItemId = Long.valueOf(itemRequest.get("menuItemId").toString());
+        Integer quantity = Integer.valueOf(itemRequest.get("quantity").toString());
+        String specialInstructions = (String) itemRequest.get("specialInstructions");
+        return new OrderItemRequest(menuItemId, quantity, specialInstructions);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<OrderItemRequest> toItemRequests(Map<String, Object> batchRequest) {
+        List<OrderItemRequest> itemRequests = new ArrayList<>();
+        for (Map<String, Object> itemRequest : (List<Map<String, Object>>) batchRequest.get("items")) {
+            itemRequests.add(toItemRequest(itemRequest));
+        }
+        return itemRequests;
+    }
+}
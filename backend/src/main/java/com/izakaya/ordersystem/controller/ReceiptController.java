@@ -1,17 +1,29 @@
 package com.izakaya.ordersystem.controller;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.Map;
+import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.izakaya.ordersystem.cache.ReceiptCache;
+import com.izakaya.ordersystem.model.Store;
 import com.izakaya.ordersystem.service.OrderService;
 import com.izakaya.ordersystem.service.ReceiptService;
 
@@ -31,6 +43,12 @@ public class ReceiptController {
      */
     @GetMapping("/{orderId}/text")
     public ResponseEntity<Map<String, String>> getReceiptText(@PathVariable Long orderId) {
+        Optional<ReceiptCache.CachedReceipt> cached = receiptService.findCompletedReceipt(
+                orderId, ReceiptCache.Format.TEXT);
+        if (cached.isPresent()) {
+            return withReceiptETag(cached.get())
+                    .body(Map.of("receiptText", cached.get().asText()));
+        }
         return orderService.getOrderById(orderId)
                 .map(order -> {
                     String receiptText = receiptService.generateReceiptText(order);
@@ -43,15 +61,21 @@ public class ReceiptController {
      * 領収書HTML取得（印刷用）
      */
     @GetMapping("/{orderId}/html")
-    public ResponseEntity<String> getReceiptHtml(@PathVariable Long orderId) {
+    public ResponseEntity<StreamingResponseBody> getReceiptHtml(@PathVariable Long orderId, WebRequest webRequest) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8));
+
+        Optional<ReceiptCache.CachedReceipt> cached = receiptService.findCompletedReceipt(
+                orderId, ReceiptCache.Format.HTML);
+        if (cached.isPresent()) {
+            return cachedReceiptResponse(cached.get(), headers, webRequest);
+        }
         return orderService.getOrderById(orderId)
                 .map(order -> {
-                    String receiptHtml = receiptService.generateReceiptHtml(order);
-                    HttpHeaders headers = new HttpHeaders();
-                    headers.setContentType(MediaType.TEXT_HTML);
+                    StreamingResponseBody body = outputStream -> receiptService.writeReceiptHtml(order, outputStream);
                     return ResponseEntity.ok()
                             .headers(headers)
-                            .body(receiptHtml);
+                            .body(body);
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -60,35 +84,104 @@ public class ReceiptController {
      * 領収書PDF取得
      */
     @GetMapping("/{orderId}/pdf")
-    public ResponseEntity<byte[]> getReceiptPdf(@PathVariable Long orderId) {
-        return orderService.getOrderById(orderId)
-                .map(order -> {
-                    byte[] pdfBytes = receiptService.generateReceiptPdf(order);
-                    HttpHeaders headers = new HttpHeaders();
-                    headers.setContentType(MediaType.APPLICATION_PDF);
-                    headers.setContentDispositionFormData("inline", "receipt_" + orderId + ".pdf");
-                    return ResponseEntity.ok()
-                            .headers(headers)
-                            .body(pdfBytes);
-                })
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<StreamingResponseBody> getReceiptPdf(@PathVariable Long orderId, WebRequest webRequest) {
+        return renderedPdfResponse(orderId, "inline", webRequest);
     }
 
     /**
      * 領収書ダウンロード（PDF）
      */
     @GetMapping("/{orderId}/download")
-    public ResponseEntity<byte[]> downloadReceipt(@PathVariable Long orderId) {
-        return orderService.getOrderById(orderId)
-                .map(order -> {
-                    byte[] pdfBytes = receiptService.generateReceiptPdf(order);
-                    HttpHeaders headers = new HttpHeaders();
-                    headers.setContentType(MediaType.APPLICATION_PDF);
-                    headers.setContentDispositionFormData("attachment", "receipt_" + orderId + ".pdf");
-                    return ResponseEntity.ok()
-                            .headers(headers)
-                            .body(pdfBytes);
-                })
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<StreamingResponseBody> downloadReceipt(@PathVariable Long orderId, WebRequest webRequest) {
+        return renderedPdfResponse(orderId, "attachment", webRequest);
+    }
+
+    /**
+     * 店舗の期間内の会計済み注文の領収書一括ダウンロード（PDF、締め処理用）
+     */
+    @GetMapping("/bundle")
+    public ResponseEntity<StreamingResponseBody> downloadReceiptBundle(
+            @RequestParam(defaultValue = Store.DEFAULT_ID_PARAM) Long storeId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate lastDate = to != null ? to : from;
+        if (lastDate.isBefore(from)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        return pdfResponse("attachment", "receipts_" + from + "_" + lastDate + ".pdf",
+                outputStream -> receiptService.writeReceiptBundlePdf(storeId,
+                        from.atStartOfDay(), lastDate.plusDays(1).atStartOfDay(), outputStream));
+    }
+
+    /**
+     * 1件分の領収書PDFを返す
+     * 描画スレッド数を制限している場合は実行キューで生成してから返し（キューが一杯なら 503）、
+     * 制限しない場合はレスポンスへ直接書き出す。会計完了した注文は描画済みキャッシュから返す
+     */
+    private ResponseEntity<StreamingResponseBody> renderedPdfResponse(
+            Long orderId, String disposition, WebRequest webRequest) {
+        try {
+            Optional<ReceiptCache.CachedReceipt> cached = receiptService.findCompletedReceipt(
+                    orderId, ReceiptCache.Format.PDF);
+            if (cached.isPresent()) {
+                HttpHeaders headers = new HttpHeaders();
+                headers.setContentType(MediaType.APPLICATION_PDF);
+                headers.setContentDispositionFormData(disposition, "receipt_" + orderId + ".pdf");
+                return cachedReceiptResponse(cached.get(), headers, webRequest);
+            }
+            return orderService.getOrderById(orderId)
+                    .map(order -> {
+                        if (receiptService.isReceiptPdfStreamed()) {
+                            return pdfResponse(disposition, "receipt_" + orderId + ".pdf",
+                                    outputStream -> receiptService.writeReceiptPdf(order, outputStream));
+                        }
+                        byte[] pdf = receiptService.renderReceiptPdf(order);
+                        return pdfResponse(disposition, "receipt_" + orderId + ".pdf",
+                                outputStream -> outputStream.write(pdf));
+                    })
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (TaskRejectedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .build();
+        }
+    }
+
+    /**
+     * 描画結果のハッシュを強いETagとして付与（If-None-Match一致時は304を返す）
+     */
+    private ResponseEntity.BodyBuilder withReceiptETag(ReceiptCache.CachedReceipt receipt) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(receipt.getETag());
+    }
+
+    /**
+     * 描画済みの領収書をストリームで返す
+     * StreamingResponseBody の戻り値では条件付きGETが処理されないため、If-None-Match をここで確認する
+     * （ETagヘッダーは checkNotModified がレスポンスに設定する）
+     */
+    private ResponseEntity<StreamingResponseBody> cachedReceiptResponse(
+            ReceiptCache.CachedReceipt receipt, HttpHeaders headers, WebRequest webRequest) {
+        if (webRequest.checkNotModified(receipt.getETag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .headers(headers)
+                .body(receipt::writeTo);
+    }
+
+    private ResponseEntity<StreamingResponseBody> pdfResponse(
+            String disposition, String fileName, StreamingResponseBody body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_PDF);
+        headers.setContentDispositionFormData(disposition, fileName);
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(body);
     }
 }
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.izakaya.ordersystem.controller;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.izakaya.ordersystem.dto.SalesSummary;
+import com.izakaya.ordersystem.service.SalesAnalyticsService;
+
+@RestController
+@RequestMapping("/api/sales")
+@CrossOrigin(origins = { "http://localhost:3000", "http://localhost:3001" })
+public class SalesController {
+
+    @Autowired
+    private SalesAnalyticsService salesAnalyticsService;
+
+    /**
+     * 期間の売上サマリー取得（営業日 from〜to、to 省略時は from の1日分）
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<SalesSummary> getSummary(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate lastDate = to != null ? to : from;
+        if (lastDate.isBefore(from)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(salesAnalyticsService.getSummary(from, lastDate));
+    }
+
+    /**
+     * 過去の営業日の売上集計を注文から再計算（当日以降は対象外）
+     */
+    @PostMapping("/backfill")
+    public ResponseEntity<Map<String, Object>> backfill(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate lastDate = to != null ? to : from;
+        if (lastDate.isBefore(from)) {
+            return ResponseEntity.badRequest().build();
+        }
+        int orders = salesAnalyticsService.backfill(from, lastDate);
+        return ResponseEntity.ok(Map.of("from", from, "to", lastDate, "orders", orders));
+    }
+}
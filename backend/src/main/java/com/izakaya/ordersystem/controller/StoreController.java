@@ -0,0 +1,80 @@
+package com.izakaya.ordersystem.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.izakaya.ordersystem.model.Store;
+import com.izakaya.ordersystem.service.StoreService;
+
+@RestController
+@RequestMapping("/api/stores")
+@CrossOrigin(origins = { "http://localhost:3000", "http://localhost:3001" })
+public class StoreController {
+
+    @Autowired
+    private StoreService storeService;
+
+    /**
+     * 全店舗取得
+     */
+    @GetMapping
+    public ResponseEntity<List<Store>> getAllStores() {
+        return ResponseEntity.ok(storeService.getAllStores());
+    }
+
+    /**
+     * 店舗詳細取得
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<Store> getStoreById(@PathVariable Long id) {
+        return storeService.getStoreById(id)
+                .map(store -> ResponseEntity.ok(store))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * 店舗作成
+     */
+    @PostMapping
+    public ResponseEntity<Store> createStore(@RequestBody Map<String, Object> storeRequest) {
+        try {
+            String code = (String) storeRequest.get("code");
+            String name = (String) storeRequest.get("name");
+            if (code == null || code.isBlank() || name == null || name.isBlank()) {
+                return ResponseEntity.badRequest().build();
+            }
+            return ResponseEntity.ok(storeService.createStore(code, name));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * 店舗名更新
+     */
+    @PutMapping("/{id}")
+    public ResponseEntity<Store> updateStore(
+            @PathVariable Long id,
+            @RequestBody Map<String, Object> storeRequest) {
+        String name = (String) storeRequest.get("name");
+        if (name == null || name.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(storeService.updateStore(id, name));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
@@ -1,10 +1,16 @@
 package com.izakaya.ordersystem.controller;
 
-import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -15,10 +21,15 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import com.google.zxing.WriterException;
+import com.izakaya.ordersystem.dto.TableSummary;
+import com.izakaya.ordersystem.dto.TableTimeline;
+import com.izakaya.ordersystem.dto.TableTurnover;
 import com.izakaya.ordersystem.model.RestaurantTable;
+import com.izakaya.ordersystem.model.Store;
 import com.izakaya.ordersystem.service.TableService;
 
 @RestController
@@ -33,8 +44,9 @@ public class TableController {
      * 全テーブル取得
      */
     @GetMapping
-    public ResponseEntity<List<RestaurantTable>> getAllTables() {
-        List<RestaurantTable> tables = tableService.getAllTables();
+    public ResponseEntity<List<TableSummary>> getAllTables(
+            @RequestParam(defaultValue = Store.DEFAULT_ID_PARAM) Long storeId) {
+        List<TableSummary> tables = tableService.getTableSummaries(storeId);
         return ResponseEntity.ok(tables);
     }
 
@@ -42,8 +54,9 @@ public class TableController {
      * 利用可能なテーブル取得
      */
     @GetMapping("/available")
-    public ResponseEntity<List<RestaurantTable>> getAvailableTables() {
-        List<RestaurantTable> tables = tableService.getAvailableTables();
+    public ResponseEntity<List<RestaurantTable>> getAvailableTables(
+            @RequestParam(defaultValue = Store.DEFAULT_ID_PARAM) Long storeId) {
+        List<RestaurantTable> tables = tableService.getAvailableTables(storeId);
         return ResponseEntity.ok(tables);
     }
 
@@ -61,8 +74,9 @@ public class TableController {
      * テーブル番号で取得
      */
     @GetMapping("/number/{tableNumber}")
-    public ResponseEntity<RestaurantTable> getTableByNumber(@PathVariable String tableNumber) {
-        return tableService.getTableByNumber(tableNumber)
+    public ResponseEntity<RestaurantTable> getTableByNumber(@PathVariable String tableNumber,
+            @RequestParam(defaultValue = Store.DEFAULT_ID_PARAM) Long storeId) {
+        return tableService.getTableByNumber(storeId, tableNumber)
                 .map(table -> ResponseEntity.ok(table))
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -81,21 +95,59 @@ public class TableController {
      * 収容人数以上の利用可能テーブル検索
      */
     @GetMapping("/capacity/{capacity}")
-    public ResponseEntity<List<RestaurantTable>> getAvailableTablesByCapacity(@PathVariable Integer capacity) {
-        List<RestaurantTable> tables = tableService.findAvailableTablesByCapacity(capacity);
+    public ResponseEntity<List<RestaurantTable>> getAvailableTablesByCapacity(@PathVariable Integer capacity,
+            @RequestParam(defaultValue = Store.DEFAULT_ID_PARAM) Long storeId) {
+        List<RestaurantTable> tables = tableService.findAvailableTablesByCapacity(storeId, capacity);
         return ResponseEntity.ok(tables);
     }
 
     /**
-     * テーブル作成
+     * 案内する席の候補取得（人数に最も合う空席から）
+     */
+    @GetMapping("/seating")
+    public ResponseEntity<List<RestaurantTable>> suggestTables(
+            @RequestParam int partySize,
+            @RequestParam(defaultValue = "3") int limit,
+            @RequestParam(defaultValue = Store.DEFAULT_ID_PARAM) Long storeId) {
+        if (partySize < 1 || limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(tableService.suggestTables(storeId, partySize, limit));
+    }
+
+    /**
+     * 回転・稼働状況取得（since 省略時は当営業日）
+     */
+    @GetMapping("/turnover")
+    public ResponseEntity<TableTurnover> getTurnover(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestParam(defaultValue = Store.DEFAULT_ID_PARAM) Long storeId) {
+        return ResponseEntity.ok(tableService.getTurnover(storeId, since));
+    }
+
+    /**
+     * テーブルの利用履歴取得（着席・最初の注文・最後の注文・会計）
+     */
+    @GetMapping("/{id}/timeline")
+    public ResponseEntity<TableTimeline> getTableTimeline(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        return ResponseEntity.ok(tableService.getTableTimeline(id, since));
+    }
+
+    /**
+     * テーブル作成（storeId 省略時は既定の店舗）
      */
     @PostMapping
     public ResponseEntity<RestaurantTable> createTable(@RequestBody Map<String, Object> tableRequest) {
         String tableNumber = (String) tableRequest.get("tableNumber");
         Integer capacity = Integer.valueOf(tableRequest.get("capacity").toString());
+        Long storeId = tableRequest.get("storeId") != null
+                ? Long.valueOf(tableRequest.get("storeId").toString())
+                : Store.DEFAULT_ID;
 
         try {
-            RestaurantTable table = tableService.createTable(tableNumber, capacity);
+            RestaurantTable table = tableService.createTable(storeId, tableNumber, capacity);
             return ResponseEntity.ok(table);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
@@ -137,15 +189,35 @@ public class TableController {
      * QRコード画像取得
      */
     @GetMapping("/{tableNumber}/qr-image")
-    public ResponseEntity<Map<String, String>> getQrCodeImage(@PathVariable String tableNumber) {
+    public ResponseEntity<Map<String, String>> getQrCodeImage(@PathVariable String tableNumber,
+            @RequestParam(defaultValue = Store.DEFAULT_ID_PARAM) Long storeId) {
         try {
-            String qrCodeImage = tableService.generateQrCodeImage(tableNumber);
-            return ResponseEntity.ok(Map.of("qrCodeImage", qrCodeImage));
-        } catch (WriterException | IOException e) {
+            return tableService.generateQrCodeImage(storeId, tableNumber)
+                    .map(qrCodeImage -> ResponseEntity.ok(Map.of("qrCodeImage", qrCodeImage)))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (TaskRejectedException e) {
+            // 描画待ちが上限を超えている
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .build();
+        } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
+    /**
+     * 店舗の全テーブルのQRコード印刷用シート取得
+     */
+    @GetMapping("/qr-sheet")
+    public ResponseEntity<StreamingResponseBody> getQrCodeSheet(
+            @RequestParam(defaultValue = Store.DEFAULT_ID_PARAM) Long storeId) {
+        List<RestaurantTable> tables = tableService.getAllTables(storeId);
+        StreamingResponseBody body = outputStream -> tableService.writeQrCodeSheet(tables, outputStream);
+        return ResponseEntity.ok()
+                .contentType(new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8))
+                .body(body);
+    }
+
     /**
      * テーブル削除
      */
@@ -0,0 +1,59 @@
+package com.izakaya.ordersystem.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.izakaya.ordersystem.model.Order;
+
+/**
+ * 管理画面向け注文一覧の1行（アイテム明細を含まない）
+ */
+public class AdminOrderRow {
+
+    private final Long orderId;
+
+    private final String tableNumber;
+
+    private final Order.OrderStatus status;
+
+    private final long itemCount;
+
+    private final BigDecimal totalAmount;
+
+    private final LocalDateTime orderTime;
+
+    public AdminOrderRow(Long orderId, String tableNumber, Order.OrderStatus status, Long itemCount,
+            BigDecimal totalAmount, LocalDateTime orderTime) {
+        this.orderId = orderId;
+        this.tableNumber = tableNumber;
+        this.status = status;
+        this.itemCount = itemCount != null ? itemCount : 0;
+        this.totalAmount = totalAmount;
+        this.orderTime = orderTime;
+    }
+
+    // Getters
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public String getTableNumber() {
+        return tableNumber;
+    }
+
+    public Order.OrderStatus getStatus() {
+        return status;
+    }
+
+    public long getItemCount() {
+        return itemCount;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public LocalDateTime getOrderTime() {
+        return orderTime;
+    }
+}
@@ -0,0 +1,38 @@
+package com.izakaya.ordersystem.dto;
+
+import java.util.List;
+
+import com.izakaya.ordersystem.kitchen.KitchenStation;
+import com.izakaya.ordersystem.kitchen.KitchenTask;
+
+/**
+ * 持ち場のキュー（持ち場の画面・WebSocket配信向け）
+ */
+public class KitchenStationQueue {
+
+    private final KitchenStation station;
+
+    private final List<KitchenTask> tasks;
+
+    public KitchenStationQueue(KitchenStation station, List<KitchenTask> tasks) {
+        this.station = station;
+        this.tasks = tasks;
+    }
+
+    // Getters
+    public KitchenStation getStation() {
+        return station;
+    }
+
+    public String getDisplayName() {
+        return station.getDisplayName();
+    }
+
+    public int getSize() {
+        return tasks.size();
+    }
+
+    public List<KitchenTask> getTasks() {
+        return tasks;
+    }
+}
@@ -0,0 +1,88 @@
+package com.izakaya.ordersystem.dto;
+
+import java.time.LocalDateTime;
+
+import com.izakaya.ordersystem.model.Order;
+import com.izakaya.ordersystem.model.OrderItem;
+
+/**
+ * 厨房チケット取得用の行（注文アイテム1件＝1行、JPQLコンストラクタ式で生成）
+ */
+public class KitchenTicketRow {
+
+    private final Long orderId;
+
+    private final String tableNumber;
+
+    private final Order.OrderStatus orderStatus;
+
+    private final LocalDateTime orderTime;
+
+    private final String customerNotes;
+
+    private final Long orderItemId;
+
+    private final String menuItemName;
+
+    private final Integer quantity;
+
+    private final String specialInstructions;
+
+    private final OrderItem.ItemStatus itemStatus;
+
+    public KitchenTicketRow(Long orderId, String tableNumber, Order.OrderStatus orderStatus,
+            LocalDateTime orderTime, String customerNotes, Long orderItemId, String menuItemName,
+            Integer quantity, String specialInstructions, OrderItem.ItemStatus itemStatus) {
+        this.orderId = orderId;
+        this.tableNumber = tableNumber;
+        this.orderStatus = orderStatus;
+        this.orderTime = orderTime;
+        this.customerNotes = customerNotes;
+        this.orderItemId = orderItemId;
+        this.menuItemName = menuItemName;
+        this.quantity = quantity;
+        this.specialInstructions = specialInstructions;
+        this.itemStatus = itemStatus;
+    }
+
+    // Getters
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public String getTableNumber() {
+        return tableNumber;
+    }
+
+    public Order.OrderStatus getOrderStatus() {
+        return orderStatus;
+    }
+
+    public LocalDateTime getOrderTime() {
+        return orderTime;
+    }
+
+    public String getCustomerNotes() {
+        return customerNotes;
+    }
+
+    public Long getOrderItemId() {
+        return orderItemId;
+    }
+
+    public String getMenuItemName() {
+        return menuItemName;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public String getSpecialInstructions() {
+        return specialInstructions;
+    }
+
+    public OrderItem.ItemStatus getItemStatus() {
+        return itemStatus;
+    }
+}
@@ -0,0 +1,115 @@
+package com.izakaya.ordersystem.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.izakaya.ordersystem.model.Order;
+import com.izakaya.ordersystem.model.OrderItem;
+
+/**
+ * 厨房チケット（厨房画面向けの注文表示）
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class KitchenTicketView {
+
+    private final Long orderId;
+
+    private final String tableNumber;
+
+    private final Order.OrderStatus status;
+
+    private final LocalDateTime orderTime;
+
+    private final String customerNotes;
+
+    private final List<Line> items = new ArrayList<>();
+
+    public KitchenTicketView(KitchenTicketRow row) {
+        this.orderId = row.getOrderId();
+        this.tableNumber = row.getTableNumber();
+        this.status = row.getOrderStatus();
+        this.orderTime = row.getOrderTime();
+        this.customerNotes = row.getCustomerNotes();
+    }
+
+    /**
+     * チケット行追加（アイテムのない注文の行は無視）
+     */
+    public void addLine(KitchenTicketRow row) {
+        if (row.getOrderItemId() != null) {
+            items.add(new Line(row));
+        }
+    }
+
+    // Getters
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public String getTableNumber() {
+        return tableNumber;
+    }
+
+    public Order.OrderStatus getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getOrderTime() {
+        return orderTime;
+    }
+
+    public String getCustomerNotes() {
+        return customerNotes;
+    }
+
+    public List<Line> getItems() {
+        return items;
+    }
+
+    /**
+     * チケットの明細行
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Line {
+
+        private final Long orderItemId;
+
+        private final String name;
+
+        private final Integer quantity;
+
+        private final String specialInstructions;
+
+        private final OrderItem.ItemStatus status;
+
+        Line(KitchenTicketRow row) {
+            this.orderItemId = row.getOrderItemId();
+            this.name = row.getMenuItemName();
+            this.quantity = row.getQuantity();
+            this.specialInstructions = row.getSpecialInstructions();
+            this.status = row.getItemStatus();
+        }
+
+        public Long getOrderItemId() {
+            return orderItemId;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Integer getQuantity() {
+            return quantity;
+        }
+
+        public String getSpecialInstructions() {
+            return specialInstructions;
+        }
+
+        public OrderItem.ItemStatus getStatus() {
+            return status;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.izakaya.ordersystem.dto;
+
+/**
+ * 注文アイテム追加リクエスト（カート1行分）
+ */
+public class OrderItemRequest {
+
+    private Long menuItemId;
+
+    private Integer quantity;
+
+    private String specialInstructions;
+
+    // コンストラクタ
+    public OrderItemRequest() {
+    }
+
+    public OrderItemRequest(Long menuItemId, Integer quantity, String specialInstructions) {
+        this.menuItemId = menuItemId;
+        this.quantity = quantity;
+        this.specialInstructions = specialInstructions;
+    }
+
+    // Getters and Setters
+    public Long getMenuItemId() {
+        return menuItemId;
+    }
+
+    public void setMenuItemId(Long menuItemId) {
+        this.menuItemId = menuItemId;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public String getSpecialInstructions() {
+        return specialInstructions;
+    }
+
+    public void setSpecialInstructions(String specialInstructions) {
+        this.specialInstructions = specialInstructions;
+    }
+}
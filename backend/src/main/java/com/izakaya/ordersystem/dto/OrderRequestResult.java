@@ -0,0 +1,69 @@
+package com.izakaya.ordersystem.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.izakaya.ordersystem.model.Order;
+
+/**
+ * 注文リクエストの受付結果
+ * DBへ反映できなかったリクエストは QUEUED で受け付け、後から requestId で結果を確認できる
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderRequestResult {
+
+    // 受付状態列挙型
+    public enum RequestState {
+        APPLIED,
+        QUEUED,
+        FAILED,
+        UNKNOWN
+    }
+
+    private final String requestId;
+
+    private final RequestState state;
+
+    private final Long orderId;
+
+    private final String message;
+
+    @JsonIgnore
+    private final Order order;
+
+    public OrderRequestResult(String requestId, RequestState state, Long orderId, String message, Order order) {
+        this.requestId = requestId;
+        this.state = state;
+        this.orderId = orderId;
+        this.message = message;
+        this.order = order;
+    }
+
+    public static OrderRequestResult applied(String requestId, Order order) {
+        return new OrderRequestResult(requestId, RequestState.APPLIED, order.getId(), null, order);
+    }
+
+    public static OrderRequestResult queued(String requestId) {
+        return new OrderRequestResult(requestId, RequestState.QUEUED, null, null, null);
+    }
+
+    // Getters
+    public String getRequestId() {
+        return requestId;
+    }
+
+    public RequestState getState() {
+        return state;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public Order getOrder() {
+        return order;
+    }
+}
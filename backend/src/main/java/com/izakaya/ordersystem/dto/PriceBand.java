@@ -0,0 +1,32 @@
+package com.izakaya.ordersystem.dto;
+
+/**
+ * 価格帯ごとのメニュー件数（lowerYen 以上 upperYen 未満）
+ */
+public class PriceBand {
+
+    private final long lowerYen;
+
+    private final long upperYen;
+
+    private final int itemCount;
+
+    public PriceBand(long lowerYen, long upperYen, int itemCount) {
+        this.lowerYen = lowerYen;
+        this.upperYen = upperYen;
+        this.itemCount = itemCount;
+    }
+
+    // Getters
+    public long getLowerYen() {
+        return lowerYen;
+    }
+
+    public long getUpperYen() {
+        return upperYen;
+    }
+
+    public int getItemCount() {
+        return itemCount;
+    }
+}
@@ -0,0 +1,171 @@
+package com.izakaya.ordersystem.dto;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.izakaya.ordersystem.model.SalesDailyAggregate;
+
+/**
+ * 期間の売上サマリー（日次集計から算出）
+ */
+public class SalesSummary {
+
+    private final LocalDate from;
+
+    private final LocalDate to;
+
+    private Row total;
+
+    private final List<DailyRow> daily = new ArrayList<>();
+
+    private final List<Row> byHour = new ArrayList<>();
+
+    private final List<Row> byCategory = new ArrayList<>();
+
+    private final List<Row> byMenuItem = new ArrayList<>();
+
+    private final List<Row> byTable = new ArrayList<>();
+
+    public SalesSummary(LocalDate from, LocalDate to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * 集計行の振り分け
+     */
+    public void add(Row row) {
+        switch (row.getDimension()) {
+            case TOTAL -> total = row;
+            case HOUR -> byHour.add(row);
+            case CATEGORY -> byCategory.add(row);
+            case MENU_ITEM -> byMenuItem.add(row);
+            case TABLE -> byTable.add(row);
+        }
+    }
+
+    // Getters
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public Row getTotal() {
+        return total;
+    }
+
+    public List<DailyRow> getDaily() {
+        return daily;
+    }
+
+    public List<Row> getByHour() {
+        return byHour;
+    }
+
+    public List<Row> getByCategory() {
+        return byCategory;
+    }
+
+    public List<Row> getByMenuItem() {
+        return byMenuItem;
+    }
+
+    public List<Row> getByTable() {
+        return byTable;
+    }
+
+    /**
+     * 集計軸・キーごとの期間合計（JPQLコンストラクタ式で生成）
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Row {
+
+        private final SalesDailyAggregate.Dimension dimension;
+
+        private final String key;
+
+        private final String label;
+
+        private final long orderCount;
+
+        private final long quantity;
+
+        private final long revenueYen;
+
+        public Row(SalesDailyAggregate.Dimension dimension, String key, String label, Long orderCount,
+                Long quantity, Long revenueYen) {
+            this.dimension = dimension;
+            this.key = key;
+            this.label = label;
+            this.orderCount = orderCount != null ? orderCount : 0;
+            this.quantity = quantity != null ? quantity : 0;
+            this.revenueYen = revenueYen != null ? revenueYen : 0;
+        }
+
+        public SalesDailyAggregate.Dimension getDimension() {
+            return dimension;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public long getOrderCount() {
+            return orderCount;
+        }
+
+        public long getQuantity() {
+            return quantity;
+        }
+
+        public long getRevenueYen() {
+            return revenueYen;
+        }
+    }
+
+    /**
+     * 営業日ごとの合計
+     */
+    public static class DailyRow {
+
+        private final LocalDate businessDate;
+
+        private final long orderCount;
+
+        private final long quantity;
+
+        private final long revenueYen;
+
+        public DailyRow(SalesDailyAggregate aggregate) {
+            this.businessDate = aggregate.getBusinessDate();
+            this.orderCount = aggregate.getOrderCount();
+            this.quantity = aggregate.getQuantity();
+            this.revenueYen = aggregate.getRevenueYen();
+        }
+
+        public LocalDate getBusinessDate() {
+            return businessDate;
+        }
+
+        public long getOrderCount() {
+            return orderCount;
+        }
+
+        public long getQuantity() {
+            return quantity;
+        }
+
+        public long getRevenueYen() {
+            return revenueYen;
+        }
+    }
+}
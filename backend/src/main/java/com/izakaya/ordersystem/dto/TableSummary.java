@@ -0,0 +1,56 @@
+package com.izakaya.ordersystem.dto;
+
+import com.izakaya.ordersystem.model.RestaurantTable;
+
+/**
+ * テーブル一覧向けのサマリー
+ */
+public class TableSummary {
+
+    private final Long id;
+
+    private final String tableNumber;
+
+    private final Integer capacity;
+
+    private final String qrCode;
+
+    private final RestaurantTable.TableStatus status;
+
+    private final long activeOrderCount;
+
+    public TableSummary(Long id, String tableNumber, Integer capacity, String qrCode,
+            RestaurantTable.TableStatus status, Long activeOrderCount) {
+        this.id = id;
+        this.tableNumber = tableNumber;
+        this.capacity = capacity;
+        this.qrCode = qrCode;
+        this.status = status;
+        this.activeOrderCount = activeOrderCount != null ? activeOrderCount : 0;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getTableNumber() {
+        return tableNumber;
+    }
+
+    public Integer getCapacity() {
+        return capacity;
+    }
+
+    public String getQrCode() {
+        return qrCode;
+    }
+
+    public RestaurantTable.TableStatus getStatus() {
+        return status;
+    }
+
+    public long getActiveOrderCount() {
+        return activeOrderCount;
+    }
+}
@@ -0,0 +1,36 @@
+package com.izakaya.ordersystem.dto;
+
+import java.util.List;
+
+import com.izakaya.ordersystem.seating.TableSession;
+
+/**
+ * テーブルの利用履歴（現在の利用と、退席済みの利用の新しい順）
+ */
+public class TableTimeline {
+
+    private final Long tableId;
+
+    private final TableSession current;
+
+    private final List<TableSession> history;
+
+    public TableTimeline(Long tableId, TableSession current, List<TableSession> history) {
+        this.tableId = tableId;
+        this.current = current;
+        this.history = history;
+    }
+
+    // Getters
+    public Long getTableId() {
+        return tableId;
+    }
+
+    public TableSession getCurrent() {
+        return current;
+    }
+
+    public List<TableSession> getHistory() {
+        return history;
+    }
+}
@@ -0,0 +1,95 @@
+package com.izakaya.ordersystem.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * テーブルの回転・稼働状況（利用状況の索引から算出）
+ */
+public class TableTurnover {
+
+    private final LocalDateTime since;
+
+    private final int tables;
+
+    private final int totalSeats;
+
+    private final int occupiedTables;
+
+    private final int occupiedSeats;
+
+    private final int sessions;
+
+    private final Double averageSeatedMinutes;
+
+    private final Double averageMinutesToFirstOrder;
+
+    private final Double averageMinutesLastOrderToPaid;
+
+    public TableTurnover(LocalDateTime since, int tables, int totalSeats, int occupiedTables, int occupiedSeats,
+            int sessions, Double averageSeatedMinutes, Double averageMinutesToFirstOrder,
+            Double averageMinutesLastOrderToPaid) {
+        this.since = since;
+        this.tables = tables;
+        this.totalSeats = totalSeats;
+        this.occupiedTables = occupiedTables;
+        this.occupiedSeats = occupiedSeats;
+        this.sessions = sessions;
+        this.averageSeatedMinutes = averageSeatedMinutes;
+        this.averageMinutesToFirstOrder = averageMinutesToFirstOrder;
+        this.averageMinutesLastOrderToPaid = averageMinutesLastOrderToPaid;
+    }
+
+    // Getters
+    public LocalDateTime getSince() {
+        return since;
+    }
+
+    public int getTables() {
+        return tables;
+    }
+
+    public int getTotalSeats() {
+        return totalSeats;
+    }
+
+    public int getOccupiedTables() {
+        return occupiedTables;
+    }
+
+    public int getOccupiedSeats() {
+        return occupiedSeats;
+    }
+
+    /**
+     * 席の稼働率（利用中の席数 / 総席数）
+     */
+    public double getOccupancyRate() {
+        return totalSeats > 0 ? (double) occupiedSeats / totalSeats : 0;
+    }
+
+    /**
+     * 期間内に退席した利用の数
+     */
+    public int getSessions() {
+        return sessions;
+    }
+
+    /**
+     * 回転数（退席した利用の数 / テーブル数）
+     */
+    public double getTurnsPerTable() {
+        return tables > 0 ? (double) sessions / tables : 0;
+    }
+
+    public Double getAverageSeatedMinutes() {
+        return averageSeatedMinutes;
+    }
+
+    public Double getAverageMinutesToFirstOrder() {
+        return averageMinutesToFirstOrder;
+    }
+
+    public Double getAverageMinutesLastOrderToPaid() {
+        return averageMinutesLastOrderToPaid;
+    }
+}
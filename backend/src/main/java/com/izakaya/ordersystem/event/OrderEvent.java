@@ -0,0 +1,236 @@
+package com.izakaya.ordersystem.event;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.izakaya.ordersystem.model.Order;
+import com.izakaya.ordersystem.model.OrderItem;
+
+/**
+ * 注文イベント（WebSocket配信用の差分）
+ * 注文全体ではなく変更された注文・アイテムの最小限の情報のみを保持する
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderEvent {
+
+    // イベント種別列挙型
+    public enum EventType {
+        ORDER_CREATED("注文作成"),
+        ITEM_ADDED("アイテム追加"),
+        ORDER_STATUS_CHANGED("注文ステータス変更"),
+        ITEM_STATUS_CHANGED("アイテムステータス変更"),
+        ORDER_CANCELLED("注文キャンセル");
+
+        private final String displayName;
+
+        EventType(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+
+    private long sequence;
+
+    private EventType type;
+
+    private Long orderId;
+
+    private Long storeId;
+
+    private Long tableId;
+
+    private String tableNumber;
+
+    private Order.OrderStatus orderStatus;
+
+    private Long orderItemId;
+
+    private Long menuItemId;
+
+    private String menuItemName;
+
+    private Integer quantity;
+
+    private Long unitPriceYen;
+
+    private String specialInstructions;
+
+    private OrderItem.ItemStatus itemStatus;
+
+    private String customerNotes;
+
+    private LocalDateTime occurredAt;
+
+    // コンストラクタ
+    public OrderEvent() {
+        this.occurredAt = LocalDateTime.now();
+    }
+
+    private OrderEvent(EventType type, Order order) {
+        this();
+        this.type = type;
+        this.orderId = order.getId();
+        this.storeId = order.getStoreId();
+        this.tableId = order.getTable().getId();
+        this.tableNumber = order.getTable().getTableNumber();
+        this.orderStatus = order.getStatus();
+    }
+
+    /**
+     * 注文単位のイベント生成
+     */
+    public static OrderEvent ofOrder(EventType type, Order order) {
+        OrderEvent event = new OrderEvent(type, order);
+        if (type == EventType.ORDER_CREATED) {
+            event.customerNotes = order.getCustomerNotes();
+        }
+        return event;
+    }
+
+    /**
+     * アイテム単位のイベント生成
+     */
+    public static OrderEvent ofItem(EventType type, Order order, OrderItem orderItem) {
+        OrderEvent event = new OrderEvent(type, order);
+        event.orderItemId = orderItem.getId();
+        event.menuItemId = orderItem.getMenuItem().getId();
+        event.menuItemName = orderItem.getMenuItem().getName();
+        event.quantity = orderItem.getQuantity();
+        event.unitPriceYen = orderItem.getUnitPriceYen();
+        event.specialInstructions = orderItem.getSpecialInstructions();
+        event.itemStatus = orderItem.getStatus();
+        return event;
+    }
+
+    // Getters and Setters
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public EventType getType() {
+        return type;
+    }
+
+    public void setType(EventType type) {
+        this.type = type;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(Long orderId) {
+        this.orderId = orderId;
+    }
+
+    public Long getStoreId() {
+        return storeId;
+    }
+
+    public void setStoreId(Long storeId) {
+        this.storeId = storeId;
+    }
+
+    public Long getTableId() {
+        return tableId;
+    }
+
+    public void setTableId(Long tableId) {
+        this.tableId = tableId;
+    }
+
+    public String getTableNumber() {
+        return tableNumber;
+    }
+
+    public void setTableNumber(String tableNumber) {
+        this.tableNumber = tableNumber;
+    }
+
+    public Order.OrderStatus getOrderStatus() {
+        return orderStatus;
+    }
+
+    public void setOrderStatus(Order.OrderStatus orderStatus) {
+        this.orderStatus = orderStatus;
+    }
+
+    public Long getOrderItemId() {
+        return orderItemId;
+    }
+
+    public void setOrderItemId(Long orderItemId) {
+        this.orderItemId = orderItemId;
+    }
+
+    public Long getMenuItemId() {
+        return menuItemId;
+    }
+
+    public void setMenuItemId(Long menuItemId) {
+        this.menuItemId = menuItemId;
+    }
+
+    public String getMenuItemName() {
+        return menuItemName;
+    }
+
+    public void setMenuItemName(String menuItemName) {
+        this.menuItemName = menuItemName;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public Long getUnitPriceYen() {
+        return unitPriceYen;
+    }
+
+    public void setUnitPriceYen(Long unitPriceYen) {
+        this.unitPriceYen = unitPriceYen;
+    }
+
+    public String getSpecialInstructions() {
+        return specialInstructions;
+    }
+
+    public void setSpecialInstructions(String specialInstructions) {
+        this.specialInstructions = specialInstructions;
+    }
+
+    public OrderItem.ItemStatus getItemStatus() {
+        return itemStatus;
+    }
+
+    public void setItemStatus(OrderItem.ItemStatus itemStatus) {
+        this.itemStatus = itemStatus;
+    }
+
+    public String getCustomerNotes() {
+        return customerNotes;
+    }
+
+    public void setCustomerNotes(String customerNotes) {
+        this.customerNotes = customerNotes;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(LocalDateTime occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+}
@@ -0,0 +1,13 @@
+package com.izakaya.ordersystem.event;
+
+/**
+ * 注文イベントの受信側
+ * OrderEventPublisher がコミット後の送信に続けて、店舗ごとに連番順（コミット順）で呼び出す。
+ */
+public interface OrderEventListener {
+
+    /**
+     * 注文イベントの反映
+     */
+    void onEvent(OrderEvent event);
+}
@@ -0,0 +1,217 @@
+package com.izakaya.ordersystem.event;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.izakaya.ordersystem.journal.OrderJournal;
+
+/**
+ * 注文イベント配信
+ * トランザクションのコミット後に店舗ごとの連番を付与して /topic/stores/{storeId}/kitchen と /topic/table/{id} へ送信する。
+ * 直近のイベントは店舗ごとのリングバッファに保持し、クライアントは連番を指定して取りこぼし分を再取得できる。
+ * 店舗ごとのロックは連番付与とバッファへの追加だけに使い、送信とリスナー（OrderEventListener）の呼び出しは
+ * ロックの外で連番順に行う（送信中に届いたイベントは、送信中のスレッドが続けて送信する）。
+ * 発行したイベントは同じトランザクションで注文ジャーナルにも追記する。
+ */
+@Component
+public class OrderEventPublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderEventPublisher.class);
+
+    public static final String STORE_TOPIC_PREFIX = "/topic/stores/";
+    public static final String KITCHEN_TOPIC_SUFFIX = "/kitchen";
+    public static final String TABLE_TOPIC_PREFIX = "/topic/table/";
+
+    // 再同期用に保持するイベント数（店舗ごと）
+    static final int REPLAY_CAPACITY = 1000;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private OrderJournal orderJournal;
+
+    @Autowired
+    private List<OrderEventListener> listeners;
+
+    private final Map<Long, StoreChannel> channels = new ConcurrentHashMap<>();
+
+    /**
+     * 店舗1件分の配信状態（連番とリングバッファ、送信待ちのイベント、同期の単位）
+     */
+    private static final class StoreChannel {
+
+        private final Deque<OrderEvent> recentEvents = new ArrayDeque<>();
+
+        private final Deque<OrderEvent> outbox = new ArrayDeque<>();
+
+        private long lastSequence = 0;
+
+        // 送信待ちのイベントを送信中のスレッドがあるか
+        private boolean delivering = false;
+    }
+
+    /**
+     * 店舗の厨房向けトピック
+     */
+    public static String kitchenTopic(Long storeId) {
+        return STORE_TOPIC_PREFIX + storeId + KITCHEN_TOPIC_SUFFIX;
+    }
+
+    /**
+     * イベント発行（ジャーナルに追記し、トランザクション中ならコミット後に送信）
+     */
+    public void publish(OrderEvent event) {
+        orderJournal.append(event);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    send(event);
+                }
+            });
+        } else {
+            send(event);
+        }
+    }
+
+    /**
+     * 店舗の指定連番より後のイベント取得（再同期用）
+     */
+    public EventReplay getEventsSince(Long storeId, long sequence, Long tableId) {
+        StoreChannel channel = channels.get(storeId);
+        if (channel == null) {
+            // イベントのない店舗（再起動直後を含む）
+            return new EventReplay(0, sequence > 0, List.of());
+        }
+        synchronized (channel) {
+            OrderEvent oldest = channel.recentEvents.peekFirst();
+            // バッファから溢れた分がある場合、またはサーバー再起動で連番が巻き戻った場合は全件再取得が必要
+            boolean resyncRequired = sequence > channel.lastSequence
+                    || (sequence < channel.lastSequence && (oldest == null || sequence < oldest.getSequence() - 1));
+
+            List<OrderEvent> events = new ArrayList<>();
+            if (!resyncRequired) {
+                for (OrderEvent event : channel.recentEvents) {
+                    if (event.getSequence() > sequence
+                            && (tableId == null || tableId.equals(event.getTableId()))) {
+                        events.add(event);
+                    }
+                }
+            }
+            return new EventReplay(channel.lastSequence, resyncRequired, events);
+        }
+    }
+
+    /**
+     * 店舗の最新の連番取得
+     */
+    public long getLastSequence(Long storeId) {
+        StoreChannel channel = channels.get(storeId);
+        if (channel == null) {
+            return 0;
+        }
+        synchronized (channel) {
+            return channel.lastSequence;
+        }
+    }
+
+    private void send(OrderEvent event) {
+        StoreChannel channel = channels.computeIfAbsent(event.getStoreId(), storeId -> new StoreChannel());
+        synchronized (channel) {
+            event.setSequence(++channel.lastSequence);
+            if (channel.recentEvents.size() == REPLAY_CAPACITY) {
+                channel.recentEvents.pollFirst();
+            }
+            channel.recentEvents.addLast(event);
+
+            channel.outbox.addLast(event);
+            if (channel.delivering) {
+                // 送信中のスレッドが連番順に続けて送信する
+                return;
+            }
+            channel.delivering = true;
+        }
+        deliverPending(channel);
+    }
+
+    /**
+     * 送信待ちのイベントを連番順に送信（ロックは取り出しだけに使い、送信・リスナー呼び出し中は保持しない）
+     */
+    private void deliverPending(StoreChannel channel) {
+        while (true) {
+            OrderEvent event;
+            synchronized (channel) {
+                event = channel.outbox.pollFirst();
+                if (event == null) {
+                    channel.delivering = false;
+                    return;
+                }
+            }
+            deliver(event);
+        }
+    }
+
+    private void deliver(OrderEvent event) {
+        // コミット済みのため失敗しても後続のイベントの送信は止めない（クライアントは連番で再取得できる）
+        try {
+            messagingTemplate.convertAndSend(kitchenTopic(event.getStoreId()), event);
+            if (event.getTableId() != null) {
+                messagingTemplate.convertAndSend(TABLE_TOPIC_PREFIX + event.getTableId(), event);
+            }
+        } catch (RuntimeException e) {
+            log.warn("注文イベントの送信に失敗しました: storeId={}, sequence={}",
+                    event.getStoreId(), event.getSequence(), e);
+        }
+        for (OrderEventListener listener : listeners) {
+            try {
+                listener.onEvent(event);
+            } catch (RuntimeException e) {
+                log.warn("注文イベントの反映に失敗しました: {}, storeId={}, sequence={}",
+                        listener.getClass().getSimpleName(), event.getStoreId(), event.getSequence(), e);
+            }
+        }
+    }
+
+    /**
+     * 再同期レスポンス
+     */
+    public static class EventReplay {
+
+        private final long lastSequence;
+
+        private final boolean resyncRequired;
+
+        private final List<OrderEvent> events;
+
+        public EventReplay(long lastSequence, boolean resyncRequired, List<OrderEvent> events) {
+            this.lastSequence = lastSequence;
+            this.resyncRequired = resyncRequired;
+            this.events = events;
+        }
+
+        public long getLastSequence() {
+            return lastSequence;
+        }
+
+        public boolean isResyncRequired() {
+            return resyncRequired;
+        }
+
+        public List<OrderEvent> getEvents() {
+            return events;
+        }
+    }
+}
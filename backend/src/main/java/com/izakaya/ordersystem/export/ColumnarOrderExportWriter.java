@@ -0,0 +1,215 @@
+package com.izakaya.ordersystem.export;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.izakaya.ordersystem.model.Order;
+import com.izakaya.ordersystem.model.OrderItem;
+
+/**
+ * 列指向のバイナリ形式（集計ツール向け、行をブロック単位で列ごとにまとめて書き出す）
+ *
+ * <pre>
+ * ファイル   : "IZKC" 版数(1byte) 列数(varint) 列定義… ブロック… 0(varint)
+ * 列定義     : 型('L'=整数 / 'S'=文字列) 列名(varint長 + UTF-8)
+ * ブロック   : 行数(varint) 列データ…（列定義の順）
+ * 整数列     : 値の有無のビットマップ(行数/8 切り上げ) 値のある行だけ直前の値との差分(zigzag varint)
+ * 文字列列   : 行ごとに 0=null / 1=直書き / 2=辞書に追加して直書き / 3以上=辞書の(値-3)番目
+ *              直書きは varint長 + UTF-8。辞書はファイル全体で共有し、上限を超えたら直書きのみ
+ * 日時       : 店舗の現地時刻をUTCとみなしたエポック秒
+ * </pre>
+ */
+public class ColumnarOrderExportWriter implements OrderExportWriter {
+
+    private static final byte[] MAGIC = { 'I', 'Z', 'K', 'C' };
+
+    private static final int VERSION = 1;
+
+    // 1ブロックの行数（メモリに保持するのは1ブロック分のみ）
+    static final int BLOCK_ROWS = 4096;
+
+    // 文字列辞書の上限（自由入力の備考などで辞書が際限なく増えないようにする）
+    static final int DICTIONARY_LIMIT = 4096;
+
+    private static final String COLUMN_TYPES = "LSSLLLLLSSLLLSS";
+
+    private final OutputStream out;
+
+    private final LongColumn[] longColumns = new LongColumn[COLUMNS.length];
+
+    private final StringColumn[] stringColumns = new StringColumn[COLUMNS.length];
+
+    private final Map<String, Integer> dictionary = new HashMap<>();
+
+    private int rows;
+
+    private boolean headerWritten;
+
+    public ColumnarOrderExportWriter(OutputStream outputStream) {
+        this.out = new BufferedOutputStream(outputStream, 64 * 1024);
+        for (int i = 0; i < COLUMNS.length; i++) {
+            if (COLUMN_TYPES.charAt(i) == 'L') {
+                longColumns[i] = new LongColumn();
+            } else {
+                stringColumns[i] = new StringColumn();
+            }
+        }
+    }
+
+    @Override
+    public void write(Order order, OrderItem item) throws IOException {
+        putLong(0, order.getId());
+        putString(1, order.getTable() != null ? order.getTable().getTableNumber() : null);
+        putString(2, order.getStatus() != null ? order.getStatus().name() : null);
+        putLong(3, epochSecond(order.getOrderTime()));
+        putLong(4, epochSecond(order.getCompletedTime()));
+        putLong(5, order.getTotalAmountYen());
+        if (item != null) {
+            putLong(6, item.getId());
+            putLong(7, item.getMenuItem().getId());
+            putString(8, item.getMenuItem().getName());
+            putString(9, item.getMenuItem().getCategory() != null ? item.getMenuItem().getCategory().name() : null);
+            putLong(10, item.getQuantity() != null ? item.getQuantity().longValue() : null);
+            putLong(11, item.getUnitPriceYen());
+            putLong(12, item.getSubtotalYen());
+            putString(13, item.getStatus() != null ? item.getStatus().name() : null);
+            putString(14, item.getSpecialInstructions());
+        } else {
+            for (int i = 6; i < COLUMNS.length; i++) {
+                if (longColumns[i] != null) {
+                    putLong(i, null);
+                } else {
+                    putString(i, null);
+                }
+            }
+        }
+
+        rows++;
+        if (rows == BLOCK_ROWS) {
+            flushBlock();
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        flushBlock();
+        writeVarint(out, 0);
+        out.flush();
+    }
+
+    private void putLong(int column, Long value) {
+        longColumns[column].put(rows, value);
+    }
+
+    private void putString(int column, String value) throws IOException {
+        ByteArrayOutputStream buffer = stringColumns[column].buffer;
+        if (value == null) {
+            buffer.write(0);
+            return;
+        }
+        Integer index = dictionary.get(value);
+        if (index != null) {
+            writeVarint(buffer, index + 3L);
+            return;
+        }
+        if (dictionary.size() < DICTIONARY_LIMIT) {
+            dictionary.put(value, dictionary.size());
+            buffer.write(2);
+        } else {
+            buffer.write(1);
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(buffer, bytes.length);
+        buffer.write(bytes, 0, bytes.length);
+    }
+
+    private void writeHeader() throws IOException {
+        out.write(MAGIC);
+        out.write(VERSION);
+        writeVarint(out, COLUMNS.length);
+        for (int i = 0; i < COLUMNS.length; i++) {
+            out.write(COLUMN_TYPES.charAt(i));
+            byte[] name = COLUMNS[i].getBytes(StandardCharsets.UTF_8);
+            writeVarint(out, name.length);
+            out.write(name);
+        }
+        headerWritten = true;
+    }
+
+    private void flushBlock() throws IOException {
+        if (!headerWritten) {
+            writeHeader();
+        }
+        if (rows == 0) {
+            return;
+        }
+        writeVarint(out, rows);
+        for (int i = 0; i < COLUMNS.length; i++) {
+            if (longColumns[i] != null) {
+                longColumns[i].writeTo(out, rows);
+            } else {
+                stringColumns[i].buffer.writeTo(out);
+                stringColumns[i].buffer.reset();
+            }
+        }
+        rows = 0;
+    }
+
+    private static Long epochSecond(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.toEpochSecond(ZoneOffset.UTC) : null;
+    }
+
+    private static void writeVarint(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    /**
+     * 整数列の1ブロック分
+     */
+    private static final class LongColumn {
+
+        private final long[] values = new long[BLOCK_ROWS];
+
+        private final byte[] present = new byte[(BLOCK_ROWS + 7) / 8];
+
+        void put(int row, Long value) {
+            if (value == null) {
+                present[row >> 3] &= (byte) ~(1 << (row & 7));
+                return;
+            }
+            present[row >> 3] |= (byte) (1 << (row & 7));
+            values[row] = value;
+        }
+
+        void writeTo(OutputStream out, int rows) throws IOException {
+            out.write(present, 0, (rows + 7) / 8);
+            long previous = 0;
+            for (int row = 0; row < rows; row++) {
+                if ((present[row >> 3] & (1 << (row & 7))) != 0) {
+                    long delta = values[row] - previous;
+                    writeVarint(out, (delta << 1) ^ (delta >> 63));
+                    previous = values[row];
+                }
+            }
+        }
+    }
+
+    /**
+     * 文字列列の1ブロック分（辞書番号・直書きの値を書き込み順にためる）
+     */
+    private static final class StringColumn {
+
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    }
+}
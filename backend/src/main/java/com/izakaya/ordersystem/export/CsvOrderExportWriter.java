@@ -0,0 +1,91 @@
+package com.izakaya.ordersystem.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import com.izakaya.ordersystem.model.Order;
+import com.izakaya.ordersystem.model.OrderItem;
+
+/**
+ * CSV形式（UTF-8、Excelで文字化けしないようBOM付き、RFC 4180 のクォート）
+ */
+public class CsvOrderExportWriter implements OrderExportWriter {
+
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final Writer writer;
+
+    private boolean headerWritten;
+
+    public CsvOrderExportWriter(OutputStream outputStream) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 16 * 1024);
+    }
+
+    @Override
+    public void write(Order order, OrderItem item) throws IOException {
+        writeHeader();
+        writer.write(String.valueOf(order.getId()));
+        writeField(order.getTable() != null ? order.getTable().getTableNumber() : null);
+        writeField(order.getStatus() != null ? order.getStatus().name() : null);
+        writeField(format(order.getOrderTime()));
+        writeField(format(order.getCompletedTime()));
+        writeField(order.getTotalAmountYen());
+        if (item != null) {
+            writeField(item.getId());
+            writeField(item.getMenuItem().getId());
+            writeField(item.getMenuItem().getName());
+            writeField(item.getMenuItem().getCategory() != null ? item.getMenuItem().getCategory().name() : null);
+            writeField(item.getQuantity());
+            writeField(item.getUnitPriceYen());
+            writeField(item.getSubtotalYen());
+            writeField(item.getStatus() != null ? item.getStatus().name() : null);
+            writeField(item.getSpecialInstructions());
+        } else {
+            for (int i = 6; i < COLUMNS.length; i++) {
+                writer.write(',');
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writeHeader();
+        writer.flush();
+    }
+
+    private void writeHeader() throws IOException {
+        if (headerWritten) {
+            return;
+        }
+        writer.write('\uFEFF');
+        writer.write(String.join(",", COLUMNS));
+        writer.write("\r\n");
+        headerWritten = true;
+    }
+
+    private void writeField(Object value) throws IOException {
+        writer.write(',');
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static String format(LocalDateTime dateTime) {
+        return dateTime != null ? DATE_TIME_FORMATTER.format(dateTime) : null;
+    }
+}
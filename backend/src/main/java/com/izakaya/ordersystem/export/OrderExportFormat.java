@@ -0,0 +1,50 @@
+package com.izakaya.ordersystem.export;
+
+import java.io.OutputStream;
+
+/**
+ * 注文エクスポートの出力形式
+ */
+public enum OrderExportFormat {
+    CSV("csv", "text/csv"),
+    COLUMNAR("izc", "application/octet-stream");
+
+    private final String extension;
+
+    private final String contentType;
+
+    OrderExportFormat(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * 出力先に書き出すライターの作成
+     */
+    public OrderExportWriter newWriter(OutputStream outputStream) {
+        return switch (this) {
+            case CSV -> new CsvOrderExportWriter(outputStream);
+            case COLUMNAR -> new ColumnarOrderExportWriter(outputStream);
+        };
+    }
+
+    /**
+     * クエリパラメータからの変換（大文字小文字は区別しない）
+     */
+    public static OrderExportFormat of(String value) {
+        for (OrderExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value) || format.extension.equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unknown export format: " + value);
+    }
+}
@@ -0,0 +1,29 @@
+package com.izakaya.ordersystem.export;
+
+import java.io.IOException;
+
+import com.izakaya.ordersystem.model.Order;
+import com.izakaya.ordersystem.model.OrderItem;
+
+/**
+ * 注文エクスポートの書き出し（注文アイテム1件＝1行、アイテムのない注文は明細列が空の1行）
+ */
+public interface OrderExportWriter {
+
+    // 出力列（CSVのヘッダー、列指向形式の列定義で共通）
+    String[] COLUMNS = {
+            "order_id", "table_number", "order_status", "order_time", "completed_time", "order_total_yen",
+            "item_id", "menu_item_id", "menu_item_name", "category", "quantity", "unit_price_yen",
+            "subtotal_yen", "item_status", "special_instructions"
+    };
+
+    /**
+     * 1行の書き出し（item は null 可）
+     */
+    void write(Order order, OrderItem item) throws IOException;
+
+    /**
+     * バッファに残った行の書き出しと終端の出力（出力先のストリームは閉じない）
+     */
+    void finish() throws IOException;
+}
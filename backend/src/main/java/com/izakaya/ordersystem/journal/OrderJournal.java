@@ -0,0 +1,122 @@
+package com.izakaya.ordersystem.journal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.izakaya.ordersystem.event.OrderEvent;
+import com.izakaya.ordersystem.model.Order;
+import com.izakaya.ordersystem.model.OrderJournalEntry;
+import com.izakaya.ordersystem.repository.OrderJournalBatchRepository;
+
+/**
+ * 注文ジャーナル
+ * トランザクション中に発生した注文イベントをためておき、コミット直前に1回のバッチで追記する。
+ * 一定件数ごと、および注文の完了・キャンセル時にスナップショットを作成する。
+ * スナップショット以降のイベント数はコミット後に数える（ロールバックした分は数えない）。
+ */
+@Component
+public class OrderJournal {
+
+    // スナップショットを作成するイベント間隔（注文単位）
+    static final int SNAPSHOT_INTERVAL = 20;
+
+    @Autowired
+    private OrderJournalBatchRepository orderJournalBatchRepository;
+
+    @Autowired
+    private OrderProjector orderProjector;
+
+    // 前回のスナップショット以降のイベント数（注文ID → 件数）。再起動時はリセットされる
+    private final Map<Long, Integer> eventsSinceSnapshot = new ConcurrentHashMap<>();
+
+    /**
+     * イベント追記（トランザクション中ならコミット直前にまとめて書き込み）
+     */
+    public void append(OrderEvent event) {
+        OrderJournalEntry entry = OrderJournalEntry.of(event);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            List<OrderJournalEntry> entries = List.of(entry);
+            countEvents(entries, write(entries));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<OrderJournalEntry> pending = (List<OrderJournalEntry>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<OrderJournalEntry> entries = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, entries);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                private Set<Long> snapshotOrderIds = Set.of();
+
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    snapshotOrderIds = write(entries);
+                }
+
+                @Override
+                public void afterCommit() {
+                    countEvents(entries, snapshotOrderIds);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(OrderJournal.this);
+                }
+            });
+            pending = entries;
+        }
+        pending.add(entry);
+    }
+
+    /**
+     * イベントを追記し、スナップショットが必要な注文のスナップショットを作成（作成した注文IDを返す）
+     * 件数は数えずに判定だけ行う（countEvents で反映）
+     */
+    private Set<Long> write(List<OrderJournalEntry> entries) {
+        if (entries.isEmpty()) {
+            return Set.of();
+        }
+        orderJournalBatchRepository.appendAll(entries);
+
+        Map<Long, Integer> pendingCounts = new HashMap<>();
+        Set<Long> snapshotOrderIds = new LinkedHashSet<>();
+        for (OrderJournalEntry entry : entries) {
+            boolean closed = entry.getEventType() == OrderEvent.EventType.ORDER_CANCELLED
+                    || (entry.getEventType() == OrderEvent.EventType.ORDER_STATUS_CHANGED
+                            && entry.getOrderStatus() == Order.OrderStatus.COMPLETED);
+            int count = eventsSinceSnapshot.getOrDefault(entry.getOrderId(), 0)
+                    + pendingCounts.merge(entry.getOrderId(), 1, Integer::sum);
+            if (closed || count >= SNAPSHOT_INTERVAL) {
+                snapshotOrderIds.add(entry.getOrderId());
+            }
+        }
+        for (Long orderId : snapshotOrderIds) {
+            orderProjector.snapshot(orderId);
+        }
+        return snapshotOrderIds;
+    }
+
+    /**
+     * 書き込みが確定したイベントをスナップショット以降の件数に反映
+     */
+    private void countEvents(List<OrderJournalEntry> entries, Set<Long> snapshotOrderIds) {
+        for (OrderJournalEntry entry : entries) {
+            if (!snapshotOrderIds.contains(entry.getOrderId())) {
+                eventsSinceSnapshot.merge(entry.getOrderId(), 1, Integer::sum);
+            }
+        }
+        for (Long orderId : snapshotOrderIds) {
+            eventsSinceSnapshot.remove(orderId);
+        }
+    }
+}
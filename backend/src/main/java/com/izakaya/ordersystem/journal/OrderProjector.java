@@ -0,0 +1,199 @@
+package com.izakaya.ordersystem.journal;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.izakaya.ordersystem.cache.ReceiptCache;
+import com.izakaya.ordersystem.model.OrderJournalEntry;
+import com.izakaya.ordersystem.model.OrderSnapshot;
+import com.izakaya.ordersystem.repository.OrderJournalRepository;
+import com.izakaya.ordersystem.repository.OrderSnapshotRepository;
+
+/**
+ * 注文プロジェクター
+ * 最新スナップショットとそれ以降のジャーナルから注文の状態を復元し、orders / order_items に書き戻す
+ */
+@Component
+public class OrderProjector {
+
+    private static final String SELECT_ORDER_SQL = "SELECT status, total_amount_yen, completed_time "
+            + "FROM orders WHERE id = ?";
+
+    private static final String SELECT_ORDER_ITEMS_SQL = "SELECT id, status, quantity, unit_price_yen "
+            + "FROM order_items WHERE order_id = ?";
+
+    private static final String UPDATE_ORDER_SQL = "UPDATE orders SET status = ?, total_amount = ?, "
+            + "total_amount_yen = ?, completed_time = ?, updated_at = ?, version = version + 1 WHERE id = ?";
+
+    private static final String UPDATE_ORDER_ITEM_SQL = "UPDATE order_items SET status = ?, quantity = ?, "
+            + "unit_price_yen = ?, updated_at = ?, version = version + 1 WHERE id = ? AND order_id = ?";
+
+    @Autowired
+    private OrderJournalRepository orderJournalRepository;
+
+    @Autowired
+    private OrderSnapshotRepository orderSnapshotRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ReceiptCache receiptCache;
+
+    /**
+     * ジャーナルから注文の状態を復元
+     */
+    @Transactional(readOnly = true)
+    public Optional<OrderState> project(Long orderId) {
+        Optional<OrderSnapshot> snapshot = orderSnapshotRepository.findFirstByOrderIdOrderByLastEventIdDesc(orderId);
+        OrderState state = snapshot.map(this::readState).orElseGet(OrderState::new);
+        long afterEventId = snapshot.map(OrderSnapshot::getLastEventId).orElse(0L);
+
+        List<OrderJournalEntry> entries = orderJournalRepository
+                .findByOrderIdAndIdGreaterThanOrderByIdAsc(orderId, afterEventId);
+        for (OrderJournalEntry entry : entries) {
+            state.apply(entry);
+        }
+        return state.getLastEventId() != null ? Optional.of(state) : Optional.empty();
+    }
+
+    /**
+     * スナップショット作成
+     */
+    @Transactional
+    public void snapshot(Long orderId) {
+        project(orderId).ifPresent(state -> orderSnapshotRepository.save(
+                new OrderSnapshot(orderId, state.getLastEventId(), writeState(state))));
+    }
+
+    /**
+     * ジャーナルから注文を再構築（orders / order_items の行のうち、復元した状態と異なるものだけ上書き）
+     * 行が存在しない注文・アイテムは対象外。ジャーナルが注文作成から始まっていない注文は IllegalStateException
+     */
+    @Transactional
+    public Optional<OrderState> rebuild(Long orderId) {
+        Optional<OrderState> projected = project(orderId);
+        projected.ifPresent(state -> {
+            if (!state.isComplete()) {
+                throw new IllegalStateException("Journal of order " + orderId + " does not start with ORDER_CREATED");
+            }
+            writeBack(orderId, state);
+        });
+        return projected;
+    }
+
+    /**
+     * ジャーナルに記録のある全注文を再構築（注文作成から記録のない注文は対象外）
+     * 行を書き換えた注文数を返す
+     */
+    @Transactional
+    public int rebuildAll() {
+        int rebuilt = 0;
+        for (Long orderId : orderJournalRepository.findJournaledOrderIds()) {
+            Optional<OrderState> projected = project(orderId);
+            if (projected.isPresent() && projected.get().isComplete() && writeBack(orderId, projected.get())) {
+                rebuilt++;
+            }
+        }
+        return rebuilt;
+    }
+
+    /**
+     * 復元した状態を現在の行と比べ、異なる行だけ書き戻す（書き換えたら true）
+     * 復元した状態に値のない項目は現在の値のまま。会計日時はジャーナルのイベント時刻と数ミリ秒ずれるため、有無だけを比べる
+     */
+    private boolean writeBack(Long orderId, OrderState state) {
+        List<Map<String, Object>> orderRows = jdbcTemplate.queryForList(SELECT_ORDER_SQL, orderId);
+        if (orderRows.isEmpty()) {
+            return false;
+        }
+        Map<String, Object> current = orderRows.get(0);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        boolean changed = false;
+
+        Long currentTotalYen = toLong(current.get("total_amount_yen"));
+        Timestamp currentCompletedTime = (Timestamp) current.get("completed_time");
+        Timestamp completedTime = state.getCompletedTime() == null ? null
+                : currentCompletedTime != null ? currentCompletedTime : Timestamp.valueOf(state.getCompletedTime());
+        if (!state.getStatus().name().equals(current.get("status"))
+                || !Objects.equals(currentTotalYen, state.getTotalAmountYen())
+                || !Objects.equals(currentCompletedTime, completedTime)) {
+            jdbcTemplate.update(UPDATE_ORDER_SQL,
+                    state.getStatus().name(),
+                    BigDecimal.valueOf(state.getTotalAmountYen()),
+                    state.getTotalAmountYen(),
+                    completedTime,
+                    now,
+                    orderId);
+            changed = true;
+        }
+
+        Map<Long, Map<String, Object>> currentItems = new HashMap<>();
+        for (Map<String, Object> row : jdbcTemplate.queryForList(SELECT_ORDER_ITEMS_SQL, orderId)) {
+            currentItems.put(toLong(row.get("id")), row);
+        }
+        List<Object[]> itemRows = new ArrayList<>();
+        for (OrderState.ItemState item : state.getItems()) {
+            Map<String, Object> row = item.getId() != null ? currentItems.get(item.getId()) : null;
+            if (row == null) {
+                continue;
+            }
+            Object status = item.getStatus() != null ? item.getStatus().name() : row.get("status");
+            Long quantity = item.getQuantity() != null ? Long.valueOf(item.getQuantity()) : toLong(row.get("quantity"));
+            Long unitPriceYen = item.getUnitPriceYen() != null ? item.getUnitPriceYen()
+                    : toLong(row.get("unit_price_yen"));
+            if (!Objects.equals(status, row.get("status"))
+                    || !Objects.equals(quantity, toLong(row.get("quantity")))
+                    || !Objects.equals(unitPriceYen, toLong(row.get("unit_price_yen")))) {
+                itemRows.add(new Object[] { status, quantity, unitPriceYen, now, item.getId(), orderId });
+            }
+        }
+        if (!itemRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_ORDER_ITEM_SQL, itemRows);
+            changed = true;
+        }
+
+        if (changed) {
+            // 会計完了後の訂正で描画済みの領収書を使わないよう破棄（キーのバージョンも進んでいる）
+            receiptCache.invalidate(orderId);
+        }
+        return changed;
+    }
+
+    private static Long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : null;
+    }
+
+    private OrderState readState(OrderSnapshot snapshot) {
+        try {
+            return objectMapper.readValue(snapshot.getState(), OrderState.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Broken order snapshot with id " + snapshot.getId(), e);
+        }
+    }
+
+    private String writeState(OrderState state) {
+        try {
+            return objectMapper.writeValueAsString(state);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to write order snapshot for order " + state.getOrderId(), e);
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.izakaya.ordersystem.journal;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.izakaya.ordersystem.model.Order;
+import com.izakaya.ordersystem.model.OrderItem;
+import com.izakaya.ordersystem.model.OrderJournalEntry;
+
+/**
+ * 注文ジャーナルから復元した注文の状態
+ * スナップショットとしてJSONで保存し、以降のイベントを apply して最新状態を得る
+ */
+public class OrderState {
+
+    private Long orderId;
+
+    private Long tableId;
+
+    private Order.OrderStatus status;
+
+    private String customerNotes;
+
+    private LocalDateTime orderTime;
+
+    private LocalDateTime completedTime;
+
+    private long totalAmountYen;
+
+    private Long lastEventId;
+
+    private List<ItemState> items = new ArrayList<>();
+
+    /**
+     * イベントの適用
+     */
+    public void apply(OrderJournalEntry entry) {
+        switch (entry.getEventType()) {
+            case ORDER_CREATED -> {
+                // 注文作成から始まるジャーナルだけを完全な履歴として扱う（途中から記録された注文は orderId が null のまま）
+                if (lastEventId == null) {
+                    orderId = entry.getOrderId();
+                    tableId = entry.getTableId();
+                    status = entry.getOrderStatus();
+                    customerNotes = entry.getCustomerNotes();
+                    orderTime = entry.getOccurredAt();
+                }
+            }
+            case ITEM_ADDED -> {
+                ItemState item = new ItemState();
+                item.id = entry.getOrderItemId();
+                item.menuItemId = entry.getMenuItemId();
+                item.quantity = entry.getQuantity();
+                item.unitPriceYen = entry.getUnitPriceYen();
+                item.specialInstructions = entry.getSpecialInstructions();
+                item.status = entry.getItemStatus();
+                items.add(item);
+                totalAmountYen += item.getSubtotalYen();
+            }
+            case ORDER_STATUS_CHANGED, ORDER_CANCELLED -> {
+                status = entry.getOrderStatus();
+                if (status == Order.OrderStatus.COMPLETED) {
+                    completedTime = entry.getOccurredAt();
+                }
+            }
+            case ITEM_STATUS_CHANGED -> {
+                ItemState item = findItem(entry.getOrderItemId());
+                if (item != null) {
+                    item.status = entry.getItemStatus();
+                }
+            }
+        }
+        lastEventId = entry.getId();
+    }
+
+    /**
+     * 注文作成から始まる完全な履歴から復元したか（orders の行へ書き戻せるか）
+     */
+    @JsonIgnore
+    public boolean isComplete() {
+        return orderId != null && status != null;
+    }
+
+    /**
+     * アイテム取得
+     */
+    public ItemState findItem(Long orderItemId) {
+        for (ItemState item : items) {
+            if (Objects.equals(item.id, orderItemId)) {
+                return item;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 注文アイテムの状態
+     */
+    public static class ItemState {
+
+        private Long id;
+
+        private Long menuItemId;
+
+        private Integer quantity;
+
+        private Long unitPriceYen;
+
+        private String specialInstructions;
+
+        private OrderItem.ItemStatus status;
+
+        @JsonIgnore
+        public long getSubtotalYen() {
+            return unitPriceYen != null && quantity != null ? unitPriceYen * quantity : 0;
+        }
+
+        // Getters and Setters
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public Long getMenuItemId() {
+            return menuItemId;
+        }
+
+        public void setMenuItemId(Long menuItemId) {
+            this.menuItemId = menuItemId;
+        }
+
+        public Integer getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(Integer quantity) {
+            this.quantity = quantity;
+        }
+
+        public Long getUnitPriceYen() {
+            return unitPriceYen;
+        }
+
+        public void setUnitPriceYen(Long unitPriceYen) {
+            this.unitPriceYen = unitPriceYen;
+        }
+
+        public String getSpecialInstructions() {
+            return specialInstructions;
+        }
+
+        public void setSpecialInstructions(String specialInstructions) {
+            this.specialInstructions = specialInstructions;
+        }
+
+        public OrderItem.ItemStatus getStatus() {
+            return status;
+        }
+
+        public void setStatus(OrderItem.ItemStatus status) {
+            this.status = status;
+        }
+    }
+
+    // Getters and Setters
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(Long orderId) {
+        this.orderId = orderId;
+    }
+
+    public Long getTableId() {
+        return tableId;
+    }
+
+    public void setTableId(Long tableId) {
+        this.tableId = tableId;
+    }
+
+    public Order.OrderStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(Order.OrderStatus status) {
+        this.status = status;
+    }
+
+    public String getCustomerNotes() {
+        return customerNotes;
+    }
+
+    public void setCustomerNotes(String customerNotes) {
+        this.customerNotes = customerNotes;
+    }
+
+    public LocalDateTime getOrderTime() {
+        return orderTime;
+    }
+
+    public void setOrderTime(LocalDateTime orderTime) {
+        this.orderTime = orderTime;
+    }
+
+    public LocalDateTime getCompletedTime() {
+        return completedTime;
+    }
+
+    public void setCompletedTime(LocalDateTime completedTime) {
+        this.completedTime = completedTime;
+    }
+
+    public long getTotalAmountYen() {
+        return totalAmountYen;
+    }
+
+    public void setTotalAmountYen(long totalAmountYen) {
+        this.totalAmountYen = totalAmountYen;
+    }
+
+    public Long getLastEventId() {
+        return lastEventId;
+    }
+
+    public void setLastEventId(Long lastEventId) {
+        this.lastEventId = lastEventId;
+    }
+
+    public List<ItemState> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ItemState> items) {
+        this.items = items;
+    }
+}
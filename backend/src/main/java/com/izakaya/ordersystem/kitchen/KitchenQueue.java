@@ -0,0 +1,270 @@
+package com.izakaya.ordersystem.kitchen;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import com.izakaya.ordersystem.model.Order;
+import com.izakaya.ordersystem.model.OrderItem;
+
+/**
+ * 持ち場別の調理キュー（スレッドセーフではないため呼び出し側で排他すること）
+ * 同じ注文でまとめて注文された料理は、最も時間のかかる料理の仕上がり時刻に揃うよう
+ * 「仕上がり目標 − 調理時間」を調理開始目安とし、開始目安の早い順に並べる。
+ * ドリンクは料理と揃えず、注文後すぐに出す。
+ */
+public final class KitchenQueue {
+
+    // 同じ注文でこの時間内に追加されたアイテムは一緒に仕上げる
+    static final Duration GROUP_WINDOW = Duration.ofMinutes(2);
+
+    // 調理中のアイテムを先頭に、以降は調理開始目安の早い順
+    static final Comparator<KitchenTask> PRIORITY = Comparator
+            .comparing((KitchenTask task) -> task.getStatus() != OrderItem.ItemStatus.IN_PREPARATION)
+            .thenComparing(KitchenTask::getStartBy)
+            .thenComparing(KitchenTask::getOrderItemId);
+
+    private final Map<KitchenStation, TreeSet<KitchenTask>> queues = new EnumMap<>(KitchenStation.class);
+
+    private final Map<Long, KitchenTask> tasks = new HashMap<>();
+
+    private final Map<Long, OrderEntry> orders = new HashMap<>();
+
+    private final Map<Long, Group> taskGroups = new HashMap<>();
+
+    public KitchenQueue() {
+        for (KitchenStation station : KitchenStation.values()) {
+            queues.put(station, new TreeSet<>(PRIORITY));
+        }
+    }
+
+    /**
+     * アイテム追加（登録済みならステータスのみ反映）、並び順が変わった持ち場を返す
+     */
+    public Set<KitchenStation> put(KitchenTask task) {
+        if (tasks.containsKey(task.getOrderItemId())) {
+            return updateItemStatus(task.getOrderItemId(), task.getStatus());
+        }
+        if (!isOpen(task.getOrderStatus()) || !isOpen(task.getStatus())) {
+            return EnumSet.noneOf(KitchenStation.class);
+        }
+
+        OrderEntry order = orders.computeIfAbsent(task.getOrderId(), id -> new OrderEntry(task.getOrderStatus()));
+        task.setOrderStatus(order.status);
+
+        Group group = order.groups.isEmpty() ? null : order.groups.get(order.groups.size() - 1);
+        if (group == null || task.getOrderedAt().isAfter(group.openedAt.plus(GROUP_WINDOW))) {
+            group = new Group(task.getOrderedAt());
+            order.groups.add(group);
+        }
+        group.tasks.add(task);
+        tasks.put(task.getOrderItemId(), task);
+        taskGroups.put(task.getOrderItemId(), group);
+
+        return reschedule(group, order.isActive());
+    }
+
+    /**
+     * アイテムのステータス反映（提供可能になったアイテムはキューから外す）
+     */
+    public Set<KitchenStation> updateItemStatus(Long orderItemId, OrderItem.ItemStatus status) {
+        KitchenTask task = tasks.get(orderItemId);
+        if (task == null || task.getStatus() == status) {
+            return EnumSet.noneOf(KitchenStation.class);
+        }
+        if (!isOpen(status)) {
+            return remove(orderItemId);
+        }
+
+        boolean queued = queues.get(task.getStation()).remove(task);
+        task.setStatus(status);
+        if (queued) {
+            queues.get(task.getStation()).add(task);
+        }
+        return EnumSet.of(task.getStation());
+    }
+
+    /**
+     * 注文ステータス反映（確定でキューに載せ、提供可能・完了・キャンセルでキューから外す）
+     */
+    public Set<KitchenStation> updateOrderStatus(Long orderId, Order.OrderStatus status) {
+        OrderEntry order = orders.get(orderId);
+        if (order == null || order.status == status) {
+            return EnumSet.noneOf(KitchenStation.class);
+        }
+
+        Set<KitchenStation> changed = EnumSet.noneOf(KitchenStation.class);
+        if (!isOpen(status)) {
+            for (Group group : order.groups) {
+                for (KitchenTask task : group.tasks) {
+                    if (queues.get(task.getStation()).remove(task)) {
+                        changed.add(task.getStation());
+                    }
+                    tasks.remove(task.getOrderItemId());
+                    taskGroups.remove(task.getOrderItemId());
+                }
+            }
+            orders.remove(orderId);
+            return changed;
+        }
+
+        boolean wasActive = order.isActive();
+        order.status = status;
+        for (Group group : order.groups) {
+            for (KitchenTask task : group.tasks) {
+                task.setOrderStatus(status);
+                if (wasActive != order.isActive()) {
+                    if (order.isActive()) {
+                        queues.get(task.getStation()).add(task);
+                    } else {
+                        queues.get(task.getStation()).remove(task);
+                    }
+                }
+                if (wasActive || order.isActive()) {
+                    changed.add(task.getStation());
+                }
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * アイテム削除（同じグループの残りのアイテムは仕上がり目標を再計算）
+     */
+    public Set<KitchenStation> remove(Long orderItemId) {
+        KitchenTask task = tasks.remove(orderItemId);
+        if (task == null) {
+            return EnumSet.noneOf(KitchenStation.class);
+        }
+        Group group = taskGroups.remove(orderItemId);
+        OrderEntry order = orders.get(task.getOrderId());
+        queues.get(task.getStation()).remove(task);
+        group.tasks.remove(task);
+
+        Set<KitchenStation> changed = EnumSet.of(task.getStation());
+        if (group.tasks.isEmpty()) {
+            order.groups.remove(group);
+            if (order.groups.isEmpty()) {
+                orders.remove(task.getOrderId());
+            }
+        } else {
+            changed.addAll(reschedule(group, order.isActive()));
+        }
+        return changed;
+    }
+
+    /**
+     * 持ち場のキュー（優先順、キューの外から参照できるようコピーを返す）
+     */
+    public List<KitchenTask> getQueue(KitchenStation station) {
+        List<KitchenTask> queue = new ArrayList<>(queues.get(station).size());
+        for (KitchenTask task : queues.get(station)) {
+            queue.add(task.copy());
+        }
+        return queue;
+    }
+
+    /**
+     * 持ち場のキューの件数
+     */
+    public int size(KitchenStation station) {
+        return queues.get(station).size();
+    }
+
+    /**
+     * 保持しているアイテム数（未確定の注文を含む）
+     */
+    public int size() {
+        return tasks.size();
+    }
+
+    public void clear() {
+        queues.values().forEach(TreeSet::clear);
+        tasks.clear();
+        orders.clear();
+        taskGroups.clear();
+    }
+
+    /**
+     * グループの仕上がり目標を再計算し、各アイテムの調理開始目安を更新
+     */
+    private Set<KitchenStation> reschedule(Group group, boolean active) {
+        LocalDateTime readyBy = null;
+        for (KitchenTask task : group.tasks) {
+            if (task.getStation() != KitchenStation.DRINK) {
+                LocalDateTime earliest = task.getOrderedAt().plusMinutes(task.getPreparationMinutes());
+                if (readyBy == null || earliest.isAfter(readyBy)) {
+                    readyBy = earliest;
+                }
+            }
+        }
+
+        Set<KitchenStation> changed = EnumSet.noneOf(KitchenStation.class);
+        for (KitchenTask task : group.tasks) {
+            LocalDateTime taskReadyBy = task.getStation() == KitchenStation.DRINK
+                    ? task.getOrderedAt().plusMinutes(task.getPreparationMinutes())
+                    : readyBy;
+            LocalDateTime startBy = taskReadyBy.minusMinutes(task.getPreparationMinutes());
+            boolean queued = queues.get(task.getStation()).remove(task);
+            if (active && (!queued || !startBy.equals(task.getStartBy()))) {
+                changed.add(task.getStation());
+            }
+            task.schedule(startBy, taskReadyBy);
+            if (active) {
+                queues.get(task.getStation()).add(task);
+            }
+        }
+        return changed;
+    }
+
+    private static boolean isOpen(Order.OrderStatus status) {
+        return status != Order.OrderStatus.READY
+                && status != Order.OrderStatus.SERVED
+                && status != Order.OrderStatus.COMPLETED
+                && status != Order.OrderStatus.CANCELLED;
+    }
+
+    private static boolean isOpen(OrderItem.ItemStatus status) {
+        return status == OrderItem.ItemStatus.ORDERED || status == OrderItem.ItemStatus.IN_PREPARATION;
+    }
+
+    /**
+     * 注文ごとの状態（確定済みの注文だけを厨房のキューに載せる）
+     */
+    private static final class OrderEntry {
+
+        private Order.OrderStatus status;
+
+        private final List<Group> groups = new ArrayList<>();
+
+        OrderEntry(Order.OrderStatus status) {
+            this.status = status;
+        }
+
+        boolean isActive() {
+            return status == Order.OrderStatus.CONFIRMED || status == Order.OrderStatus.IN_PREPARATION;
+        }
+    }
+
+    /**
+     * 一緒に仕上げるアイテムのまとまり
+     */
+    private static final class Group {
+
+        private final LocalDateTime openedAt;
+
+        private final List<KitchenTask> tasks = new ArrayList<>();
+
+        Group(LocalDateTime openedAt) {
+            this.openedAt = openedAt;
+        }
+    }
+}
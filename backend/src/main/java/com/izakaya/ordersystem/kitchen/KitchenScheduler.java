@@ -0,0 +1,156 @@
+package com.izakaya.ordersystem.kitchen;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import com.izakaya.ordersystem.cache.MenuCatalogCache;
+import com.izakaya.ordersystem.dto.KitchenStationQueue;
+import com.izakaya.ordersystem.event.OrderEvent;
+import com.izakaya.ordersystem.event.OrderEventListener;
+import com.izakaya.ordersystem.event.OrderEventPublisher;
+import com.izakaya.ordersystem.model.MenuItem;
+import com.izakaya.ordersystem.model.Store;
+import com.izakaya.ordersystem.repository.OrderItemRepository;
+import com.izakaya.ordersystem.repository.StoreRepository;
+
+/**
+ * 厨房の持ち場別スケジューラー
+ * 調理待ちアイテムを店舗ごとのメモリ上の KitchenQueue で管理し、注文イベントで更新する。
+ * 並び順が変わった持ち場のキューは /topic/stores/{storeId}/kitchen/station/{station} へ送信する。
+ * キューは店舗ごとに同期するため、店舗が増えても他の店舗の更新を待たない。起動時にDBから再構築する。
+ */
+@Component
+public class KitchenScheduler implements OrderEventListener {
+
+    public static final String STATION_TOPIC_SEGMENT = "/kitchen/station/";
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    @Autowired
+    private MenuCatalogCache menuCatalogCache;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    private final Map<Long, KitchenQueue> queues = new ConcurrentHashMap<>();
+
+    /**
+     * 店舗の持ち場向けトピック
+     */
+    public static String stationTopic(Long storeId, KitchenStation station) {
+        return OrderEventPublisher.STORE_TOPIC_PREFIX + storeId + STATION_TOPIC_SEGMENT + station.name();
+    }
+
+    /**
+     * 全店舗のキューをDBから再構築
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        for (Store store : storeRepository.findAll()) {
+            rebuild(store.getId());
+        }
+    }
+
+    /**
+     * 店舗のDBの調理待ちアイテムからキューを再構築
+     */
+    public void rebuild(Long storeId) {
+        KitchenQueue queue = queueFor(storeId);
+        // 再構築中に届いたイベントは再構築後に適用する（同じアイテムの追加は重複しない）
+        synchronized (queue) {
+            queue.clear();
+            for (KitchenTask task : orderItemRepository.findKitchenTasks(storeId)) {
+                queue.put(task);
+            }
+        }
+        for (KitchenStation station : KitchenStation.values()) {
+            push(storeId, station);
+        }
+    }
+
+    /**
+     * 注文イベントの反映（店舗ごとにコミット順に呼び出されること）
+     */
+    @Override
+    public void onEvent(OrderEvent event) {
+        KitchenQueue queue = queueFor(event.getStoreId());
+        Set<KitchenStation> changed = EnumSet.noneOf(KitchenStation.class);
+        synchronized (queue) {
+            switch (event.getType()) {
+                case ITEM_ADDED -> changed.addAll(queue.put(toTask(event)));
+                case ITEM_STATUS_CHANGED -> changed.addAll(
+                        queue.updateItemStatus(event.getOrderItemId(), event.getItemStatus()));
+                default -> {
+                }
+            }
+            if (event.getOrderStatus() != null) {
+                changed.addAll(queue.updateOrderStatus(event.getOrderId(), event.getOrderStatus()));
+            }
+        }
+        changed.forEach(station -> push(event.getStoreId(), station));
+    }
+
+    /**
+     * 店舗の持ち場のキュー取得
+     */
+    public KitchenStationQueue getStationQueue(Long storeId, KitchenStation station) {
+        KitchenQueue queue = queues.get(storeId);
+        if (queue == null) {
+            return new KitchenStationQueue(station, List.of());
+        }
+        synchronized (queue) {
+            return new KitchenStationQueue(station, queue.getQueue(station));
+        }
+    }
+
+    /**
+     * 店舗の全持ち場のキュー取得
+     */
+    public List<KitchenStationQueue> getStationQueues(Long storeId) {
+        List<KitchenStationQueue> stationQueues = new ArrayList<>();
+        KitchenQueue queue = queues.get(storeId);
+        if (queue == null) {
+            for (KitchenStation station : KitchenStation.values()) {
+                stationQueues.add(new KitchenStationQueue(station, List.of()));
+            }
+            return stationQueues;
+        }
+        synchronized (queue) {
+            for (KitchenStation station : KitchenStation.values()) {
+                stationQueues.add(new KitchenStationQueue(station, queue.getQueue(station)));
+            }
+        }
+        return stationQueues;
+    }
+
+    private KitchenQueue queueFor(Long storeId) {
+        return queues.computeIfAbsent(storeId, id -> new KitchenQueue());
+    }
+
+    private KitchenTask toTask(OrderEvent event) {
+        MenuItem menuItem = menuCatalogCache.get(event.getStoreId()).findById(event.getMenuItemId()).orElse(null);
+        return new KitchenTask(event.getOrderItemId(), event.getOrderId(), event.getTableId(),
+                event.getTableNumber(), event.getOrderStatus(), event.getMenuItemName(),
+                menuItem != null ? menuItem.getCategory() : null,
+                menuItem != null ? menuItem.getPreparationTimeMinutes() : null,
+                event.getQuantity(), event.getSpecialInstructions(), event.getItemStatus(), event.getOccurredAt());
+    }
+
+    private void push(Long storeId, KitchenStation station) {
+        messagingTemplate.convertAndSend(stationTopic(storeId, station), getStationQueue(storeId, station));
+    }
+}
@@ -0,0 +1,48 @@
+package com.izakaya.ordersystem.kitchen;
+
+import com.izakaya.ordersystem.model.MenuItem;
+
+/**
+ * 厨房の持ち場（メニューカテゴリから決定）
+ */
+public enum KitchenStation {
+    GRILL("焼き場", 15),
+    FRYER("揚げ場", 10),
+    HOT("煮炊き場", 12),
+    COLD("冷菜・刺身", 5),
+    DRINK("ドリンク", 2);
+
+    private final String displayName;
+
+    // メニューに調理時間が設定されていない場合の目安（分）
+    private final int defaultPreparationMinutes;
+
+    KitchenStation(String displayName, int defaultPreparationMinutes) {
+        this.displayName = displayName;
+        this.defaultPreparationMinutes = defaultPreparationMinutes;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public int getDefaultPreparationMinutes() {
+        return defaultPreparationMinutes;
+    }
+
+    /**
+     * メニューカテゴリの担当持ち場
+     */
+    public static KitchenStation of(MenuItem.MenuCategory category) {
+        if (category == null) {
+            return HOT;
+        }
+        return switch (category) {
+            case GRILLED -> GRILL;
+            case FRIED -> FRYER;
+            case HOT_POT, RICE, NOODLES -> HOT;
+            case APPETIZER, SASHIMI, DESSERT -> COLD;
+            case SOFT_DRINK, ALCOHOLIC, BEER, SAKE, SHOCHU, WINE, COCKTAIL -> DRINK;
+        };
+    }
+}
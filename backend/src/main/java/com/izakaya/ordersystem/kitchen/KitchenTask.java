@@ -0,0 +1,158 @@
+package com.izakaya.ordersystem.kitchen;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.izakaya.ordersystem.model.MenuItem;
+import com.izakaya.ordersystem.model.Order;
+import com.izakaya.ordersystem.model.OrderItem;
+
+/**
+ * 持ち場の調理待ちアイテム
+ * startBy（調理開始目安）は同じ卓にまとめて注文された料理が readyBy に揃って仕上がるように KitchenQueue が決める。
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class KitchenTask {
+
+    private final Long orderItemId;
+
+    private final Long orderId;
+
+    private final Long tableId;
+
+    private final String tableNumber;
+
+    private final String menuItemName;
+
+    private final Integer quantity;
+
+    private final String specialInstructions;
+
+    private final KitchenStation station;
+
+    private final int preparationMinutes;
+
+    private final LocalDateTime orderedAt;
+
+    private Order.OrderStatus orderStatus;
+
+    private OrderItem.ItemStatus status;
+
+    private LocalDateTime startBy;
+
+    private LocalDateTime readyBy;
+
+    /**
+     * JPQLコンストラクタ式用（起動時の再構築）
+     */
+    public KitchenTask(Long orderItemId, Long orderId, Long tableId, String tableNumber,
+            Order.OrderStatus orderStatus, String menuItemName, MenuItem.MenuCategory category,
+            Integer preparationMinutes, Integer quantity, String specialInstructions,
+            OrderItem.ItemStatus status, LocalDateTime orderedAt) {
+        this(orderItemId, orderId, tableId, tableNumber, orderStatus, menuItemName, KitchenStation.of(category),
+                preparationMinutes, quantity, specialInstructions, status, orderedAt);
+    }
+
+    private KitchenTask(Long orderItemId, Long orderId, Long tableId, String tableNumber,
+            Order.OrderStatus orderStatus, String menuItemName, KitchenStation station,
+            Integer preparationMinutes, Integer quantity, String specialInstructions,
+            OrderItem.ItemStatus status, LocalDateTime orderedAt) {
+        this.orderItemId = orderItemId;
+        this.orderId = orderId;
+        this.tableId = tableId;
+        this.tableNumber = tableNumber;
+        this.orderStatus = orderStatus;
+        this.menuItemName = menuItemName;
+        this.station = station;
+        this.preparationMinutes = preparationMinutes != null && preparationMinutes > 0
+                ? preparationMinutes
+                : station.getDefaultPreparationMinutes();
+        this.quantity = quantity;
+        this.specialInstructions = specialInstructions;
+        this.status = status;
+        this.orderedAt = orderedAt;
+        this.startBy = orderedAt;
+        this.readyBy = orderedAt.plusMinutes(this.preparationMinutes);
+    }
+
+    /**
+     * 表示用のコピー（キューの外から参照するため）
+     */
+    KitchenTask copy() {
+        KitchenTask copy = new KitchenTask(orderItemId, orderId, tableId, tableNumber, orderStatus, menuItemName,
+                station, preparationMinutes, quantity, specialInstructions, status, orderedAt);
+        copy.schedule(startBy, readyBy);
+        return copy;
+    }
+
+    // Getters
+    public Long getOrderItemId() {
+        return orderItemId;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public Long getTableId() {
+        return tableId;
+    }
+
+    public String getTableNumber() {
+        return tableNumber;
+    }
+
+    public String getMenuItemName() {
+        return menuItemName;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public String getSpecialInstructions() {
+        return specialInstructions;
+    }
+
+    public KitchenStation getStation() {
+        return station;
+    }
+
+    public int getPreparationMinutes() {
+        return preparationMinutes;
+    }
+
+    public LocalDateTime getOrderedAt() {
+        return orderedAt;
+    }
+
+    public Order.OrderStatus getOrderStatus() {
+        return orderStatus;
+    }
+
+    public OrderItem.ItemStatus getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getStartBy() {
+        return startBy;
+    }
+
+    public LocalDateTime getReadyBy() {
+        return readyBy;
+    }
+
+    // 並び順に関わる項目は KitchenQueue がキューから外した状態でのみ変更する
+    void setOrderStatus(Order.OrderStatus orderStatus) {
+        this.orderStatus = orderStatus;
+    }
+
+    void setStatus(OrderItem.ItemStatus status) {
+        this.status = status;
+    }
+
+    void schedule(LocalDateTime startBy, LocalDateTime readyBy) {
+        this.startBy = startBy;
+        this.readyBy = readyBy;
+    }
+}
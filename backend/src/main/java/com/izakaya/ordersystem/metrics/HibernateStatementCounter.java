@@ -0,0 +1,37 @@
+package com.izakaya.ordersystem.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernateが発行するSQL文の数をスレッドごとに数える（リクエスト単位の集計用）
+ * SQLの書き換えはしない。計測中でないスレッドでは何もしない。
+ */
+public class HibernateStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    /**
+     * 現在のスレッドで計測を開始
+     */
+    public static void start() {
+        COUNT.set(new int[1]);
+    }
+
+    /**
+     * 計測を終了して発行数を返す（計測していなければ -1）
+     */
+    public static int stop() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count != null ? count[0] : -1;
+    }
+}
@@ -0,0 +1,95 @@
+package com.izakaya.ordersystem.metrics;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import com.izakaya.ordersystem.kitchen.KitchenStation;
+import com.izakaya.ordersystem.model.Order;
+import com.izakaya.ordersystem.model.OrderItem;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * 注文の所要時間のメトリクス
+ * izakaya.order.lifecycle        : 注文から配膳完了・会計完了まで（stage=served / completed）
+ * izakaya.kitchen.item.lifecycle : 注文アイテムの注文から配膳準備完了・提供まで（持ち場別、stage=ready / served）
+ */
+@Component
+public class OrderLifecycleMetrics {
+
+    private static final Duration MINIMUM_EXPECTED = Duration.ofSeconds(30);
+
+    private static final Duration MAXIMUM_EXPECTED = Duration.ofHours(4);
+
+    private final Timer orderServed;
+
+    private final Timer orderCompleted;
+
+    private final Map<KitchenStation, Timer> itemReady = new EnumMap<>(KitchenStation.class);
+
+    private final Map<KitchenStation, Timer> itemServed = new EnumMap<>(KitchenStation.class);
+
+    public OrderLifecycleMetrics(MeterRegistry meterRegistry) {
+        this.orderServed = timer(meterRegistry, "izakaya.order.lifecycle", "stage", "served");
+        this.orderCompleted = timer(meterRegistry, "izakaya.order.lifecycle", "stage", "completed");
+        for (KitchenStation station : KitchenStation.values()) {
+            itemReady.put(station, timer(meterRegistry, "izakaya.kitchen.item.lifecycle",
+                    "stage", "ready", "station", station.name()));
+            itemServed.put(station, timer(meterRegistry, "izakaya.kitchen.item.lifecycle",
+                    "stage", "served", "station", station.name()));
+        }
+    }
+
+    /**
+     * 注文ステータス変更の記録
+     * 配膳完了になった注文で、個別に提供済みになっていないアイテムも提供済みとして記録する
+     */
+    public void orderStatusChanged(Order order) {
+        LocalDateTime now = LocalDateTime.now();
+        if (order.getStatus() == Order.OrderStatus.SERVED) {
+            record(orderServed, order.getOrderTime(), now);
+            for (OrderItem item : order.getOrderItems()) {
+                if (item.getStatus() != OrderItem.ItemStatus.SERVED) {
+                    record(itemServed.get(stationOf(item)), item.getCreatedAt(), now);
+                }
+            }
+        } else if (order.getStatus() == Order.OrderStatus.COMPLETED) {
+            record(orderCompleted, order.getOrderTime(), now);
+        }
+    }
+
+    /**
+     * 注文アイテムのステータス変更の記録
+     */
+    public void itemStatusChanged(OrderItem item) {
+        if (item.getStatus() == OrderItem.ItemStatus.READY) {
+            record(itemReady.get(stationOf(item)), item.getCreatedAt(), LocalDateTime.now());
+        } else if (item.getStatus() == OrderItem.ItemStatus.SERVED) {
+            record(itemServed.get(stationOf(item)), item.getCreatedAt(), LocalDateTime.now());
+        }
+    }
+
+    private static KitchenStation stationOf(OrderItem item) {
+        return KitchenStation.of(item.getMenuItem() != null ? item.getMenuItem().getCategory() : null);
+    }
+
+    private static void record(Timer timer, LocalDateTime from, LocalDateTime to) {
+        if (from != null && !to.isBefore(from)) {
+            timer.record(Duration.between(from, to));
+        }
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String name, String... tags) {
+        return Timer.builder(name)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(MINIMUM_EXPECTED)
+                .maximumExpectedValue(MAXIMUM_EXPECTED)
+                .register(meterRegistry);
+    }
+}
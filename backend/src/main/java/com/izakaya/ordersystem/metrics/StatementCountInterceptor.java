@@ -0,0 +1,55 @@
+package com.izakaya.ordersystem.metrics;
+
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * リクエストごとのHibernate SQL発行数の記録（izakaya.hibernate.statements、URIパターン別）
+ * 非同期で書き出すレスポンス（StreamingResponseBody）は対象外。
+ */
+public class StatementCountInterceptor implements AsyncHandlerInterceptor {
+
+    // バケット境界（N+1 の検出が目的のため少数側を細かく取る）
+    private static final double[] BUCKETS = { 1, 2, 3, 5, 10, 20, 50, 100 };
+
+    private final MeterRegistry meterRegistry;
+
+    public StatementCountInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        HibernateStatementCounter.start();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        int statements = HibernateStatementCounter.stop();
+        if (statements < 0) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder("izakaya.hibernate.statements")
+                .description("Hibernate SQL statements per request")
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                .serviceLevelObjectives(BUCKETS)
+                .register(meterRegistry)
+                .record(statements);
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+            Object handler) {
+        HibernateStatementCounter.stop();
+    }
+}
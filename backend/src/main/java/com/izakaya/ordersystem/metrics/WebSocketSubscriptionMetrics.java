@@ -0,0 +1,112 @@
+package com.izakaya.ordersystem.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import com.izakaya.ordersystem.event.OrderEventPublisher;
+import com.izakaya.ordersystem.kitchen.KitchenScheduler;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * WebSocket（STOMP）の接続数・購読数のメトリクス
+ * izakaya.websocket.sessions      : 接続中のセッション数
+ * izakaya.websocket.subscriptions : 購読数（topic=kitchen / kitchen_station / table / other）
+ */
+@Component
+public class WebSocketSubscriptionMetrics {
+
+    private static final String[] TOPICS = { "kitchen", "kitchen_station", "table", "other" };
+
+    // セッションID → 購読ID → 購読先の区分
+    private final Map<String, Map<String, String>> sessions = new ConcurrentHashMap<>();
+
+    private final Map<String, AtomicInteger> subscriptions = new ConcurrentHashMap<>();
+
+    public WebSocketSubscriptionMetrics(MeterRegistry meterRegistry) {
+        Gauge.builder("izakaya.websocket.sessions", sessions, Map::size)
+                .register(meterRegistry);
+        for (String topic : TOPICS) {
+            AtomicInteger count = new AtomicInteger();
+            subscriptions.put(topic, count);
+            Gauge.builder("izakaya.websocket.subscriptions", count, AtomicInteger::get)
+                    .tag("topic", topic)
+                    .register(meterRegistry);
+        }
+    }
+
+    @EventListener
+    public void onConnected(SessionConnectedEvent event) {
+        String sessionId = StompHeaderAccessor.wrap(event.getMessage()).getSessionId();
+        if (sessionId != null) {
+            sessions.putIfAbsent(sessionId, new ConcurrentHashMap<>());
+        }
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        if (accessor.getSessionId() == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+        String topic = topicOf(accessor.getDestination());
+        String previous = sessions.computeIfAbsent(accessor.getSessionId(), id -> new ConcurrentHashMap<>())
+                .put(accessor.getSubscriptionId(), topic);
+        if (previous != null) {
+            subscriptions.get(previous).decrementAndGet();
+        }
+        subscriptions.get(topic).incrementAndGet();
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Map<String, String> sessionSubscriptions = accessor.getSessionId() != null
+                ? sessions.get(accessor.getSessionId())
+                : null;
+        if (sessionSubscriptions == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+        String topic = sessionSubscriptions.remove(accessor.getSubscriptionId());
+        if (topic != null) {
+            subscriptions.get(topic).decrementAndGet();
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Map<String, String> sessionSubscriptions = sessions.remove(event.getSessionId());
+        if (sessionSubscriptions != null) {
+            sessionSubscriptions.values().forEach(topic -> subscriptions.get(topic).decrementAndGet());
+        }
+    }
+
+    private static String topicOf(String destination) {
+        if (destination == null) {
+            return "other";
+        }
+        // 厨房向けは店舗ごとのトピック（/topic/stores/{storeId}/kitchen...）
+        if (destination.startsWith(OrderEventPublisher.STORE_TOPIC_PREFIX)) {
+            if (destination.contains(KitchenScheduler.STATION_TOPIC_SEGMENT)) {
+                return "kitchen_station";
+            }
+            if (destination.endsWith(OrderEventPublisher.KITCHEN_TOPIC_SUFFIX)) {
+                return "kitchen";
+            }
+        }
+        if (destination.startsWith(OrderEventPublisher.TABLE_TOPIC_PREFIX)) {
+            return "table";
+        }
+        return "other";
+    }
+}
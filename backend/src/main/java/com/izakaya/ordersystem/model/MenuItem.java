@@ -1,8 +1,16 @@
 package com.izakaya.ordersystem.model;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -10,6 +18,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
@@ -19,18 +28,30 @@ import jakarta.validation.constraints.Size;
  * メニューアイテムエンティティ
  */
 @Entity
-@Table(name = "menu_items")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "menu-items")
+@JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
+@Table(name = "menu_items", indexes = @Index(name = "idx_menu_items_store", columnList = "store_id, id"))
 public class MenuItem {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @NotNull
+    @Column(name = "store_id")
+    private Long storeId = Store.DEFAULT_ID;
+
     @NotNull
     @Size(min = 1, max = 100)
     @Column
     private String name;
 
+    // 読み仮名（検索用、漢字の名前をかな・ローマ字で探せるようにする）
+    @Size(max = 100)
+    @Column(name = "name_kana", length = 100)
+    private String nameKana;
+
     @Column(length = 500)
     private String description;
 
@@ -110,6 +131,14 @@ public class MenuItem {
         this.id = id;
     }
 
+    public Long getStoreId() {
+        return storeId;
+    }
+
+    public void setStoreId(Long storeId) {
+        this.storeId = storeId;
+    }
+
     public String getName() {
         return name;
     }
@@ -118,6 +147,14 @@ public class MenuItem {
         this.name = name;
     }
 
+    public String getNameKana() {
+        return nameKana;
+    }
+
+    public void setNameKana(String nameKana) {
+        this.nameKana = nameKana;
+    }
+
     public String getDescription() {
         return description;
     }
@@ -134,6 +171,14 @@ public class MenuItem {
         this.price = price;
     }
 
+    /**
+     * 価格（円単位の整数）
+     */
+    @JsonIgnore
+    public long getPriceYen() {
+        return price.setScale(0, RoundingMode.HALF_UP).longValue();
+    }
+
     public MenuCategory getCategory() {
         return category;
     }
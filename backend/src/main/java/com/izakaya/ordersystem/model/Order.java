@@ -5,6 +5,9 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -14,19 +17,27 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotNull;
 
 /**
  * 注文エンティティ
  */
 @Entity
-@Table(name = "orders")
+@JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_store_status", columnList = "store_id, status, created_at"),
+        @Index(name = "idx_orders_store_created_at", columnList = "store_id, created_at") })
 public class Order {
 
+    // 備考の最大文字数（customer_notes varchar(255)）
+    public static final int CUSTOMER_NOTES_MAX_LENGTH = 255;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -36,17 +47,26 @@ public class Order {
     @NotNull
     private RestaurantTable table;
 
+    // テーブルの店舗IDの複製（店舗別の一覧をテーブルと結合せずに索引から引く）
+    @NotNull
+    @Column(name = "store_id")
+    private Long storeId = Store.DEFAULT_ID;
+
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<OrderItem> orderItems = new ArrayList<>();
 
     @Column(precision = 10, scale = 2)
-    private BigDecimal totalAmount;
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+
+    // 合計金額（円）。アイテム追加・削除のたびに差分で更新する
+    @Column
+    private Long totalAmountYen = 0L;
 
     @Enumerated(EnumType.STRING)
     @Column
     private OrderStatus status = OrderStatus.PENDING;
 
-    @Column
+    @Column(length = CUSTOMER_NOTES_MAX_LENGTH)
     private String customerNotes;
 
     @Column
@@ -61,6 +81,10 @@ public class Order {
     @Column
     private LocalDateTime updatedAt;
 
+    // 楽観ロック用バージョン
+    @Version
+    private Long version = 0L;
+
     // 注文ステータス列挙型
     public enum OrderStatus {
         PENDING("注文受付"),
@@ -80,6 +104,27 @@ public class Order {
         public String getDisplayName() {
             return displayName;
         }
+
+        /**
+         * 指定ステータスへ遷移可能か
+         */
+        public boolean canTransitionTo(OrderStatus next) {
+            return switch (this) {
+                case PENDING -> next == CONFIRMED || next == CANCELLED;
+                case CONFIRMED -> next == IN_PREPARATION || next == READY || next == CANCELLED;
+                case IN_PREPARATION -> next == READY || next == CANCELLED;
+                case READY -> next == SERVED;
+                case SERVED -> next == COMPLETED;
+                case COMPLETED, CANCELLED -> false;
+            };
+        }
+
+        /**
+         * アイテムを追加できるか（調理が始まる前まで。配膳待ち以降・会計済み・キャンセル済みは不可）
+         */
+        public boolean acceptsItems() {
+            return this == PENDING || this == CONFIRMED || this == IN_PREPARATION;
+        }
     }
 
     // コンストラクタ
@@ -92,25 +137,89 @@ public class Order {
     public Order(RestaurantTable table) {
         this();
         this.table = table;
+        this.storeId = table.getStoreId();
     }
 
     // ヘルパーメソッド
+    /**
+     * ステータス遷移（許可されていない遷移は IllegalStateException）
+     * 同じステータスへの遷移は何もせず false を返す
+     */
+    public boolean transitionTo(OrderStatus newStatus) {
+        if (status == newStatus) {
+            return false;
+        }
+        if (!status.canTransitionTo(newStatus)) {
+            throw new IllegalStateException("Invalid order status transition: " + status + " -> " + newStatus);
+        }
+        setStatus(newStatus);
+        return true;
+    }
+
     public void addOrderItem(OrderItem orderItem) {
         orderItems.add(orderItem);
         orderItem.setOrder(this);
-        calculateTotalAmount();
+        if (totalAmountYen == null) {
+            // 合計(円)列追加前の注文は一度だけ全件再計算する
+            calculateTotalAmount();
+        } else {
+            applyTotalAmountYen(totalAmountYen + orderItem.getSubtotalYen());
+        }
     }
 
     public void removeOrderItem(OrderItem orderItem) {
-        orderItems.remove(orderItem);
-        orderItem.setOrder(null);
-        calculateTotalAmount();
+        if (orderItems.remove(orderItem)) {
+            orderItem.setOrder(null);
+            if (totalAmountYen == null) {
+                calculateTotalAmount();
+            } else {
+                applyTotalAmountYen(totalAmountYen - orderItem.getSubtotalYen());
+            }
+        }
+    }
+
+    /**
+     * 一括登録済みのアイテム分を合計金額に加算（コレクションには追加しない）
+     */
+    public void addInsertedItemsToTotal(List<OrderItem> insertedItems) {
+        long addedAmountYen = 0;
+        for (OrderItem item : insertedItems) {
+            addedAmountYen += item.getSubtotalYen();
+        }
+        long currentAmountYen = totalAmountYen != null ? totalAmountYen : recalculateTotalAmountYen();
+        applyTotalAmountYen(currentAmountYen + addedAmountYen);
     }
 
+    /**
+     * 合計金額の全件再計算（検証・補正用）
+     * 通常はアイテム追加・削除時の差分更新で合計を保持するため呼び出す必要はない
+     */
     public void calculateTotalAmount() {
-        this.totalAmount = orderItems.stream()
-                .map(item -> item.getMenuItem().getPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        applyTotalAmountYen(recalculateTotalAmountYen());
+    }
+
+    /**
+     * 注文アイテムの単価スナップショットから合計金額(円)を再計算（状態は変更しない）
+     */
+    public long recalculateTotalAmountYen() {
+        long total = 0;
+        for (OrderItem item : orderItems) {
+            total += item.getSubtotalYen();
+        }
+        return total;
+    }
+
+    /**
+     * 保持している合計金額が再計算結果と一致するか検証
+     */
+    @JsonIgnore
+    public boolean isTotalAmountConsistent() {
+        return totalAmountYen != null && totalAmountYen == recalculateTotalAmountYen();
+    }
+
+    private void applyTotalAmountYen(long amountYen) {
+        this.totalAmountYen = amountYen;
+        this.totalAmount = BigDecimal.valueOf(amountYen);
         this.updatedAt = LocalDateTime.now();
     }
 
@@ -123,12 +232,23 @@ public class Order {
         this.id = id;
     }
 
+    public Long getStoreId() {
+        return storeId;
+    }
+
+    public void setStoreId(Long storeId) {
+        this.storeId = storeId;
+    }
+
     public RestaurantTable getTable() {
         return table;
     }
 
     public void setTable(RestaurantTable table) {
         this.table = table;
+        if (table != null) {
+            this.storeId = table.getStoreId();
+        }
     }
 
     public List<OrderItem> getOrderItems() {
@@ -147,6 +267,15 @@ public class Order {
         this.totalAmount = totalAmount;
     }
 
+    @JsonIgnore
+    public Long getTotalAmountYen() {
+        return totalAmountYen;
+    }
+
+    public void setTotalAmountYen(Long totalAmountYen) {
+        this.totalAmountYen = totalAmountYen;
+    }
+
     public OrderStatus getStatus() {
         return status;
     }
@@ -159,6 +288,14 @@ public class Order {
         }
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getCustomerNotes() {
         return customerNotes;
     }
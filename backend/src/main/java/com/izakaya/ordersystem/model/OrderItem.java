@@ -1,7 +1,10 @@
 package com.izakaya.ordersystem.model;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -13,6 +16,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 
@@ -23,6 +27,9 @@ import jakarta.validation.constraints.NotNull;
 @Table(name = "order_items")
 public class OrderItem {
 
+    // 特別な指示の最大文字数（special_instructions varchar(200)）
+    public static final int SPECIAL_INSTRUCTIONS_MAX_LENGTH = 200;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -30,6 +37,7 @@ public class OrderItem {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "order_id")
     @NotNull
+    @JsonIgnore
     private Order order;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -42,7 +50,11 @@ public class OrderItem {
     @Column
     private Integer quantity;
 
-    @Column(length = 200)
+    // 注文時点の単価（円）。メニュー価格の変更で注文金額が変わらないようにする
+    @Column
+    private Long unitPriceYen;
+
+    @Column(length = SPECIAL_INSTRUCTIONS_MAX_LENGTH)
     private String specialInstructions;
 
     @Enumerated(EnumType.STRING)
@@ -55,6 +67,10 @@ public class OrderItem {
     @Column
     private LocalDateTime updatedAt;
 
+    // 楽観ロック用バージョン（ステータス更新は条件付きUPDATEでも加算する）
+    @Version
+    private Long version = 0L;
+
     // アイテムステータス列挙型
     public enum ItemStatus {
         ORDERED("注文済み"),
@@ -71,6 +87,18 @@ public class OrderItem {
         public String getDisplayName() {
             return displayName;
         }
+
+        /**
+         * 指定ステータスへ遷移可能か（ドリンク等は調理中を経ずに配膳準備完了にできる）
+         */
+        public boolean canTransitionTo(ItemStatus next) {
+            return switch (this) {
+                case ORDERED -> next == IN_PREPARATION || next == READY;
+                case IN_PREPARATION -> next == READY;
+                case READY -> next == SERVED;
+                case SERVED -> false;
+            };
+        }
     }
 
     // コンストラクタ
@@ -80,15 +108,39 @@ public class OrderItem {
     }
 
     public OrderItem(Order order, MenuItem menuItem, Integer quantity) {
+        this(order, menuItem, quantity, null, menuItem.getPriceYen());
+    }
+
+    public OrderItem(Order order, MenuItem menuItem, Integer quantity, String specialInstructions) {
+        this(order, menuItem, quantity, specialInstructions, menuItem.getPriceYen());
+    }
+
+    public OrderItem(Order order, MenuItem menuItem, Integer quantity, String specialInstructions,
+            long unitPriceYen) {
         this();
         this.order = order;
         this.menuItem = menuItem;
         this.quantity = quantity;
+        this.specialInstructions = specialInstructions;
+        this.unitPriceYen = unitPriceYen;
     }
 
-    public OrderItem(Order order, MenuItem menuItem, Integer quantity, String specialInstructions) {
-        this(order, menuItem, quantity);
-        this.specialInstructions = specialInstructions;
+    // ヘルパーメソッド
+    /**
+     * 小計（円）
+     * 単価スナップショットがない既存データはメニューの現在価格で計算する
+     */
+    @JsonIgnore
+    public long getSubtotalYen() {
+        long unitPrice = unitPriceYen != null ? unitPriceYen : menuItem.getPriceYen();
+        return unitPrice * quantity;
+    }
+
+    /**
+     * 小計
+     */
+    public BigDecimal getSubtotal() {
+        return BigDecimal.valueOf(getSubtotalYen());
     }
 
     // Getters and Setters
@@ -125,6 +177,14 @@ public class OrderItem {
         this.updatedAt = LocalDateTime.now();
     }
 
+    public Long getUnitPriceYen() {
+        return unitPriceYen;
+    }
+
+    public void setUnitPriceYen(Long unitPriceYen) {
+        this.unitPriceYen = unitPriceYen;
+    }
+
     public String getSpecialInstructions() {
         return specialInstructions;
     }
@@ -157,4 +217,12 @@ public class OrderItem {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
-}
\ No newline at end of file
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,196 @@
+package com.izakaya.ordersystem.model;
+
+import java.time.LocalDateTime;
+
+import com.izakaya.ordersystem.event.OrderEvent;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * 注文ジャーナル（追記専用の注文イベントログ）エンティティ
+ * 1行が1イベント。更新・削除はしない
+ */
+@Entity
+@Table(name = "order_journal", indexes = @Index(name = "idx_order_journal_order", columnList = "order_id, id"))
+public class OrderJournalEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 30, nullable = false)
+    private OrderEvent.EventType eventType;
+
+    @Column
+    private Long tableId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private Order.OrderStatus orderStatus;
+
+    @Column
+    private Long orderItemId;
+
+    @Column
+    private Long menuItemId;
+
+    @Column
+    private Integer quantity;
+
+    @Column
+    private Long unitPriceYen;
+
+    @Column(length = 200)
+    private String specialInstructions;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private OrderItem.ItemStatus itemStatus;
+
+    @Column
+    private String customerNotes;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+
+    // コンストラクタ
+    public OrderJournalEntry() {
+    }
+
+    /**
+     * 注文イベントからジャーナル行を生成
+     */
+    public static OrderJournalEntry of(OrderEvent event) {
+        OrderJournalEntry entry = new OrderJournalEntry();
+        entry.orderId = event.getOrderId();
+        entry.eventType = event.getType();
+        entry.tableId = event.getTableId();
+        entry.orderStatus = event.getOrderStatus();
+        entry.orderItemId = event.getOrderItemId();
+        entry.menuItemId = event.getMenuItemId();
+        entry.quantity = event.getQuantity();
+        entry.unitPriceYen = event.getUnitPriceYen();
+        entry.specialInstructions = event.getSpecialInstructions();
+        entry.itemStatus = event.getItemStatus();
+        entry.customerNotes = event.getCustomerNotes();
+        entry.occurredAt = event.getOccurredAt();
+        return entry;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(Long orderId) {
+        this.orderId = orderId;
+    }
+
+    public OrderEvent.EventType getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(OrderEvent.EventType eventType) {
+        this.eventType = eventType;
+    }
+
+    public Long getTableId() {
+        return tableId;
+    }
+
+    public void setTableId(Long tableId) {
+        this.tableId = tableId;
+    }
+
+    public Order.OrderStatus getOrderStatus() {
+        return orderStatus;
+    }
+
+    public void setOrderStatus(Order.OrderStatus orderStatus) {
+        this.orderStatus = orderStatus;
+    }
+
+    public Long getOrderItemId() {
+        return orderItemId;
+    }
+
+    public void setOrderItemId(Long orderItemId) {
+        this.orderItemId = orderItemId;
+    }
+
+    public Long getMenuItemId() {
+        return menuItemId;
+    }
+
+    public void setMenuItemId(Long menuItemId) {
+        this.menuItemId = menuItemId;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public Long getUnitPriceYen() {
+        return unitPriceYen;
+    }
+
+    public void setUnitPriceYen(Long unitPriceYen) {
+        this.unitPriceYen = unitPriceYen;
+    }
+
+    public String getSpecialInstructions() {
+        return specialInstructions;
+    }
+
+    public void setSpecialInstructions(String specialInstructions) {
+        this.specialInstructions = specialInstructions;
+    }
+
+    public OrderItem.ItemStatus getItemStatus() {
+        return itemStatus;
+    }
+
+    public void setItemStatus(OrderItem.ItemStatus itemStatus) {
+        this.itemStatus = itemStatus;
+    }
+
+    public String getCustomerNotes() {
+        return customerNotes;
+    }
+
+    public void setCustomerNotes(String customerNotes) {
+        this.customerNotes = customerNotes;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(LocalDateTime occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+}
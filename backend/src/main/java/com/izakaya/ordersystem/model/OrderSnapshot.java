@@ -0,0 +1,90 @@
+package com.izakaya.ordersystem.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * 注文スナップショットエンティティ
+ * 注文ジャーナルを lastEventId まで適用した注文の状態（JSON）
+ */
+@Entity
+@Table(name = "order_snapshots",
+        indexes = @Index(name = "idx_order_snapshots_order", columnList = "order_id, last_event_id"))
+public class OrderSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(name = "last_event_id", nullable = false)
+    private Long lastEventId;
+
+    @Column(length = 65535, nullable = false)
+    private String state;
+
+    @Column
+    private LocalDateTime createdAt;
+
+    // コンストラクタ
+    public OrderSnapshot() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public OrderSnapshot(Long orderId, Long lastEventId, String state) {
+        this();
+        this.orderId = orderId;
+        this.lastEventId = lastEventId;
+        this.state = state;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(Long orderId) {
+        this.orderId = orderId;
+    }
+
+    public Long getLastEventId() {
+        return lastEventId;
+    }
+
+    public void setLastEventId(Long lastEventId) {
+        this.lastEventId = lastEventId;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,109 @@
+package com.izakaya.ordersystem.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * 反映済みリクエストエンティティ（クライアント指定のリクエストIDによる冪等性の保証用）
+ * 注文の変更と同じトランザクションで登録し、同じリクエストIDの再送・再反映では処理を繰り返さない
+ */
+@Entity
+@Table(name = "processed_requests")
+public class ProcessedRequest {
+
+    // リクエストIDの最大文字数（request_id varchar(64)）
+    public static final int REQUEST_ID_MAX_LENGTH = 64;
+
+    @Id
+    @Column(length = REQUEST_ID_MAX_LENGTH)
+    private String requestId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private RequestStatus status;
+
+    @Column
+    private Long orderId;
+
+    @Column(length = 500)
+    private String message;
+
+    @Column
+    private LocalDateTime processedAt;
+
+    // リクエスト処理結果列挙型
+    public enum RequestStatus {
+        APPLIED("反映済み"),
+        FAILED("反映失敗");
+
+        private final String displayName;
+
+        RequestStatus(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+
+    // コンストラクタ
+    public ProcessedRequest() {
+        this.processedAt = LocalDateTime.now();
+    }
+
+    public ProcessedRequest(String requestId, RequestStatus status, Long orderId, String message) {
+        this();
+        this.requestId = requestId;
+        this.status = status;
+        this.orderId = orderId;
+        this.message = message;
+    }
+
+    // Getters and Setters
+    public String getRequestId() {
+        return requestId;
+    }
+
+    public void setRequestId(String requestId) {
+        this.requestId = requestId;
+    }
+
+    public RequestStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(RequestStatus status) {
+        this.status = status;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(Long orderId) {
+        this.orderId = orderId;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public LocalDateTime getProcessedAt() {
+        return processedAt;
+    }
+
+    public void setProcessedAt(LocalDateTime processedAt) {
+        this.processedAt = processedAt;
+    }
+}
@@ -2,6 +2,12 @@ package com.izakaya.ordersystem.model;
 
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -10,6 +16,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 
@@ -17,16 +24,26 @@ import jakarta.validation.constraints.Size;
  * テーブル情報エンティティ
  */
 @Entity
-@Table(name = "restaurant_tables")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "restaurant-tables")
+@JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
+@Table(name = "restaurant_tables",
+        uniqueConstraints = @UniqueConstraint(name = "uk_restaurant_tables_store_number",
+                columnNames = { "store_id", "table_number" }))
 public class RestaurantTable {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // テーブル番号は店舗内で一意
+    @NotNull
+    @Column(name = "store_id")
+    private Long storeId = Store.DEFAULT_ID;
+
     @NotNull
     @Size(min = 1, max = 10)
-    @Column(unique = true)
+    @Column
     private String tableNumber;
 
     @NotNull
@@ -58,6 +75,11 @@ public class RestaurantTable {
         this.capacity = capacity;
     }
 
+    public RestaurantTable(Long storeId, String tableNumber, Integer capacity) {
+        this(tableNumber, capacity);
+        this.storeId = storeId;
+    }
+
     // テーブルステータス列挙型
     public enum TableStatus {
         AVAILABLE, // 利用可能
@@ -75,6 +97,14 @@ public class RestaurantTable {
         this.id = id;
     }
 
+    public Long getStoreId() {
+        return storeId;
+    }
+
+    public void setStoreId(Long storeId) {
+        this.storeId = storeId;
+    }
+
     public String getTableNumber() {
         return tableNumber;
     }
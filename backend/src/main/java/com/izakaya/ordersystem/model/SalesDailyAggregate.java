@@ -0,0 +1,151 @@
+package com.izakaya.ordersystem.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * 売上日次集計エンティティ
+ * 営業日 × 集計軸（全体・時間帯・カテゴリ・メニュー・テーブル）× キーごとに1行
+ */
+@Entity
+@Table(name = "sales_daily_aggregates",
+        uniqueConstraints = @UniqueConstraint(name = "uk_sales_daily_aggregates",
+                columnNames = { "business_date", "dimension", "dimension_key" }))
+public class SalesDailyAggregate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "business_date", nullable = false)
+    private LocalDate businessDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Dimension dimension;
+
+    @Column(name = "dimension_key", nullable = false, length = 40)
+    private String dimensionKey;
+
+    @Column(length = 100)
+    private String label;
+
+    @Column(nullable = false)
+    private Long orderCount = 0L;
+
+    @Column(nullable = false)
+    private Long quantity = 0L;
+
+    @Column(nullable = false)
+    private Long revenueYen = 0L;
+
+    @Column
+    private LocalDateTime updatedAt;
+
+    // 集計軸列挙型
+    public enum Dimension {
+        TOTAL("全体"),
+        HOUR("時間帯"),
+        CATEGORY("カテゴリ"),
+        MENU_ITEM("メニュー"),
+        TABLE("テーブル");
+
+        private final String displayName;
+
+        Dimension(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+
+    // コンストラクタ
+    public SalesDailyAggregate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDate getBusinessDate() {
+        return businessDate;
+    }
+
+    public void setBusinessDate(LocalDate businessDate) {
+        this.businessDate = businessDate;
+    }
+
+    public Dimension getDimension() {
+        return dimension;
+    }
+
+    public void setDimension(Dimension dimension) {
+        this.dimension = dimension;
+    }
+
+    public String getDimensionKey() {
+        return dimensionKey;
+    }
+
+    public void setDimensionKey(String dimensionKey) {
+        this.dimensionKey = dimensionKey;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    public Long getOrderCount() {
+        return orderCount;
+    }
+
+    public void setOrderCount(Long orderCount) {
+        this.orderCount = orderCount;
+    }
+
+    public Long getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Long quantity) {
+        this.quantity = quantity;
+    }
+
+    public Long getRevenueYen() {
+        return revenueYen;
+    }
+
+    public void setRevenueYen(Long revenueYen) {
+        this.revenueYen = revenueYen;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
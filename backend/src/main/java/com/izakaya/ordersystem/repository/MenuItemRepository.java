@@ -3,8 +3,6 @@ package com.izakaya.ordersystem.repository;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.izakaya.ordersystem.model.MenuItem;
@@ -13,31 +11,27 @@ import com.izakaya.ordersystem.model.MenuItem;
 public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
 
     /**
-     * カテゴリ別のメニューアイテム取得
+     * 店舗のメニューアイテム一覧取得（ID順、メニューカタログの読み込み用）
      */
-    List<MenuItem> findByCategory(MenuItem.MenuCategory category);
+    List<MenuItem> findByStoreIdOrderByIdAsc(Long storeId);
 
     /**
-     * 利用可能なメニューアイテム取得
+     * カテゴリ別のメニューアイテム取得
      */
-    List<MenuItem> findByIsAvailableTrue();
+    List<MenuItem> findByStoreIdAndCategory(Long storeId, MenuItem.MenuCategory category);
 
     /**
-     * カテゴリ別かつ利用可能なメニューアイテム取得
+     * 利用可能なメニューアイテム取得
      */
-    List<MenuItem> findByCategoryAndIsAvailableTrue(MenuItem.MenuCategory category);
+    List<MenuItem> findByStoreIdAndIsAvailableTrue(Long storeId);
 
     /**
-     * 名前で検索（部分一致）
+     * カテゴリ別かつ利用可能なメニューアイテム取得
      */
-    @Query("SELECT m FROM MenuItem m WHERE m.name LIKE %:name% AND m.isAvailable = true")
-    List<MenuItem> findByNameContainingAndAvailable(@Param("name") String name);
+    List<MenuItem> findByStoreIdAndCategoryAndIsAvailableTrue(Long storeId, MenuItem.MenuCategory category);
 
     /**
-     * 価格範囲でメニューアイテム検索
+     * 店舗のメニューアイテム数
      */
-    @Query("SELECT m FROM MenuItem m WHERE m.price BETWEEN :minPrice AND :maxPrice AND m.isAvailable = true ORDER BY m.price")
-    List<MenuItem> findByPriceRangeAndAvailable(
-            @Param("minPrice") java.math.BigDecimal minPrice,
-            @Param("maxPrice") java.math.BigDecimal maxPrice);
+    long countByStoreId(Long storeId);
 }
\ No newline at end of file
@@ -0,0 +1,77 @@
+package com.izakaya.ordersystem.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import com.izakaya.ordersystem.model.OrderItem;
+
+import io.micrometer.core.annotation.Timed;
+
+/**
+ * 注文アイテムの一括登録
+ * IDENTITY採番のエンティティはHibernateのJDBCバッチが効かないため、JdbcTemplateでまとめてINSERTする
+ */
+@Repository
+@Timed("izakaya.jdbc.batch")
+public class OrderItemBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO order_items "
+            + "(order_id, menu_item_id, quantity, unit_price_yen, special_instructions, status, created_at, updated_at, "
+            + "version) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * 注文アイテム一括登録（採番されたIDを各アイテムに設定）
+     */
+    public void insertAll(List<OrderItem> orderItems) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SQL, new String[] { "id" }),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        OrderItem item = orderItems.get(i);
+                        ps.setLong(1, item.getOrder().getId());
+                        ps.setLong(2, item.getMenuItem().getId());
+                        ps.setInt(3, item.getQuantity());
+                        ps.setLong(4, item.getUnitPriceYen());
+                        if (item.getSpecialInstructions() != null) {
+                            ps.setString(5, item.getSpecialInstructions());
+                        } else {
+                            ps.setNull(5, Types.VARCHAR);
+                        }
+                        ps.setString(6, item.getStatus().name());
+                        ps.setTimestamp(7, Timestamp.valueOf(item.getCreatedAt()));
+                        ps.setTimestamp(8, Timestamp.valueOf(item.getUpdatedAt()));
+                        ps.setLong(9, item.getVersion());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return orderItems.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < orderItems.size(); i++) {
+            Number id = (Number) keys.get(i).values().iterator().next();
+            orderItems.get(i).setId(id.longValue());
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.izakaya.ordersystem.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.izakaya.ordersystem.kitchen.KitchenTask;
+import com.izakaya.ordersystem.model.OrderItem;
+
+@Repository
+public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
+
+    /**
+     * 注文アイテムのステータスとバージョン
+     */
+    interface StatusVersion {
+        OrderItem.ItemStatus getStatus();
+
+        Long getVersion();
+    }
+
+    /**
+     * 注文アイテムの現在のステータスとバージョン取得
+     */
+    @Query("SELECT oi.status AS status, oi.version AS version FROM OrderItem oi "
+            + "WHERE oi.id = :id AND oi.order.id = :orderId")
+    Optional<StatusVersion> findStatusVersion(@Param("id") Long id, @Param("orderId") Long orderId);
+
+    /**
+     * 注文アイテムのステータス更新（読み込んだ時点からバージョンが変わっていない場合のみ、1行だけ更新）
+     * 永続化コンテキストは更新しないため、読み込み済みのアイテムは呼び出し側で読み直すこと
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE OrderItem oi SET oi.status = :newStatus, oi.version = oi.version + 1, oi.updatedAt = :updatedAt "
+            + "WHERE oi.id = :id AND oi.version = :version")
+    int updateStatusIfVersion(
+            @Param("id") Long id,
+            @Param("version") Long version,
+            @Param("newStatus") OrderItem.ItemStatus newStatus,
+            @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * 厨房スケジューラー再構築用：店舗の調理待ちのアイテム（提供可能・完了・キャンセル済みの注文を除く）
+     */
+    @Query("SELECT new com.izakaya.ordersystem.kitchen.KitchenTask("
+            + "oi.id, o.id, t.id, t.tableNumber, o.status, m.name, m.category, m.preparationTimeMinutes, "
+            + "oi.quantity, oi.specialInstructions, oi.status, oi.createdAt) "
+            + "FROM OrderItem oi JOIN oi.order o JOIN o.table t JOIN oi.menuItem m "
+            + "WHERE o.storeId = :storeId AND oi.status IN ('ORDERED', 'IN_PREPARATION') "
+            + "AND o.status NOT IN ('READY', 'SERVED', 'COMPLETED', 'CANCELLED') "
+            + "ORDER BY oi.createdAt ASC, oi.id ASC")
+    List<KitchenTask> findKitchenTasks(@Param("storeId") Long storeId);
+}
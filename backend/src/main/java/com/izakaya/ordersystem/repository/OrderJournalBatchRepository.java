@@ -0,0 +1,82 @@
+package com.izakaya.ordersystem.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.izakaya.ordersystem.model.OrderJournalEntry;
+
+import io.micrometer.core.annotation.Timed;
+
+/**
+ * 注文ジャーナルの一括追記
+ * 1トランザクション分のイベントを1回のJDBCバッチでINSERTする
+ */
+@Repository
+@Timed("izakaya.jdbc.batch")
+public class OrderJournalBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO order_journal "
+            + "(order_id, event_type, table_id, order_status, order_item_id, menu_item_id, quantity, "
+            + "unit_price_yen, special_instructions, item_status, customer_notes, occurred_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * ジャーナル一括追記
+     */
+    public void appendAll(List<OrderJournalEntry> entries) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                OrderJournalEntry entry = entries.get(i);
+                ps.setLong(1, entry.getOrderId());
+                ps.setString(2, entry.getEventType().name());
+                setLong(ps, 3, entry.getTableId());
+                setString(ps, 4, entry.getOrderStatus() != null ? entry.getOrderStatus().name() : null);
+                setLong(ps, 5, entry.getOrderItemId());
+                setLong(ps, 6, entry.getMenuItemId());
+                if (entry.getQuantity() != null) {
+                    ps.setInt(7, entry.getQuantity());
+                } else {
+                    ps.setNull(7, Types.INTEGER);
+                }
+                setLong(ps, 8, entry.getUnitPriceYen());
+                setString(ps, 9, entry.getSpecialInstructions());
+                setString(ps, 10, entry.getItemStatus() != null ? entry.getItemStatus().name() : null);
+                setString(ps, 11, entry.getCustomerNotes());
+                ps.setTimestamp(12, Timestamp.valueOf(entry.getOccurredAt()));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return entries.size();
+            }
+        });
+    }
+
+    private static void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value != null) {
+            ps.setLong(index, value);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+
+    private static void setString(PreparedStatement ps, int index, String value) throws SQLException {
+        if (value != null) {
+            ps.setString(index, value);
+        } else {
+            ps.setNull(index, Types.VARCHAR);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.izakaya.ordersystem.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.izakaya.ordersystem.model.OrderJournalEntry;
+
+@Repository
+public interface OrderJournalRepository extends JpaRepository<OrderJournalEntry, Long> {
+
+    /**
+     * 注文のイベント取得（指定イベントIDより後、記録順）
+     */
+    List<OrderJournalEntry> findByOrderIdAndIdGreaterThanOrderByIdAsc(Long orderId, Long afterEventId);
+
+    /**
+     * ジャーナルに記録のある注文ID一覧取得
+     */
+    @Query("SELECT DISTINCT e.orderId FROM OrderJournalEntry e ORDER BY e.orderId")
+    List<Long> findJournaledOrderIds();
+}
@@ -1,43 +1,135 @@
 package com.izakaya.ordersystem.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.izakaya.ordersystem.dto.AdminOrderRow;
+import com.izakaya.ordersystem.dto.KitchenTicketRow;
 import com.izakaya.ordersystem.model.Order;
 import com.izakaya.ordersystem.model.RestaurantTable;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
+    /*
+     * 一覧系クエリは注文ツリー（テーブル・注文アイテム・メニュー）を1クエリでフェッチする。
+     * エンティティをそのままJSONで返すため、遅延ロードのままだと注文数×アイテム数のSELECTが発生する。
+     * 画面向けの一覧は店舗単位（注文の店舗ID・ステータス・作成日時の索引を使う）。
+     */
+
+    /**
+     * 注文をIDで取得（注文ツリーを一括取得）
+     */
+    @EntityGraph(attributePaths = { "table", "orderItems", "orderItems.menuItem" })
+    @Query("SELECT o FROM Order o WHERE o.id = :id")
+    Optional<Order> findWithItemsById(@Param("id") Long id);
+
+    /**
+     * 注文のステータスとバージョン
+     */
+    interface StatusVersion {
+        Order.OrderStatus getStatus();
+
+        Long getVersion();
+    }
+
+    /**
+     * 注文の現在のステータスとバージョン取得（注文ツリーは読み込まない）
+     */
+    @Query("SELECT o.status AS status, o.version AS version FROM Order o WHERE o.id = :id")
+    Optional<StatusVersion> findStatusVersionById(@Param("id") Long id);
+
+    /**
+     * 注文をID一覧で取得（注文ツリーを一括取得）
+     */
+    @EntityGraph(attributePaths = { "table", "orderItems", "orderItems.menuItem" })
+    @Query("SELECT o FROM Order o WHERE o.id IN :ids")
+    List<Order> findWithItemsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 店舗で期間内に会計済みとなった注文のID一覧取得（会計順）
+     */
+    @Query("SELECT o.id FROM Order o WHERE o.storeId = :storeId AND o.status = 'COMPLETED' "
+            + "AND o.completedTime >= :startTime AND o.completedTime < :endTime "
+            + "ORDER BY o.completedTime ASC, o.id ASC")
+    List<Long> findCompletedOrderIds(
+            @Param("storeId") Long storeId,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime);
+
+    /**
+     * 店舗の全注文取得（ID順）
+     */
+    @EntityGraph(attributePaths = { "table", "orderItems", "orderItems.menuItem" })
+    List<Order> findByStoreIdOrderByIdAsc(Long storeId);
+
     /**
      * テーブル別の注文一覧取得
      */
+    @EntityGraph(attributePaths = { "table", "orderItems", "orderItems.menuItem" })
     List<Order> findByTableOrderByCreatedAtDesc(RestaurantTable table);
 
     /**
      * ステータス別の注文一覧取得
      */
-    List<Order> findByStatusOrderByCreatedAtAsc(Order.OrderStatus status);
+    List<Order> findByStoreIdAndStatusOrderByCreatedAtAsc(Long storeId, Order.OrderStatus status);
 
     /**
-     * アクティブな注文一覧取得（未完了の注文）
+     * 全店舗のアクティブな注文一覧取得（未完了の注文、起動時の再構築用）
      */
+    @EntityGraph(attributePaths = { "table", "orderItems", "orderItems.menuItem" })
     @Query("SELECT o FROM Order o WHERE o.status NOT IN ('COMPLETED', 'CANCELLED') ORDER BY o.createdAt ASC")
     List<Order> findActiveOrders();
 
+    /**
+     * 店舗のアクティブな注文一覧取得（未完了の注文）
+     */
+    @EntityGraph(attributePaths = { "table", "orderItems", "orderItems.menuItem" })
+    @Query("SELECT o FROM Order o WHERE o.storeId = :storeId AND o.status NOT IN ('COMPLETED', 'CANCELLED') "
+            + "ORDER BY o.createdAt ASC")
+    List<Order> findActiveOrdersByStoreId(@Param("storeId") Long storeId);
+
     /**
      * 指定期間の注文一覧取得
      */
-    @Query("SELECT o FROM Order o WHERE o.createdAt BETWEEN :startDate AND :endDate ORDER BY o.createdAt DESC")
+    @EntityGraph(attributePaths = { "table", "orderItems", "orderItems.menuItem" })
+    @Query("SELECT o FROM Order o WHERE o.storeId = :storeId AND o.createdAt BETWEEN :startDate AND :endDate "
+            + "ORDER BY o.createdAt DESC")
     List<Order> findOrdersByDateRange(
+            @Param("storeId") Long storeId,
             @Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate);
 
+    /**
+     * エクスポート向け：期間内の注文と注文アイテムの組を前方向カーソルで順に取得（作成順、アイテムのない注文は item が null）
+     * 呼び出し側はトランザクション内でストリームを閉じ、処理済みのエンティティを永続化コンテキストから切り離すこと
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false") })
+    @Query("SELECT o, oi FROM Order o JOIN FETCH o.table LEFT JOIN o.orderItems oi LEFT JOIN FETCH oi.menuItem "
+            + "WHERE o.storeId = :storeId AND o.createdAt >= :startTime AND o.createdAt < :endTime "
+            + "ORDER BY o.createdAt ASC, o.id ASC, oi.id ASC")
+    Stream<Object[]> streamOrdersWithItems(
+            @Param("storeId") Long storeId,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime);
+
     /**
      * 今日の注文一覧取得
      */
@@ -46,10 +138,10 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
      * データベース依存の DATE()/CURRENT_DATE 比較で型不整合が起きるため、
      * Java 側で本日の開始/終了を作成して既存の findOrdersByDateRange を再利用します。
      */
-    default List<Order> findTodaysOrders() {
+    default List<Order> findTodaysOrders(Long storeId) {
         java.time.LocalDateTime start = java.time.LocalDate.now().atStartOfDay();
         java.time.LocalDateTime end = start.plusDays(1);
-        return findOrdersByDateRange(start, end);
+        return findOrdersByDateRange(storeId, start, end);
     }
 
     /**
@@ -61,6 +153,30 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     /**
      * 厨房向け：調理が必要な注文一覧
      */
-    @Query("SELECT o FROM Order o WHERE o.status IN ('CONFIRMED', 'IN_PREPARATION') ORDER BY o.createdAt ASC")
-    List<Order> findOrdersForKitchen();
+    @EntityGraph(attributePaths = { "table", "orderItems", "orderItems.menuItem" })
+    @Query("SELECT o FROM Order o WHERE o.storeId = :storeId AND o.status IN ('CONFIRMED', 'IN_PREPARATION') "
+            + "ORDER BY o.createdAt ASC")
+    List<Order> findOrdersForKitchen(@Param("storeId") Long storeId);
+
+    /**
+     * 管理画面向け：アクティブな注文一覧（明細なしの集計行）
+     */
+    @Query("SELECT new com.izakaya.ordersystem.dto.AdminOrderRow("
+            + "o.id, t.tableNumber, o.status, COALESCE(SUM(oi.quantity), 0), o.totalAmount, o.orderTime) "
+            + "FROM Order o JOIN o.table t LEFT JOIN o.orderItems oi "
+            + "WHERE o.storeId = :storeId AND o.status NOT IN ('COMPLETED', 'CANCELLED') "
+            + "GROUP BY o.id, t.tableNumber, o.status, o.totalAmount, o.orderTime, o.createdAt "
+            + "ORDER BY o.createdAt ASC")
+    List<AdminOrderRow> findActiveOrderRows(@Param("storeId") Long storeId);
+
+    /**
+     * 厨房向け：調理が必要な注文のチケット行（注文アイテム1件＝1行）
+     */
+    @Query("SELECT new com.izakaya.ordersystem.dto.KitchenTicketRow("
+            + "o.id, t.tableNumber, o.status, o.orderTime, o.customerNotes, "
+            + "oi.id, m.name, oi.quantity, oi.specialInstructions, oi.status) "
+            + "FROM Order o JOIN o.table t LEFT JOIN o.orderItems oi LEFT JOIN oi.menuItem m "
+            + "WHERE o.storeId = :storeId AND o.status IN ('CONFIRMED', 'IN_PREPARATION') "
+            + "ORDER BY o.createdAt ASC, oi.id ASC")
+    List<KitchenTicketRow> findKitchenTicketRows(@Param("storeId") Long storeId);
 }
\ No newline at end of file
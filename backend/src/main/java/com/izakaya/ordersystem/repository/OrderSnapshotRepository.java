@@ -0,0 +1,17 @@
+package com.izakaya.ordersystem.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.izakaya.ordersystem.model.OrderSnapshot;
+
+@Repository
+public interface OrderSnapshotRepository extends JpaRepository<OrderSnapshot, Long> {
+
+    /**
+     * 注文の最新スナップショット取得
+     */
+    Optional<OrderSnapshot> findFirstByOrderIdOrderByLastEventIdDesc(Long orderId);
+}
@@ -0,0 +1,10 @@
+package com.izakaya.ordersystem.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.izakaya.ordersystem.model.ProcessedRequest;
+
+@Repository
+public interface ProcessedRequestRepository extends JpaRepository<ProcessedRequest, String> {
+}
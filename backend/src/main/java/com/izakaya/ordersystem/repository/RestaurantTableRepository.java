@@ -5,17 +5,29 @@ import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.izakaya.ordersystem.dto.TableSummary;
 import com.izakaya.ordersystem.model.RestaurantTable;
 
 @Repository
 public interface RestaurantTableRepository extends JpaRepository<RestaurantTable, Long> {
 
+    /*
+     * 一覧・検索は店舗単位（店舗ID + テーブル番号の一意制約の索引を使う）。
+     * QRコードは店舗IDを含むため全店舗で一意。
+     */
+
+    /**
+     * 店舗のテーブル一覧取得（ID順）
+     */
+    List<RestaurantTable> findByStoreIdOrderByIdAsc(Long storeId);
+
     /**
      * テーブル番号で検索
      */
-    Optional<RestaurantTable> findByTableNumber(String tableNumber);
+    Optional<RestaurantTable> findByStoreIdAndTableNumber(Long storeId, String tableNumber);
 
     /**
      * QRコードで検索
@@ -25,17 +37,34 @@ public interface RestaurantTableRepository extends JpaRepository<RestaurantTable
     /**
      * ステータス別のテーブル一覧取得
      */
-    List<RestaurantTable> findByStatus(RestaurantTable.TableStatus status);
+    List<RestaurantTable> findByStoreIdAndStatus(Long storeId, RestaurantTable.TableStatus status);
 
     /**
      * 利用可能なテーブル一覧取得
      */
-    @Query("SELECT t FROM RestaurantTable t WHERE t.status = 'AVAILABLE'")
-    List<RestaurantTable> findAvailableTables();
+    @Query("SELECT t FROM RestaurantTable t WHERE t.storeId = :storeId AND t.status = 'AVAILABLE'")
+    List<RestaurantTable> findAvailableTables(@Param("storeId") Long storeId);
 
     /**
      * 収容人数以上のテーブル検索
      */
-    List<RestaurantTable> findByCapacityGreaterThanEqualAndStatus(
-            Integer capacity, RestaurantTable.TableStatus status);
+    List<RestaurantTable> findByStoreIdAndCapacityGreaterThanEqualAndStatus(
+            Long storeId, Integer capacity, RestaurantTable.TableStatus status);
+
+    /**
+     * 店舗のテーブル数
+     */
+    long countByStoreId(Long storeId);
+
+    /**
+     * テーブル一覧サマリー（未完了の注文数付き）
+     */
+    @Query("SELECT new com.izakaya.ordersystem.dto.TableSummary("
+            + "t.id, t.tableNumber, t.capacity, t.qrCode, t.status, COUNT(o)) "
+            + "FROM RestaurantTable t LEFT JOIN Order o "
+            + "ON o.table = t AND o.status NOT IN ('COMPLETED', 'CANCELLED') "
+            + "WHERE t.storeId = :storeId "
+            + "GROUP BY t.id, t.tableNumber, t.capacity, t.qrCode, t.status "
+            + "ORDER BY t.id ASC")
+    List<TableSummary> findTableSummaries(@Param("storeId") Long storeId);
 }
\ No newline at end of file
@@ -0,0 +1,161 @@
+package com.izakaya.ordersystem.repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.izakaya.ordersystem.model.MenuItem;
+import com.izakaya.ordersystem.model.SalesDailyAggregate;
+import com.izakaya.ordersystem.sales.SalesRollup;
+
+import io.micrometer.core.annotation.Timed;
+
+/**
+ * 売上日次集計の一括更新
+ * 集計行は営業日・集計軸・キーで一意のため、加算はUPDATE、存在しない行だけINSERTする
+ */
+@Repository
+@Timed("izakaya.jdbc.batch")
+public class SalesAggregateBatchRepository {
+
+    private static final String INCREMENT_SQL = "UPDATE sales_daily_aggregates "
+            + "SET order_count = order_count + ?, quantity = quantity + ?, revenue_yen = revenue_yen + ?, "
+            + "updated_at = ? "
+            + "WHERE business_date = ? AND dimension = ? AND dimension_key = ?";
+
+    private static final String INSERT_SQL = "INSERT INTO sales_daily_aggregates "
+            + "(business_date, dimension, dimension_key, label, order_count, quantity, revenue_yen, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String DELETE_DAY_SQL = "DELETE FROM sales_daily_aggregates WHERE business_date = ?";
+
+    private static final String SELECT_ORDERS_SQL = "SELECT o.id, o.table_id, t.table_number, o.completed_time, "
+            + "o.total_amount_yen "
+            + "FROM orders o JOIN restaurant_tables t ON t.id = o.table_id "
+            + "WHERE o.status = 'COMPLETED' AND o.completed_time >= ? AND o.completed_time < ?";
+
+    // 単価(円)列追加前のアイテムはメニュー価格で数える（OrderItem#getSubtotalYen と同じ）
+    private static final String SELECT_ITEMS_SQL = "SELECT oi.order_id, oi.menu_item_id, m.name, m.category, "
+            + "oi.quantity, COALESCE(oi.unit_price_yen, CAST(ROUND(m.price, 0) AS BIGINT)) "
+            + "FROM order_items oi JOIN orders o ON o.id = oi.order_id JOIN menu_items m ON m.id = oi.menu_item_id "
+            + "WHERE o.status = 'COMPLETED' AND o.completed_time >= ? AND o.completed_time < ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * 集計行の加算（存在しない行は新規登録）
+     */
+    public void increment(List<SalesDailyAggregate> rows) {
+        LocalDateTime now = LocalDateTime.now();
+        int[] updated = jdbcTemplate.batchUpdate(INCREMENT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                SalesDailyAggregate row = rows.get(i);
+                ps.setLong(1, row.getOrderCount());
+                ps.setLong(2, row.getQuantity());
+                ps.setLong(3, row.getRevenueYen());
+                ps.setTimestamp(4, Timestamp.valueOf(now));
+                ps.setDate(5, Date.valueOf(row.getBusinessDate()));
+                ps.setString(6, row.getDimension().name());
+                ps.setString(7, row.getDimensionKey());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+
+        List<SalesDailyAggregate> missing = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                missing.add(rows.get(i));
+            }
+        }
+        insertAll(missing);
+    }
+
+    /**
+     * 営業日の集計行を置き換え
+     */
+    public void replaceDay(SalesRollup rollup) {
+        jdbcTemplate.update(DELETE_DAY_SQL, Date.valueOf(rollup.getBusinessDate()));
+        insertAll(rollup.getRows());
+    }
+
+    /**
+     * 期間内の会計済み注文を集計に足し込み
+     * 合計(円)が未設定の注文はアイテムの小計から再計算する（Order#calculateTotalAmount と同じ）
+     */
+    public void loadCompletedOrders(LocalDateTime startTime, LocalDateTime endTime, SalesRollup rollup) {
+        Timestamp start = Timestamp.valueOf(startTime);
+        Timestamp end = Timestamp.valueOf(endTime);
+
+        Map<Long, List<SalesRollup.Line>> linesByOrder = new HashMap<>();
+        Map<Long, Long> itemTotalByOrder = new HashMap<>();
+        jdbcTemplate.query(SELECT_ITEMS_SQL, rs -> {
+            long orderId = rs.getLong(1);
+            String category = rs.getString(4);
+            long quantity = rs.getLong(5);
+            long subtotalYen = quantity * rs.getLong(6);
+            linesByOrder.computeIfAbsent(orderId, id -> new ArrayList<>()).add(new SalesRollup.Line(
+                    rs.getLong(2), rs.getString(3),
+                    category != null ? MenuItem.MenuCategory.valueOf(category) : null,
+                    quantity, subtotalYen));
+            itemTotalByOrder.merge(orderId, subtotalYen, Long::sum);
+        }, start, end);
+
+        jdbcTemplate.query(SELECT_ORDERS_SQL, rs -> {
+            long orderId = rs.getLong(1);
+            long totalAmountYen = rs.getLong(5);
+            if (rs.wasNull()) {
+                totalAmountYen = itemTotalByOrder.getOrDefault(orderId, 0L);
+            }
+            rollup.addOrder(rs.getLong(2), rs.getString(3), rs.getTimestamp(4).toLocalDateTime(), totalAmountYen,
+                    linesByOrder.getOrDefault(orderId, List.of()));
+        }, start, end);
+    }
+
+    private void insertAll(List<SalesDailyAggregate> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                SalesDailyAggregate row = rows.get(i);
+                ps.setDate(1, Date.valueOf(row.getBusinessDate()));
+                ps.setString(2, row.getDimension().name());
+                ps.setString(3, row.getDimensionKey());
+                if (row.getLabel() != null) {
+                    ps.setString(4, row.getLabel());
+                } else {
+                    ps.setNull(4, Types.VARCHAR);
+                }
+                ps.setLong(5, row.getOrderCount());
+                ps.setLong(6, row.getQuantity());
+                ps.setLong(7, row.getRevenueYen());
+                ps.setTimestamp(8, Timestamp.valueOf(now));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+    }
+}
@@ -0,0 +1,33 @@
+package com.izakaya.ordersystem.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.izakaya.ordersystem.dto.SalesSummary;
+import com.izakaya.ordersystem.model.SalesDailyAggregate;
+
+@Repository
+public interface SalesDailyAggregateRepository extends JpaRepository<SalesDailyAggregate, Long> {
+
+    /**
+     * 期間内の集計軸・キーごとの合計（売上の多い順）
+     */
+    @Query("SELECT new com.izakaya.ordersystem.dto.SalesSummary$Row("
+            + "a.dimension, a.dimensionKey, MAX(a.label), SUM(a.orderCount), SUM(a.quantity), SUM(a.revenueYen)) "
+            + "FROM SalesDailyAggregate a "
+            + "WHERE a.businessDate >= :from AND a.businessDate <= :to "
+            + "GROUP BY a.dimension, a.dimensionKey "
+            + "ORDER BY SUM(a.revenueYen) DESC, a.dimensionKey ASC")
+    List<SalesSummary.Row> summarize(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * 期間内の営業日ごとの集計行
+     */
+    List<SalesDailyAggregate> findByDimensionAndBusinessDateBetweenOrderByBusinessDateAsc(
+            SalesDailyAggregate.Dimension dimension, LocalDate from, LocalDate to);
+}
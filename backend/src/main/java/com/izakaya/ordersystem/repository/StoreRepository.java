@@ -0,0 +1,17 @@
+package com.izakaya.ordersystem.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.izakaya.ordersystem.model.Store;
+
+@Repository
+public interface StoreRepository extends JpaRepository<Store, Long> {
+
+    /**
+     * 店舗コードで検索
+     */
+    Optional<Store> findByCode(String code);
+}
@@ -0,0 +1,115 @@
+package com.izakaya.ordersystem.sales;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.izakaya.ordersystem.model.MenuItem;
+import com.izakaya.ordersystem.model.SalesDailyAggregate;
+import com.izakaya.ordersystem.model.SalesDailyAggregate.Dimension;
+
+/**
+ * 1営業日分の売上集計（会計済み注文を足し込んで集計行を作る）
+ * 会計時の差分加算とバックフィルの再計算で同じ集計ロジックを使う。
+ */
+public final class SalesRollup {
+
+    public static final String TOTAL_KEY = "ALL";
+
+    private final LocalDate businessDate;
+
+    private final Map<String, SalesDailyAggregate> rows = new LinkedHashMap<>();
+
+    private int orderCount;
+
+    public SalesRollup(LocalDate businessDate) {
+        this.businessDate = businessDate;
+    }
+
+    /**
+     * 注文明細（メニューごとの数量・金額）
+     */
+    public static final class Line {
+
+        private final Long menuItemId;
+
+        private final String menuItemName;
+
+        private final MenuItem.MenuCategory category;
+
+        private final long quantity;
+
+        private final long subtotalYen;
+
+        public Line(Long menuItemId, String menuItemName, MenuItem.MenuCategory category,
+                long quantity, long subtotalYen) {
+            this.menuItemId = menuItemId;
+            this.menuItemName = menuItemName;
+            this.category = category;
+            this.quantity = quantity;
+            this.subtotalYen = subtotalYen;
+        }
+    }
+
+    /**
+     * 会計済み注文の足し込み
+     */
+    public void addOrder(Long tableId, String tableNumber, LocalDateTime completedTime, long totalAmountYen,
+            List<Line> lines) {
+        long quantity = 0;
+        Set<String> categories = new HashSet<>();
+        Set<Long> menuItems = new HashSet<>();
+        for (Line line : lines) {
+            quantity += line.quantity;
+            String categoryKey = line.category != null ? line.category.name() : "UNKNOWN";
+            add(Dimension.CATEGORY, categoryKey,
+                    line.category != null ? line.category.getDisplayName() : null,
+                    categories.add(categoryKey) ? 1 : 0, line.quantity, line.subtotalYen);
+            add(Dimension.MENU_ITEM, String.valueOf(line.menuItemId), line.menuItemName,
+                    menuItems.add(line.menuItemId) ? 1 : 0, line.quantity, line.subtotalYen);
+        }
+
+        add(Dimension.TOTAL, TOTAL_KEY, null, 1, quantity, totalAmountYen);
+        add(Dimension.HOUR, String.format("%02d", completedTime.getHour()), null, 1, quantity, totalAmountYen);
+        add(Dimension.TABLE, String.valueOf(tableId), tableNumber, 1, quantity, totalAmountYen);
+        orderCount++;
+    }
+
+    public LocalDate getBusinessDate() {
+        return businessDate;
+    }
+
+    /**
+     * 足し込んだ注文数
+     */
+    public int getOrderCount() {
+        return orderCount;
+    }
+
+    /**
+     * 集計行
+     */
+    public List<SalesDailyAggregate> getRows() {
+        return new ArrayList<>(rows.values());
+    }
+
+    private void add(Dimension dimension, String key, String label, long orderCount, long quantity,
+            long revenueYen) {
+        SalesDailyAggregate row = rows.computeIfAbsent(dimension.name() + ":" + key, k -> {
+            SalesDailyAggregate aggregate = new SalesDailyAggregate();
+            aggregate.setBusinessDate(businessDate);
+            aggregate.setDimension(dimension);
+            aggregate.setDimensionKey(key);
+            aggregate.setLabel(label);
+            return aggregate;
+        });
+        row.setOrderCount(row.getOrderCount() + orderCount);
+        row.setQuantity(row.getQuantity() + quantity);
+        row.setRevenueYen(row.getRevenueYen() + revenueYen);
+    }
+}
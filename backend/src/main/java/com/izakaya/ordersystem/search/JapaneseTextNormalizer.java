@@ -0,0 +1,177 @@
+package com.izakaya.ordersystem.search;
+
+import java.text.Normalizer;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 検索用の日本語テキスト正規化
+ * 全角・半角の統一（NFKC）、英字の小文字化、カタカナのひらがな化、空白の除去を行う。
+ * ローマ字（ヘボン式・訓令式）はひらがなに変換できる。
+ */
+public final class JapaneseTextNormalizer {
+
+    private static final char LONG_VOWEL_MARK = 'ー';
+
+    // ローマ字 → ひらがな（最長一致で変換する）
+    private static final Map<String, String> ROMAJI = new HashMap<>();
+
+    private static final int MAX_ROMAJI_LENGTH = 3;
+
+    static {
+        String[][] rows = {
+                { "a", "あ" }, { "i", "い" }, { "u", "う" }, { "e", "え" }, { "o", "お" },
+                { "ka", "か" }, { "ki", "き" }, { "ku", "く" }, { "ke", "け" }, { "ko", "こ" },
+                { "sa", "さ" }, { "shi", "し" }, { "si", "し" }, { "su", "す" }, { "se", "せ" }, { "so", "そ" },
+                { "ta", "た" }, { "chi", "ち" }, { "ti", "ち" }, { "tsu", "つ" }, { "tu", "つ" },
+                { "te", "て" }, { "to", "と" },
+                { "na", "な" }, { "ni", "に" }, { "nu", "ぬ" }, { "ne", "ね" }, { "no", "の" },
+                { "ha", "は" }, { "hi", "ひ" }, { "fu", "ふ" }, { "hu", "ふ" }, { "he", "へ" }, { "ho", "ほ" },
+                { "ma", "ま" }, { "mi", "み" }, { "mu", "む" }, { "me", "め" }, { "mo", "も" },
+                { "ya", "や" }, { "yu", "ゆ" }, { "yo", "よ" },
+                { "ra", "ら" }, { "ri", "り" }, { "ru", "る" }, { "re", "れ" }, { "ro", "ろ" },
+                { "wa", "わ" }, { "wo", "を" },
+                { "ga", "が" }, { "gi", "ぎ" }, { "gu", "ぐ" }, { "ge", "げ" }, { "go", "ご" },
+                { "za", "ざ" }, { "ji", "じ" }, { "zi", "じ" }, { "zu", "ず" }, { "ze", "ぜ" }, { "zo", "ぞ" },
+                { "da", "だ" }, { "di", "ぢ" }, { "du", "づ" }, { "de", "で" }, { "do", "ど" },
+                { "ba", "ば" }, { "bi", "び" }, { "bu", "ぶ" }, { "be", "べ" }, { "bo", "ぼ" },
+                { "pa", "ぱ" }, { "pi", "ぴ" }, { "pu", "ぷ" }, { "pe", "ぺ" }, { "po", "ぽ" },
+                { "kya", "きゃ" }, { "kyu", "きゅ" }, { "kyo", "きょ" },
+                { "sha", "しゃ" }, { "shu", "しゅ" }, { "sho", "しょ" }, { "she", "しぇ" },
+                { "sya", "しゃ" }, { "syu", "しゅ" }, { "syo", "しょ" },
+                { "cha", "ちゃ" }, { "chu", "ちゅ" }, { "cho", "ちょ" }, { "che", "ちぇ" },
+                { "tya", "ちゃ" }, { "tyu", "ちゅ" }, { "tyo", "ちょ" },
+                { "nya", "にゃ" }, { "nyu", "にゅ" }, { "nyo", "にょ" },
+                { "hya", "ひゃ" }, { "hyu", "ひゅ" }, { "hyo", "ひょ" },
+                { "mya", "みゃ" }, { "myu", "みゅ" }, { "myo", "みょ" },
+                { "rya", "りゃ" }, { "ryu", "りゅ" }, { "ryo", "りょ" },
+                { "gya", "ぎゃ" }, { "gyu", "ぎゅ" }, { "gyo", "ぎょ" },
+                { "ja", "じゃ" }, { "ju", "じゅ" }, { "jo", "じょ" }, { "je", "じぇ" },
+                { "jya", "じゃ" }, { "jyu", "じゅ" }, { "jyo", "じょ" },
+                { "zya", "じゃ" }, { "zyu", "じゅ" }, { "zyo", "じょ" },
+                { "bya", "びゃ" }, { "byu", "びゅ" }, { "byo", "びょ" },
+                { "pya", "ぴゃ" }, { "pyu", "ぴゅ" }, { "pyo", "ぴょ" },
+                { "fa", "ふぁ" }, { "fi", "ふぃ" }, { "fe", "ふぇ" }, { "fo", "ふぉ" },
+                { "thi", "てぃ" }, { "dhi", "でぃ" }, { "wi", "うぃ" }, { "we", "うぇ" }, { "vu", "ゔ" },
+                { "-", "ー" }
+        };
+        for (String[] row : rows) {
+            ROMAJI.put(row[0], row[1]);
+        }
+    }
+
+    private JapaneseTextNormalizer() {
+    }
+
+    /**
+     * 検索用の正規化（全角・半角の統一、小文字化、カタカナ → ひらがな、空白の除去）
+     */
+    public static String normalize(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        StringBuilder builder = new StringBuilder(normalized.length());
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            // ァ〜ヶ はひらがなの ぁ〜ゖ と同じ並び
+            if (c >= 'ァ' && c <= 'ヶ') {
+                c = (char) (c - 'ァ' + 'ぁ');
+            }
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 長音記号を除いた表記（「らーめん」と「らめん」を同じに扱う）
+     */
+    public static String withoutLongVowels(String normalized) {
+        return normalized.indexOf(LONG_VOWEL_MARK) < 0 ? normalized : normalized.replace("ー", "");
+    }
+
+    /**
+     * 正規化済みのローマ字のひらがな変換（ローマ字として読めない場合は null）
+     * 末尾の入力途中の子音（「karaag」の「g」など）は無視する
+     */
+    public static String romajiToHiragana(String normalized) {
+        if (normalized.isEmpty() || !isRomaji(normalized)) {
+            return null;
+        }
+        StringBuilder builder = new StringBuilder(normalized.length());
+        int i = 0;
+        while (i < normalized.length()) {
+            char c = normalized.charAt(i);
+            char next = i + 1 < normalized.length() ? normalized.charAt(i + 1) : 0;
+
+            if (c == '\'') {
+                i++;
+                continue;
+            }
+            if (c == 'n' && (next == 0 || next == '\'' || (next != 'y' && !isVowel(next)))) {
+                // 「n」の後が子音・末尾なら「ん」、「nn」は後ろに母音が続かなければ2文字で「ん」
+                char afterNext = i + 2 < normalized.length() ? normalized.charAt(i + 2) : 0;
+                builder.append('ん');
+                i += next == 'n' && afterNext != 'y' && !isVowel(afterNext) ? 2 : 1;
+                continue;
+            }
+            if (c == next && c != 'n' && !isVowel(c) && c != '-') {
+                // 子音の重ねは促音
+                builder.append('っ');
+                i++;
+                continue;
+            }
+            if (c == 't' && next == 'c') {
+                builder.append('っ');
+                i++;
+                continue;
+            }
+
+            String kana = null;
+            int length = Math.min(MAX_ROMAJI_LENGTH, normalized.length() - i);
+            for (; length > 0; length--) {
+                kana = ROMAJI.get(normalized.substring(i, i + length));
+                if (kana != null) {
+                    break;
+                }
+            }
+            if (kana == null) {
+                // 入力途中の末尾以外で変換できなければローマ字ではない
+                return isIncompleteTail(normalized, i) ? builder.toString() : null;
+            }
+            builder.append(kana);
+            i += length;
+        }
+        return builder.toString();
+    }
+
+    private static boolean isRomaji(String text) {
+        boolean hasLetter = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= 'a' && c <= 'z') {
+                hasLetter = true;
+            } else if (c != '-' && c != '\'') {
+                return false;
+            }
+        }
+        return hasLetter;
+    }
+
+    private static boolean isIncompleteTail(String text, int from) {
+        for (int i = from; i < text.length(); i++) {
+            if (isVowel(text.charAt(i))) {
+                return false;
+            }
+        }
+        return text.length() - from <= 2;
+    }
+
+    private static boolean isVowel(char c) {
+        return c == 'a' || c == 'i' || c == 'u' || c == 'e' || c == 'o';
+    }
+}
@@ -0,0 +1,147 @@
+package com.izakaya.ordersystem.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.izakaya.ordersystem.dto.PriceBand;
+import com.izakaya.ordersystem.model.MenuItem;
+
+/**
+ * メニューの価格索引（不変）
+ * 提供可能なアイテムを価格（円単位の long）→ ID の順に並べ、価格の配列の二分探索で
+ * 価格範囲・安い順の上位・価格帯ごとの件数を求める。
+ */
+public final class MenuPriceIndex {
+
+    // 価格帯の集計で返す帯の上限（帯幅が小さすぎる問い合わせで応答が膨らまないようにする）
+    public static final int MAX_BANDS = 200;
+
+    private final long[] prices;
+
+    private final List<MenuItem> items;
+
+    private MenuPriceIndex(long[] prices, List<MenuItem> items) {
+        this.prices = prices;
+        this.items = items;
+    }
+
+    /**
+     * 索引の構築（価格のないアイテムは対象外、同じ価格は menuItems の並び順＝カタログではID順）
+     * 価格（上位32ビット）と位置（下位32ビット）を1つの long にまとめて並べ替え、BigDecimal の比較を避ける
+     */
+    public static MenuPriceIndex build(List<MenuItem> menuItems) {
+        long[] keys = new long[menuItems.size()];
+        int count = 0;
+        for (int i = 0; i < menuItems.size(); i++) {
+            MenuItem menuItem = menuItems.get(i);
+            if (menuItem.getPrice() != null) {
+                // 価格の列は precision 10, scale 2 のため円単位で int に収まる
+                keys[count++] = (menuItem.getPriceYen() << 32) | i;
+            }
+        }
+        Arrays.sort(keys, 0, count);
+
+        long[] prices = new long[count];
+        MenuItem[] sorted = new MenuItem[count];
+        for (int i = 0; i < count; i++) {
+            prices[i] = keys[i] >> 32;
+            sorted[i] = menuItems.get((int) keys[i]);
+        }
+        return new MenuPriceIndex(prices, List.of(sorted));
+    }
+
+    public int size() {
+        return prices.length;
+    }
+
+    /**
+     * 価格が minYen 以上 maxYen 以下のアイテム（安い順）
+     */
+    public List<MenuItem> range(long minYen, long maxYen) {
+        if (minYen > maxYen) {
+            return List.of();
+        }
+        return items.subList(lowerBound(minYen), upperBound(maxYen));
+    }
+
+    /**
+     * 安い順に limit 件（同じ価格はID順）
+     */
+    public List<MenuItem> cheapest(int limit) {
+        return items.subList(0, Math.max(0, Math.min(limit, prices.length)));
+    }
+
+    /**
+     * 価格帯ごとの件数（bandWidth 円刻み、minYen を含む帯から maxYen を含む帯まで）
+     */
+    public List<PriceBand> bands(long minYen, long maxYen, long bandWidth) {
+        checkBandWidth(bandWidth);
+        if (minYen > maxYen) {
+            return List.of();
+        }
+        long firstLower = Math.floorDiv(minYen, bandWidth) * bandWidth;
+        long bandCount = Math.floorDiv(maxYen, bandWidth) - Math.floorDiv(minYen, bandWidth) + 1;
+        if (bandCount > MAX_BANDS) {
+            throw new IllegalArgumentException("Too many price bands: " + bandCount);
+        }
+
+        List<PriceBand> bands = new ArrayList<>((int) bandCount);
+        int from = lowerBound(firstLower);
+        for (int band = 0; band < bandCount; band++) {
+            long lower = firstLower + band * bandWidth;
+            long upper = lower + bandWidth;
+            int to = lowerBound(upper);
+            bands.add(new PriceBand(lower, upper, to - from));
+            from = to;
+        }
+        return bands;
+    }
+
+    /**
+     * 全アイテムの価格帯ごとの件数（最安のアイテムを含む帯から最高値のアイテムを含む帯まで）
+     */
+    public List<PriceBand> bands(long bandWidth) {
+        checkBandWidth(bandWidth);
+        if (prices.length == 0) {
+            return List.of();
+        }
+        return bands(prices[0], prices[prices.length - 1], bandWidth);
+    }
+
+    private static void checkBandWidth(long bandWidth) {
+        if (bandWidth <= 0) {
+            throw new IllegalArgumentException("bandWidth must be positive: " + bandWidth);
+        }
+    }
+
+    // price 以上の最初の位置
+    private int lowerBound(long price) {
+        int low = 0;
+        int high = prices.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (prices[mid] < price) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // price より大きい最初の位置
+    private int upperBound(long price) {
+        int low = 0;
+        int high = prices.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (prices[mid] <= price) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,375 @@
+package com.izakaya.ordersystem.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.izakaya.ordersystem.model.MenuItem;
+
+/**
+ * メニュー検索の索引（不変、n-gram 転置索引）
+ * メニュー名・読み仮名・説明を JapaneseTextNormalizer で正規化し、1文字と2文字の n-gram から
+ * アイテムの番号の昇順配列を引けるようにする。検索語の n-gram の積集合を候補とし、
+ * 部分一致を確認したうえで「名前の完全一致 → 名前・読みの前方一致 → 名前・読みの部分一致 → 説明の部分一致」の順に並べる。
+ * ローマ字の検索語は読み仮名として、長音記号の有無は区別せずに照合する。
+ */
+public final class MenuSearchIndex {
+
+    private static final int EXACT = 0;
+
+    private static final int PREFIX = 1;
+
+    private static final int CONTAINS = 2;
+
+    private static final int DESCRIPTION = 3;
+
+    private static final int NO_MATCH = -1;
+
+    private static final int[] EMPTY = new int[0];
+
+    private final List<Document> documents;
+
+    private final Map<Long, Document> documentsById;
+
+    private final Map<String, int[]> postings;
+
+    /**
+     * アイテム1件分の正規化済みテキスト
+     */
+    private static final class Document {
+
+        private final MenuItem item;
+
+        // 正規化前の文字列（次回の索引作成で変更の有無を判定する）
+        private final String sourceText;
+
+        private final String name;
+
+        private final String nameKana;
+
+        private final String description;
+
+        private final String looseName;
+
+        private final String looseNameKana;
+
+        private Document(MenuItem item) {
+            this.item = item;
+            this.sourceText = sourceText(item);
+            this.name = JapaneseTextNormalizer.normalize(item.getName());
+            this.nameKana = JapaneseTextNormalizer.normalize(item.getNameKana());
+            this.description = JapaneseTextNormalizer.normalize(item.getDescription());
+            this.looseName = JapaneseTextNormalizer.withoutLongVowels(name);
+            this.looseNameKana = JapaneseTextNormalizer.withoutLongVowels(nameKana);
+        }
+
+        private Document(MenuItem item, Document previous) {
+            this.item = item;
+            this.sourceText = previous.sourceText;
+            this.name = previous.name;
+            this.nameKana = previous.nameKana;
+            this.description = previous.description;
+            this.looseName = previous.looseName;
+            this.looseNameKana = previous.looseNameKana;
+        }
+
+        private static String sourceText(MenuItem item) {
+            return item.getName() + '\u0000' + item.getNameKana() + '\u0000' + item.getDescription();
+        }
+
+        private String[] fields() {
+            return new String[] { name, nameKana, description, looseName, looseNameKana };
+        }
+
+        private int score(String term) {
+            String looseTerm = JapaneseTextNormalizer.withoutLongVowels(term);
+            if (name.equals(term) || nameKana.equals(term)
+                    || looseName.equals(looseTerm) || looseNameKana.equals(looseTerm)) {
+                return EXACT;
+            }
+            if (name.startsWith(term) || nameKana.startsWith(term)
+                    || looseName.startsWith(looseTerm) || looseNameKana.startsWith(looseTerm)) {
+                return PREFIX;
+            }
+            if (name.contains(term) || nameKana.contains(term)
+                    || looseName.contains(looseTerm) || looseNameKana.contains(looseTerm)) {
+                return CONTAINS;
+            }
+            if (description.contains(term)) {
+                return DESCRIPTION;
+            }
+            return NO_MATCH;
+        }
+    }
+
+    private MenuSearchIndex(List<Document> documents, Map<String, int[]> postings) {
+        this.documents = documents;
+        this.documentsById = new HashMap<>(documents.size() * 4 / 3 + 1);
+        for (Document document : documents) {
+            documentsById.put(document.item.getId(), document);
+        }
+        this.postings = postings;
+    }
+
+    /**
+     * 索引の作成（並び順はアイテムの並び順）
+     * previous を渡すと、名前・読み・説明が変わっていないアイテムは前回の正規化結果を再利用する。
+     * 前回と同じ並びのアイテムの変更・末尾への追加だけなら、変わったアイテムの n-gram だけを差し替える
+     */
+    public static MenuSearchIndex build(List<MenuItem> items, MenuSearchIndex previous) {
+        List<Document> documents = new ArrayList<>(items.size());
+        for (MenuItem item : items) {
+            Document reusable = previous != null ? previous.documentsById.get(item.getId()) : null;
+            documents.add(reusable != null && reusable.sourceText.equals(Document.sourceText(item))
+                    ? new Document(item, reusable)
+                    : new Document(item));
+        }
+        if (previous != null && keepsOrdinals(previous.documents, documents)) {
+            return new MenuSearchIndex(documents, patchPostings(previous, documents));
+        }
+        return new MenuSearchIndex(documents, buildPostings(documents));
+    }
+
+    /**
+     * 検索（一致の強い順、同じ強さは索引の並び順）
+     */
+    public List<MenuItem> search(String query) {
+        String term = JapaneseTextNormalizer.normalize(query);
+        if (term.isEmpty()) {
+            return List.of();
+        }
+        Set<String> terms = new LinkedHashSet<>();
+        terms.add(term);
+        String kana = JapaneseTextNormalizer.romajiToHiragana(term);
+        if (kana != null && !kana.isEmpty()) {
+            terms.add(kana);
+        }
+
+        // 一致したアイテムだけを (一致の強さ, 番号) で並べる（索引全体は走査しない）
+        Map<Integer, Integer> scores = new HashMap<>();
+        for (String candidateTerm : terms) {
+            for (int ordinal : candidates(candidateTerm)) {
+                int score = documents.get(ordinal).score(candidateTerm);
+                if (score != NO_MATCH) {
+                    scores.merge(ordinal, score, Math::min);
+                }
+            }
+        }
+        long[] ranked = new long[scores.size()];
+        int size = 0;
+        for (Map.Entry<Integer, Integer> entry : scores.entrySet()) {
+            ranked[size++] = ((long) entry.getValue() << 32) | entry.getKey();
+        }
+        Arrays.sort(ranked);
+
+        List<MenuItem> results = new ArrayList<>(ranked.length);
+        for (long rank : ranked) {
+            results.add(documents.get((int) rank).item);
+        }
+        return results;
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    private static Map<String, int[]> buildPostings(List<Document> documents) {
+        Map<String, IntList> grams = new HashMap<>();
+        for (int ordinal = 0; ordinal < documents.size(); ordinal++) {
+            for (String gram : grams(documents.get(ordinal))) {
+                grams.computeIfAbsent(gram, key -> new IntList()).add(ordinal);
+            }
+        }
+        Map<String, int[]> postings = new HashMap<>(grams.size() * 4 / 3 + 1);
+        grams.forEach((gram, ordinals) -> postings.put(gram, ordinals.toArray()));
+        return postings;
+    }
+
+    /**
+     * 前回の索引の n-gram のうち、正規化結果が変わったアイテムと追加されたアイテムの分だけを差し替える
+     * 前回の索引の配列は書き換えず、変わった n-gram の配列だけを作り直す
+     */
+    private static Map<String, int[]> patchPostings(MenuSearchIndex previous, List<Document> documents) {
+        Map<String, int[]> postings = new HashMap<>(previous.postings);
+        for (int ordinal = 0; ordinal < documents.size(); ordinal++) {
+            Document document = documents.get(ordinal);
+            Document old = ordinal < previous.documents.size() ? previous.documents.get(ordinal) : null;
+            if (old != null && old.sourceText.equals(document.sourceText)) {
+                continue;
+            }
+            Set<String> removed = old != null ? grams(old) : Set.of();
+            Set<String> added = grams(document);
+            for (String gram : removed) {
+                if (!added.contains(gram)) {
+                    int[] ordinals = without(postings.get(gram), ordinal);
+                    if (ordinals.length == 0) {
+                        postings.remove(gram);
+                    } else {
+                        postings.put(gram, ordinals);
+                    }
+                }
+            }
+            for (String gram : added) {
+                if (!removed.contains(gram)) {
+                    postings.put(gram, with(postings.getOrDefault(gram, EMPTY), ordinal));
+                }
+            }
+        }
+        return postings;
+    }
+
+    /**
+     * 前回のアイテムが同じ番号のまま残っているか（変更と末尾への追加のみ）
+     */
+    private static boolean keepsOrdinals(List<Document> previous, List<Document> documents) {
+        if (documents.size() < previous.size()) {
+            return false;
+        }
+        for (int ordinal = 0; ordinal < previous.size(); ordinal++) {
+            if (!previous.get(ordinal).item.getId().equals(documents.get(ordinal).item.getId())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * アイテム1件の n-gram（1文字と2文字、重複なし）
+     */
+    private static Set<String> grams(Document document) {
+        Set<String> grams = new HashSet<>();
+        for (String field : document.fields()) {
+            for (int i = 0; i < field.length(); i++) {
+                grams.add(field.substring(i, i + 1));
+                if (i + 1 < field.length()) {
+                    grams.add(field.substring(i, i + 2));
+                }
+            }
+        }
+        return grams;
+    }
+
+    private static int[] with(int[] ordinals, int ordinal) {
+        int position = Arrays.binarySearch(ordinals, ordinal);
+        if (position >= 0) {
+            return ordinals;
+        }
+        int insertAt = -position - 1;
+        int[] result = new int[ordinals.length + 1];
+        System.arraycopy(ordinals, 0, result, 0, insertAt);
+        result[insertAt] = ordinal;
+        System.arraycopy(ordinals, insertAt, result, insertAt + 1, ordinals.length - insertAt);
+        return result;
+    }
+
+    private static int[] without(int[] ordinals, int ordinal) {
+        int position = ordinals != null ? Arrays.binarySearch(ordinals, ordinal) : -1;
+        if (position < 0) {
+            return ordinals != null ? ordinals : EMPTY;
+        }
+        int[] result = new int[ordinals.length - 1];
+        System.arraycopy(ordinals, 0, result, 0, position);
+        System.arraycopy(ordinals, position + 1, result, position, ordinals.length - position - 1);
+        return result;
+    }
+
+    /**
+     * 検索語の n-gram をすべて含むアイテムの番号（長音記号を除いた表記の候補も含める）
+     */
+    private int[] candidates(String term) {
+        int[] candidates = intersectGrams(term);
+        String looseTerm = JapaneseTextNormalizer.withoutLongVowels(term);
+        if (looseTerm.equals(term) || looseTerm.isEmpty()) {
+            return candidates;
+        }
+        return union(candidates, intersectGrams(looseTerm));
+    }
+
+    private int[] intersectGrams(String term) {
+        if (term.length() == 1) {
+            return postings.getOrDefault(term, EMPTY);
+        }
+        // 件数の少ない n-gram から絞り込む
+        List<int[]> lists = new ArrayList<>(term.length() - 1);
+        for (int i = 0; i + 1 < term.length(); i++) {
+            int[] list = postings.get(term.substring(i, i + 2));
+            if (list == null) {
+                return EMPTY;
+            }
+            lists.add(list);
+        }
+        lists.sort((a, b) -> Integer.compare(a.length, b.length));
+        int[] result = lists.get(0);
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = intersect(result, lists.get(i));
+        }
+        return result;
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[size++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static int[] union(int[] a, int[] b) {
+        int[] result = new int[a.length + b.length];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length || j < b.length) {
+            if (j >= b.length || (i < a.length && a[i] < b[j])) {
+                result[size++] = a[i++];
+            } else if (i >= a.length || b[j] < a[i]) {
+                result[size++] = b[j++];
+            } else {
+                result[size++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    /**
+     * 昇順に追加されるアイテム番号のリスト（同じ番号の連続追加は1件にまとめる）
+     */
+    private static final class IntList {
+
+        private int[] values = new int[4];
+
+        private int size;
+
+        private void add(int value) {
+            if (size > 0 && values[size - 1] == value) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        private int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
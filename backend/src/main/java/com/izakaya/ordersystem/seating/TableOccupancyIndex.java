@@ -0,0 +1,312 @@
+package com.izakaya.ordersystem.seating;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import com.izakaya.ordersystem.model.RestaurantTable;
+import com.izakaya.ordersystem.model.RestaurantTable.TableStatus;
+
+/**
+ * 店舗のテーブルの利用状況の索引（ステータス → 収容人数 → テーブルID の順に並べて保持）
+ * 案内時の席探しは収容人数の昇順にたどるだけで済み、DBへの問い合わせはしない。
+ * テーブルごとに現在の利用と、閉じた利用の直近の履歴を持つ。
+ * スレッドセーフではないため、呼び出し側で同期すること。
+ */
+public class TableOccupancyIndex {
+
+    // 閉じた利用の保持件数（回転率の集計対象）
+    static final int SESSION_HISTORY = 2000;
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+
+    private final Map<TableStatus, NavigableMap<Integer, NavigableSet<Long>>> byStatus = new EnumMap<>(
+            TableStatus.class);
+
+    private final Deque<TableSession> closedSessions = new ArrayDeque<>();
+
+    /**
+     * テーブル1件分（索引内で保持するテーブルのコピーと現在の利用）
+     */
+    private static final class Entry {
+
+        private final RestaurantTable table;
+
+        private TableSession session;
+
+        private Entry(RestaurantTable table) {
+            this.table = table;
+        }
+    }
+
+    public TableOccupancyIndex() {
+        for (TableStatus status : TableStatus.values()) {
+            byStatus.put(status, new TreeMap<>());
+        }
+    }
+
+    /**
+     * テーブルの登録・更新（テーブル番号・収容人数・ステータスを反映）
+     */
+    public void put(RestaurantTable table, LocalDateTime at) {
+        Entry entry = entries.get(table.getId());
+        if (entry == null) {
+            entry = new Entry(copyOf(table));
+            entries.put(table.getId(), entry);
+            link(entry);
+            if (table.getStatus() == TableStatus.OCCUPIED) {
+                entry.session = new TableSession(table.getId(), table.getTableNumber(), at);
+            }
+            return;
+        }
+
+        unlink(entry);
+        entry.table.setTableNumber(table.getTableNumber());
+        entry.table.setCapacity(table.getCapacity());
+        entry.table.setQrCode(table.getQrCode());
+        entry.table.setUpdatedAt(table.getUpdatedAt());
+        link(entry);
+        updateStatus(table.getId(), statusOf(table), at);
+    }
+
+    /**
+     * テーブルの削除
+     */
+    public void remove(Long tableId) {
+        Entry entry = entries.remove(tableId);
+        if (entry != null) {
+            unlink(entry);
+        }
+    }
+
+    /**
+     * テーブルステータスの更新
+     * 利用中になったら利用を開始し、空席・清掃中になったら利用を閉じる
+     */
+    public void updateStatus(Long tableId, TableStatus status, LocalDateTime at) {
+        Entry entry = entries.get(tableId);
+        if (entry == null) {
+            return;
+        }
+        if (entry.table.getStatus() != status) {
+            unlink(entry);
+            entry.table.setStatus(status);
+            link(entry);
+        }
+
+        if (status == TableStatus.OCCUPIED && entry.session == null) {
+            entry.session = new TableSession(tableId, entry.table.getTableNumber(), at);
+        } else if ((status == TableStatus.AVAILABLE || status == TableStatus.CLEANING) && entry.session != null) {
+            closeSession(entry, at);
+        }
+    }
+
+    /**
+     * 注文作成（利用中でなければ着席として利用を開始）
+     */
+    public void orderCreated(Long tableId, Long orderId, LocalDateTime at) {
+        TableSession session = openSession(tableId, at);
+        if (session != null) {
+            session.orderCreated(orderId);
+        }
+    }
+
+    /**
+     * 注文アイテムの追加（最初・最後の注文時刻）
+     */
+    public void itemOrdered(Long tableId, Long orderId, LocalDateTime at) {
+        TableSession session = openSession(tableId, at);
+        if (session != null) {
+            session.itemOrdered(orderId, at);
+        }
+    }
+
+    /**
+     * 会計完了（利用を閉じてテーブルを空席に戻す）
+     */
+    public void paid(Long tableId, Long orderId, LocalDateTime at) {
+        Entry entry = entries.get(tableId);
+        if (entry == null) {
+            return;
+        }
+        if (entry.session != null) {
+            entry.session.orderFinished(orderId);
+            entry.session.paid(at);
+        }
+        updateStatus(tableId, TableStatus.AVAILABLE, at);
+    }
+
+    /**
+     * 注文取消（未完了の注文がなくなり、テーブルが利用中でなければ利用を閉じる）
+     */
+    public void orderCancelled(Long tableId, Long orderId, LocalDateTime at) {
+        Entry entry = entries.get(tableId);
+        if (entry == null || entry.session == null) {
+            return;
+        }
+        if (entry.session.orderFinished(orderId) && entry.table.getStatus() != TableStatus.OCCUPIED) {
+            closeSession(entry, at);
+        }
+    }
+
+    /**
+     * 人数が座れる空席（収容人数の少ない順、同じ人数はID順）
+     * ステータスが空席でも、注文が始まっている（QRから注文中の）テーブルは除く
+     */
+    public List<RestaurantTable> findAvailable(int partySize) {
+        return findAvailable(partySize, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 人数に最も合う空席（余る席が少ない順に最大 limit 件）
+     */
+    public List<RestaurantTable> findAvailable(int partySize, int limit) {
+        List<RestaurantTable> tables = new ArrayList<>();
+        for (NavigableSet<Long> tableIds : byStatus.get(TableStatus.AVAILABLE).tailMap(partySize, true).values()) {
+            for (Long tableId : tableIds) {
+                if (tables.size() >= limit) {
+                    return tables;
+                }
+                Entry entry = entries.get(tableId);
+                if (entry.session == null) {
+                    tables.add(copyOf(entry.table));
+                }
+            }
+        }
+        return tables;
+    }
+
+    /**
+     * ステータスごとのテーブル一覧（ID順）
+     */
+    public List<RestaurantTable> findByStatus(TableStatus status) {
+        List<RestaurantTable> tables = new ArrayList<>();
+        for (NavigableSet<Long> tableIds : byStatus.get(status).values()) {
+            for (Long tableId : tableIds) {
+                tables.add(copyOf(entries.get(tableId).table));
+            }
+        }
+        tables.sort((a, b) -> a.getId().compareTo(b.getId()));
+        return tables;
+    }
+
+    /**
+     * テーブルの現在の利用
+     */
+    public Optional<TableSession> getCurrentSession(Long tableId) {
+        Entry entry = entries.get(tableId);
+        return entry != null && entry.session != null
+                ? Optional.of(entry.session.copy())
+                : Optional.empty();
+    }
+
+    /**
+     * 閉じた利用の履歴（退席が since 以降、tableId 指定時はそのテーブルのみ、新しい順）
+     */
+    public List<TableSession> getClosedSessions(LocalDateTime since, Long tableId) {
+        List<TableSession> sessions = new ArrayList<>();
+        Iterator<TableSession> iterator = closedSessions.descendingIterator();
+        while (iterator.hasNext()) {
+            TableSession session = iterator.next();
+            if (since != null && session.getClosedAt().isBefore(since)) {
+                break;
+            }
+            if (tableId == null || tableId.equals(session.getTableId())) {
+                sessions.add(session.copy());
+            }
+        }
+        return sessions;
+    }
+
+    /**
+     * 登録テーブル数
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * 収容人数の合計（statusを指定するとそのステータスのテーブルのみ）
+     */
+    public int totalSeats(TableStatus status) {
+        int seats = 0;
+        for (Entry entry : entries.values()) {
+            if (status == null || entry.table.getStatus() == status) {
+                seats += capacityOf(entry.table);
+            }
+        }
+        return seats;
+    }
+
+    public void clear() {
+        entries.clear();
+        byStatus.values().forEach(Map::clear);
+        closedSessions.clear();
+    }
+
+    private TableSession openSession(Long tableId, LocalDateTime at) {
+        Entry entry = entries.get(tableId);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.session == null) {
+            entry.session = new TableSession(tableId, entry.table.getTableNumber(), at);
+        }
+        return entry.session;
+    }
+
+    private void closeSession(Entry entry, LocalDateTime at) {
+        entry.session.close(at);
+        if (closedSessions.size() >= SESSION_HISTORY) {
+            closedSessions.removeFirst();
+        }
+        closedSessions.addLast(entry.session);
+        entry.session = null;
+    }
+
+    private void link(Entry entry) {
+        byStatus.get(statusOf(entry.table))
+                .computeIfAbsent(capacityOf(entry.table), capacity -> new TreeSet<>())
+                .add(entry.table.getId());
+    }
+
+    private void unlink(Entry entry) {
+        NavigableMap<Integer, NavigableSet<Long>> byCapacity = byStatus.get(statusOf(entry.table));
+        NavigableSet<Long> tableIds = byCapacity.get(capacityOf(entry.table));
+        if (tableIds != null) {
+            tableIds.remove(entry.table.getId());
+            if (tableIds.isEmpty()) {
+                byCapacity.remove(capacityOf(entry.table));
+            }
+        }
+    }
+
+    private static TableStatus statusOf(RestaurantTable table) {
+        return table.getStatus() != null ? table.getStatus() : TableStatus.AVAILABLE;
+    }
+
+    private static int capacityOf(RestaurantTable table) {
+        return table.getCapacity() != null ? table.getCapacity() : 0;
+    }
+
+    private static RestaurantTable copyOf(RestaurantTable table) {
+        RestaurantTable copy = new RestaurantTable(table.getStoreId(), table.getTableNumber(), table.getCapacity());
+        copy.setId(table.getId());
+        copy.setQrCode(table.getQrCode());
+        copy.setStatus(statusOf(table));
+        copy.setCreatedAt(table.getCreatedAt());
+        copy.setUpdatedAt(table.getUpdatedAt());
+        return copy;
+    }
+}
@@ -0,0 +1,270 @@
+package com.izakaya.ordersystem.seating;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.izakaya.ordersystem.dto.TableTimeline;
+import com.izakaya.ordersystem.dto.TableTurnover;
+import com.izakaya.ordersystem.event.OrderEvent;
+import com.izakaya.ordersystem.event.OrderEventListener;
+import com.izakaya.ordersystem.model.Order;
+import com.izakaya.ordersystem.model.OrderItem;
+import com.izakaya.ordersystem.model.RestaurantTable;
+import com.izakaya.ordersystem.repository.OrderRepository;
+import com.izakaya.ordersystem.repository.RestaurantTableRepository;
+
+/**
+ * テーブルの利用状況トラッカー
+ * テーブルのステータスと利用（着席・注文・会計）を店舗ごとのメモリ上の TableOccupancyIndex で管理し、
+ * テーブル更新と注文イベントのコミット後に反映する。案内時の席探しと回転率の集計はDBを読まない。
+ * 索引は店舗ごとに同期するため、店舗が増えても他の店舗の更新を待たない。起動時にDBから再構築する。
+ */
+@Component
+public class TableOccupancyTracker implements OrderEventListener {
+
+    @Autowired
+    private RestaurantTableRepository tableRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private final Map<Long, TableOccupancyIndex> indexes = new ConcurrentHashMap<>();
+
+    // テーブルID → 店舗ID（テーブルIDだけで呼ばれる更新・参照用）
+    private final Map<Long, Long> tableStores = new ConcurrentHashMap<>();
+
+    /**
+     * DBのテーブルと未完了の注文から全店舗の索引を再構築
+     * 利用中のテーブルは最も古い未完了注文の注文時刻を着席時刻とする
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<RestaurantTable> tables = tableRepository.findAll();
+        List<Order> activeOrders = orderRepository.findActiveOrders();
+
+        Map<Long, LocalDateTime> seatedAt = new HashMap<>();
+        Map<Long, List<Order>> ordersByStore = new HashMap<>();
+        for (Order order : activeOrders) {
+            seatedAt.merge(order.getTable().getId(), order.getOrderTime(),
+                    (a, b) -> a.isBefore(b) ? a : b);
+            ordersByStore.computeIfAbsent(order.getStoreId(), storeId -> new ArrayList<>()).add(order);
+        }
+        Map<Long, List<RestaurantTable>> tablesByStore = new HashMap<>();
+        for (RestaurantTable table : tables) {
+            tablesByStore.computeIfAbsent(table.getStoreId(), storeId -> new ArrayList<>()).add(table);
+            tableStores.put(table.getId(), table.getStoreId());
+        }
+
+        // テーブルがなくなった店舗の索引は空にする
+        for (Map.Entry<Long, TableOccupancyIndex> entry : indexes.entrySet()) {
+            if (!tablesByStore.containsKey(entry.getKey())) {
+                synchronized (entry.getValue()) {
+                    entry.getValue().clear();
+                }
+            }
+        }
+
+        for (Map.Entry<Long, List<RestaurantTable>> entry : tablesByStore.entrySet()) {
+            TableOccupancyIndex index = indexFor(entry.getKey());
+            synchronized (index) {
+                index.clear();
+                for (RestaurantTable table : entry.getValue()) {
+                    index.put(table, seatedAt.getOrDefault(table.getId(), table.getUpdatedAt()));
+                }
+                for (Order order : ordersByStore.getOrDefault(entry.getKey(), List.of())) {
+                    Long tableId = order.getTable().getId();
+                    index.orderCreated(tableId, order.getId(), order.getOrderTime());
+                    for (OrderItem item : order.getOrderItems()) {
+                        index.itemOrdered(tableId, order.getId(), item.getCreatedAt());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 注文イベントの反映（店舗ごとにコミット順に呼び出されること）
+     */
+    @Override
+    public void onEvent(OrderEvent event) {
+        TableOccupancyIndex index = event.getTableId() != null ? indexes.get(event.getStoreId()) : null;
+        if (index == null) {
+            return;
+        }
+        synchronized (index) {
+            switch (event.getType()) {
+                case ORDER_CREATED -> index.orderCreated(event.getTableId(), event.getOrderId(), event.getOccurredAt());
+                case ITEM_ADDED -> index.itemOrdered(event.getTableId(), event.getOrderId(), event.getOccurredAt());
+                case ORDER_CANCELLED -> index.orderCancelled(
+                        event.getTableId(), event.getOrderId(), event.getOccurredAt());
+                case ORDER_STATUS_CHANGED -> {
+                    // OrderService.updateOrderStatus と同じくテーブルのステータスも切り替える
+                    if (event.getOrderStatus() == Order.OrderStatus.CONFIRMED) {
+                        index.updateStatus(event.getTableId(), RestaurantTable.TableStatus.OCCUPIED,
+                                event.getOccurredAt());
+                    } else if (event.getOrderStatus() == Order.OrderStatus.COMPLETED) {
+                        index.paid(event.getTableId(), event.getOrderId(), event.getOccurredAt());
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+    }
+
+    /**
+     * テーブルの登録・更新の反映（現在のトランザクションのコミット後）
+     */
+    public void tableSaved(RestaurantTable table) {
+        LocalDateTime now = LocalDateTime.now();
+        afterCommit(() -> {
+            tableStores.put(table.getId(), table.getStoreId());
+            TableOccupancyIndex index = indexFor(table.getStoreId());
+            synchronized (index) {
+                index.put(table, now);
+            }
+        });
+    }
+
+    /**
+     * テーブル削除の反映（現在のトランザクションのコミット後）
+     */
+    public void tableDeleted(Long tableId) {
+        afterCommit(() -> {
+            Long storeId = tableStores.remove(tableId);
+            TableOccupancyIndex index = storeId != null ? indexes.get(storeId) : null;
+            if (index != null) {
+                synchronized (index) {
+                    index.remove(tableId);
+                }
+            }
+        });
+    }
+
+    /**
+     * 人数が座れる空席（収容人数の少ない順）
+     */
+    public List<RestaurantTable> findAvailableTables(Long storeId, int partySize) {
+        TableOccupancyIndex index = indexes.get(storeId);
+        if (index == null) {
+            return List.of();
+        }
+        synchronized (index) {
+            return index.findAvailable(partySize);
+        }
+    }
+
+    /**
+     * 人数に最も合う空席の候補（余る席が少ない順に最大 limit 件）
+     */
+    public List<RestaurantTable> suggestTables(Long storeId, int partySize, int limit) {
+        TableOccupancyIndex index = indexes.get(storeId);
+        if (index == null) {
+            return List.of();
+        }
+        synchronized (index) {
+            return index.findAvailable(partySize, limit);
+        }
+    }
+
+    /**
+     * ステータスごとのテーブル一覧
+     */
+    public List<RestaurantTable> getTablesByStatus(Long storeId, RestaurantTable.TableStatus status) {
+        TableOccupancyIndex index = indexes.get(storeId);
+        if (index == null) {
+            return List.of();
+        }
+        synchronized (index) {
+            return index.findByStatus(status);
+        }
+    }
+
+    /**
+     * テーブルの利用履歴（退席済みは since 以降）
+     */
+    public TableTimeline getTimeline(Long tableId, LocalDateTime since) {
+        Long storeId = tableStores.get(tableId);
+        TableOccupancyIndex index = storeId != null ? indexes.get(storeId) : null;
+        if (index == null) {
+            return new TableTimeline(tableId, null, List.of());
+        }
+        synchronized (index) {
+            return new TableTimeline(tableId, index.getCurrentSession(tableId).orElse(null),
+                    index.getClosedSessions(since, tableId));
+        }
+    }
+
+    /**
+     * 店舗の回転・稼働状況（since 以降に退席した利用を集計）
+     */
+    public TableTurnover getTurnover(Long storeId, LocalDateTime since) {
+        List<TableSession> sessions = List.of();
+        int tables = 0;
+        int totalSeats = 0;
+        int occupiedTables = 0;
+        int occupiedSeats = 0;
+        TableOccupancyIndex index = indexes.get(storeId);
+        if (index != null) {
+            synchronized (index) {
+                sessions = index.getClosedSessions(since, null);
+                tables = index.size();
+                totalSeats = index.totalSeats(null);
+                occupiedTables = index.findByStatus(RestaurantTable.TableStatus.OCCUPIED).size();
+                occupiedSeats = index.totalSeats(RestaurantTable.TableStatus.OCCUPIED);
+            }
+        }
+
+        return new TableTurnover(since, tables, totalSeats, occupiedTables, occupiedSeats, sessions.size(),
+                averageMinutes(sessions, session -> Duration.between(session.getSeatedAt(), session.getClosedAt())),
+                averageMinutes(sessions, session -> session.getFirstOrderAt() != null
+                        ? Duration.between(session.getSeatedAt(), session.getFirstOrderAt())
+                        : null),
+                averageMinutes(sessions, session -> session.getLastOrderAt() != null && session.getPaidAt() != null
+                        ? Duration.between(session.getLastOrderAt(), session.getPaidAt())
+                        : null));
+    }
+
+    private TableOccupancyIndex indexFor(Long storeId) {
+        return indexes.computeIfAbsent(storeId, id -> new TableOccupancyIndex());
+    }
+
+    private static Double averageMinutes(List<TableSession> sessions, Function<TableSession, Duration> duration) {
+        long totalSeconds = 0;
+        int count = 0;
+        for (TableSession session : sessions) {
+            Duration value = duration.apply(session);
+            if (value != null) {
+                totalSeconds += value.getSeconds();
+                count++;
+            }
+        }
+        return count > 0 ? totalSeconds / 60.0 / count : null;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.izakaya.ordersystem.seating;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * テーブルの1回の利用（着席〜会計・退席）の時系列
+ */
+public class TableSession {
+
+    private final Long tableId;
+
+    private final String tableNumber;
+
+    private final LocalDateTime seatedAt;
+
+    private LocalDateTime firstOrderAt;
+
+    private LocalDateTime lastOrderAt;
+
+    private LocalDateTime paidAt;
+
+    private LocalDateTime closedAt;
+
+    private int orderCount;
+
+    private int itemCount;
+
+    // 利用中の未完了注文（すべて取消になった利用を閉じる判定用）
+    private final Set<Long> activeOrderIds = new HashSet<>();
+
+    public TableSession(Long tableId, String tableNumber, LocalDateTime seatedAt) {
+        this.tableId = tableId;
+        this.tableNumber = tableNumber;
+        this.seatedAt = seatedAt;
+    }
+
+    private TableSession(TableSession source) {
+        this(source.tableId, source.tableNumber, source.seatedAt);
+        this.firstOrderAt = source.firstOrderAt;
+        this.lastOrderAt = source.lastOrderAt;
+        this.paidAt = source.paidAt;
+        this.closedAt = source.closedAt;
+        this.orderCount = source.orderCount;
+        this.itemCount = source.itemCount;
+    }
+
+    /**
+     * 参照用のコピー（索引の外へ渡す場合に使う）
+     */
+    TableSession copy() {
+        return new TableSession(this);
+    }
+
+    void orderCreated(Long orderId) {
+        if (activeOrderIds.add(orderId)) {
+            orderCount++;
+        }
+    }
+
+    void itemOrdered(Long orderId, LocalDateTime at) {
+        activeOrderIds.add(orderId);
+        if (firstOrderAt == null) {
+            firstOrderAt = at;
+        }
+        lastOrderAt = at;
+        itemCount++;
+    }
+
+    /**
+     * 注文の完了・取消（未完了の注文が残っていなければ true）
+     */
+    boolean orderFinished(Long orderId) {
+        activeOrderIds.remove(orderId);
+        return activeOrderIds.isEmpty();
+    }
+
+    void paid(LocalDateTime at) {
+        paidAt = at;
+    }
+
+    void close(LocalDateTime at) {
+        closedAt = at;
+    }
+
+    // Getters
+    public Long getTableId() {
+        return tableId;
+    }
+
+    public String getTableNumber() {
+        return tableNumber;
+    }
+
+    public LocalDateTime getSeatedAt() {
+        return seatedAt;
+    }
+
+    public LocalDateTime getFirstOrderAt() {
+        return firstOrderAt;
+    }
+
+    public LocalDateTime getLastOrderAt() {
+        return lastOrderAt;
+    }
+
+    public LocalDateTime getPaidAt() {
+        return paidAt;
+    }
+
+    public LocalDateTime getClosedAt() {
+        return closedAt;
+    }
+
+    public int getOrderCount() {
+        return orderCount;
+    }
+
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    /**
+     * 着席から最初の注文までの時間（秒、未注文なら null）
+     */
+    public Long getSecondsToFirstOrder() {
+        return firstOrderAt != null ? Duration.between(seatedAt, firstOrderAt).getSeconds() : null;
+    }
+
+    /**
+     * 着席から退席までの時間（秒、利用中なら null）
+     */
+    public Long getSeatedSeconds() {
+        return closedAt != null ? Duration.between(seatedAt, closedAt).getSeconds() : null;
+    }
+}
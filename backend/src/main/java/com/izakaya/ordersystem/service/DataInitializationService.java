@@ -3,18 +3,46 @@ package com.izakaya.ordersystem.service;
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Service;
 
+import com.izakaya.ordersystem.cache.MenuCatalogCache;
 import com.izakaya.ordersystem.model.MenuItem;
+import com.izakaya.ordersystem.model.Store;
 import com.izakaya.ordersystem.repository.MenuItemRepository;
 import com.izakaya.ordersystem.repository.RestaurantTableRepository;
 
 @Service
 public class DataInitializationService implements CommandLineRunner {
 
+    // 漢字を含むメニュー名の読み仮名（メニュー検索用）
+    private static final Map<String, String> NAME_KANA = Map.ofEntries(
+            Map.entry("枝豆", "えだまめ"),
+            Map.entry("冷奴", "ひややっこ"),
+            Map.entry("お造り盛り合わせ", "おつくりもりあわせ"),
+            Map.entry("マグロ赤身", "まぐろあかみ"),
+            Map.entry("焼き鳥盛り合わせ", "やきとりもりあわせ"),
+            Map.entry("塩焼きサバ", "しおやきさば"),
+            Map.entry("牛カルビ", "ぎゅうかるび"),
+            Map.entry("唐揚げ", "からあげ"),
+            Map.entry("天ぷら盛り合わせ", "てんぷらもりあわせ"),
+            Map.entry("親子丼", "おやこどん"),
+            Map.entry("海鮮丼", "かいせんどん"),
+            Map.entry("炒飯", "ちゃーはん"),
+            Map.entry("焼きそば", "やきそば"),
+            Map.entry("生ビール（中ジョッキ）", "なまびーるちゅうじょっき"),
+            Map.entry("生ビール（小ジョッキ）", "なまびーるしょうじょっき"),
+            Map.entry("瓶ビール（大瓶）", "びんびーるおおびん"),
+            Map.entry("冷酒（1合）", "れいしゅいちごう"),
+            Map.entry("熱燗（1合）", "あつかんいちごう"),
+            Map.entry("芋焼酎", "いもじょうちゅう"),
+            Map.entry("麦焼酎", "むぎじょうちゅう"),
+            Map.entry("ウーロン茶", "うーろんちゃ"),
+            Map.entry("わらび餅", "わらびもち"));
+
     @Autowired
     private MenuItemRepository menuItemRepository;
 
@@ -24,15 +52,22 @@ public class DataInitializationService implements CommandLineRunner {
     @Autowired
     private TableService tableService;
 
+    @Autowired
+    private MenuCatalogCache menuCatalogCache;
+
+    @Autowired
+    private StoreService storeService;
+
     @Override
     public void run(String... args) {
+        storeService.ensureDefaultStore();
         initializeTables();
         initializeMenuItems();
     }
 
     private void initializeTables() {
-        // 既にテーブルが存在する場合はスキップ
-        if (tableRepository.count() > 0) {
+        // 既定の店舗に既にテーブルが存在する場合はスキップ
+        if (tableRepository.countByStoreId(Store.DEFAULT_ID) > 0) {
             return;
         }
 
@@ -41,15 +76,15 @@ public class DataInitializationService implements CommandLineRunner {
             String tableNumber = String.valueOf(i);
             Integer capacity = i <= 4 ? 4 : 6; // 1-4番は4人用、5-8番は6人用
 
-            tableService.createTable(tableNumber, capacity);
+            tableService.createTable(Store.DEFAULT_ID, tableNumber, capacity);
         }
 
         System.out.println("テーブルデータを初期化しました。");
     }
 
     private void initializeMenuItems() {
-        // 既にメニューが存在する場合はスキップ
-        if (menuItemRepository.count() > 0) {
+        // 既定の店舗に既にメニューが存在する場合はスキップ
+        if (menuItemRepository.countByStoreId(Store.DEFAULT_ID) > 0) {
             return;
         }
 
@@ -106,8 +141,9 @@ public class DataInitializationService implements CommandLineRunner {
                 new MenuItem("アイスクリーム", "バニラアイスクリーム。", new BigDecimal("380"), MenuItem.MenuCategory.DESSERT),
                 new MenuItem("わらび餅", "きな粉と黒蜜のわらび餅。", new BigDecimal("480"), MenuItem.MenuCategory.DESSERT));
 
-        // 調理時間を設定
+        // 調理時間・読み仮名を設定
         menuItems.forEach(item -> {
+            item.setNameKana(NAME_KANA.get(item.getName()));
             switch (item.getCategory()) {
                 case APPETIZER -> item.setPreparationTimeMinutes(5);
                 case SASHIMI -> item.setPreparationTimeMinutes(8);
@@ -121,6 +157,7 @@ public class DataInitializationService implements CommandLineRunner {
         });
 
         menuItemRepository.saveAll(menuItems);
+        menuCatalogCache.refresh(Store.DEFAULT_ID);
         System.out.println("メニューデータを初期化しました。");
     }
 }
\ No newline at end of file
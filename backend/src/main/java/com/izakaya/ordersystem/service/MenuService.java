@@ -1,15 +1,21 @@
 package com.izakaya.ordersystem.service;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.izakaya.ordersystem.cache.MenuCatalog;
+import com.izakaya.ordersystem.cache.MenuCatalogCache;
+import com.izakaya.ordersystem.dto.PriceBand;
 import com.izakaya.ordersystem.model.MenuItem;
 import com.izakaya.ordersystem.repository.MenuItemRepository;
+import com.izakaya.ordersystem.search.MenuPriceIndex;
 
 @Service
 @Transactional
@@ -18,69 +24,121 @@ public class MenuService {
     @Autowired
     private MenuItemRepository menuItemRepository;
 
+    @Autowired
+    private MenuCatalogCache menuCatalogCache;
+
+    @Autowired
+    private StoreService storeService;
+
+    /**
+     * 店舗のメニューカタログ（キャッシュ済みスナップショット）取得
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public MenuCatalog getMenuCatalog(Long storeId) {
+        return menuCatalogCache.get(storeId);
+    }
+
     /**
      * 全メニューアイテム取得
      */
-    public List<MenuItem> getAllMenuItems() {
-        return menuItemRepository.findAll();
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<MenuItem> getAllMenuItems(Long storeId) {
+        return menuCatalogCache.get(storeId).getAllItems();
     }
 
     /**
      * 利用可能なメニューアイテム取得
      */
-    public List<MenuItem> getAvailableMenuItems() {
-        return menuItemRepository.findByIsAvailableTrue();
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<MenuItem> getAvailableMenuItems(Long storeId) {
+        return menuCatalogCache.get(storeId).getAvailableItems();
     }
 
     /**
      * カテゴリ別メニューアイテム取得
      */
-    public List<MenuItem> getMenuItemsByCategory(MenuItem.MenuCategory category) {
-        return menuItemRepository.findByCategoryAndIsAvailableTrue(category);
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<MenuItem> getMenuItemsByCategory(Long storeId, MenuItem.MenuCategory category) {
+        return menuCatalogCache.get(storeId).getAvailableItemsByCategory(category);
     }
 
     /**
      * メニューアイテムをIDで取得
      */
-    public Optional<MenuItem> getMenuItemById(Long id) {
-        return menuItemRepository.findById(id);
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Optional<MenuItem> getMenuItemById(Long storeId, Long id) {
+        return menuCatalogCache.get(storeId).findById(id);
+    }
+
+    /**
+     * 名前で検索（メニューカタログの検索索引、かな・カタカナ・全角半角・ローマ字の違いを吸収）
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<MenuItem> searchMenuItemsByName(Long storeId, String name) {
+        return menuCatalogCache.get(storeId).search(name);
+    }
+
+    /**
+     * 価格範囲で検索（メニューカタログの価格索引、安い順）
+     * 索引は円単位のため、下限は切り上げ・上限は切り捨てて比較する
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<MenuItem> getMenuItemsByPriceRange(Long storeId, BigDecimal minPrice, BigDecimal maxPrice) {
+        return menuCatalogCache.get(storeId).getPriceIndex().range(
+                minPrice.setScale(0, RoundingMode.CEILING).longValue(),
+                maxPrice.setScale(0, RoundingMode.FLOOR).longValue());
     }
 
     /**
-     * 名前で検索
+     * 安い順に limit 件（大人数のコースの予算に合わせた品目選び向け）
      */
-    public List<MenuItem> searchMenuItemsByName(String name) {
-        return menuItemRepository.findByNameContainingAndAvailable(name);
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<MenuItem> getCheapestMenuItems(Long storeId, int limit) {
+        return menuCatalogCache.get(storeId).getPriceIndex().cheapest(limit);
     }
 
     /**
-     * 価格範囲で検索
+     * 価格帯ごとの件数（bandWidth 円刻み、範囲の省略時は全アイテムの最安値〜最高値）
      */
-    public List<MenuItem> getMenuItemsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice) {
-        return menuItemRepository.findByPriceRangeAndAvailable(minPrice, maxPrice);
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<PriceBand> getPriceBands(Long storeId, long bandWidth, BigDecimal minPrice, BigDecimal maxPrice) {
+        MenuPriceIndex priceIndex = menuCatalogCache.get(storeId).getPriceIndex();
+        if (minPrice == null || maxPrice == null) {
+            return priceIndex.bands(bandWidth);
+        }
+        return priceIndex.bands(
+                minPrice.setScale(0, RoundingMode.CEILING).longValue(),
+                maxPrice.setScale(0, RoundingMode.FLOOR).longValue(),
+                bandWidth);
     }
 
     /**
-     * メニューアイテム作成
+     * メニューアイテム作成（店舗はメニューアイテムの storeId、省略時は既定の店舗）
      */
     public MenuItem createMenuItem(MenuItem menuItem) {
-        return menuItemRepository.save(menuItem);
+        storeService.requireStore(menuItem.getStoreId());
+        MenuItem savedMenuItem = menuItemRepository.save(menuItem);
+        menuCatalogCache.refreshAfterCommit(savedMenuItem.getStoreId());
+        return savedMenuItem;
     }
 
     /**
-     * メニューアイテム更新
+     * メニューアイテム更新（店舗は変更しない）
      */
     public MenuItem updateMenuItem(Long id, MenuItem menuItemDetails) {
         return menuItemRepository.findById(id)
                 .map(menuItem -> {
                     menuItem.setName(menuItemDetails.getName());
+                    menuItem.setNameKana(menuItemDetails.getNameKana());
                     menuItem.setDescription(menuItemDetails.getDescription());
                     menuItem.setPrice(menuItemDetails.getPrice());
                     menuItem.setCategory(menuItemDetails.getCategory());
                     menuItem.setImageUrl(menuItemDetails.getImageUrl());
                     menuItem.setIsAvailable(menuItemDetails.getIsAvailable());
                     menuItem.setPreparationTimeMinutes(menuItemDetails.getPreparationTimeMinutes());
-                    return menuItemRepository.save(menuItem);
+                    MenuItem savedMenuItem = menuItemRepository.save(menuItem);
+                    menuCatalogCache.refreshAfterCommit(savedMenuItem.getStoreId());
+                    return savedMenuItem;
                 })
                 .orElseThrow(() -> new RuntimeException("Menu item not found with id " + id));
     }
@@ -89,7 +147,10 @@ public class MenuService {
      * メニューアイテム削除
      */
     public void deleteMenuItem(Long id) {
-        menuItemRepository.deleteById(id);
+        menuItemRepository.findById(id).ifPresent(menuItem -> {
+            menuItemRepository.delete(menuItem);
+            menuCatalogCache.refreshAfterCommit(menuItem.getStoreId());
+        });
     }
 
     /**
@@ -99,8 +160,10 @@ public class MenuService {
         return menuItemRepository.findById(id)
                 .map(menuItem -> {
                     menuItem.setIsAvailable(!menuItem.getIsAvailable());
-                    return menuItemRepository.save(menuItem);
+                    MenuItem savedMenuItem = menuItemRepository.save(menuItem);
+                    menuCatalogCache.refreshAfterCommit(savedMenuItem.getStoreId());
+                    return savedMenuItem;
                 })
                 .orElseThrow(() -> new RuntimeException("Menu item not found with id " + id));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,71 @@
+package com.izakaya.ordersystem.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.izakaya.ordersystem.export.OrderExportFormat;
+import com.izakaya.ordersystem.export.OrderExportWriter;
+import com.izakaya.ordersystem.model.Order;
+import com.izakaya.ordersystem.model.OrderItem;
+import com.izakaya.ordersystem.repository.OrderRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * 注文履歴のエクスポート
+ * 期間内の注文を前方向カーソルで1行ずつ読み、書き出したエンティティは永続化コンテキストから切り離す。
+ * 期間の長さに関わらず、保持するのは書き出し中の注文1件とライターのバッファだけになる。
+ */
+@Service
+public class OrderExportService {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * 店舗の期間内（作成日時 startTime 以上 endTime 未満）の注文と注文アイテムの書き出し
+     * 戻り値は書き出した行数
+     */
+    @Transactional(readOnly = true)
+    public long export(Long storeId, LocalDateTime startTime, LocalDateTime endTime, OrderExportFormat format,
+            OutputStream outputStream) throws IOException {
+        OrderExportWriter writer = format.newWriter(outputStream);
+        long rows = 0;
+        Order currentOrder = null;
+
+        try (Stream<Object[]> stream = orderRepository.streamOrdersWithItems(storeId, startTime, endTime)) {
+            Iterator<Object[]> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                Object[] row = iterator.next();
+                Order order = (Order) row[0];
+                OrderItem item = (OrderItem) row[1];
+
+                writer.write(order, item);
+                rows++;
+
+                // 注文の切り替わりで前の注文を切り離す（テーブル・メニューは件数が限られるため残す）
+                if (item != null) {
+                    entityManager.detach(item);
+                }
+                if (currentOrder != null && currentOrder != order) {
+                    entityManager.detach(currentOrder);
+                }
+                currentOrder = order;
+            }
+        }
+
+        writer.finish();
+        return rows;
+    }
+}
@@ -0,0 +1,432 @@
+package com.izakaya.ordersystem.service;
+
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.SQLTransientException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.izakaya.ordersystem.dto.OrderItemRequest;
+import com.izakaya.ordersystem.dto.OrderRequestResult;
+import com.izakaya.ordersystem.model.Order;
+import com.izakaya.ordersystem.model.OrderItem;
+import com.izakaya.ordersystem.model.ProcessedRequest;
+import com.izakaya.ordersystem.repository.ProcessedRequestRepository;
+import com.izakaya.ordersystem.wal.OrderWalRecord;
+import com.izakaya.ordersystem.wal.OrderWriteAheadLog;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 注文リクエスト受付サービス（注文作成・アイテム追加）
+ * リクエストをWALに書き込んでから、DBへの反映を短時間だけ待つ。
+ * 時間内に反映できない場合（DBの遅延・切断）は受付済み（QUEUED）として応答し、バックグラウンドで反映する。
+ * 同じリクエストIDの処理は一度だけ行う。
+ */
+@Service
+public class OrderRequestService {
+
+    // バックグラウンド反映で1トランザクションにまとめるリクエスト数
+    private static final int DRAIN_BATCH_SIZE = 50;
+
+    // クライアント指定のリクエストIDに使える文字
+    private static final Pattern REQUEST_ID_PATTERN = Pattern.compile("[A-Za-z0-9._-]+");
+
+    @Autowired
+    private OrderWriteAheadLog orderWriteAheadLog;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProcessedRequestRepository processedRequestRepository;
+
+    @Value("${order.wal.inline-timeout-ms:500}")
+    private long inlineTimeoutMs;
+
+    // DBに接続できているのに一時的な障害で反映できない場合の試行回数の上限（超えたら失敗として記録する）
+    @Value("${order.wal.max-apply-attempts:5}")
+    private int maxApplyAttempts;
+
+    private final TransactionTemplate transactionTemplate;
+
+    // 受付時の反映処理用スレッド（DB停止中に詰まってもリクエストスレッドは待たせない）
+    private final ThreadPoolExecutor inlineExecutor = new ThreadPoolExecutor(4, 4, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(100), runnable -> {
+                Thread thread = new Thread(runnable, "order-request-apply");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    // 受付時の反映処理中のリクエストID（バックグラウンド反映では扱わない）
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    // バックグラウンド反映で失敗したリクエストIDごとの試行回数
+    private final Map<String, Integer> applyAttempts = new ConcurrentHashMap<>();
+
+    public OrderRequestService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        inlineExecutor.shutdown();
+    }
+
+    /**
+     * 注文作成リクエスト
+     */
+    public OrderRequestResult createOrder(String requestId, Long tableId, String customerNotes) {
+        if (tableId == null) {
+            throw new IllegalArgumentException("Table id is required");
+        }
+        checkLength("customerNotes", customerNotes, Order.CUSTOMER_NOTES_MAX_LENGTH);
+        return submit(OrderWalRecord.createOrder(resolveRequestId(requestId), tableId, customerNotes));
+    }
+
+    /**
+     * アイテム追加リクエスト（orderId か、未反映の注文作成リクエストの orderRequestId を指定）
+     */
+    public OrderRequestResult addItemToOrder(String requestId, Long orderId, String orderRequestId,
+            Long menuItemId, Integer quantity, String specialInstructions) {
+        checkItem(orderId, orderRequestId, menuItemId, quantity, specialInstructions);
+        return submit(OrderWalRecord.addItem(resolveRequestId(requestId), orderId, orderRequestId,
+                menuItemId, quantity, specialInstructions));
+    }
+
+    /**
+     * アイテム一括追加リクエスト（orderId か、未反映の注文作成リクエストの orderRequestId を指定）
+     */
+    public OrderRequestResult addItemsToOrder(String requestId, Long orderId, String orderRequestId,
+            List<OrderItemRequest> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("No items to add");
+        }
+        for (OrderItemRequest item : items) {
+            checkItem(orderId, orderRequestId, item.getMenuItemId(), item.getQuantity(),
+                    item.getSpecialInstructions());
+        }
+        return submit(OrderWalRecord.addItems(resolveRequestId(requestId), orderId, orderRequestId, items));
+    }
+
+    /**
+     * リクエストの処理結果取得
+     */
+    public OrderRequestResult getRequestResult(String requestId) {
+        if (orderWriteAheadLog.isEnabled() && orderWriteAheadLog.isPending(requestId)) {
+            return OrderRequestResult.queued(requestId);
+        }
+        return processedRequestRepository.findById(requestId)
+                .map(processed -> toResult(processed, false))
+                .orElse(new OrderRequestResult(requestId, OrderRequestResult.RequestState.UNKNOWN, null, null, null));
+    }
+
+    /**
+     * 未反映リクエストのバックグラウンド反映
+     */
+    @Scheduled(fixedDelayString = "${order.wal.drain-interval-ms:1000}")
+    public void drain() {
+        if (!orderWriteAheadLog.isEnabled()) {
+            return;
+        }
+
+        // 受付時の反映処理中のリクエストより後ろは順序を保つため次回に回す
+        List<OrderWalRecord> batch = new ArrayList<>();
+        for (OrderWalRecord record : orderWriteAheadLog.getPendingRecords(DRAIN_BATCH_SIZE)) {
+            if (inFlight.contains(record.getRequestId())) {
+                break;
+            }
+            batch.add(record);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> batch.forEach(this::apply));
+            batch.forEach(record -> orderWriteAheadLog.markDone(record.getRequestId()));
+        } catch (RuntimeException e) {
+            // 失敗したリクエストを切り分けるため1件ずつ反映（DBに繋がらない場合は次回に再試行）
+            for (OrderWalRecord record : batch) {
+                try {
+                    applyAndMarkDone(record);
+                    applyAttempts.remove(record.getRequestId());
+                } catch (RuntimeException recordError) {
+                    if (!isTransient(recordError)) {
+                        applyAttempts.remove(record.getRequestId());
+                        continue;
+                    }
+                    // DBに繋がらない間は回数を数えずに待つ。繋がるのに反映できない1件でWAL全体を止めない
+                    if (isConnectionFailure(recordError)
+                            || applyAttempts.merge(record.getRequestId(), 1, Integer::sum) < maxApplyAttempts) {
+                        return;
+                    }
+                    applyAttempts.remove(record.getRequestId());
+                    recordFailure(record, recordError);
+                    markDone(record);
+                }
+            }
+        }
+    }
+
+    /**
+     * WALに書き込む前の入力チェック（DBの制約違反で反映できないリクエストを受け付けない）
+     */
+    private static void checkItem(Long orderId, String orderRequestId, Long menuItemId, Integer quantity,
+            String specialInstructions) {
+        if (orderId == null && (orderRequestId == null || orderRequestId.isBlank())) {
+            throw new IllegalArgumentException("Order id or order request id is required");
+        }
+        if (orderId == null) {
+            checkRequestId(orderRequestId);
+        }
+        if (menuItemId == null || quantity == null || quantity < 1) {
+            throw new IllegalArgumentException("Invalid order item request");
+        }
+        checkLength("specialInstructions", specialInstructions, OrderItem.SPECIAL_INSTRUCTIONS_MAX_LENGTH);
+    }
+
+    private static void checkLength(String field, String value, int maxLength) {
+        if (value != null && value.length() > maxLength) {
+            throw new IllegalArgumentException(field + " must be at most " + maxLength + " characters");
+        }
+    }
+
+    private OrderRequestResult submit(OrderWalRecord record) {
+        String requestId = record.getRequestId();
+        if (!orderWriteAheadLog.isEnabled()) {
+            return applyAndMarkDone(record);
+        }
+
+        // 再送されたリクエストは前回の結果を返す
+        if (orderWriteAheadLog.isPending(requestId)) {
+            return OrderRequestResult.queued(requestId);
+        }
+        Optional<ProcessedRequest> processed = findProcessed(requestId);
+        if (processed.isPresent()) {
+            return toResult(processed.get(), true);
+        }
+
+        // 未反映のリクエストがある間は順序を保つため後ろに並べる
+        // 書き込みより先に処理中として登録し、バックグラウンド反映と二重に反映しないようにする
+        boolean backlog = orderWriteAheadLog.hasPending();
+        if (!backlog) {
+            inFlight.add(requestId);
+        }
+        try {
+            orderWriteAheadLog.append(record);
+        } catch (RuntimeException e) {
+            inFlight.remove(requestId);
+            throw e;
+        }
+        if (backlog) {
+            return OrderRequestResult.queued(requestId);
+        }
+
+        Future<OrderRequestResult> future;
+        try {
+            future = inlineExecutor.submit(() -> {
+                try {
+                    return applyAndMarkDone(record);
+                } finally {
+                    inFlight.remove(requestId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(requestId);
+            return OrderRequestResult.queued(requestId);
+        }
+
+        try {
+            return future.get(inlineTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return OrderRequestResult.queued(requestId);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return OrderRequestResult.queued(requestId);
+        } catch (ExecutionException e) {
+            if (isTransient(e.getCause())) {
+                return OrderRequestResult.queued(requestId);
+            }
+            throw e.getCause() instanceof RuntimeException runtimeException
+                    ? runtimeException
+                    : new RuntimeException(e.getCause());
+        }
+    }
+
+    /**
+     * 1件反映してWALに反映済みを記録（入力不備などで反映できないリクエストは失敗として記録）
+     */
+    private OrderRequestResult applyAndMarkDone(OrderWalRecord record) {
+        try {
+            OrderRequestResult result = transactionTemplate.execute(status -> apply(record));
+            markDone(record);
+            return result;
+        } catch (RuntimeException e) {
+            if (!isTransient(e)) {
+                // 同じリクエストが別の経路で反映済みなら、その結果を返す（失敗で上書きしない）
+                Optional<ProcessedRequest> processed = findProcessed(record.getRequestId());
+                if (processed.isPresent()) {
+                    markDone(record);
+                    return toResult(processed.get(), true);
+                }
+                recordFailure(record, e);
+                markDone(record);
+            }
+            throw e;
+        }
+    }
+
+    private OrderRequestResult apply(OrderWalRecord record) {
+        Optional<ProcessedRequest> processed = processedRequestRepository.findById(record.getRequestId());
+        if (processed.isPresent()) {
+            return toResult(processed.get(), true);
+        }
+
+        Order order = switch (record.getType()) {
+            case CREATE_ORDER -> orderService.createOrder(record.getTableId(), record.getCustomerNotes());
+            case ADD_ITEM -> orderService.addItemToOrder(resolveOrderId(record), record.getMenuItemId(),
+                    record.getQuantity(), record.getSpecialInstructions());
+            case ADD_ITEMS -> orderService.addItemsToOrder(resolveOrderId(record), record.getItems());
+            case DONE -> throw new IllegalArgumentException("DONE record cannot be applied");
+        };
+
+        processedRequestRepository.save(new ProcessedRequest(
+                record.getRequestId(), ProcessedRequest.RequestStatus.APPLIED, order.getId(), null));
+        return OrderRequestResult.applied(record.getRequestId(), order);
+    }
+
+    private Long resolveOrderId(OrderWalRecord record) {
+        if (record.getOrderId() != null) {
+            return record.getOrderId();
+        }
+        String orderRequestId = record.getOrderRequestId();
+        Optional<ProcessedRequest> createRequest = orderRequestId != null
+                ? processedRequestRepository.findById(orderRequestId)
+                : Optional.empty();
+        if (createRequest.isPresent()
+                && createRequest.get().getStatus() == ProcessedRequest.RequestStatus.APPLIED) {
+            return createRequest.get().getOrderId();
+        }
+        if (orderRequestId != null && orderWriteAheadLog.isEnabled() && orderWriteAheadLog.isPending(orderRequestId)) {
+            // 注文作成がまだ反映されていないため後で再試行する
+            throw new TransientDataAccessResourceException("Order request not applied yet: " + orderRequestId);
+        }
+        throw new RuntimeException("Order not found for request " + orderRequestId);
+    }
+
+    private void recordFailure(OrderWalRecord record, RuntimeException error) {
+        String message = error.getMessage() != null && error.getMessage().length() > 500
+                ? error.getMessage().substring(0, 500)
+                : error.getMessage();
+        try {
+            transactionTemplate.executeWithoutResult(status -> processedRequestRepository.save(new ProcessedRequest(
+                    record.getRequestId(), ProcessedRequest.RequestStatus.FAILED, record.getOrderId(), message)));
+        } catch (RuntimeException e) {
+            // 失敗の記録ができなくても、リクエスト自体は応答で失敗を返している
+        }
+    }
+
+    private void markDone(OrderWalRecord record) {
+        if (orderWriteAheadLog.isEnabled()) {
+            orderWriteAheadLog.markDone(record.getRequestId());
+        }
+    }
+
+    private Optional<ProcessedRequest> findProcessed(String requestId) {
+        try {
+            return processedRequestRepository.findById(requestId);
+        } catch (RuntimeException e) {
+            if (isTransient(e)) {
+                return Optional.empty();
+            }
+            throw e;
+        }
+    }
+
+    private OrderRequestResult toResult(ProcessedRequest processed, boolean loadOrder) {
+        if (processed.getStatus() == ProcessedRequest.RequestStatus.FAILED) {
+            return new OrderRequestResult(processed.getRequestId(), OrderRequestResult.RequestState.FAILED,
+                    processed.getOrderId(), processed.getMessage(), null);
+        }
+        Order order = loadOrder ? orderService.getOrderById(processed.getOrderId()).orElse(null) : null;
+        return new OrderRequestResult(processed.getRequestId(), OrderRequestResult.RequestState.APPLIED,
+                processed.getOrderId(), null, order);
+    }
+
+    /**
+     * クライアント指定のリクエストID（未指定なら採番）。WALに書き込む前に形式を確認する
+     */
+    private static String resolveRequestId(String requestId) {
+        if (requestId == null || requestId.isBlank()) {
+            return UUID.randomUUID().toString();
+        }
+        checkRequestId(requestId);
+        return requestId;
+    }
+
+    private static void checkRequestId(String requestId) {
+        if (requestId.length() > ProcessedRequest.REQUEST_ID_MAX_LENGTH
+                || !REQUEST_ID_PATTERN.matcher(requestId).matches()) {
+            throw new IllegalArgumentException("Request id must be at most "
+                    + ProcessedRequest.REQUEST_ID_MAX_LENGTH + " characters of [A-Za-z0-9._-]");
+        }
+    }
+
+    /**
+     * DBに接続できない障害か（接続が戻るまで再試行する）
+     */
+    private static boolean isConnectionFailure(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DataAccessResourceFailureException
+                    || cause instanceof CannotCreateTransactionException
+                    || cause instanceof SQLTransientConnectionException
+                    || cause instanceof SQLRecoverableException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * DBの一時的な障害か（再試行で解消する見込みがあるか）
+     */
+    private static boolean isTransient(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TransientDataAccessException
+                    || cause instanceof RecoverableDataAccessException
+                    || cause instanceof DataAccessResourceFailureException
+                    || cause instanceof CannotCreateTransactionException
+                    || cause instanceof SQLTransientException
+                    || cause instanceof SQLRecoverableException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
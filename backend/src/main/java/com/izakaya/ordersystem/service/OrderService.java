@@ -1,25 +1,56 @@
 package com.izakaya.ordersystem.service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import org.hibernate.Hibernate;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.izakaya.ordersystem.cache.MenuCatalog;
+import com.izakaya.ordersystem.cache.MenuCatalogCache;
+import com.izakaya.ordersystem.dto.AdminOrderRow;
+import com.izakaya.ordersystem.dto.KitchenTicketRow;
+import com.izakaya.ordersystem.dto.KitchenTicketView;
+import com.izakaya.ordersystem.dto.OrderItemRequest;
+import com.izakaya.ordersystem.event.OrderEvent;
+import com.izakaya.ordersystem.event.OrderEventPublisher;
+import com.izakaya.ordersystem.journal.OrderProjector;
+import com.izakaya.ordersystem.journal.OrderState;
+import com.izakaya.ordersystem.metrics.OrderLifecycleMetrics;
 import com.izakaya.ordersystem.model.MenuItem;
 import com.izakaya.ordersystem.model.Order;
 import com.izakaya.ordersystem.model.OrderItem;
+import com.izakaya.ordersystem.model.OrderJournalEntry;
 import com.izakaya.ordersystem.model.RestaurantTable;
 import com.izakaya.ordersystem.repository.MenuItemRepository;
+import com.izakaya.ordersystem.repository.OrderItemBatchRepository;
+import com.izakaya.ordersystem.repository.OrderItemRepository;
+import com.izakaya.ordersystem.repository.OrderJournalRepository;
 import com.izakaya.ordersystem.repository.OrderRepository;
 import com.izakaya.ordersystem.repository.RestaurantTableRepository;
 
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
 @Service
 @Transactional
 public class OrderService {
 
+    // アイテムステータス更新の競合時の最大試行回数
+    private static final int ITEM_STATUS_UPDATE_ATTEMPTS = 3;
+
+    // 注文の更新系メソッドの処理時間（メソッド名・例外でタグ付け）
+    private static final String MUTATION_TIMER = "izakaya.order.mutation";
+
     @Autowired
     private OrderRepository orderRepository;
 
@@ -29,32 +60,79 @@ public class OrderService {
     @Autowired
     private RestaurantTableRepository tableRepository;
 
+    @Autowired
+    private OrderEventPublisher orderEventPublisher;
+
+    @Autowired
+    private MenuCatalogCache menuCatalogCache;
+
+    @Autowired
+    private OrderItemBatchRepository orderItemBatchRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private OrderJournalRepository orderJournalRepository;
+
+    @Autowired
+    private OrderProjector orderProjector;
+
+    @Autowired
+    private SalesAnalyticsService salesAnalyticsService;
+
+    @Autowired
+    private OrderLifecycleMetrics orderLifecycleMetrics;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * 店舗の全注文取得
+     */
+    public List<Order> getAllOrders(Long storeId) {
+        return orderRepository.findByStoreIdOrderByIdAsc(storeId);
+    }
+
     /**
-     * 全注文取得
+     * 店舗のアクティブな注文取得
      */
-    public List<Order> getAllOrders() {
-        return orderRepository.findAll();
+    public List<Order> getActiveOrders(Long storeId) {
+        return orderRepository.findActiveOrdersByStoreId(storeId);
     }
 
     /**
-     * アクティブな注文取得
+     * 店舗の厨房向け注文取得
      */
-    public List<Order> getActiveOrders() {
-        return orderRepository.findActiveOrders();
+    public List<Order> getOrdersForKitchen(Long storeId) {
+        return orderRepository.findOrdersForKitchen(storeId);
     }
 
     /**
-     * 厨房向け注文取得
+     * 店舗のアクティブな注文一覧行取得（管理画面向け）
      */
-    public List<Order> getOrdersForKitchen() {
-        return orderRepository.findOrdersForKitchen();
+    @Transactional(readOnly = true)
+    public List<AdminOrderRow> getActiveOrderRows(Long storeId) {
+        return orderRepository.findActiveOrderRows(storeId);
+    }
+
+    /**
+     * 店舗の厨房チケット取得
+     */
+    @Transactional(readOnly = true)
+    public List<KitchenTicketView> getKitchenTickets(Long storeId) {
+        Map<Long, KitchenTicketView> tickets = new LinkedHashMap<>();
+        for (KitchenTicketRow row : orderRepository.findKitchenTicketRows(storeId)) {
+            tickets.computeIfAbsent(row.getOrderId(), orderId -> new KitchenTicketView(row)).addLine(row);
+        }
+        return new ArrayList<>(tickets.values());
     }
 
     /**
      * 注文をIDで取得
      */
     public Optional<Order> getOrderById(Long id) {
-        return orderRepository.findById(id);
+        return orderRepository.findWithItemsById(id);
     }
 
     /**
@@ -69,6 +147,7 @@ public class OrderService {
     /**
      * 新規注文作成
      */
+    @Timed(MUTATION_TIMER)
     public Order createOrder(Long tableId, String customerNotes) {
         RestaurantTable table = tableRepository.findById(tableId)
                 .orElseThrow(() -> new RuntimeException("Table not found with id " + tableId));
@@ -76,36 +155,112 @@ public class OrderService {
         Order order = new Order(table);
         order.setCustomerNotes(customerNotes);
 
-        return orderRepository.save(order);
+        Order savedOrder = orderRepository.save(order);
+        orderEventPublisher.publish(OrderEvent.ofOrder(OrderEvent.EventType.ORDER_CREATED, savedOrder));
+        return savedOrder;
     }
 
     /**
      * 注文にアイテム追加
      */
+    @Timed(MUTATION_TIMER)
     public Order addItemToOrder(Long orderId, Long menuItemId, Integer quantity, String specialInstructions) {
-        Order order = orderRepository.findById(orderId)
+        Order order = orderRepository.findWithItemsById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found with id " + orderId));
+        checkAcceptsItems(order);
 
-        MenuItem menuItem = menuItemRepository.findById(menuItemId)
+        // 存在・提供可否の確認は注文の店舗のメニューカタログキャッシュで行い、DBへの問い合わせを避ける
+        MenuItem cachedMenuItem = menuCatalogCache.get(order.getStoreId()).findById(menuItemId)
                 .orElseThrow(() -> new RuntimeException("Menu item not found with id " + menuItemId));
 
-        if (!menuItem.getIsAvailable()) {
-            throw new RuntimeException("Menu item is not available: " + menuItem.getName());
+        if (!cachedMenuItem.getIsAvailable()) {
+            throw new RuntimeException("Menu item is not available: " + cachedMenuItem.getName());
         }
 
-        OrderItem orderItem = new OrderItem(order, menuItem, quantity, specialInstructions);
+        // 単価はキャッシュ上のメニュー価格をスナップショットし、メニュー行の読み込みを避ける
+        MenuItem menuItem = menuItemRepository.getReferenceById(menuItemId);
+        OrderItem orderItem = new OrderItem(order, menuItem, quantity, specialInstructions,
+                cachedMenuItem.getPriceYen());
         order.addOrderItem(orderItem);
 
-        return orderRepository.save(order);
+        Order savedOrder = orderRepository.save(order);
+        // 保存後のコレクション末尾が今回追加したアイテム（ID採番済み）
+        List<OrderItem> savedItems = savedOrder.getOrderItems();
+        orderEventPublisher.publish(OrderEvent.ofItem(OrderEvent.EventType.ITEM_ADDED, savedOrder,
+                savedItems.get(savedItems.size() - 1)));
+        return savedOrder;
+    }
+
+    /**
+     * 注文にアイテムを一括追加（カート全体の送信）
+     * メニューの存在・提供可否はカタログキャッシュでまとめて確認し、アイテムはJDBCバッチで一括INSERTする
+     */
+    @Timed(MUTATION_TIMER)
+    public Order addItemsToOrder(Long orderId, List<OrderItemRequest> itemRequests) {
+        if (itemRequests == null || itemRequests.isEmpty()) {
+            throw new RuntimeException("No items to add to order " + orderId);
+        }
+
+        Order order = orderRepository.findWithItemsById(orderId)
+                .orElseThrow(() -> new RuntimeException("Order not found with id " + orderId));
+        checkAcceptsItems(order);
+
+        MenuCatalog catalog = menuCatalogCache.get(order.getStoreId());
+        List<OrderItem> newItems = new ArrayList<>(itemRequests.size());
+        for (OrderItemRequest itemRequest : itemRequests) {
+            Long menuItemId = itemRequest.getMenuItemId();
+            Integer quantity = itemRequest.getQuantity();
+            if (menuItemId == null || quantity == null || quantity < 1) {
+                throw new RuntimeException("Invalid order item request for order " + orderId);
+            }
+
+            MenuItem menuItem = catalog.findById(menuItemId)
+                    .orElseThrow(() -> new RuntimeException("Menu item not found with id " + menuItemId));
+            if (!menuItem.getIsAvailable()) {
+                throw new RuntimeException("Menu item is not available: " + menuItem.getName());
+            }
+
+            newItems.add(new OrderItem(order, menuItem, quantity, itemRequest.getSpecialInstructions(),
+                    menuItem.getPriceYen()));
+        }
+
+        orderItemBatchRepository.insertAll(newItems);
+        order.addInsertedItemsToTotal(newItems);
+        orderRepository.flush();
+
+        // JDBCで登録したアイテムを含めて注文ツリーを読み直す
+        entityManager.detach(order);
+        Order updatedOrder = orderRepository.findWithItemsById(orderId)
+                .orElseThrow(() -> new RuntimeException("Order not found with id " + orderId));
+
+        for (OrderItem newItem : newItems) {
+            orderEventPublisher.publish(OrderEvent.ofItem(OrderEvent.EventType.ITEM_ADDED, updatedOrder, newItem));
+        }
+        return updatedOrder;
+    }
+
+    /**
+     * アイテムを追加できる注文か（会計済み・キャンセル済みなどは IllegalStateException）
+     * 会計後に合計が変わると、売上集計や描画済みの領収書と食い違うため
+     */
+    private static void checkAcceptsItems(Order order) {
+        if (!order.getStatus().acceptsItems()) {
+            throw new IllegalStateException(
+                    "Cannot add items to order " + order.getId() + " in status " + order.getStatus());
+        }
     }
 
     /**
      * 注文ステータス更新
      */
+    @Timed(MUTATION_TIMER)
     public Order updateOrderStatus(Long orderId, Order.OrderStatus newStatus) {
-        return orderRepository.findById(orderId)
+        return orderRepository.findWithItemsById(orderId)
                 .map(order -> {
-                    order.setStatus(newStatus);
+                    // 許可されていない遷移は IllegalStateException、同じステータスへの更新は何もしない
+                    if (!order.transitionTo(newStatus)) {
+                        return order;
+                    }
 
                     // テーブルステータスも更新
                     if (newStatus == Order.OrderStatus.COMPLETED) {
@@ -114,31 +269,85 @@ public class OrderService {
                         order.getTable().setStatus(RestaurantTable.TableStatus.OCCUPIED);
                     }
 
-                    return orderRepository.save(order);
+                    // 同時更新はバージョン不一致として OptimisticLockingFailureException になる
+                    Order savedOrder = orderRepository.saveAndFlush(order);
+                    if (newStatus == Order.OrderStatus.COMPLETED) {
+                        salesAnalyticsService.recordCompletedOrder(savedOrder);
+                    }
+                    orderLifecycleMetrics.orderStatusChanged(savedOrder);
+                    OrderEvent.EventType eventType = newStatus == Order.OrderStatus.CANCELLED
+                            ? OrderEvent.EventType.ORDER_CANCELLED
+                            : OrderEvent.EventType.ORDER_STATUS_CHANGED;
+                    orderEventPublisher.publish(OrderEvent.ofOrder(eventType, savedOrder));
+                    return savedOrder;
                 })
                 .orElseThrow(() -> new RuntimeException("Order not found with id " + orderId));
     }
 
     /**
      * 注文アイテムのステータス更新
+     * 注文全体は書き戻さず、対象アイテム1行だけをバージョン条件付きUPDATEで更新する。
+     * 他の端末と競合した場合は最新の状態を読み直して再試行する。
      */
+    @Timed(MUTATION_TIMER)
     public Order updateOrderItemStatus(Long orderId, Long orderItemId, OrderItem.ItemStatus newStatus) {
-        return orderRepository.findById(orderId)
-                .map(order -> {
-                    OrderItem orderItem = order.getOrderItems().stream()
-                            .filter(item -> item.getId().equals(orderItemId))
-                            .findFirst()
-                            .orElseThrow(() -> new RuntimeException("Order item not found with id " + orderItemId));
+        boolean changed = false;
+        for (int attempt = 1; !changed; attempt++) {
+            OrderItemRepository.StatusVersion current = orderItemRepository
+                    .findStatusVersion(orderItemId, orderId)
+                    .orElseThrow(() -> new RuntimeException("Order item not found with id " + orderItemId));
+
+            if (current.getStatus() == newStatus) {
+                break;
+            }
+            if (!current.getStatus().canTransitionTo(newStatus)) {
+                throw new IllegalStateException(
+                        "Invalid item status transition: " + current.getStatus() + " -> " + newStatus);
+            }
+
+            changed = orderItemRepository.updateStatusIfVersion(
+                    orderItemId, current.getVersion(), newStatus, LocalDateTime.now()) == 1;
+            if (!changed && attempt >= ITEM_STATUS_UPDATE_ATTEMPTS) {
+                throw new OptimisticLockingFailureException(
+                        "Order item " + orderItemId + " was updated concurrently");
+            }
+        }
+        if (changed) {
+            refreshLoadedOrderItem(orderItemId);
+        }
 
-                    orderItem.setStatus(newStatus);
-                    return orderRepository.save(order);
-                })
+        Order order = orderRepository.findWithItemsById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found with id " + orderId));
+        if (changed) {
+            order.getOrderItems().stream()
+                    .filter(item -> item.getId().equals(orderItemId))
+                    .findFirst()
+                    .ifPresent(orderItem -> {
+                        orderLifecycleMetrics.itemStatusChanged(orderItem);
+                        orderEventPublisher.publish(
+                                OrderEvent.ofItem(OrderEvent.EventType.ITEM_STATUS_CHANGED, order, orderItem));
+                    });
+        }
+        return order;
+    }
+
+    /**
+     * 永続化コンテキストに読み込み済みの注文アイテムだけを読み直す（他のエンティティは切り離さない）
+     * 未読み込みならプロキシを切り離し、後続の読み込みで更新後の行を取得させる
+     */
+    private void refreshLoadedOrderItem(Long orderItemId) {
+        OrderItem loaded = entityManager.getReference(OrderItem.class, orderItemId);
+        if (Hibernate.isInitialized(loaded)) {
+            entityManager.refresh(loaded);
+        } else {
+            entityManager.detach(loaded);
+        }
     }
 
     /**
      * 注文確定（ステータスをPENDING → CONFIRMED）
      */
+    @Timed(MUTATION_TIMER)
     public Order confirmOrder(Long orderId) {
         return updateOrderStatus(orderId, Order.OrderStatus.CONFIRMED);
     }
@@ -146,6 +355,7 @@ public class OrderService {
     /**
      * 調理開始（ステータスをCONFIRMED → IN_PREPARATION）
      */
+    @Timed(MUTATION_TIMER)
     public Order startPreparation(Long orderId) {
         return updateOrderStatus(orderId, Order.OrderStatus.IN_PREPARATION);
     }
@@ -153,6 +363,7 @@ public class OrderService {
     /**
      * 配膳準備完了（ステータスをIN_PREPARATION → READY）
      */
+    @Timed(MUTATION_TIMER)
     public Order markAsReady(Long orderId) {
         return updateOrderStatus(orderId, Order.OrderStatus.READY);
     }
@@ -160,6 +371,7 @@ public class OrderService {
     /**
      * 配膳完了（ステータスをREADY → SERVED）
      */
+    @Timed(MUTATION_TIMER)
     public Order markAsServed(Long orderId) {
         return updateOrderStatus(orderId, Order.OrderStatus.SERVED);
     }
@@ -167,6 +379,7 @@ public class OrderService {
     /**
      * 会計完了（ステータスをSERVED → COMPLETED）
      */
+    @Timed(MUTATION_TIMER)
     public Order completeOrder(Long orderId) {
         return updateOrderStatus(orderId, Order.OrderStatus.COMPLETED);
     }
@@ -174,21 +387,53 @@ public class OrderService {
     /**
      * 注文キャンセル
      */
+    @Timed(MUTATION_TIMER)
     public Order cancelOrder(Long orderId) {
         return updateOrderStatus(orderId, Order.OrderStatus.CANCELLED);
     }
 
     /**
-     * 今日の注文取得
+     * 店舗の今日の注文取得
+     */
+    public List<Order> getTodaysOrders(Long storeId) {
+        return orderRepository.findTodaysOrders(storeId);
+    }
+
+    /**
+     * 店舗の指定期間の注文取得
+     */
+    public List<Order> getOrdersByDateRange(Long storeId, LocalDateTime startDate, LocalDateTime endDate) {
+        return orderRepository.findOrdersByDateRange(storeId, startDate, endDate);
+    }
+
+    /**
+     * 注文の変更履歴取得（注文ジャーナル）
+     */
+    @Transactional(readOnly = true)
+    public List<OrderJournalEntry> getOrderJournal(Long orderId) {
+        return orderJournalRepository.findByOrderIdAndIdGreaterThanOrderByIdAsc(orderId, 0L);
+    }
+
+    /**
+     * 注文ジャーナルから復元した注文の状態取得
+     */
+    public Optional<OrderState> projectOrder(Long orderId) {
+        return orderProjector.project(orderId);
+    }
+
+    /**
+     * 注文ジャーナルから注文を再構築
      */
-    public List<Order> getTodaysOrders() {
-        return orderRepository.findTodaysOrders();
+    @Timed(MUTATION_TIMER)
+    public Optional<OrderState> rebuildOrderFromJournal(Long orderId) {
+        return orderProjector.rebuild(orderId);
     }
 
     /**
-     * 指定期間の注文取得
+     * 注文ジャーナルから全注文を再構築
      */
-    public List<Order> getOrdersByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
-        return orderRepository.findOrdersByDateRange(startDate, endDate);
+    @Timed(MUTATION_TIMER)
+    public int rebuildAllOrdersFromJournal() {
+        return orderProjector.rebuildAll();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,286 @@
+package com.izakaya.ordersystem.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 領収書の出力バッファ
+ * 文字列を中間生成せずにUTF-8で直接書き出し、全角文字を2桁として桁揃えする
+ */
+final class ReceiptOutput {
+
+    private static final int BUFFER_SIZE = 4096;
+
+    private static final char YEN_SIGN = '￥';
+
+    private final OutputStream outputStream;
+
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+
+    private int position;
+
+    ReceiptOutput(OutputStream outputStream) {
+        this.outputStream = outputStream;
+    }
+
+    /**
+     * エンコード済みのバイト列を書き出し
+     */
+    void write(byte[] bytes) throws IOException {
+        if (bytes.length > buffer.length - position) {
+            flushBuffer();
+            if (bytes.length > buffer.length) {
+                outputStream.write(bytes);
+                return;
+            }
+        }
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    /**
+     * 文字列をUTF-8で書き出し
+     */
+    void write(String text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isHighSurrogate(c) && i + 1 < text.length()) {
+                writeCodePoint(Character.toCodePoint(c, text.charAt(++i)));
+            } else {
+                writeCodePoint(c);
+            }
+        }
+    }
+
+    /**
+     * 文字列をHTMLエスケープしてUTF-8で書き出し
+     */
+    void writeHtml(String text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '&' -> writeAscii("&amp;");
+                case '<' -> writeAscii("&lt;");
+                case '>' -> writeAscii("&gt;");
+                case '"' -> writeAscii("&quot;");
+                case '\'' -> writeAscii("&#39;");
+                default -> {
+                    if (Character.isHighSurrogate(c) && i + 1 < text.length()) {
+                        writeCodePoint(Character.toCodePoint(c, text.charAt(++i)));
+                    } else {
+                        writeCodePoint(c);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 表示幅 width の左寄せで書き出し（はみ出す場合は末尾を「...」に置き換え）
+     */
+    void writeLeft(String text, int width) throws IOException {
+        int textWidth = displayWidth(text);
+        if (textWidth <= width) {
+            write(text);
+            writeSpaces(width - textWidth);
+            return;
+        }
+
+        int limit = width - 3;
+        int used = 0;
+        for (int i = 0; i < text.length();) {
+            int codePoint = text.codePointAt(i);
+            int codePointWidth = displayWidth(codePoint);
+            if (used + codePointWidth > limit) {
+                break;
+            }
+            writeCodePoint(codePoint);
+            used += codePointWidth;
+            i += Character.charCount(codePoint);
+        }
+        writeAscii("...");
+        writeSpaces(limit - used);
+    }
+
+    /**
+     * 表示幅 width の右寄せで整数を書き出し
+     */
+    void writeRight(long value, int width) throws IOException {
+        writeSpaces(width - digitCount(value));
+        writeNumber(value);
+    }
+
+    /**
+     * 表示幅 width の右寄せで金額（￥1,234）を書き出し
+     */
+    void writeYenRight(long amountYen, int width) throws IOException {
+        writeSpaces(width - yenWidth(amountYen));
+        writeYen(amountYen);
+    }
+
+    /**
+     * 金額（￥1,234）を書き出し
+     */
+    void writeYen(long amountYen) throws IOException {
+        if (amountYen < 0) {
+            writeByte('-');
+            amountYen = -amountYen;
+        }
+        writeCodePoint(YEN_SIGN);
+
+        int digits = digitCount(amountYen);
+        long divisor = 1;
+        for (int i = 1; i < digits; i++) {
+            divisor *= 10;
+        }
+        for (int remaining = digits; remaining > 0; remaining--) {
+            writeByte((int) ('0' + (amountYen / divisor) % 10));
+            if (remaining > 1 && (remaining - 1) % 3 == 0) {
+                writeByte(',');
+            }
+            divisor /= 10;
+        }
+    }
+
+    /**
+     * 整数を書き出し
+     */
+    void writeNumber(long value) throws IOException {
+        if (value < 0) {
+            writeByte('-');
+            value = -value;
+        }
+        writeZeroPadded(value, digitCount(value));
+    }
+
+    /**
+     * 桁数 digits に満たない分を0埋めして整数を書き出し
+     */
+    void writeZeroPadded(long value, int digits) throws IOException {
+        int valueDigits = digitCount(value);
+        for (int i = valueDigits; i < digits; i++) {
+            writeByte('0');
+        }
+        long divisor = 1;
+        for (int i = 1; i < valueDigits; i++) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            writeByte((int) ('0' + (value / divisor) % 10));
+        }
+    }
+
+    void flush() throws IOException {
+        flushBuffer();
+        outputStream.flush();
+    }
+
+    /**
+     * 文字列の表示幅（全角2・半角1）
+     */
+    static int displayWidth(String text) {
+        int width = 0;
+        for (int i = 0; i < text.length();) {
+            int codePoint = text.codePointAt(i);
+            width += displayWidth(codePoint);
+            i += Character.charCount(codePoint);
+        }
+        return width;
+    }
+
+    /**
+     * 金額（￥1,234）の表示幅
+     */
+    static int yenWidth(long amountYen) {
+        int sign = amountYen < 0 ? 1 : 0;
+        int digits = digitCount(Math.abs(amountYen));
+        return sign + displayWidth(YEN_SIGN) + digits + (digits - 1) / 3;
+    }
+
+    /**
+     * 金額（￥1,234）の文字列表現
+     */
+    static String formatYen(long amountYen) {
+        StringBuilder text = new StringBuilder(16);
+        if (amountYen < 0) {
+            text.append('-');
+        }
+        String digits = Long.toString(Math.abs(amountYen));
+        text.append(YEN_SIGN);
+        for (int i = 0; i < digits.length(); i++) {
+            if (i > 0 && (digits.length() - i) % 3 == 0) {
+                text.append(',');
+            }
+            text.append(digits.charAt(i));
+        }
+        return text.toString();
+    }
+
+    private static int displayWidth(int codePoint) {
+        // 東アジアの全角（Wide/Fullwidth）文字は2桁、半角カナを含むそれ以外は1桁
+        if ((codePoint >= 0x1100 && codePoint <= 0x115F)
+                || (codePoint >= 0x2E80 && codePoint <= 0xA4CF && codePoint != 0x303F)
+                || (codePoint >= 0xAC00 && codePoint <= 0xD7A3)
+                || (codePoint >= 0xF900 && codePoint <= 0xFAFF)
+                || (codePoint >= 0xFE30 && codePoint <= 0xFE4F)
+                || (codePoint >= 0xFF00 && codePoint <= 0xFF60)
+                || (codePoint >= 0xFFE0 && codePoint <= 0xFFE6)
+                || (codePoint >= 0x20000 && codePoint <= 0x3FFFD)) {
+            return 2;
+        }
+        return 1;
+    }
+
+    private static int digitCount(long value) {
+        int digits = 1;
+        while (value >= 10) {
+            value /= 10;
+            digits++;
+        }
+        return digits;
+    }
+
+    private void writeSpaces(int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            writeByte(' ');
+        }
+    }
+
+    private void writeAscii(String text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            writeByte(text.charAt(i));
+        }
+    }
+
+    private void writeCodePoint(int codePoint) throws IOException {
+        if (codePoint < 0x80) {
+            writeByte(codePoint);
+        } else if (codePoint < 0x800) {
+            writeByte(0xC0 | (codePoint >> 6));
+            writeByte(0x80 | (codePoint & 0x3F));
+        } else if (codePoint < 0x10000) {
+            writeByte(0xE0 | (codePoint >> 12));
+            writeByte(0x80 | ((codePoint >> 6) & 0x3F));
+            writeByte(0x80 | (codePoint & 0x3F));
+        } else {
+            writeByte(0xF0 | (codePoint >> 18));
+            writeByte(0x80 | ((codePoint >> 12) & 0x3F));
+            writeByte(0x80 | ((codePoint >> 6) & 0x3F));
+            writeByte(0x80 | (codePoint & 0x3F));
+        }
+    }
+
+    private void writeByte(int b) throws IOException {
+        if (position == buffer.length) {
+            flushBuffer();
+        }
+        buffer[position++] = (byte) b;
+    }
+
+    private void flushBuffer() throws IOException {
+        if (position > 0) {
+            outputStream.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+}
@@ -1,178 +1,537 @@
 package com.izakaya.ordersystem.service;
 
-import java.text.NumberFormat;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.Locale;
-
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.font.FontProgramFactory;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.Style;
+import com.itextpdf.layout.borders.Border;
+import com.itextpdf.layout.borders.SolidBorder;
+import com.itextpdf.layout.element.AreaBreak;
+import com.itextpdf.layout.element.Cell;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Table;
+import com.itextpdf.layout.properties.TextAlignment;
+import com.itextpdf.layout.properties.UnitValue;
+import com.izakaya.ordersystem.cache.ReceiptCache;
 import com.izakaya.ordersystem.model.Order;
 import com.izakaya.ordersystem.model.OrderItem;
+import com.izakaya.ordersystem.repository.OrderRepository;
+
+import jakarta.annotation.PostConstruct;
 
 @Service
 public class ReceiptService {
 
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy年MM月dd日 HH:mm");
-    private static final NumberFormat CURRENCY_FORMATTER = NumberFormat.getCurrencyInstance(Locale.JAPAN);
+    // 消費税率（%）、1円未満は銀行丸め（HALF_EVEN、従来の金額表示と同じ）
+    private static final long TAX_RATE_PERCENT = 10;
+
+    // テキスト領収書の桁数（全角文字は2桁で数える）
+    private static final int LINE_WIDTH = 40;
+    private static final int NAME_WIDTH = 22;
+    private static final int QUANTITY_WIDTH = 4;
+    private static final int PRICE_WIDTH = LINE_WIDTH - NAME_WIDTH - QUANTITY_WIDTH - 2;
+
+    private static final String SUBTOTAL_LABEL = "小計: ";
+    private static final String TAX_LABEL = "消費税(" + TAX_RATE_PERCENT + "%): ";
+    private static final String TOTAL_LABEL = "合計: ";
+
+    private static final int SUBTOTAL_VALUE_WIDTH = LINE_WIDTH - ReceiptOutput.displayWidth(SUBTOTAL_LABEL);
+    private static final int TAX_VALUE_WIDTH = LINE_WIDTH - ReceiptOutput.displayWidth(TAX_LABEL);
+    private static final int TOTAL_VALUE_WIDTH = LINE_WIDTH - ReceiptOutput.displayWidth(TOTAL_LABEL);
+
+    private static final String RULE = "=".repeat(LINE_WIDTH) + "\n";
+    private static final String THIN_RULE = "-".repeat(LINE_WIDTH) + "\n";
+
+    private static final ReceiptTemplate<LocalDateTime> DATE_TEMPLATE = ReceiptTemplate.compile(
+            "{{year}}年{{month}}月{{day}}日 {{hour}}:{{minute}}", ReceiptService::writeDateField);
+
+    // テキスト領収書テンプレート
+    private static final ReceiptTemplate<OrderItem> TEXT_INSTRUCTIONS_TEMPLATE = ReceiptTemplate.compile(
+            "  ※{{specialInstructions}}\n", ReceiptService::writeTextItemField);
+
+    private static final ReceiptTemplate<OrderItem> TEXT_ITEM_TEMPLATE = ReceiptTemplate.compile(
+            "{{name}} {{quantity}} {{price}}\n{{instructions}}", ReceiptService::writeTextItemField);
+
+    private static final ReceiptTemplate<Receipt> TEXT_CUSTOMER_NOTES_TEMPLATE = ReceiptTemplate.compile(
+            "お客様メモ: {{notes}}\n" + THIN_RULE, ReceiptService::writeTextField);
+
+    private static final ReceiptTemplate<Receipt> TEXT_TEMPLATE = ReceiptTemplate.compile(
+            RULE
+                    + "           居酒屋「さくら亭」\n"
+                    + RULE
+                    + "領収書\n\n"
+                    + "注文番号: {{orderNumber}}\n"
+                    + "テーブル: {{tableNumber}}\n"
+                    + "日時: {{orderTime}}\n"
+                    + THIN_RULE
+                    + alignLeft("商品名", NAME_WIDTH) + " " + alignRight("数量", QUANTITY_WIDTH) + " "
+                    + alignRight("金額", PRICE_WIDTH) + "\n"
+                    + THIN_RULE
+                    + "{{items}}"
+                    + THIN_RULE
+                    + SUBTOTAL_LABEL + "{{subtotal}}\n"
+                    + TAX_LABEL + "{{tax}}\n"
+                    + TOTAL_LABEL + "{{total}}\n"
+                    + RULE
+                    + "{{customerNotes}}"
+                    + "ご利用ありがとうございました！\n"
+                    + "またのお越しをお待ちしております。\n\n"
+                    + "住所: 〒100-0001 東京都千代田区千代田1-1\n"
+                    + "電話: 03-1234-5678\n"
+                    + RULE,
+            ReceiptService::writeTextField);
+
+    // HTML領収書テンプレート
+    private static final ReceiptTemplate<OrderItem> HTML_INSTRUCTIONS_TEMPLATE = ReceiptTemplate.compile(
+            "<div style='font-size: 10px; color: #666; margin-left: 10px;'>※{{specialInstructions}}</div>\n",
+            ReceiptService::writeHtmlItemField);
+
+    private static final ReceiptTemplate<OrderItem> HTML_ITEM_TEMPLATE = ReceiptTemplate.compile(
+            "<div class='item'>\n"
+                    + "<span>{{name}} x{{quantity}}</span>\n"
+                    + "<span>{{price}}</span>\n"
+                    + "</div>\n"
+                    + "{{instructions}}",
+            ReceiptService::writeHtmlItemField);
+
+    private static final ReceiptTemplate<Receipt> HTML_TEMPLATE = ReceiptTemplate.compile(
+            "<!DOCTYPE html>\n"
+                    + "<html>\n<head>\n"
+                    + "<meta charset='UTF-8'>\n"
+                    + "<title>領収書</title>\n"
+                    + "<style>\n"
+                    + "body { font-family: 'MS Gothic', monospace; font-size: 12px; }\n"
+                    + ".receipt { width: 300px; margin: 0 auto; }\n"
+                    + ".header { text-align: center; border-bottom: 2px solid #000; padding: 10px 0; }\n"
+                    + ".title { font-size: 16px; font-weight: bold; }\n"
+                    + ".info { margin: 10px 0; }\n"
+                    + ".items { border-top: 1px solid #000; border-bottom: 1px solid #000; }\n"
+                    + ".item { display: flex; justify-content: space-between; padding: 2px 0; }\n"
+                    + ".total { text-align: right; margin: 10px 0; }\n"
+                    + ".footer { text-align: center; margin-top: 20px; font-size: 10px; }\n"
+                    + "@media print { body { -webkit-print-color-adjust: exact; } }\n"
+                    + "</style>\n"
+                    + "</head>\n<body>\n"
+                    + "<div class='receipt'>\n"
+                    + "<div class='header'>\n"
+                    + "<div class='title'>居酒屋「さくら亭」</div>\n"
+                    + "<div>領収書</div>\n"
+                    + "</div>\n"
+                    + "<div class='info'>\n"
+                    + "<div>注文番号: {{orderNumber}}</div>\n"
+                    + "<div>テーブル: {{tableNumber}}</div>\n"
+                    + "<div>日時: {{orderTime}}</div>\n"
+                    + "</div>\n"
+                    + "<div class='items'>\n"
+                    + "{{items}}"
+                    + "</div>\n"
+                    + "<div class='total'>\n"
+                    + "<div>" + SUBTOTAL_LABEL + "{{subtotal}}</div>\n"
+                    + "<div>" + TAX_LABEL + "{{tax}}</div>\n"
+                    + "<div style='font-weight: bold; border-top: 1px solid #000; padding-top: 5px;'>"
+                    + TOTAL_LABEL + "{{total}}</div>\n"
+                    + "</div>\n"
+                    + "<div class='footer'>\n"
+                    + "<div>ご利用ありがとうございました！</div>\n"
+                    + "<div>またのお越しをお待ちしております。</div>\n"
+                    + "<br>\n"
+                    + "<div>住所: 〒100-0001 東京都千代田区千代田1-1</div>\n"
+                    + "<div>電話: 03-1234-5678</div>\n"
+                    + "</div>\n"
+                    + "</div>\n"
+                    + "</body>\n</html>",
+            ReceiptService::writeHtmlField);
+
+    // PDFレイアウト（80mm幅のレシート用紙、長い場合は次ページに続く）
+    private static final PageSize RECEIPT_PAGE_SIZE = new PageSize(227, 567);
+    private static final DateTimeFormatter PDF_DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy年MM月dd日 HH:mm");
+    private static final String PDF_FONT_NAME = "HeiseiKakuGo-W5";
+    private static final String PDF_FONT_ENCODING = "UniJIS-UCS2-H";
+    private static final float[] ITEM_COLUMN_WIDTHS = { 6, 1, 3 };
+    private static final Style TITLE_STYLE = new Style()
+            .setFontSize(14).setBold().setTextAlignment(TextAlignment.CENTER);
+    private static final Style CENTER_STYLE = new Style()
+            .setFontSize(9).setTextAlignment(TextAlignment.CENTER);
+    private static final Style BODY_STYLE = new Style().setFontSize(9).setMargin(0);
+    private static final Style NOTE_STYLE = new Style().setFontSize(8).setMargin(0).setPaddingLeft(8);
+    private static final Style CELL_STYLE = new Style().setFontSize(9).setPadding(1).setBorder(Border.NO_BORDER);
+    private static final Style TOTAL_STYLE = new Style()
+            .setFontSize(9).setMargin(0).setTextAlignment(TextAlignment.RIGHT);
+
+    // 一括出力時に1回で読み込む注文数
+    private static final int BUNDLE_FETCH_SIZE = 50;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private RenderExecutor renderExecutor;
+
+    @Autowired
+    private ReceiptCache receiptCache;
+
+    // 日本語フォント（フォントプログラムは起動時に1回だけ読み込み、PDFごとに使い回す）
+    private FontProgram pdfFontProgram;
+
+    @PostConstruct
+    void loadPdfFont() throws IOException {
+        pdfFontProgram = FontProgramFactory.createFont(PDF_FONT_NAME);
+    }
+
+    /**
+     * 小計に対する消費税（1円未満は HALF_EVEN で丸める。例: 1,235円 → 124円、1,225円 → 122円）
+     */
+    static long taxYen(long subtotalYen) {
+        return BigDecimal.valueOf(subtotalYen * TAX_RATE_PERCENT)
+                .divide(BigDecimal.valueOf(100), 0, RoundingMode.HALF_EVEN)
+                .longValueExact();
+    }
+
+    /**
+     * 領収書の金額（小計・消費税・合計を1回だけ計算して保持）
+     */
+    private static final class Receipt {
+        private final Order order;
+        private final long subtotalYen;
+        private final long taxYen;
+
+        private Receipt(Order order) {
+            this.order = order;
+            this.subtotalYen = order.getTotalAmountYen() != null
+                    ? order.getTotalAmountYen()
+                    : order.recalculateTotalAmountYen();
+            this.taxYen = taxYen(subtotalYen);
+        }
+
+        private long getTotalYen() {
+            return subtotalYen + taxYen;
+        }
+    }
+
+    /**
+     * 会計完了した注文の領収書（描画済みキャッシュ、注文のバージョンが変わっていれば描画し直す）
+     * 会計完了前・存在しない注文は空（呼び出し側で都度描画する）。PDFは描画用の実行キューで生成する
+     */
+    public Optional<ReceiptCache.CachedReceipt> findCompletedReceipt(Long orderId, ReceiptCache.Format format) {
+        return orderRepository.findStatusVersionById(orderId)
+                .filter(statusVersion -> statusVersion.getStatus() == Order.OrderStatus.COMPLETED)
+                .map(statusVersion -> receiptCache.getOrRender(orderId, statusVersion.getVersion(), format,
+                        () -> renderReceipt(orderRepository.findWithItemsById(orderId)
+                                .orElseThrow(() -> new RuntimeException("Order not found with id " + orderId)),
+                                format)));
+    }
+
+    private byte[] renderReceipt(Order order, ReceiptCache.Format format) throws IOException {
+        if (format == ReceiptCache.Format.PDF) {
+            return renderReceiptPdf(order);
+        }
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(2048);
+        if (format == ReceiptCache.Format.HTML) {
+            writeReceiptHtml(order, outputStream);
+        } else {
+            writeReceiptText(order, outputStream);
+        }
+        return outputStream.toByteArray();
+    }
 
     /**
      * 領収書テキスト生成
      */
     public String generateReceiptText(Order order) {
-        StringBuilder receipt = new StringBuilder();
-
-        // ヘッダー
-        receipt.append("=".repeat(40)).append("\n");
-        receipt.append("           居酒屋「さくら亭」\n");
-        receipt.append("=".repeat(40)).append("\n");
-        receipt.append("領収書\n\n");
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(1024);
+        try {
+            writeReceiptText(order, outputStream);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
 
-        // 注文情報
-        receipt.append("注文番号: ").append(String.format("%06d", order.getId())).append("\n");
-        receipt.append("テーブル: ").append(order.getTable().getTableNumber()).append("\n");
-        receipt.append("日時: ").append(order.getOrderTime().format(DATE_FORMATTER)).append("\n");
-        receipt.append("-".repeat(40)).append("\n");
+    /**
+     * 領収書テキスト出力（UTF-8）
+     */
+    public void writeReceiptText(Order order, OutputStream outputStream) throws IOException {
+        ReceiptOutput output = new ReceiptOutput(outputStream);
+        TEXT_TEMPLATE.render(new Receipt(order), output);
+        output.flush();
+    }
 
-        // 注文アイテム
-        receipt.append("商品名                    数量    金額\n");
-        receipt.append("-".repeat(40)).append("\n");
+    /**
+     * 領収書PDFを出力ストリームへ直接書き出せるか
+     * 描画スレッド数を制限している場合は実行キューで生成したPDF（renderReceiptPdf）を書き出す
+     */
+    public boolean isReceiptPdfStreamed() {
+        return !renderExecutor.isBounded();
+    }
 
-        for (OrderItem item : order.getOrderItems()) {
-            String itemName = item.getMenuItem().getName();
-            if (itemName.length() > 20) {
-                itemName = itemName.substring(0, 17) + "...";
-            }
+    /**
+     * 領収書PDF生成（描画用の実行キューで生成、キューが一杯なら TaskRejectedException）
+     */
+    public byte[] renderReceiptPdf(Order order) {
+        return renderExecutor.render(() -> {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(8192);
+            writeReceiptPdf(order, outputStream);
+            return outputStream.toByteArray();
+        });
+    }
 
-            String quantity = String.valueOf(item.getQuantity());
-            String price = CURRENCY_FORMATTER.format(
-                    item.getMenuItem().getPrice().multiply(
-                            java.math.BigDecimal.valueOf(item.getQuantity())));
+    /**
+     * 領収書PDF出力（出力ストリームへ直接書き出し）
+     */
+    public void writeReceiptPdf(Order order, OutputStream outputStream) {
+        try (Document document = openPdfDocument(outputStream)) {
+            addReceiptPdfPage(document, order);
+        }
+    }
 
-            receipt.append(String.format("%-20s %4s %8s\n", itemName, quantity, price));
+    /**
+     * 店舗の期間内の会計済み注文の領収書をまとめてPDF出力（締め処理用）
+     * 注文は一定件数ずつ読み込んで書き出すため、件数が多くてもメモリに全件を保持しない
+     */
+    public void writeReceiptBundlePdf(Long storeId, LocalDateTime startTime, LocalDateTime endTime,
+            OutputStream outputStream) {
+        List<Long> orderIds = orderRepository.findCompletedOrderIds(storeId, startTime, endTime);
+
+        try (Document document = openPdfDocument(outputStream)) {
+            if (orderIds.isEmpty()) {
+                document.add(new Paragraph("対象期間の会計済み注文はありません").addStyle(CENTER_STYLE));
+                return;
+            }
 
-            // 特別指示がある場合
-            if (item.getSpecialInstructions() != null && !item.getSpecialInstructions().isEmpty()) {
-                receipt.append("  ※").append(item.getSpecialInstructions()).append("\n");
+            for (int from = 0; from < orderIds.size(); from += BUNDLE_FETCH_SIZE) {
+                List<Long> chunkIds = orderIds.subList(from, Math.min(from + BUNDLE_FETCH_SIZE, orderIds.size()));
+                Map<Long, Order> orders = orderRepository.findWithItemsByIdIn(chunkIds).stream()
+                        .collect(Collectors.toMap(Order::getId, Function.identity()));
+
+                for (Long orderId : chunkIds) {
+                    if (document.getPdfDocument().getNumberOfPages() > 0) {
+                        document.add(new AreaBreak());
+                    }
+                    addReceiptPdfPage(document, orders.get(orderId));
+                }
             }
         }
+    }
 
-        receipt.append("-".repeat(40)).append("\n");
+    private Document openPdfDocument(OutputStream outputStream) {
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(outputStream));
+        Document document = new Document(pdfDocument, RECEIPT_PAGE_SIZE);
+        document.setMargins(12, 12, 12, 12);
 
-        // 合計
-        receipt.append(String.format("小計: %26s\n", CURRENCY_FORMATTER.format(order.getTotalAmount())));
-        receipt.append(String.format("消費税(10%%): %20s\n",
-                CURRENCY_FORMATTER.format(order.getTotalAmount().multiply(java.math.BigDecimal.valueOf(0.1)))));
-        receipt.append(String.format("合計: %26s\n",
-                CURRENCY_FORMATTER.format(order.getTotalAmount().multiply(java.math.BigDecimal.valueOf(1.1)))));
+        PdfFont font = PdfFontFactory.createFont(pdfFontProgram, PDF_FONT_ENCODING);
+        document.setFont(font);
+        return document;
+    }
 
-        receipt.append("=".repeat(40)).append("\n");
+    private void addReceiptPdfPage(Document document, Order order) {
+        Receipt receipt = new Receipt(order);
 
-        // フッター
-        if (order.getCustomerNotes() != null && !order.getCustomerNotes().isEmpty()) {
-            receipt.append("お客様メモ: ").append(order.getCustomerNotes()).append("\n");
-            receipt.append("-".repeat(40)).append("\n");
-        }
+        // ヘッダー
+        document.add(new Paragraph("居酒屋「さくら亭」").addStyle(TITLE_STYLE));
+        document.add(new Paragraph("領収書").addStyle(CENTER_STYLE));
 
-        receipt.append("ご利用ありがとうございました！\n");
-        receipt.append("またのお越しをお待ちしております。\n\n");
+        // 注文情報
+        document.add(new Paragraph("注文番号: " + formatOrderNumber(order.getId())).addStyle(BODY_STYLE));
+        document.add(new Paragraph("テーブル: " + order.getTable().getTableNumber()).addStyle(BODY_STYLE));
+        document.add(new Paragraph("日時: " + order.getOrderTime().format(PDF_DATE_FORMATTER))
+                .addStyle(BODY_STYLE));
+
+        // 注文アイテム
+        Table items = new Table(UnitValue.createPercentArray(ITEM_COLUMN_WIDTHS))
+                .useAllAvailableWidth()
+                .setMarginTop(6)
+                .setBorderTop(new SolidBorder(0.5f))
+                .setBorderBottom(new SolidBorder(0.5f));
+        items.addHeaderCell(new Cell().add(new Paragraph("商品名")).addStyle(CELL_STYLE));
+        items.addHeaderCell(new Cell().add(new Paragraph("数量")).addStyle(CELL_STYLE)
+                .setTextAlignment(TextAlignment.RIGHT));
+        items.addHeaderCell(new Cell().add(new Paragraph("金額")).addStyle(CELL_STYLE)
+                .setTextAlignment(TextAlignment.RIGHT));
+
+        order.getOrderItems().stream()
+                .sorted(Comparator.comparing(OrderItem::getId))
+                .forEach(item -> {
+                    Paragraph name = new Paragraph(item.getMenuItem().getName()).addStyle(BODY_STYLE);
+                    if (hasText(item.getSpecialInstructions())) {
+                        name.add("\n※" + item.getSpecialInstructions());
+                    }
+                    items.addCell(new Cell().add(name).addStyle(CELL_STYLE));
+                    items.addCell(new Cell().add(new Paragraph(String.valueOf(item.getQuantity())))
+                            .addStyle(CELL_STYLE).setTextAlignment(TextAlignment.RIGHT));
+                    items.addCell(new Cell().add(new Paragraph(ReceiptOutput.formatYen(item.getSubtotalYen())))
+                            .addStyle(CELL_STYLE).setTextAlignment(TextAlignment.RIGHT));
+                });
+        document.add(items);
 
-        receipt.append("住所: 〒100-0001 東京都千代田区千代田1-1\n");
-        receipt.append("電話: 03-1234-5678\n");
-        receipt.append("=".repeat(40)).append("\n");
+        // 合計
+        document.add(new Paragraph(SUBTOTAL_LABEL + ReceiptOutput.formatYen(receipt.subtotalYen))
+                .addStyle(TOTAL_STYLE).setMarginTop(4));
+        document.add(new Paragraph(TAX_LABEL + ReceiptOutput.formatYen(receipt.taxYen))
+                .addStyle(TOTAL_STYLE));
+        document.add(new Paragraph(TOTAL_LABEL + ReceiptOutput.formatYen(receipt.getTotalYen()))
+                .addStyle(TOTAL_STYLE).setBold());
 
-        return receipt.toString();
+        // フッター
+        if (hasText(order.getCustomerNotes())) {
+            document.add(new Paragraph("お客様メモ: " + order.getCustomerNotes()).addStyle(NOTE_STYLE)
+                    .setMarginTop(4));
+        }
+        document.add(new Paragraph("ご利用ありがとうございました！\nまたのお越しをお待ちしております。")
+                .addStyle(CENTER_STYLE).setMarginTop(10));
+        document.add(new Paragraph("住所: 〒100-0001 東京都千代田区千代田1-1\n電話: 03-1234-5678")
+                .addStyle(CENTER_STYLE).setFontSize(8));
     }
 
-    /**
-     * 領収書PDF生成（簡易版）
-     */
-    public byte[] generateReceiptPdf(Order order) {
-        // 実際のPDF生成はiTextライブラリを使用
-        // ここでは簡易的にテキスト版をバイト配列として返す
-        String receiptText = generateReceiptText(order);
-        return receiptText.getBytes();
+    private static String formatOrderNumber(Long orderId) {
+        String digits = Long.toString(orderId);
+        return digits.length() >= 6 ? digits : "0".repeat(6 - digits.length()) + digits;
     }
 
     /**
      * 領収書HTML生成（印刷用）
      */
     public String generateReceiptHtml(Order order) {
-        StringBuilder html = new StringBuilder();
-
-        html.append("<!DOCTYPE html>\n");
-        html.append("<html>\n<head>\n");
-        html.append("<meta charset='UTF-8'>\n");
-        html.append("<title>領収書</title>\n");
-        html.append("<style>\n");
-        html.append("body { font-family: 'MS Gothic', monospace; font-size: 12px; }\n");
-        html.append(".receipt { width: 300px; margin: 0 auto; }\n");
-        html.append(".header { text-align: center; border-bottom: 2px solid #000; padding: 10px 0; }\n");
-        html.append(".title { font-size: 16px; font-weight: bold; }\n");
-        html.append(".info { margin: 10px 0; }\n");
-        html.append(".items { border-top: 1px solid #000; border-bottom: 1px solid #000; }\n");
-        html.append(".item { display: flex; justify-content: space-between; padding: 2px 0; }\n");
-        html.append(".total { text-align: right; margin: 10px 0; }\n");
-        html.append(".footer { text-align: center; margin-top: 20px; font-size: 10px; }\n");
-        html.append("@media print { body { -webkit-print-color-adjust: exact; } }\n");
-        html.append("</style>\n");
-        html.append("</head>\n<body>\n");
-
-        html.append("<div class='receipt'>\n");
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(2048);
+        try {
+            writeReceiptHtml(order, outputStream);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
 
-        // ヘッダー
-        html.append("<div class='header'>\n");
-        html.append("<div class='title'>居酒屋「さくら亭」</div>\n");
-        html.append("<div>領収書</div>\n");
-        html.append("</div>\n");
+    /**
+     * 領収書HTML出力（印刷用、UTF-8）
+     */
+    public void writeReceiptHtml(Order order, OutputStream outputStream) throws IOException {
+        ReceiptOutput output = new ReceiptOutput(outputStream);
+        HTML_TEMPLATE.render(new Receipt(order), output);
+        output.flush();
+    }
 
-        // 注文情報
-        html.append("<div class='info'>\n");
-        html.append("<div>注文番号: ").append(String.format("%06d", order.getId())).append("</div>\n");
-        html.append("<div>テーブル: ").append(order.getTable().getTableNumber()).append("</div>\n");
-        html.append("<div>日時: ").append(order.getOrderTime().format(DATE_FORMATTER)).append("</div>\n");
-        html.append("</div>\n");
+    private static void writeTextField(String field, Receipt receipt, ReceiptOutput output) throws IOException {
+        Order order = receipt.order;
+        switch (field) {
+            case "orderNumber" -> output.writeZeroPadded(order.getId(), 6);
+            case "tableNumber" -> output.write(order.getTable().getTableNumber());
+            case "orderTime" -> DATE_TEMPLATE.render(order.getOrderTime(), output);
+            case "items" -> {
+                for (OrderItem item : order.getOrderItems()) {
+                    TEXT_ITEM_TEMPLATE.render(item, output);
+                }
+            }
+            case "subtotal" -> output.writeYenRight(receipt.subtotalYen, SUBTOTAL_VALUE_WIDTH);
+            case "tax" -> output.writeYenRight(receipt.taxYen, TAX_VALUE_WIDTH);
+            case "total" -> output.writeYenRight(receipt.getTotalYen(), TOTAL_VALUE_WIDTH);
+            case "customerNotes" -> {
+                if (hasText(order.getCustomerNotes())) {
+                    TEXT_CUSTOMER_NOTES_TEMPLATE.render(receipt, output);
+                }
+            }
+            case "notes" -> output.write(order.getCustomerNotes());
+            default -> throw new IllegalArgumentException("Unknown receipt field: " + field);
+        }
+    }
 
-        // 注文アイテム
-        html.append("<div class='items'>\n");
-        for (OrderItem item : order.getOrderItems()) {
-            html.append("<div class='item'>\n");
-            html.append("<span>").append(item.getMenuItem().getName()).append(" x").append(item.getQuantity())
-                    .append("</span>\n");
-            html.append("<span>").append(CURRENCY_FORMATTER.format(
-                    item.getMenuItem().getPrice().multiply(java.math.BigDecimal.valueOf(item.getQuantity()))))
-                    .append("</span>\n");
-            html.append("</div>\n");
-
-            if (item.getSpecialInstructions() != null && !item.getSpecialInstructions().isEmpty()) {
-                html.append("<div style='font-size: 10px; color: #666; margin-left: 10px;'>※")
-                        .append(item.getSpecialInstructions()).append("</div>\n");
+    private static void writeTextItemField(String field, OrderItem item, ReceiptOutput output) throws IOException {
+        switch (field) {
+            case "name" -> output.writeLeft(item.getMenuItem().getName(), NAME_WIDTH);
+            case "quantity" -> output.writeRight(item.getQuantity(), QUANTITY_WIDTH);
+            case "price" -> output.writeYenRight(item.getSubtotalYen(), PRICE_WIDTH);
+            case "instructions" -> {
+                if (hasText(item.getSpecialInstructions())) {
+                    TEXT_INSTRUCTIONS_TEMPLATE.render(item, output);
+                }
             }
+            case "specialInstructions" -> output.write(item.getSpecialInstructions());
+            default -> throw new IllegalArgumentException("Unknown receipt field: " + field);
         }
-        html.append("</div>\n");
+    }
 
-        // 合計
-        html.append("<div class='total'>\n");
-        html.append("<div>小計: ").append(CURRENCY_FORMATTER.format(order.getTotalAmount())).append("</div>\n");
-        html.append("<div>消費税(10%): ").append(CURRENCY_FORMATTER.format(
-                order.getTotalAmount().multiply(java.math.BigDecimal.valueOf(0.1)))).append("</div>\n");
-        html.append("<div style='font-weight: bold; border-top: 1px solid #000; padding-top: 5px;'>合計: ")
-                .append(CURRENCY_FORMATTER.format(
-                        order.getTotalAmount().multiply(java.math.BigDecimal.valueOf(1.1))))
-                .append("</div>\n");
-        html.append("</div>\n");
+    private static void writeHtmlField(String field, Receipt receipt, ReceiptOutput output) throws IOException {
+        Order order = receipt.order;
+        switch (field) {
+            case "orderNumber" -> output.writeZeroPadded(order.getId(), 6);
+            case "tableNumber" -> output.writeHtml(order.getTable().getTableNumber());
+            case "orderTime" -> DATE_TEMPLATE.render(order.getOrderTime(), output);
+            case "items" -> {
+                for (OrderItem item : order.getOrderItems()) {
+                    HTML_ITEM_TEMPLATE.render(item, output);
+                }
+            }
+            case "subtotal" -> output.writeYen(receipt.subtotalYen);
+            case "tax" -> output.writeYen(receipt.taxYen);
+            case "total" -> output.writeYen(receipt.getTotalYen());
+            default -> throw new IllegalArgumentException("Unknown receipt field: " + field);
+        }
+    }
 
-        // フッター
-        html.append("<div class='footer'>\n");
-        html.append("<div>ご利用ありがとうございました！</div>\n");
-        html.append("<div>またのお越しをお待ちしております。</div>\n");
-        html.append("<br>\n");
-        html.append("<div>住所: 〒100-0001 東京都千代田区千代田1-1</div>\n");
-        html.append("<div>電話: 03-1234-5678</div>\n");
-        html.append("</div>\n");
+    private static void writeHtmlItemField(String field, OrderItem item, ReceiptOutput output) throws IOException {
+        switch (field) {
+            case "name" -> output.writeHtml(item.getMenuItem().getName());
+            case "quantity" -> output.writeNumber(item.getQuantity());
+            case "price" -> output.writeYen(item.getSubtotalYen());
+            case "instructions" -> {
+                if (hasText(item.getSpecialInstructions())) {
+                    HTML_INSTRUCTIONS_TEMPLATE.render(item, output);
+                }
+            }
+            case "specialInstructions" -> output.writeHtml(item.getSpecialInstructions());
+            default -> throw new IllegalArgumentException("Unknown receipt field: " + field);
+        }
+    }
+
+    private static void writeDateField(String field, LocalDateTime dateTime, ReceiptOutput output)
+            throws IOException {
+        switch (field) {
+            case "year" -> output.writeZeroPadded(dateTime.getYear(), 4);
+            case "month" -> output.writeZeroPadded(dateTime.getMonthValue(), 2);
+            case "day" -> output.writeZeroPadded(dateTime.getDayOfMonth(), 2);
+            case "hour" -> output.writeZeroPadded(dateTime.getHour(), 2);
+            case "minute" -> output.writeZeroPadded(dateTime.getMinute(), 2);
+            default -> throw new IllegalArgumentException("Unknown receipt field: " + field);
+        }
+    }
 
-        html.append("</div>\n");
-        html.append("</body>\n</html>");
+    private static boolean hasText(String text) {
+        return text != null && !text.isEmpty();
+    }
 
-        return html.toString();
+    /**
+     * 表示幅で左寄せ（テンプレートのコンパイル時のみ使用）
+     */
+    private static String alignLeft(String text, int width) {
+        return text + " ".repeat(Math.max(0, width - ReceiptOutput.displayWidth(text)));
+    }
+
+    /**
+     * 表示幅で右寄せ（テンプレートのコンパイル時のみ使用）
+     */
+    private static String alignRight(String text, int width) {
+        return " ".repeat(Math.max(0, width - ReceiptOutput.displayWidth(text))) + text;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,73 @@
+package com.izakaya.ordersystem.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * コンパイル済み領収書テンプレート
+ * {{name}} 形式のプレースホルダー以外の固定部分はコンパイル時に一度だけUTF-8バイト列に変換し、
+ * 描画時はバイト列のコピーと差し込み項目の書き出しだけを行う
+ */
+final class ReceiptTemplate<T> {
+
+    /**
+     * 差し込み項目の書き出し処理
+     */
+    @FunctionalInterface
+    interface FieldWriter<T> {
+        void write(String field, T model, ReceiptOutput output) throws IOException;
+    }
+
+    private static final String FIELD_START = "{{";
+    private static final String FIELD_END = "}}";
+
+    // 固定部分は byte[]、差し込み項目は項目名（String）
+    private final Object[] segments;
+
+    private final FieldWriter<T> fieldWriter;
+
+    private ReceiptTemplate(Object[] segments, FieldWriter<T> fieldWriter) {
+        this.segments = segments;
+        this.fieldWriter = fieldWriter;
+    }
+
+    /**
+     * テンプレートのコンパイル
+     */
+    static <T> ReceiptTemplate<T> compile(String source, FieldWriter<T> fieldWriter) {
+        List<Object> segments = new ArrayList<>();
+        int index = 0;
+        while (index < source.length()) {
+            int start = source.indexOf(FIELD_START, index);
+            if (start < 0) {
+                segments.add(source.substring(index).getBytes(StandardCharsets.UTF_8));
+                break;
+            }
+            int end = source.indexOf(FIELD_END, start);
+            if (end < 0) {
+                throw new IllegalArgumentException("Unclosed template field at " + start);
+            }
+            if (start > index) {
+                segments.add(source.substring(index, start).getBytes(StandardCharsets.UTF_8));
+            }
+            segments.add(source.substring(start + FIELD_START.length(), end).intern());
+            index = end + FIELD_END.length();
+        }
+        return new ReceiptTemplate<>(segments.toArray(), fieldWriter);
+    }
+
+    /**
+     * テンプレートの描画
+     */
+    void render(T model, ReceiptOutput output) throws IOException {
+        for (Object segment : segments) {
+            if (segment instanceof byte[] bytes) {
+                output.write(bytes);
+            } else {
+                fieldWriter.write((String) segment, model, output);
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.izakaya.ordersystem.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 描画処理（QRコード・領収書PDF）の実行キュー
+ * CPUを使う描画は決まった数のスレッド（既定の0はCPUコア数）で実行し、待ちが上限を超えたら受け付けない（TaskRejectedException）。
+ * 結果を待つ時間にも上限があり、超えた場合も TaskRejectedException になる。
+ * 開店直後などに描画リクエストが集中しても、注文登録などの処理がCPUを取り合わないようにする。
+ * スレッド数が負の値の場合は制限せず、呼び出し元のスレッドで描画する（非同期の描画は共通プール）。
+ */
+@Component
+public class RenderExecutor {
+
+    // 描画を制限しない場合は null
+    private final ThreadPoolExecutor executor;
+
+    private final long timeoutMs;
+
+    public RenderExecutor(
+            @Value("${render.executor.threads:0}") int threads,
+            @Value("${render.executor.queue-capacity:64}") int queueCapacity,
+            @Value("${render.executor.timeout-ms:10000}") long timeoutMs) {
+        this.timeoutMs = timeoutMs;
+        if (threads < 0) {
+            this.executor = null;
+            return;
+        }
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "render-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * 描画処理を実行して結果を待つ（スレッド数の指定時は timeoutMs を超えたら取り消す）
+     */
+    public <T> T render(Callable<T> task) {
+        if (executor == null) {
+            try {
+                return task.call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (Exception e) {
+                throw new IllegalStateException("Failed to render", e);
+            }
+        }
+
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new TaskRejectedException("Render queue is full", e);
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new TaskRejectedException("Render timed out after " + timeoutMs + " ms", e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while rendering", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof IOException ioException) {
+                throw new UncheckedIOException(ioException);
+            }
+            throw new IllegalStateException("Failed to render", cause);
+        }
+    }
+
+    /**
+     * 描画処理を非同期に実行
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        if (executor == null) {
+            return CompletableFuture.supplyAsync(task);
+        }
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            throw new TaskRejectedException("Render queue is full", e);
+        }
+    }
+
+    /**
+     * 描画スレッド数を制限しているか（制限しない場合は呼び出し元のスレッドで描画する）
+     */
+    public boolean isBounded() {
+        return executor != null;
+    }
+
+    /**
+     * 描画スレッド数（制限しない場合はCPUコア数）
+     */
+    public int getThreads() {
+        return executor != null ? executor.getMaximumPoolSize() : Runtime.getRuntime().availableProcessors();
+    }
+}
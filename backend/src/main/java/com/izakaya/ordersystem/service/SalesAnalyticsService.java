@@ -0,0 +1,170 @@
+package com.izakaya.ordersystem.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.izakaya.ordersystem.dto.SalesSummary;
+import com.izakaya.ordersystem.model.Order;
+import com.izakaya.ordersystem.model.OrderItem;
+import com.izakaya.ordersystem.model.SalesDailyAggregate;
+import com.izakaya.ordersystem.repository.SalesAggregateBatchRepository;
+import com.izakaya.ordersystem.repository.SalesDailyAggregateRepository;
+import com.izakaya.ordersystem.sales.SalesRollup;
+
+/**
+ * 売上集計サービス
+ * 会計完了のコミット後に営業日ごとの集計行（全体・時間帯・カテゴリ・メニュー・テーブル）へ加算し、
+ * 期間の売上は注文テーブルを読まずに集計行だけから求める。
+ * 過去の営業日は注文から再計算（バックフィル）できる。
+ */
+@Service
+public class SalesAnalyticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(SalesAnalyticsService.class);
+
+    @Autowired
+    private SalesDailyAggregateRepository salesDailyAggregateRepository;
+
+    @Autowired
+    private SalesAggregateBatchRepository salesAggregateBatchRepository;
+
+    // 営業日の切り替え時刻（深夜営業分は前日の売上として扱う）
+    @Value("${sales.business-day-start-hour:5}")
+    private int businessDayStartHour;
+
+    @Value("${sales.backfill.parallelism:4}")
+    private int backfillParallelism;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public SalesAnalyticsService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * 会計済み注文の集計（現在のトランザクションのコミット後に加算）
+     */
+    public void recordCompletedOrder(Order order) {
+        LocalDateTime completedTime = order.getCompletedTime() != null
+                ? order.getCompletedTime()
+                : LocalDateTime.now();
+        SalesRollup rollup = new SalesRollup(getBusinessDate(completedTime));
+        List<SalesRollup.Line> lines = new ArrayList<>();
+        for (OrderItem item : order.getOrderItems()) {
+            lines.add(new SalesRollup.Line(item.getMenuItem().getId(), item.getMenuItem().getName(),
+                    item.getMenuItem().getCategory(), item.getQuantity(), item.getSubtotalYen()));
+        }
+        rollup.addOrder(order.getTable().getId(), order.getTable().getTableNumber(), completedTime,
+                order.getTotalAmountYen() != null ? order.getTotalAmountYen() : order.recalculateTotalAmountYen(),
+                lines);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment(order.getId(), rollup);
+                }
+            });
+        } else {
+            increment(order.getId(), rollup);
+        }
+    }
+
+    /**
+     * 期間の売上サマリー（営業日 from〜to、両端を含む）
+     */
+    public SalesSummary getSummary(LocalDate from, LocalDate to) {
+        SalesSummary summary = new SalesSummary(from, to);
+        salesDailyAggregateRepository.summarize(from, to).forEach(summary::add);
+        summary.getByHour().sort(Comparator.comparing(SalesSummary.Row::getKey));
+        for (SalesDailyAggregate aggregate : salesDailyAggregateRepository
+                .findByDimensionAndBusinessDateBetweenOrderByBusinessDateAsc(
+                        SalesDailyAggregate.Dimension.TOTAL, from, to)) {
+            summary.getDaily().add(new SalesSummary.DailyRow(aggregate));
+        }
+        return summary;
+    }
+
+    /**
+     * 過去の営業日の集計を注文から再計算（営業日ごとに並列実行、当日以降は対象外）
+     * 戻り値は再計算した注文数
+     */
+    public int backfill(LocalDate from, LocalDate to) {
+        LocalDate lastDate = to.isBefore(getBusinessDate(LocalDateTime.now()))
+                ? to
+                : getBusinessDate(LocalDateTime.now()).minusDays(1);
+
+        List<CompletableFuture<Integer>> days = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, backfillParallelism))) {
+            for (LocalDate date = from; !date.isAfter(lastDate); date = date.plusDays(1)) {
+                LocalDate businessDate = date;
+                days.add(CompletableFuture.supplyAsync(() -> recomputeDay(businessDate), executor));
+            }
+            return days.stream().mapToInt(CompletableFuture::join).sum();
+        }
+    }
+
+    /**
+     * 営業日の集計を注文から再計算して置き換え
+     */
+    public int recomputeDay(LocalDate businessDate) {
+        LocalDateTime startTime = getBusinessDayStart(businessDate);
+        return transactionTemplate.execute(status -> {
+            SalesRollup rollup = new SalesRollup(businessDate);
+            salesAggregateBatchRepository.loadCompletedOrders(startTime, startTime.plusDays(1), rollup);
+            salesAggregateBatchRepository.replaceDay(rollup);
+            return rollup.getOrderCount();
+        });
+    }
+
+    /**
+     * 日時の営業日
+     */
+    public LocalDate getBusinessDate(LocalDateTime dateTime) {
+        return dateTime.minusHours(businessDayStartHour).toLocalDate();
+    }
+
+    /**
+     * 営業日の開始日時
+     */
+    public LocalDateTime getBusinessDayStart(LocalDate businessDate) {
+        return businessDate.atStartOfDay().plusHours(businessDayStartHour);
+    }
+
+    private void increment(Long orderId, SalesRollup rollup) {
+        // 同じ集計行を同時に新規登録した場合は一意制約違反になるため、加算からやり直す
+        for (int attempt = 1; attempt <= 2; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(
+                        status -> salesAggregateBatchRepository.increment(rollup.getRows()));
+                return;
+            } catch (DuplicateKeyException e) {
+                if (attempt == 2) {
+                    log.warn("売上集計の加算に失敗しました（バックフィルで再計算してください）: orderId={}", orderId, e);
+                }
+            } catch (RuntimeException e) {
+                log.warn("売上集計の加算に失敗しました（バックフィルで再計算してください）: orderId={}", orderId, e);
+                return;
+            }
+        }
+    }
+}
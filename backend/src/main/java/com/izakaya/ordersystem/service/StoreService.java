@@ -0,0 +1,76 @@
+package com.izakaya.ordersystem.service;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.izakaya.ordersystem.model.Store;
+import com.izakaya.ordersystem.repository.StoreRepository;
+
+@Service
+@Transactional
+public class StoreService {
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    /**
+     * 全店舗取得（ID順）
+     */
+    @Transactional(readOnly = true)
+    public List<Store> getAllStores() {
+        return storeRepository.findAll(Sort.by("id"));
+    }
+
+    /**
+     * 店舗をIDで取得
+     */
+    @Transactional(readOnly = true)
+    public Optional<Store> getStoreById(Long id) {
+        return storeRepository.findById(id);
+    }
+
+    /**
+     * 店舗取得（存在しない場合は例外）
+     */
+    @Transactional(readOnly = true)
+    public Store requireStore(Long id) {
+        return storeRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Store not found with id " + id));
+    }
+
+    /**
+     * 店舗作成（店舗コードは一意）
+     */
+    public Store createStore(String code, String name) {
+        if (storeRepository.findByCode(code).isPresent()) {
+            throw new RuntimeException("Store code already exists: " + code);
+        }
+        return storeRepository.save(new Store(code, name));
+    }
+
+    /**
+     * 店舗名更新
+     */
+    public Store updateStore(Long id, String name) {
+        return storeRepository.findById(id)
+                .map(store -> {
+                    store.setName(name);
+                    return storeRepository.save(store);
+                })
+                .orElseThrow(() -> new RuntimeException("Store not found with id " + id));
+    }
+
+    /**
+     * 既定の店舗の作成（店舗が1件もない場合、最初の店舗としてID 1が採番される）
+     */
+    public void ensureDefaultStore() {
+        if (storeRepository.count() == 0) {
+            storeRepository.save(new Store("main", "本店"));
+        }
+    }
+}
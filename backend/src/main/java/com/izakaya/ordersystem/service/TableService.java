@@ -2,21 +2,35 @@ package com.izakaya.ordersystem.service;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.util.HtmlUtils;
 
 import com.google.zxing.BarcodeFormat;
-import com.google.zxing.WriterException;
 import com.google.zxing.client.j2se.MatrixToImageWriter;
 import com.google.zxing.common.BitMatrix;
 import com.google.zxing.qrcode.QRCodeWriter;
+import com.izakaya.ordersystem.cache.QrCodeImageCache;
+import com.izakaya.ordersystem.dto.TableSummary;
+import com.izakaya.ordersystem.dto.TableTimeline;
+import com.izakaya.ordersystem.dto.TableTurnover;
 import com.izakaya.ordersystem.model.RestaurantTable;
+import com.izakaya.ordersystem.model.Store;
 import com.izakaya.ordersystem.repository.RestaurantTableRepository;
+import com.izakaya.ordersystem.seating.TableOccupancyTracker;
 
 @Service
 @Transactional
@@ -25,18 +39,42 @@ public class TableService {
     @Autowired
     private RestaurantTableRepository tableRepository;
 
+    @Autowired
+    private QrCodeImageCache qrCodeImageCache;
+
+    @Autowired
+    private RenderExecutor renderExecutor;
+
+    @Autowired
+    private TableOccupancyTracker tableOccupancyTracker;
+
+    @Autowired
+    private SalesAnalyticsService salesAnalyticsService;
+
+    @Autowired
+    private StoreService storeService;
+
     /**
-     * 全テーブル取得
+     * 店舗の全テーブル取得
      */
-    public List<RestaurantTable> getAllTables() {
-        return tableRepository.findAll();
+    public List<RestaurantTable> getAllTables(Long storeId) {
+        return tableRepository.findByStoreIdOrderByIdAsc(storeId);
     }
 
     /**
-     * 利用可能なテーブル取得
+     * 店舗のテーブル一覧サマリー取得
      */
-    public List<RestaurantTable> getAvailableTables() {
-        return tableRepository.findAvailableTables();
+    @Transactional(readOnly = true)
+    public List<TableSummary> getTableSummaries(Long storeId) {
+        return tableRepository.findTableSummaries(storeId);
+    }
+
+    /**
+     * 店舗の利用可能なテーブル取得（利用状況の索引から取得）
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<RestaurantTable> getAvailableTables(Long storeId) {
+        return tableOccupancyTracker.getTablesByStatus(storeId, RestaurantTable.TableStatus.AVAILABLE);
     }
 
     /**
@@ -47,10 +85,10 @@ public class TableService {
     }
 
     /**
-     * テーブル番号で取得
+     * 店舗のテーブル番号で取得
      */
-    public Optional<RestaurantTable> getTableByNumber(String tableNumber) {
-        return tableRepository.findByTableNumber(tableNumber);
+    public Optional<RestaurantTable> getTableByNumber(Long storeId, String tableNumber) {
+        return tableRepository.findByStoreIdAndTableNumber(storeId, tableNumber);
     }
 
     /**
@@ -61,16 +99,20 @@ public class TableService {
     }
 
     /**
-     * テーブル作成（QRコード自動生成）
+     * 店舗にテーブル作成（QRコード自動生成）
      */
-    public RestaurantTable createTable(String tableNumber, Integer capacity) {
-        RestaurantTable table = new RestaurantTable(tableNumber, capacity);
+    public RestaurantTable createTable(Long storeId, String tableNumber, Integer capacity) {
+        storeService.requireStore(storeId);
+        RestaurantTable table = new RestaurantTable(storeId, tableNumber, capacity);
 
         // QRコード生成
-        String qrCodeData = generateQrCodeData(tableNumber);
+        String qrCodeData = generateQrCodeData(storeId, tableNumber);
         table.setQrCode(qrCodeData);
+        qrCodeImageCache.invalidate(qrCodeData);
 
-        return tableRepository.save(table);
+        RestaurantTable savedTable = tableRepository.save(table);
+        tableOccupancyTracker.tableSaved(savedTable);
+        return savedTable;
     }
 
     /**
@@ -79,17 +121,21 @@ public class TableService {
     public RestaurantTable updateTable(Long id, RestaurantTable tableDetails) {
         return tableRepository.findById(id)
                 .map(table -> {
-                    table.setTableNumber(tableDetails.getTableNumber());
-                    table.setCapacity(tableDetails.getCapacity());
-                    table.setStatus(tableDetails.getStatus());
-
-                    // テーブル番号が変更された場合はQRコードを再生成
+                    // テーブル番号が変更された場合はQRコードを再生成（旧番号の画像キャッシュも破棄）
                     if (!table.getTableNumber().equals(tableDetails.getTableNumber())) {
-                        String qrCodeData = generateQrCodeData(tableDetails.getTableNumber());
+                        qrCodeImageCache.invalidate(generateQrCodeData(table.getStoreId(), table.getTableNumber()));
+                        String qrCodeData = generateQrCodeData(table.getStoreId(), tableDetails.getTableNumber());
+                        qrCodeImageCache.invalidate(qrCodeData);
                         table.setQrCode(qrCodeData);
                     }
 
-                    return tableRepository.save(table);
+                    table.setTableNumber(tableDetails.getTableNumber());
+                    table.setCapacity(tableDetails.getCapacity());
+                    table.setStatus(tableDetails.getStatus());
+
+                    RestaurantTable savedTable = tableRepository.save(table);
+                    tableOccupancyTracker.tableSaved(savedTable);
+                    return savedTable;
                 })
                 .orElseThrow(() -> new RuntimeException("Table not found with id " + id));
     }
@@ -101,7 +147,9 @@ public class TableService {
         return tableRepository.findById(id)
                 .map(table -> {
                     table.setStatus(status);
-                    return tableRepository.save(table);
+                    RestaurantTable savedTable = tableRepository.save(table);
+                    tableOccupancyTracker.tableSaved(savedTable);
+                    return savedTable;
                 })
                 .orElseThrow(() -> new RuntimeException("Table not found with id " + id));
     }
@@ -110,38 +158,128 @@ public class TableService {
      * テーブル削除
      */
     public void deleteTable(Long id) {
+        tableRepository.findById(id)
+                .ifPresent(table -> qrCodeImageCache.invalidate(
+                        generateQrCodeData(table.getStoreId(), table.getTableNumber())));
         tableRepository.deleteById(id);
+        tableOccupancyTracker.tableDeleted(id);
     }
 
     /**
      * QRコードデータ生成
      */
-    private String generateQrCodeData(String tableNumber) {
+    private String generateQrCodeData(Long storeId, String tableNumber) {
         // テーブル識別用のURL生成（実際のフロントエンドURLに合わせて調整）
-        return "http://localhost:3000/order?table=" + tableNumber;
+        // 既定の店舗は印刷済みのQRコードが使えるよう店舗を付けない
+        if (storeId != null && storeId == Store.DEFAULT_ID) {
+            return "http://localhost:3000/order?table=" + tableNumber;
+        }
+        return "http://localhost:3000/order?store=" + storeId + "&table=" + tableNumber;
     }
 
     /**
      * QRコード画像生成（Base64エンコード）
      */
-    public String generateQrCodeImage(String tableNumber) throws WriterException, IOException {
-        String qrCodeData = generateQrCodeData(tableNumber);
+    public Optional<String> generateQrCodeImage(Long storeId, String tableNumber) {
+        return getQrCodePng(storeId, tableNumber).map(png -> Base64.getEncoder().encodeToString(png));
+    }
 
+    /**
+     * QRコード画像取得（PNG、キャッシュ済みの場合は再生成しない、存在しないテーブルは空）
+     */
+    @Transactional(readOnly = true)
+    public Optional<byte[]> getQrCodePng(Long storeId, String tableNumber) {
+        // 生成は描画用の実行キューで行い、キャッシュ済みならそのまま返す
+        return tableRepository.findByStoreIdAndTableNumber(storeId, tableNumber)
+                .map(table -> qrCodeImageCache.getOrRender(
+                        generateQrCodeData(table.getStoreId(), table.getTableNumber()),
+                        payload -> renderExecutor.render(() -> renderQrCodePng(payload))));
+    }
+
+    /**
+     * テーブル一覧のQRコード印刷用シート出力（HTML）
+     * 画像は描画用の実行キューでスレッド数分に分けて並列に生成し、テーブル順に出来たものから書き出す
+     */
+    public void writeQrCodeSheet(List<RestaurantTable> tables, OutputStream outputStream) throws IOException {
+        int chunkSize = Math.max(1, (tables.size() + renderExecutor.getThreads() - 1) / renderExecutor.getThreads());
+        List<CompletableFuture<List<String>>> chunks = new ArrayList<>();
+        for (int from = 0; from < tables.size(); from += chunkSize) {
+            List<RestaurantTable> chunk = tables.subList(from, Math.min(from + chunkSize, tables.size()));
+            chunks.add(renderExecutor.submit(() -> chunk.stream()
+                    .map(table -> Base64.getEncoder().encodeToString(qrCodeImageCache.getOrRender(
+                            generateQrCodeData(table.getStoreId(), table.getTableNumber()),
+                            this::renderQrCodePng)))
+                    .toList()));
+        }
+
+        Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+        writer.write("<!DOCTYPE html>\n<html lang=\"ja\">\n<head>\n<meta charset=\"UTF-8\">\n"
+                + "<title>テーブルQRコード一覧</title>\n<style>\n"
+                + "body{font-family:sans-serif;margin:0}\n"
+                + ".sheet{display:flex;flex-wrap:wrap}\n"
+                + ".card{width:33%;box-sizing:border-box;padding:16px;text-align:center;page-break-inside:avoid}\n"
+                + ".card img{width:200px;height:200px}\n"
+                + ".card h2{margin:8px 0 0;font-size:20px}\n"
+                + "</style>\n</head>\n<body>\n<div class=\"sheet\">\n");
+
+        for (int i = 0; i < tables.size(); i++) {
+            String tableNumber = HtmlUtils.htmlEscape(tables.get(i).getTableNumber());
+            writer.write("<div class=\"card\"><img alt=\"テーブル" + tableNumber
+                    + "\" src=\"data:image/png;base64,");
+            writer.write(chunks.get(i / chunkSize).join().get(i % chunkSize));
+            writer.write("\"><h2>テーブル " + tableNumber + "</h2></div>\n");
+            writer.flush();
+        }
+
+        writer.write("</div>\n</body>\n</html>\n");
+        writer.flush();
+    }
+
+    /**
+     * QRコード画像生成（PNG）
+     */
+    private byte[] renderQrCodePng(String qrCodeData) throws Exception {
         QRCodeWriter qrCodeWriter = new QRCodeWriter();
         BitMatrix bitMatrix = qrCodeWriter.encode(qrCodeData, BarcodeFormat.QR_CODE, 200, 200);
 
         ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
         MatrixToImageWriter.writeToStream(bitMatrix, "PNG", outputStream);
-        byte[] qrCodeBytes = outputStream.toByteArray();
+        return outputStream.toByteArray();
+    }
 
-        return Base64.getEncoder().encodeToString(qrCodeBytes);
+    /**
+     * 店舗の収容人数以上の利用可能テーブル検索（利用状況の索引から、収容人数の少ない順）
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<RestaurantTable> findAvailableTablesByCapacity(Long storeId, Integer capacity) {
+        return tableOccupancyTracker.findAvailableTables(storeId, capacity);
+    }
+
+    /**
+     * 店舗の案内する席の候補（人数に最も合う空席から最大 limit 件）
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<RestaurantTable> suggestTables(Long storeId, int partySize, int limit) {
+        return tableOccupancyTracker.suggestTables(storeId, partySize, limit);
     }
 
     /**
-     * 収容人数以上の利用可能テーブル検索
+     * テーブルの利用履歴（since 省略時は当営業日の開始以降）
      */
-    public List<RestaurantTable> findAvailableTablesByCapacity(Integer capacity) {
-        return tableRepository.findByCapacityGreaterThanEqualAndStatus(
-                capacity, RestaurantTable.TableStatus.AVAILABLE);
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public TableTimeline getTableTimeline(Long id, LocalDateTime since) {
+        return tableOccupancyTracker.getTimeline(id, since != null ? since : currentBusinessDayStart());
+    }
+
+    /**
+     * 店舗のテーブルの回転・稼働状況（since 省略時は当営業日の開始以降）
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public TableTurnover getTurnover(Long storeId, LocalDateTime since) {
+        return tableOccupancyTracker.getTurnover(storeId, since != null ? since : currentBusinessDayStart());
+    }
+
+    private LocalDateTime currentBusinessDayStart() {
+        return salesAnalyticsService.getBusinessDayStart(salesAnalyticsService.getBusinessDate(LocalDateTime.now()));
     }
 }
\ No newline at end of file
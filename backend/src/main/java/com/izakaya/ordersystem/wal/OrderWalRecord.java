@@ -0,0 +1,169 @@
+package com.izakaya.ordersystem.wal;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.izakaya.ordersystem.dto.OrderItemRequest;
+
+/**
+ * 注文WALのレコード（注文作成・アイテム追加のリクエスト1件分）
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderWalRecord {
+
+    // レコード種別列挙型
+    public enum RecordType {
+        CREATE_ORDER,
+        ADD_ITEM,
+        ADD_ITEMS,
+        // 反映済みマーカー（requestId のみ）
+        DONE
+    }
+
+    private RecordType type;
+
+    private String requestId;
+
+    private Long tableId;
+
+    private String customerNotes;
+
+    // 既存の注文へのアイテム追加
+    private Long orderId;
+
+    // 未反映の注文作成リクエストへのアイテム追加（反映後の注文IDに読み替える）
+    private String orderRequestId;
+
+    private Long menuItemId;
+
+    private Integer quantity;
+
+    private String specialInstructions;
+
+    private List<OrderItemRequest> items;
+
+    // コンストラクタ
+    public OrderWalRecord() {
+    }
+
+    public static OrderWalRecord createOrder(String requestId, Long tableId, String customerNotes) {
+        OrderWalRecord record = new OrderWalRecord();
+        record.type = RecordType.CREATE_ORDER;
+        record.requestId = requestId;
+        record.tableId = tableId;
+        record.customerNotes = customerNotes;
+        return record;
+    }
+
+    public static OrderWalRecord addItem(String requestId, Long orderId, String orderRequestId,
+            Long menuItemId, Integer quantity, String specialInstructions) {
+        OrderWalRecord record = new OrderWalRecord();
+        record.type = RecordType.ADD_ITEM;
+        record.requestId = requestId;
+        record.orderId = orderId;
+        record.orderRequestId = orderRequestId;
+        record.menuItemId = menuItemId;
+        record.quantity = quantity;
+        record.specialInstructions = specialInstructions;
+        return record;
+    }
+
+    public static OrderWalRecord addItems(String requestId, Long orderId, String orderRequestId,
+            List<OrderItemRequest> items) {
+        OrderWalRecord record = new OrderWalRecord();
+        record.type = RecordType.ADD_ITEMS;
+        record.requestId = requestId;
+        record.orderId = orderId;
+        record.orderRequestId = orderRequestId;
+        record.items = items;
+        return record;
+    }
+
+    public static OrderWalRecord done(String requestId) {
+        OrderWalRecord record = new OrderWalRecord();
+        record.type = RecordType.DONE;
+        record.requestId = requestId;
+        return record;
+    }
+
+    // Getters and Setters
+    public RecordType getType() {
+        return type;
+    }
+
+    public void setType(RecordType type) {
+        this.type = type;
+    }
+
+    public String getRequestId() {
+        return requestId;
+    }
+
+    public void setRequestId(String requestId) {
+        this.requestId = requestId;
+    }
+
+    public Long getTableId() {
+        return tableId;
+    }
+
+    public void setTableId(Long tableId) {
+        this.tableId = tableId;
+    }
+
+    public String getCustomerNotes() {
+        return customerNotes;
+    }
+
+    public void setCustomerNotes(String customerNotes) {
+        this.customerNotes = customerNotes;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(Long orderId) {
+        this.orderId = orderId;
+    }
+
+    public String getOrderRequestId() {
+        return orderRequestId;
+    }
+
+    public void setOrderRequestId(String orderRequestId) {
+        this.orderRequestId = orderRequestId;
+    }
+
+    public Long getMenuItemId() {
+        return menuItemId;
+    }
+
+    public void setMenuItemId(Long menuItemId) {
+        this.menuItemId = menuItemId;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public String getSpecialInstructions() {
+        return specialInstructions;
+    }
+
+    public void setSpecialInstructions(String specialInstructions) {
+        this.specialInstructions = specialInstructions;
+    }
+
+    public List<OrderItemRequest> getItems() {
+        return items;
+    }
+
+    public void setItems(List<OrderItemRequest> items) {
+        this.items = items;
+    }
+}
@@ -0,0 +1,225 @@
+package com.izakaya.ordersystem.wal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 注文の先行書き込みログ（WAL）
+ * 固定サイズのファイルをメモリマップし、注文リクエストを追記して force（fsync）してから応答する。
+ * DBへの反映が済んだリクエストには反映済みマーカーを追記し、未反映のものは起動時に読み直して再反映する。
+ *
+ * ファイル形式: ヘッダー [magic:int][reserved:int][epoch:long]
+ *              レコード [length:int][crc32:int][epoch:long][JSON:length bytes] の繰り返し
+ * 未反映がなくなった時点で epoch を進めて先頭から書き直すため、epoch の異なるレコードは無視する。
+ */
+@Component
+public class OrderWriteAheadLog {
+
+    private static final int MAGIC = 0x4F57414C;
+    private static final int HEADER_SIZE = 16;
+    private static final int RECORD_HEADER_SIZE = 16;
+    private static final String FILE_NAME = "orders.wal";
+
+    @Value("${order.wal.enabled:true}")
+    private boolean enabled;
+
+    @Value("${order.wal.dir:${java.io.tmpdir}/izakaya-order-wal-${server.port:8080}}")
+    private String directory;
+
+    @Value("${order.wal.capacity-bytes:67108864}")
+    private int capacity;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private FileChannel channel;
+
+    private FileLock lock;
+
+    private MappedByteBuffer buffer;
+
+    private long epoch;
+
+    private int position;
+
+    // 未反映のリクエスト（requestId → レコード、追記順）
+    private final Map<String, OrderWalRecord> pending = new LinkedHashMap<>();
+
+    @PostConstruct
+    void open() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Path dir = Paths.get(directory);
+        Files.createDirectories(dir);
+        channel = FileChannel.open(dir.resolve(FILE_NAME),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        lock = channel.tryLock();
+        if (lock == null) {
+            throw new IllegalStateException("Order WAL is used by another process: " + dir.toAbsolutePath());
+        }
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+
+        if (buffer.getInt(0) == MAGIC) {
+            epoch = buffer.getLong(8);
+            recover();
+        } else {
+            epoch = 1;
+            reset();
+        }
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        if (channel == null) {
+            return;
+        }
+        synchronized (this) {
+            buffer.force();
+            lock.release();
+            channel.close();
+        }
+    }
+
+    /**
+     * WALが有効か
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * リクエストの追記（ディスクへの書き込み完了まで待つ）
+     */
+    public synchronized void append(OrderWalRecord record) {
+        write(record, true);
+        pending.put(record.getRequestId(), record);
+    }
+
+    /**
+     * 反映済みマーカーの追記
+     * マーカーが失われても再反映は冪等なため force はしない
+     */
+    public synchronized void markDone(String requestId) {
+        if (pending.remove(requestId) == null) {
+            return;
+        }
+        if (pending.isEmpty() && position > capacity / 4) {
+            // 未反映がなくなった時点である程度たまっていれば先頭から書き直す
+            epoch++;
+            reset();
+        } else {
+            write(OrderWalRecord.done(requestId), false);
+        }
+    }
+
+    /**
+     * 未反映リクエストの取得（追記順）
+     */
+    public synchronized List<OrderWalRecord> getPendingRecords(int limit) {
+        List<OrderWalRecord> records = new ArrayList<>(Math.min(limit, pending.size()));
+        for (OrderWalRecord record : pending.values()) {
+            if (records.size() == limit) {
+                break;
+            }
+            records.add(record);
+        }
+        return records;
+    }
+
+    /**
+     * 未反映のリクエストがあるか
+     */
+    public synchronized boolean hasPending() {
+        return !pending.isEmpty();
+    }
+
+    /**
+     * 指定リクエストが未反映か
+     */
+    public synchronized boolean isPending(String requestId) {
+        return pending.containsKey(requestId);
+    }
+
+    private void write(OrderWalRecord record, boolean sync) {
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(record);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        int size = RECORD_HEADER_SIZE + payload.length;
+        if (position + size > capacity) {
+            throw new IllegalStateException("Order WAL is full (" + pending.size() + " pending requests)");
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        // 本体を書いてからヘッダーを書く（途中で落ちた場合は CRC か epoch の不一致で末尾として扱われる）
+        buffer.put(position + RECORD_HEADER_SIZE, payload);
+        buffer.putLong(position + 8, epoch);
+        buffer.putInt(position + 4, (int) crc.getValue());
+        buffer.putInt(position, payload.length);
+        if (sync) {
+            buffer.force(position, size);
+        }
+        position += size;
+    }
+
+    private void recover() throws IOException {
+        position = HEADER_SIZE;
+        while (position + RECORD_HEADER_SIZE <= capacity) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + RECORD_HEADER_SIZE + length > capacity
+                    || buffer.getLong(position + 8) != epoch) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(position + RECORD_HEADER_SIZE, payload);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                break;
+            }
+
+            OrderWalRecord record = objectMapper.readValue(payload, OrderWalRecord.class);
+            if (record.getType() == OrderWalRecord.RecordType.DONE) {
+                pending.remove(record.getRequestId());
+            } else {
+                pending.put(record.getRequestId(), record);
+            }
+            position += RECORD_HEADER_SIZE + length;
+        }
+    }
+
+    private void reset() {
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, 0);
+        buffer.putLong(8, epoch);
+        buffer.force(0, HEADER_SIZE);
+        position = HEADER_SIZE;
+    }
+}
@@ -0,0 +1,160 @@
+-- 居酒屋注文システム 初期スキーマ（PostgreSQL）
+-- エンティティの定義と一致させること（productionプロファイルは ddl-auto=validate で検証する）
+-- ddl-auto=update で作成済みの旧スキーマにも適用できるよう、作成済みのテーブル・索引は作り直さず、不足する列だけ追加する
+
+create table if not exists restaurant_tables (
+    id bigint generated by default as identity,
+    table_number varchar(10) not null,
+    capacity integer not null,
+    status varchar(255) check (status in ('AVAILABLE','OCCUPIED','RESERVED','CLEANING')),
+    qr_code varchar(255),
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    constraint pk_restaurant_tables primary key (id),
+    constraint uk_restaurant_tables_table_number unique (table_number)
+);
+
+create table if not exists menu_items (
+    id bigint generated by default as identity,
+    name varchar(100) not null,
+    description varchar(500),
+    price numeric(10,2) not null,
+    category varchar(255) check (category in ('APPETIZER','SASHIMI','GRILLED','FRIED','HOT_POT','RICE','NOODLES','DESSERT','SOFT_DRINK','ALCOHOLIC','BEER','SAKE','SHOCHU','WINE','COCKTAIL')),
+    is_available boolean,
+    image_url varchar(255),
+    preparation_time_minutes integer,
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    constraint pk_menu_items primary key (id)
+);
+
+create table if not exists orders (
+    id bigint generated by default as identity,
+    table_id bigint not null,
+    status varchar(255) check (status in ('PENDING','CONFIRMED','IN_PREPARATION','READY','SERVED','COMPLETED','CANCELLED')),
+    total_amount numeric(10,2),
+    total_amount_yen bigint,
+    customer_notes varchar(255),
+    order_time timestamp(6),
+    completed_time timestamp(6),
+    version bigint,
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    constraint pk_orders primary key (id),
+    constraint fk_orders_table foreign key (table_id) references restaurant_tables (id)
+);
+
+create table if not exists order_items (
+    id bigint generated by default as identity,
+    order_id bigint not null,
+    menu_item_id bigint not null,
+    quantity integer not null check (quantity >= 1),
+    unit_price_yen bigint,
+    special_instructions varchar(200),
+    status varchar(255) check (status in ('ORDERED','IN_PREPARATION','READY','SERVED')),
+    version bigint,
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    constraint pk_order_items primary key (id),
+    constraint fk_order_items_order foreign key (order_id) references orders (id),
+    constraint fk_order_items_menu_item foreign key (menu_item_id) references menu_items (id)
+);
+
+create table if not exists order_journal (
+    id bigint generated by default as identity,
+    order_id bigint not null,
+    event_type varchar(30) not null check (event_type in ('ORDER_CREATED','ITEM_ADDED','ORDER_STATUS_CHANGED','ITEM_STATUS_CHANGED','ORDER_CANCELLED')),
+    occurred_at timestamp(6) not null,
+    table_id bigint,
+    order_status varchar(20) check (order_status in ('PENDING','CONFIRMED','IN_PREPARATION','READY','SERVED','COMPLETED','CANCELLED')),
+    customer_notes varchar(255),
+    order_item_id bigint,
+    menu_item_id bigint,
+    quantity integer,
+    unit_price_yen bigint,
+    special_instructions varchar(200),
+    item_status varchar(20) check (item_status in ('ORDERED','IN_PREPARATION','READY','SERVED')),
+    constraint pk_order_journal primary key (id)
+);
+
+create table if not exists order_snapshots (
+    id bigint generated by default as identity,
+    order_id bigint not null,
+    last_event_id bigint not null,
+    state varchar(65535) not null,
+    created_at timestamp(6),
+    constraint pk_order_snapshots primary key (id)
+);
+
+create table if not exists processed_requests (
+    request_id varchar(64) not null,
+    status varchar(20) check (status in ('APPLIED','FAILED')),
+    order_id bigint,
+    message varchar(500),
+    processed_at timestamp(6),
+    constraint pk_processed_requests primary key (request_id)
+);
+
+create table if not exists sales_daily_aggregates (
+    id bigint generated by default as identity,
+    business_date date not null,
+    dimension varchar(20) not null check (dimension in ('TOTAL','HOUR','CATEGORY','MENU_ITEM','TABLE')),
+    dimension_key varchar(40) not null,
+    label varchar(100),
+    order_count bigint not null,
+    quantity bigint not null,
+    revenue_yen bigint not null,
+    updated_at timestamp(6),
+    constraint pk_sales_daily_aggregates primary key (id),
+    constraint uk_sales_daily_aggregates unique (business_date, dimension, dimension_key)
+);
+
+create index if not exists idx_order_journal_order on order_journal (order_id, id);
+
+create index if not exists idx_order_snapshots_order on order_snapshots (order_id, last_event_id);
+
+-- 外部キーと、注文一覧・キッチン表示・売上集計の検索条件
+create index if not exists idx_orders_table on orders (table_id);
+
+create index if not exists idx_orders_status on orders (status);
+
+create index if not exists idx_orders_created_at on orders (created_at);
+
+create index if not exists idx_orders_completed_time on orders (completed_time);
+
+create index if not exists idx_order_items_order on order_items (order_id);
+
+create index if not exists idx_order_items_menu_item on order_items (menu_item_id);
+
+-- 旧スキーマ（ddl-auto=update で作成したDB）に不足する列の追加（新規作成したDBでは何もしない）
+alter table orders add column if not exists total_amount_yen bigint;
+
+alter table orders add column if not exists version bigint;
+
+alter table order_items add column if not exists unit_price_yen bigint;
+
+alter table order_items add column if not exists version bigint;
+
+-- 楽観ロックのバージョンは null だと更新できないため 0 から始める
+update orders set version = 0 where version is null;
+
+update order_items set version = 0 where version is null;
+
+-- 旧スキーマのテーブル番号の一意制約は自動生成の名前のため、V2 で店舗内の一意制約に置き換えられるよう削除する
+do $$
+declare
+    legacy_constraint text;
+begin
+    for legacy_constraint in
+        select c.conname
+        from pg_constraint c
+        join pg_class t on t.oid = c.conrelid
+        join pg_attribute a on a.attrelid = t.oid and a.attname = 'table_number'
+        where t.relname = 'restaurant_tables'
+          and c.contype = 'u'
+          and c.conkey = array[a.attnum]
+          and c.conname <> 'uk_restaurant_tables_table_number'
+    loop
+        execute format('alter table restaurant_tables drop constraint %I', legacy_constraint);
+    end loop;
+end $$;
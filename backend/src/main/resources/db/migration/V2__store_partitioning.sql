@@ -0,0 +1,40 @@
+-- 店舗の追加（テーブル・メニュー・注文を店舗IDで区切る）
+-- 既存のデータは既定の店舗（ID 1）に属する
+
+create table stores (
+    id bigint generated by default as identity,
+    code varchar(20) not null,
+    name varchar(100) not null,
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    constraint pk_stores primary key (id),
+    constraint uk_stores_code unique (code)
+);
+
+insert into stores (id, code, name, created_at, updated_at)
+values (1, 'main', '本店', current_timestamp, current_timestamp);
+
+alter table stores alter column id restart with 2;
+
+-- テーブル番号は店舗内で一意（V1の制約、または ddl-auto=update で作成された制約を置き換える）
+alter table restaurant_tables add column store_id bigint not null default 1;
+alter table restaurant_tables alter column store_id drop default;
+alter table restaurant_tables drop constraint if exists uk_restaurant_tables_table_number;
+alter table restaurant_tables drop constraint if exists restaurant_tables_table_number_key;
+alter table restaurant_tables add constraint uk_restaurant_tables_store_number unique (store_id, table_number);
+alter table restaurant_tables add constraint fk_restaurant_tables_store foreign key (store_id) references stores (id);
+
+alter table menu_items add column store_id bigint not null default 1;
+alter table menu_items alter column store_id drop default;
+alter table menu_items add constraint fk_menu_items_store foreign key (store_id) references stores (id);
+
+create index idx_menu_items_store on menu_items (store_id, id);
+
+-- 注文はテーブルの店舗IDを複製して持つ（店舗別の一覧をテーブルとの結合なしで索引から引く）
+alter table orders add column store_id bigint not null default 1;
+alter table orders alter column store_id drop default;
+alter table orders add constraint fk_orders_store foreign key (store_id) references stores (id);
+
+create index idx_orders_store_status on orders (store_id, status, created_at);
+
+create index idx_orders_store_created_at on orders (store_id, created_at);
@@ -0,0 +1,3 @@
+-- メニューの読み仮名（検索索引で漢字の名前をかな・ローマ字から探すために使う）
+
+alter table menu_items add column name_kana varchar(100);
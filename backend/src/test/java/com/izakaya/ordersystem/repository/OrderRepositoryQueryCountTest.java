@@ -0,0 +1,146 @@
+package com.izakaya.ordersystem.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.izakaya.ordersystem.dto.OrderItemRequest;
+import com.izakaya.ordersystem.metrics.HibernateStatementCounter;
+import com.izakaya.ordersystem.model.MenuItem;
+import com.izakaya.ordersystem.model.Order;
+import com.izakaya.ordersystem.model.RestaurantTable;
+import com.izakaya.ordersystem.model.Store;
+import com.izakaya.ordersystem.service.OrderService;
+
+/**
+ * 注文ツリー（テーブル・注文アイテム・メニュー）を一括取得するクエリのSQL発行数の確認
+ * 複数アイテムの注文が複数あっても1文で取得し、JSONに変換しても遅延ロードが起きない（N+1にならない）。
+ * 注文受付ログ（WAL）はファイルに書き出さないよう無効にする。
+ */
+@SpringBootTest(properties = "order.wal.enabled=false")
+class OrderRepositoryQueryCountTest {
+
+    private static final int ORDERS_PER_TABLE = 3;
+
+    private static final int ITEMS_PER_ORDER = 3;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private RestaurantTableRepository tableRepository;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    private RestaurantTable table;
+
+    private Long orderId;
+
+    @BeforeEach
+    void createOrders() {
+        List<RestaurantTable> tables = tableRepository.findByStoreIdOrderByIdAsc(Store.DEFAULT_ID);
+        List<MenuItem> menuItems = menuItemRepository.findByStoreIdAndIsAvailableTrue(Store.DEFAULT_ID);
+        table = tables.get(0);
+
+        // 同じテーブルに複数の注文、別のテーブルにも注文（厨房・一覧の対象になるよう確定済みにする）
+        for (RestaurantTable orderTable : List.of(tables.get(0), tables.get(1))) {
+            for (int i = 0; i < ORDERS_PER_TABLE; i++) {
+                Order order = orderService.createOrder(orderTable.getId(), null);
+                List<OrderItemRequest> items = new ArrayList<>();
+                for (int j = 0; j < ITEMS_PER_ORDER; j++) {
+                    MenuItem menuItem = menuItems.get((i * ITEMS_PER_ORDER + j) % menuItems.size());
+                    items.add(new OrderItemRequest(menuItem.getId(), j + 1, null));
+                }
+                orderService.addItemsToOrder(order.getId(), items);
+                orderService.confirmOrder(order.getId());
+                orderId = order.getId();
+            }
+        }
+    }
+
+    @Test
+    void orderByIdIsLoadedWithOneStatement() throws Exception {
+        String json = loadAsJson(1, () -> orderRepository.findWithItemsById(orderId).orElseThrow());
+
+        assertThat(json).contains("\"orderItems\":[{");
+    }
+
+    @Test
+    void ordersByTableAreLoadedWithOneStatement() throws Exception {
+        String json = loadAsJson(1, () -> orderRepository.findByTableOrderByCreatedAtDesc(table));
+
+        assertThat(objectMapper.readValue(json, List.class)).hasSizeGreaterThanOrEqualTo(ORDERS_PER_TABLE);
+        assertThat(json).contains("\"orderItems\":[{");
+    }
+
+    @Test
+    void activeOrdersAreLoadedWithOneStatement() throws Exception {
+        String json = loadAsJson(1, () -> orderRepository.findActiveOrdersByStoreId(Store.DEFAULT_ID));
+
+        assertThat(objectMapper.readValue(json, List.class)).hasSizeGreaterThanOrEqualTo(2 * ORDERS_PER_TABLE);
+        assertThat(json).contains("\"orderItems\":[{");
+    }
+
+    @Test
+    void kitchenOrdersAreLoadedWithOneStatement() throws Exception {
+        String json = loadAsJson(1, () -> orderRepository.findOrdersForKitchen(Store.DEFAULT_ID));
+
+        assertThat(objectMapper.readValue(json, List.class)).hasSizeGreaterThanOrEqualTo(2 * ORDERS_PER_TABLE);
+        assertThat(json).contains("\"orderItems\":[{");
+    }
+
+    @Test
+    void ordersByDateRangeAreLoadedWithOneStatement() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        String json = loadAsJson(1, () -> orderRepository.findOrdersByDateRange(
+                Store.DEFAULT_ID, now.minusHours(1), now.plusHours(1)));
+
+        assertThat(objectMapper.readValue(json, List.class)).hasSizeGreaterThanOrEqualTo(2 * ORDERS_PER_TABLE);
+        assertThat(json).contains("\"orderItems\":[{");
+    }
+
+    /**
+     * クエリを実行してJSONに変換し、その間のSQL発行数が期待どおりか確認（JSONを返す）
+     */
+    private String loadAsJson(int expectedStatements, Supplier<Object> query) {
+        HibernateStatementCounter.start();
+        String json;
+        int statements;
+        try {
+            // JSONに変換してもテーブル・注文アイテム・メニューの遅延ロードが起きないこと
+            json = transactionTemplate.execute(status -> {
+                Object result = query.get();
+                try {
+                    return objectMapper.writeValueAsString(result);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        } finally {
+            statements = HibernateStatementCounter.stop();
+        }
+
+        assertThat(statements).isEqualTo(expectedStatements);
+        return json;
+    }
+}
@@ -0,0 +1,33 @@
+package com.izakaya.ordersystem.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 領収書の消費税の端数処理（従来の金額表示と同じ HALF_EVEN）の確認
+ */
+class ReceiptServiceTaxTest {
+
+    @Test
+    void fractionsBelowHalfAreRoundedDown() {
+        assertThat(ReceiptService.taxYen(1234)).isEqualTo(123);
+    }
+
+    @Test
+    void fractionsAboveHalfAreRoundedUp() {
+        assertThat(ReceiptService.taxYen(1236)).isEqualTo(124);
+    }
+
+    @Test
+    void halvesAreRoundedToEven() {
+        assertThat(ReceiptService.taxYen(1235)).isEqualTo(124);
+        assertThat(ReceiptService.taxYen(1225)).isEqualTo(122);
+    }
+
+    @Test
+    void wholeYenIsUnchanged() {
+        assertThat(ReceiptService.taxYen(0)).isZero();
+        assertThat(ReceiptService.taxYen(1230)).isEqualTo(123);
+    }
+}
@@ -53,6 +53,7 @@ const MenuPage = () => {
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState('');
   const [searchQuery, setSearchQuery] = useState('');
+  const [searchResults, setSearchResults] = useState([]);
   const [tableInfo, setTableInfo] = useState(null);
   const [selectedItem, setSelectedItem] = useState(null);
   const [itemDialog, setItemDialog] = useState(false);
@@ -117,14 +118,32 @@ const MenuPage = () => {
     }
   };
 
-  const filteredItems = menuItems.filter(item => {
-    const matchesCategory = selectedCategory ? item.category === selectedCategory : true;
-    const matchesSearch = searchQuery 
-      ? item.name.toLowerCase().includes(searchQuery.toLowerCase()) ||
-        item.description.toLowerCase().includes(searchQuery.toLowerCase())
-      : true;
-    return matchesCategory && matchesSearch;
-  });
+  // 検索はサーバーの検索索引で行う（かな・カタカナ・ローマ字の違いを吸収、一致の強い順）
+  useEffect(() => {
+    if (!searchQuery.trim()) {
+      setSearchResults([]);
+      return undefined;
+    }
+    let cancelled = false;
+    const timer = setTimeout(async () => {
+      try {
+        const response = await menuAPI.searchItems(searchQuery.trim());
+        if (!cancelled) {
+          setSearchResults(response.data);
+        }
+      } catch (err) {
+        console.error('Failed to search menu:', err);
+      }
+    }, 200);
+    return () => {
+      cancelled = true;
+      clearTimeout(timer);
+    };
+  }, [searchQuery]);
+
+  const filteredItems = (searchQuery.trim() ? searchResults : menuItems).filter(item =>
+    selectedCategory ? item.category === selectedCategory : true
+  );
 
   const handleItemClick = (item) => {
     setSelectedItem(item);
@@ -15,6 +15,7 @@ import {
   CameraAlt as CameraIcon,
 } from '@mui/icons-material';
 import QrScanner from 'qr-scanner';
+import { setStoreId } from '../services/api';
 
 const QRScannerComponent = () => {
   const navigate = useNavigate();
@@ -77,6 +78,9 @@ const QRScannerComponent = () => {
       const tableNumber = url.searchParams.get('table');
       
       if (tableNumber) {
+        // 既定の店舗以外のQRコードには店舗IDが入っている
+        setStoreId(url.searchParams.get('store'));
+
         // スキャン停止
         if (qrScanner) {
           qrScanner.stop();
@@ -12,9 +12,40 @@ const api = axios.create({
   },
 });
 
+// 注文リクエストID（再送時の重複防止用）
+export const newRequestId = () =>
+  (window.crypto && window.crypto.randomUUID)
+    ? window.crypto.randomUUID()
+    : `${Date.now()}-${Math.random().toString(36).slice(2)}`;
+
+// 店舗ID（QRコードのURLの ?store= を優先して端末に保存、未設定ならサーバー側で既定の店舗）
+const STORE_ID_KEY = 'izakaya.storeId';
+
+export const setStoreId = (storeId) => {
+  if (storeId) {
+    window.localStorage.setItem(STORE_ID_KEY, storeId);
+  } else {
+    window.localStorage.removeItem(STORE_ID_KEY);
+  }
+};
+
+export const getStoreId = () => {
+  const storeParam = new URLSearchParams(window.location.search).get('store');
+  if (storeParam) {
+    setStoreId(storeParam);
+    return storeParam;
+  }
+  return window.localStorage.getItem(STORE_ID_KEY);
+};
+
 // Request interceptor
 api.interceptors.request.use(
   (config) => {
+    // 店舗ごとのデータを扱うため、明示されていなければ店舗IDを付ける
+    const storeId = getStoreId();
+    if (storeId && !(config.params && config.params.storeId)) {
+      config.params = { ...config.params, storeId };
+    }
     console.log('API Request:', config);
     return config;
   },
@@ -64,16 +95,32 @@ export const menuAPI = {
   // 価格範囲でメニュー検索
   getItemsByPriceRange: (minPrice, maxPrice) => 
     api.get(`/menu/price-range?minPrice=${minPrice}&maxPrice=${maxPrice}`),
+  
+  // 安い順のメニュー取得
+  getCheapestItems: (limit = 10) => api.get('/menu/cheapest', { params: { limit } }),
+  
+  // 価格帯ごとのメニュー件数
+  getPriceBands: (bandWidth = 500, minPrice, maxPrice) =>
+    api.get('/menu/price-bands', { params: { bandWidth, minPrice, maxPrice } }),
 };
 
 // Table API
 export const tableAPI = {
-  // 全テーブル取得
+  // 全テーブル取得（未完了の注文数 activeOrderCount 付き）
   getAllTables: () => api.get('/tables'),
   
   // 利用可能なテーブル取得
   getAvailableTables: () => api.get('/tables/available'),
   
+  // 案内する席の候補取得（人数に最も合う空席から）
+  suggestTables: (partySize, limit = 3) => api.get('/tables/seating', { params: { partySize, limit } }),
+  
+  // テーブルの利用履歴取得（着席・最初の注文・最後の注文・会計）
+  getTableTimeline: (id, since) => api.get(`/tables/${id}/timeline`, { params: { since } }),
+  
+  // 回転・稼働状況取得（since 省略時は当営業日）
+  getTurnover: (since) => api.get('/tables/turnover', { params: { since } }),
+  
   // テーブル番号で取得
   getTableByNumber: (tableNumber) => api.get(`/tables/number/${tableNumber}`),
   
@@ -93,12 +140,22 @@ export const orderAPI = {
   // 全注文取得
   getAllOrders: () => api.get('/orders'),
   
-  // アクティブな注文取得
+  // アクティブな注文取得（1注文1行の一覧。orderItems は含まないため明細は getOrderById で取得）
   getActiveOrders: () => api.get('/orders/active'),
   
-  // 厨房向け注文取得
+  // 厨房向け注文取得（注文ごとのチケット。明細は items[]: name, quantity, specialInstructions, status）
   getOrdersForKitchen: () => api.get('/orders/kitchen'),
   
+  // 厨房の持ち場別キュー取得（GRILL / FRYER / HOT / COLD / DRINK）
+  getKitchenStations: () => api.get('/kitchen/stations'),
+  
+  // 持ち場のキュー取得（調理開始目安の早い順）
+  getKitchenStationTickets: (station) => api.get(`/kitchen/stations/${station}/tickets`),
+  
+  // 注文イベント再同期（指定連番より後の差分取得）
+  getOrderEvents: (since, tableId) =>
+    api.get('/orders/events', { params: { since, tableId } }),
+  
   // 注文詳細取得
   getOrderById: (id) => api.get(`/orders/${id}`),
   
@@ -109,17 +166,26 @@ export const orderAPI = {
   getTodaysOrders: () => api.get('/orders/today'),
   
   // 新規注文作成
-  createOrder: (tableId, customerNotes = '') => 
-    api.post('/orders', { tableId, customerNotes }),
+  // requestId: 再送時に同じ値を渡すと重複作成されない（202 の場合は受付済み・反映待ち）
+  createOrder: (tableId, customerNotes = '', requestId = newRequestId()) =>
+    api.post('/orders', { tableId, customerNotes, requestId }),
   
   // 注文にアイテム追加
-  addItemToOrder: (orderId, menuItemId, quantity, specialInstructions = '') =>
+  addItemToOrder: (orderId, menuItemId, quantity, specialInstructions = '', requestId = newRequestId()) =>
     api.post(`/orders/${orderId}/items`, {
       menuItemId,
       quantity,
       specialInstructions,
+      requestId,
     }),
   
+  // 注文にアイテム一括追加（items: [{ menuItemId, quantity, specialInstructions }]）
+  addItemsToOrder: (orderId, items, requestId = newRequestId()) =>
+    api.post(`/orders/${orderId}/items/batch`, { items, requestId }),
+  
+  // 注文リクエストの処理状況取得（APPLIED / QUEUED / FAILED）
+  getOrderRequest: (requestId) => api.get(`/orders/requests/${requestId}`),
+  
   // 注文ステータス更新
   updateOrderStatus: (orderId, status) =>
     api.patch(`/orders/${orderId}/status`, { status }),
@@ -145,6 +211,27 @@ export const orderAPI = {
   // 注文アイテムのステータス更新
   updateOrderItemStatus: (orderId, itemId, status) =>
     api.patch(`/orders/${orderId}/items/${itemId}/status`, { status }),
+  
+  // 注文履歴のエクスポート（format: csv / columnar、gzip 圧縮済みファイル）
+  exportOrders: (from, to, format = 'csv') => api.get('/orders/export', {
+    params: { from, to, format },
+    responseType: 'blob',
+  }),
+};
+
+// Store API
+export const storeAPI = {
+  // 全店舗取得
+  getAllStores: () => api.get('/stores'),
+  
+  // 店舗詳細取得
+  getStoreById: (id) => api.get(`/stores/${id}`),
+  
+  // 店舗作成
+  createStore: (code, name) => api.post('/stores', { code, name }),
+  
+  // 店舗名更新
+  updateStore: (id, name) => api.put(`/stores/${id}`, { name }),
 };
 
 // Receipt API
@@ -166,4 +253,13 @@ export const receiptAPI = {
   }),
 };
 
+// Sales API
+export const salesAPI = {
+  // 期間の売上サマリー取得（営業日 YYYY-MM-DD、to 省略時は from の1日分）
+  getSummary: (from, to) => api.get('/sales/summary', { params: { from, to } }),
+  
+  // 過去の営業日の売上集計を再計算
+  backfill: (from, to) => api.post('/sales/backfill', null, { params: { from, to } }),
+};
+
 export default api;
\ No newline at end of file